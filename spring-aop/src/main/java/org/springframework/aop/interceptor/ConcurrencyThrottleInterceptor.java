@@ -34,6 +34,9 @@ import org.springframework.util.ConcurrencyThrottleSupport;
  *
  * <p>The default concurrency limit of this interceptor is 1.
  * Specify the "concurrencyLimit" bean property to change this value.
+ * Blocked invocations wait indefinitely unless a "throttleTimeout" has
+ * been specified, and may enter ahead of each other unless the
+ * "fairThrottle" bean property has been set.
  *
  * @author Juergen Hoeller
  * @since 11.02.2004
@@ -16,6 +16,10 @@
 
 package org.springframework.aop.interceptor;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.junit.jupiter.api.Test;
@@ -28,6 +32,7 @@ import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.core.testfixture.io.SerializationTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 /**
  * @author Juergen Hoeller
@@ -62,6 +67,18 @@ public class ConcurrencyThrottleInterceptorTests {
 		serializedProxy.getAge();
 	}
 
+	@Test
+	public void testSerializableWithFairThrottle() throws Exception {
+		ConcurrencyThrottleInterceptor cti = new ConcurrencyThrottleInterceptor();
+		cti.setFairThrottle(true);
+		cti.setThrottleTimeout(100);
+		ConcurrencyThrottleInterceptor serializedCti =
+				(ConcurrencyThrottleInterceptor) SerializationTestUtils.serializeAndDeserialize(cti);
+		assertThat(serializedCti.isFairThrottle()).isTrue();
+		assertThat(serializedCti.getThrottleTimeout()).isEqualTo(100);
+		assertThat(serializedCti.getConcurrencyCount()).isEqualTo(0);
+	}
+
 	@Test
 	public void testMultipleThreadsWithLimit1() {
 		testMultipleThreads(1);
@@ -72,12 +89,103 @@ public class ConcurrencyThrottleInterceptorTests {
 		testMultipleThreads(10);
 	}
 
+	@Test
+	public void testMultipleThreadsWithFairLimit10() {
+		testMultipleThreads(10, true);
+	}
+
+	@Test
+	public void testThrottleTimeout() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ITestBean proxy = createProxy(new TestBean() {
+			@Override
+			public String getName() {
+				entered.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return super.getName();
+			}
+		}, cti -> cti.setThrottleTimeout(50));
+		Thread blocking = new Thread(proxy::getName);
+		blocking.start();
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+		try {
+			assertThatIllegalStateException().isThrownBy(proxy::getAge);
+		}
+		finally {
+			release.countDown();
+			blocking.join();
+		}
+		proxy.getAge();
+	}
+
+	@Test
+	public void testRaisedLimitReleasesWaitingThreads() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		ConcurrencyThrottleInterceptor cti = new ConcurrencyThrottleInterceptor();
+		ITestBean proxy = createProxy(new TestBean() {
+			@Override
+			public String getName() {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return super.getName();
+			}
+		}, cti);
+		Thread blocking = new Thread(proxy::getName);
+		blocking.start();
+		Thread waiting = new Thread(proxy::getAge);
+		try {
+			while (cti.getConcurrencyCount() == 0) {
+				Thread.sleep(1);
+			}
+			waiting.start();
+			waiting.join(50);
+			assertThat(waiting.isAlive()).isTrue();
+			cti.setConcurrencyLimit(2);
+			waiting.join(5000);
+			assertThat(waiting.isAlive()).isFalse();
+		}
+		finally {
+			release.countDown();
+			blocking.join();
+		}
+		assertThat(cti.getConcurrencyCount()).isEqualTo(0);
+	}
+
 	private void testMultipleThreads(int concurrencyLimit) {
+		testMultipleThreads(concurrencyLimit, false);
+	}
+
+	private ITestBean createProxy(ITestBean target, Consumer<ConcurrencyThrottleInterceptor> customizer) {
+		ConcurrencyThrottleInterceptor cti = new ConcurrencyThrottleInterceptor();
+		customizer.accept(cti);
+		return createProxy(target, cti);
+	}
+
+	private ITestBean createProxy(ITestBean target, ConcurrencyThrottleInterceptor cti) {
+		ProxyFactory proxyFactory = new ProxyFactory();
+		proxyFactory.setInterfaces(ITestBean.class);
+		proxyFactory.addAdvice(cti);
+		proxyFactory.setTarget(target);
+		return (ITestBean) proxyFactory.getProxy();
+	}
+
+	private void testMultipleThreads(int concurrencyLimit, boolean fairThrottle) {
 		TestBean tb = new TestBean();
 		ProxyFactory proxyFactory = new ProxyFactory();
 		proxyFactory.setInterfaces(ITestBean.class);
 		ConcurrencyThrottleInterceptor cti = new ConcurrencyThrottleInterceptor();
 		cti.setConcurrencyLimit(concurrencyLimit);
+		cti.setFairThrottle(fairThrottle);
 		proxyFactory.addAdvice(cti);
 		proxyFactory.setTarget(tb);
 		ITestBean proxy = (ITestBean) proxyFactory.getProxy();
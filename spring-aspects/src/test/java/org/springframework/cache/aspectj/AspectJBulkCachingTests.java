@@ -0,0 +1,145 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.aspectj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AdviceMode;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link Cacheable#bulk()} operations with AspectJ-based caching.
+ *
+ * @author Juergen Hoeller
+ */
+class AspectJBulkCachingTests {
+
+	private ConfigurableApplicationContext context;
+
+	private UserService service;
+
+	private Cache cache;
+
+
+	@BeforeEach
+	void setUp() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(UserService.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("users");
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.context.close();
+	}
+
+
+	@Test
+	void onlyMissingKeysLoaded() {
+		this.cache.put(2L, "cached-2");
+		List<Long> ids = Arrays.asList(3L, 2L, 1L);
+		Map<Long, String> users = this.service.findAll(ids);
+
+		assertThat(users).containsOnly(entry(3L, "user-3"), entry(2L, "cached-2"), entry(1L, "user-1"));
+		assertThat(this.service.getRequestedIds()).containsExactly(Arrays.asList(3L, 1L));
+		assertThat(ids).containsExactly(3L, 2L, 1L);
+		assertThat(this.cache.get(1L, String.class)).isEqualTo("user-1");
+		assertThat(this.cache.get(3L, String.class)).isEqualTo("user-3");
+
+		assertThat(this.service.findAll(Arrays.asList(1L, 2L))).containsOnly(
+				entry(1L, "user-1"), entry(2L, "cached-2"));
+		assertThat(this.service.getRequestedIds()).hasSize(1);
+	}
+
+	@Test
+	void exceptionFromLoadPropagated() {
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				this.service.findAll(Arrays.asList(1L, UserService.INVALID_ID)));
+		assertThat(this.cache.get(1L)).isNull();
+
+		assertThat(this.service.findAll(Collections.singletonList(1L))).containsOnly(entry(1L, "user-1"));
+		assertThat(this.service.getRequestedIds()).hasSize(2);
+	}
+
+
+	private static <K, V> Map.Entry<K, V> entry(K key, V value) {
+		return Collections.singletonMap(key, value).entrySet().iterator().next();
+	}
+
+
+	@Configuration
+	@EnableCaching(mode = AdviceMode.ASPECTJ)
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public UserService userService() {
+			return new UserService();
+		}
+	}
+
+
+	static class UserService {
+
+		static final Long INVALID_ID = -1L;
+
+		private final List<Collection<Long>> requestedIds = new ArrayList<>();
+
+		public List<Collection<Long>> getRequestedIds() {
+			return this.requestedIds;
+		}
+
+		@Cacheable(cacheNames = "users", bulk = true)
+		public Map<Long, String> findAll(Collection<Long> ids) {
+			this.requestedIds.add(new ArrayList<>(ids));
+			Map<Long, String> users = new HashMap<>();
+			for (Long id : ids) {
+				if (INVALID_ID.equals(id)) {
+					throw new IllegalArgumentException("Invalid id");
+				}
+				users.put(id, "user-" + id);
+			}
+			return users;
+		}
+	}
+
+}
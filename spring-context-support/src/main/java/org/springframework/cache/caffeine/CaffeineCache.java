@@ -16,11 +16,19 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 
+import org.springframework.cache.CacheStatistics;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -29,7 +37,17 @@ import org.springframework.util.Assert;
  * Spring {@link org.springframework.cache.Cache} adapter implementation
  * on top of a Caffeine {@link com.github.benmanes.caffeine.cache.Cache} instance.
  *
- * <p>Requires Caffeine 2.1 or higher.
+ * <p>Supports the {@link #retrieve(Object)} and {@link #retrieve(Object, Supplier)}
+ * operations through Caffeine's {@link AsyncCache}, when provided via the
+ * {@link #CaffeineCache(String, AsyncCache, boolean)} constructor. For a
+ * regular synchronous Caffeine cache, these operations are answered
+ * from the in-memory store without blocking on a concurrent value load.
+ *
+ * <p>Exposes Caffeine's own {@link com.github.benmanes.caffeine.cache.stats.CacheStats}
+ * as {@link CacheStatistics}, provided that the native cache has been built with
+ * {@link com.github.benmanes.caffeine.cache.Caffeine#recordStats()}.
+ *
+ * <p>Requires Caffeine 2.1 or higher, or 2.7 or higher for {@code AsyncCache} support.
  *
  * @author Ben Manes
  * @author Juergen Hoeller
@@ -37,12 +55,15 @@ import org.springframework.util.Assert;
  * @since 4.3
  * @see CaffeineCacheManager
  */
-public class CaffeineCache extends AbstractValueAdaptingCache {
+public class CaffeineCache extends AbstractValueAdaptingCache implements CacheStatistics {
 
 	private final String name;
 
 	private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
 
+	@Nullable
+	private final AsyncCache<Object, Object> asyncCache;
+
 
 	/**
 	 * Create a {@link CaffeineCache} instance with the specified name and the
@@ -70,6 +91,26 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		Assert.notNull(cache, "Cache must not be null");
 		this.name = name;
 		this.cache = cache;
+		this.asyncCache = null;
+	}
+
+	/**
+	 * Create a {@link CaffeineCache} instance with the specified name and the
+	 * given internal {@link AsyncCache} to use, supporting non-blocking
+	 * {@link #retrieve} operations next to the regular synchronous ones.
+	 * @param name the name of the cache
+	 * @param cache the backing Caffeine AsyncCache instance
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 * @since 5.3
+	 */
+	public CaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(cache, "Cache must not be null");
+		this.name = name;
+		this.cache = cache.synchronous();
+		this.asyncCache = cache;
 	}
 
 
@@ -78,11 +119,25 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return this.name;
 	}
 
+	/**
+	 * Return the internal Caffeine Cache (possibly the synchronous view
+	 * of an {@link AsyncCache}).
+	 */
 	@Override
 	public final com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
 		return this.cache;
 	}
 
+	/**
+	 * Return the internal Caffeine AsyncCache, if this cache has been
+	 * created for one.
+	 * @since 5.3
+	 */
+	@Nullable
+	public final AsyncCache<Object, Object> getAsyncCache() {
+		return this.asyncCache;
+	}
+
 	@Override
 	@Nullable
 	public ValueWrapper get(Object key) {
@@ -100,12 +155,60 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return (T) fromStoreValue(this.cache.get(key, new LoadFunction(valueLoader)));
 	}
 
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		if (this.asyncCache == null) {
+			Object value = lookup(key);
+			return (value != null ? CompletableFuture.completedFuture(
+					isAllowNullValues() ? toValueWrapper(value) : fromStoreValue(value)) : null);
+		}
+		CompletableFuture<?> result = (this.asyncCache instanceof AsyncLoadingCache ?
+				((AsyncLoadingCache<Object, Object>) this.asyncCache).get(key) : this.asyncCache.getIfPresent(key));
+		if (result != null) {
+			result = (isAllowNullValues() ? result.thenApply(this::toValueWrapper) :
+					result.thenApply(this::fromStoreValue));
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		if (this.asyncCache == null) {
+			Object value = lookup(key);
+			if (value != null) {
+				return CompletableFuture.completedFuture((T) fromStoreValue(value));
+			}
+			return valueLoader.get().thenApply(loaded -> {
+				Object existing = this.cache.asMap().putIfAbsent(key, toStoreValue(loaded));
+				return (existing != null ? (T) fromStoreValue(existing) : loaded);
+			});
+		}
+		return (CompletableFuture<T>) this.asyncCache.get(key,
+				(k, executor) -> valueLoader.get().thenApply(this::toStoreValue)).thenApply(this::fromStoreValue);
+	}
+
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
 		return this.cache.getIfPresent(key);
 	}
 
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, Object> found = (this.cache instanceof LoadingCache ?
+				((LoadingCache<Object, Object>) this.cache).getAll(keys) : this.cache.getAllPresent(keys));
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(found.size());
+		for (Object key : keys) {
+			Object value = found.get(key);
+			if (value != null) {
+				result.put(key, toValueWrapper(value));
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.cache.put(key, toStoreValue(value));
@@ -119,6 +222,13 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return (callable.called ? null : toValueWrapper(result));
 	}
 
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		Map<Object, Object> storeValues = new LinkedHashMap<>(entries.size());
+		entries.forEach((key, value) -> storeValues.put(key, toStoreValue(value)));
+		this.cache.putAll(storeValues);
+	}
+
 	@Override
 	public void evict(Object key) {
 		this.cache.invalidate(key);
@@ -129,6 +239,11 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return (this.cache.asMap().remove(key) != null);
 	}
 
+	@Override
+	public void evictAll(Collection<?> keys) {
+		this.cache.invalidateAll(keys);
+	}
+
 	@Override
 	public void clear() {
 		this.cache.invalidateAll();
@@ -142,6 +257,32 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 	}
 
 
+	@Override
+	public long getHitCount() {
+		return this.cache.stats().hitCount();
+	}
+
+	@Override
+	public long getMissCount() {
+		return this.cache.stats().missCount();
+	}
+
+	@Override
+	public long getLoadCount() {
+		return this.cache.stats().loadCount();
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return this.cache.stats().totalLoadTime();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return this.cache.stats().evictionCount();
+	}
+
+
 	private class PutIfAbsentFunction implements Function<Object, Object> {
 
 		@Nullable
@@ -0,0 +1,480 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Two-tier {@link Cache} fronting a target cache, typically a remote one,
+ * with a local Caffeine cache holding recently accessed entries.
+ *
+ * <p>Lookups are answered from the local tier if possible, falling back to
+ * the target cache and populating the local tier with the value found.
+ * Modifications are applied to both tiers and published through the
+ * {@link NearCacheInvalidationChannel}, if any, so that other near caches
+ * for the same target drop their local copy. The local tier is expected to
+ * be bounded in size and time, limiting staleness in case an invalidation
+ * gets lost.
+ *
+ * <p>Hits and misses are recorded separately for each tier. As
+ * {@link CacheStatistics}, a hit is a lookup answered by either tier and
+ * evictions are those of the local tier, provided that its Caffeine cache
+ * {@linkplain com.github.benmanes.caffeine.cache.Caffeine#recordStats() records statistics}.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see CaffeineNearCacheManager
+ */
+public class CaffeineNearCache implements Cache, CacheStatistics, DisposableBean {
+
+	private final Cache targetCache;
+
+	private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+
+	@Nullable
+	private final NearCacheInvalidationChannel invalidationChannel;
+
+	private final Consumer<NearCacheInvalidation> invalidationListener = this::onInvalidation;
+
+	private final String id = UUID.randomUUID().toString();
+
+	private final LongAdder localHitCount = new LongAdder();
+
+	private final LongAdder localMissCount = new LongAdder();
+
+	private final LongAdder remoteHitCount = new LongAdder();
+
+	private final LongAdder remoteMissCount = new LongAdder();
+
+	private final LongAdder invalidationCount = new LongAdder();
+
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
+
+	/**
+	 * Create a {@link CaffeineNearCache} without invalidation propagation.
+	 * @param targetCache the target cache to front
+	 * @param localCache the backing Caffeine cache for the local tier
+	 */
+	public CaffeineNearCache(Cache targetCache, com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache) {
+		this(targetCache, localCache, null);
+	}
+
+	/**
+	 * Create a {@link CaffeineNearCache}, subscribing to the given channel
+	 * for invalidations published by other near caches.
+	 * @param targetCache the target cache to front
+	 * @param localCache the backing Caffeine cache for the local tier
+	 * @param invalidationChannel the channel to publish and receive invalidations
+	 * through, or {@code null} for none
+	 */
+	public CaffeineNearCache(Cache targetCache, com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache,
+			@Nullable NearCacheInvalidationChannel invalidationChannel) {
+
+		Assert.notNull(targetCache, "Target Cache must not be null");
+		Assert.notNull(localCache, "Local Cache must not be null");
+		this.targetCache = targetCache;
+		this.localCache = localCache;
+		this.invalidationChannel = invalidationChannel;
+		if (invalidationChannel != null) {
+			invalidationChannel.subscribe(this.invalidationListener);
+		}
+	}
+
+
+	/**
+	 * Return the target Cache that this near cache fronts.
+	 */
+	public Cache getTargetCache() {
+		return this.targetCache;
+	}
+
+	/**
+	 * Return the Caffeine cache backing the local tier.
+	 */
+	public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache() {
+		return this.localCache;
+	}
+
+	@Override
+	public String getName() {
+		return this.targetCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.targetCache.getNativeCache();
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		Object localValue = this.localCache.getIfPresent(key);
+		if (localValue != null) {
+			this.localHitCount.increment();
+			return new SimpleValueWrapper(fromLocalValue(localValue));
+		}
+		this.localMissCount.increment();
+		ValueWrapper wrapper = this.targetCache.get(key);
+		if (wrapper != null) {
+			this.remoteHitCount.increment();
+			this.localCache.put(key, toLocalValue(wrapper.get()));
+		}
+		else {
+			this.remoteMissCount.increment();
+		}
+		return wrapper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Object localValue = this.localCache.getIfPresent(key);
+		if (localValue != null) {
+			this.localHitCount.increment();
+			return (T) fromLocalValue(localValue);
+		}
+		this.localMissCount.increment();
+		boolean[] loaded = new boolean[1];
+		T value = this.targetCache.get(key, () -> {
+			loaded[0] = true;
+			long start = System.nanoTime();
+			try {
+				return valueLoader.call();
+			}
+			finally {
+				this.loadCount.increment();
+				this.totalLoadTime.add(System.nanoTime() - start);
+			}
+		});
+		if (loaded[0]) {
+			this.remoteMissCount.increment();
+			publishInvalidation(key);
+		}
+		else {
+			this.remoteHitCount.increment();
+		}
+		this.localCache.put(key, toLocalValue(value));
+		return value;
+	}
+
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, Object> localValues = this.localCache.getAllPresent(keys);
+		this.localHitCount.add(localValues.size());
+		List<Object> localMisses = new ArrayList<>(keys.size() - localValues.size());
+		for (Object key : keys) {
+			if (!localValues.containsKey(key)) {
+				localMisses.add(key);
+			}
+		}
+		Map<Object, ValueWrapper> remoteValues = Collections.emptyMap();
+		if (!localMisses.isEmpty()) {
+			this.localMissCount.add(localMisses.size());
+			remoteValues = this.targetCache.getAll(localMisses);
+			this.remoteHitCount.add(remoteValues.size());
+			this.remoteMissCount.add(localMisses.size() - remoteValues.size());
+			Map<Object, Object> newLocalValues = new LinkedHashMap<>(remoteValues.size());
+			remoteValues.forEach((key, wrapper) -> newLocalValues.put(key, toLocalValue(wrapper.get())));
+			this.localCache.putAll(newLocalValues);
+		}
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(localValues.size() + remoteValues.size());
+		for (Object key : keys) {
+			Object localValue = localValues.get(key);
+			if (localValue != null) {
+				result.put(key, new SimpleValueWrapper(fromLocalValue(localValue)));
+			}
+			else {
+				ValueWrapper wrapper = remoteValues.get(key);
+				if (wrapper != null) {
+					result.put(key, wrapper);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		Object localValue = this.localCache.getIfPresent(key);
+		if (localValue != null) {
+			this.localHitCount.increment();
+			return CompletableFuture.completedFuture(new SimpleValueWrapper(fromLocalValue(localValue)));
+		}
+		this.localMissCount.increment();
+		CompletableFuture<?> result = this.targetCache.retrieve(key);
+		if (result == null) {
+			this.remoteMissCount.increment();
+			return null;
+		}
+		return result.thenApply(value -> {
+			if (value != null) {
+				this.remoteHitCount.increment();
+				this.localCache.put(key, toLocalValue(value instanceof ValueWrapper ?
+						((ValueWrapper) value).get() : value));
+			}
+			else {
+				this.remoteMissCount.increment();
+			}
+			return value;
+		});
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Object localValue = this.localCache.getIfPresent(key);
+		if (localValue != null) {
+			this.localHitCount.increment();
+			return CompletableFuture.completedFuture((T) fromLocalValue(localValue));
+		}
+		this.localMissCount.increment();
+		AtomicBoolean loaded = new AtomicBoolean();
+		return this.targetCache.retrieve(key, () -> {
+			loaded.set(true);
+			long start = System.nanoTime();
+			return valueLoader.get().whenComplete((value, ex) -> {
+				this.loadCount.increment();
+				this.totalLoadTime.add(System.nanoTime() - start);
+			});
+		}).thenApply(value -> {
+			if (loaded.get()) {
+				this.remoteMissCount.increment();
+				publishInvalidation(key);
+			}
+			else {
+				this.remoteHitCount.increment();
+			}
+			this.localCache.put(key, toLocalValue(value));
+			return value;
+		});
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		this.targetCache.put(key, value);
+		this.localCache.put(key, toLocalValue(value));
+		publishInvalidation(key);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		ValueWrapper existing = this.targetCache.putIfAbsent(key, value);
+		if (existing == null) {
+			this.localCache.put(key, toLocalValue(value));
+			publishInvalidation(key);
+		}
+		else {
+			this.localCache.put(key, toLocalValue(existing.get()));
+		}
+		return existing;
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		this.targetCache.putAll(entries);
+		Map<Object, Object> localValues = new LinkedHashMap<>(entries.size());
+		entries.forEach((key, value) -> localValues.put(key, toLocalValue(value)));
+		this.localCache.putAll(localValues);
+		entries.keySet().forEach(this::publishInvalidation);
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.targetCache.evict(key);
+		this.localCache.invalidate(key);
+		publishInvalidation(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean evicted = this.targetCache.evictIfPresent(key);
+		this.localCache.invalidate(key);
+		publishInvalidation(key);
+		return evicted;
+	}
+
+	@Override
+	public void evictAll(Collection<?> keys) {
+		this.targetCache.evictAll(keys);
+		this.localCache.invalidateAll(keys);
+		keys.forEach(this::publishInvalidation);
+	}
+
+	@Override
+	public void clear() {
+		this.targetCache.clear();
+		this.localCache.invalidateAll();
+		publishInvalidation(null);
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean invalidated = this.targetCache.invalidate();
+		this.localCache.invalidateAll();
+		publishInvalidation(null);
+		return invalidated;
+	}
+
+
+	/**
+	 * Return the number of lookups answered by the local tier.
+	 */
+	public long getLocalHitCount() {
+		return this.localHitCount.sum();
+	}
+
+	/**
+	 * Return the number of lookups not answered by the local tier.
+	 */
+	public long getLocalMissCount() {
+		return this.localMissCount.sum();
+	}
+
+	/**
+	 * Return the number of local misses answered by the target cache.
+	 */
+	public long getRemoteHitCount() {
+		return this.remoteHitCount.sum();
+	}
+
+	/**
+	 * Return the number of local misses not answered by the target cache either.
+	 */
+	public long getRemoteMissCount() {
+		return this.remoteMissCount.sum();
+	}
+
+	/**
+	 * Return the number of invalidations received from other near caches.
+	 */
+	public long getInvalidationCount() {
+		return this.invalidationCount.sum();
+	}
+
+	@Override
+	public long getHitCount() {
+		return this.localHitCount.sum() + this.remoteHitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return this.remoteMissCount.sum();
+	}
+
+	@Override
+	public long getLoadCount() {
+		return this.loadCount.sum();
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return this.totalLoadTime.sum();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return this.localCache.stats().evictionCount();
+	}
+
+	/**
+	 * Stop receiving invalidations from the invalidation channel, if any.
+	 * The local tier will not be kept in sync with other near caches anymore.
+	 */
+	@Override
+	public void destroy() {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.unsubscribe(this.invalidationListener);
+		}
+	}
+
+
+	private void publishInvalidation(@Nullable Object key) {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.publish(new NearCacheInvalidation(this.id, getName(), key));
+		}
+	}
+
+	private void onInvalidation(NearCacheInvalidation invalidation) {
+		if (this.id.equals(invalidation.getOrigin()) || !getName().equals(invalidation.getCacheName())) {
+			return;
+		}
+		this.invalidationCount.increment();
+		Object key = invalidation.getKey();
+		if (key != null) {
+			this.localCache.invalidate(key);
+		}
+		else {
+			this.localCache.invalidateAll();
+		}
+	}
+
+	private static Object toLocalValue(@Nullable Object value) {
+		return (value != null ? value : NullValue.INSTANCE);
+	}
+
+	@Nullable
+	private static Object fromLocalValue(Object localValue) {
+		return (localValue == NullValue.INSTANCE ? null : localValue);
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " '" + getName() + "': local hits=" + getLocalHitCount() +
+				", local misses=" + getLocalMissCount() + ", remote hits=" + getRemoteHitCount() +
+				", remote misses=" + getRemoteMissCount();
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} fronting the caches of a target {@link CacheManager},
+ * typically a distributed one such as a
+ * {@link org.springframework.cache.jcache.JCacheCacheManager}, with a local
+ * Caffeine tier, exposing {@link CaffeineNearCache} instances.
+ *
+ * <p>The local tier is bounded to {@value #DEFAULT_LOCAL_MAXIMUM_SIZE} entries
+ * per cache with entries expiring {@link #DEFAULT_LOCAL_TIME_TO_LIVE 60 seconds}
+ * after they have been written, by default, recording statistics. Set an
+ * {@linkplain #setInvalidationChannel invalidation channel} for modifications
+ * to be propagated to the near caches of other instances.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see CaffeineNearCache
+ * @see NearCacheInvalidationChannel
+ */
+public class CaffeineNearCacheManager implements CacheManager, InitializingBean, DisposableBean {
+
+	/**
+	 * The default maximum number of entries held by the local tier of each cache.
+	 */
+	public static final long DEFAULT_LOCAL_MAXIMUM_SIZE = 10_000;
+
+	/**
+	 * The default time for entries to remain in the local tier after they have been written.
+	 */
+	public static final Duration DEFAULT_LOCAL_TIME_TO_LIVE = Duration.ofSeconds(60);
+
+
+	@Nullable
+	private CacheManager targetCacheManager;
+
+	@Nullable
+	private NearCacheInvalidationChannel invalidationChannel;
+
+	private long localMaximumSize = DEFAULT_LOCAL_MAXIMUM_SIZE;
+
+	private Duration localTimeToLive = DEFAULT_LOCAL_TIME_TO_LIVE;
+
+	@Nullable
+	private Caffeine<Object, Object> localCacheBuilder;
+
+	private final ConcurrentMap<String, CaffeineNearCache> cacheMap = new ConcurrentHashMap<>(16);
+
+
+	/**
+	 * Create a new CaffeineNearCacheManager, setting the target CacheManager
+	 * through the {@link #setTargetCacheManager} bean property.
+	 */
+	public CaffeineNearCacheManager() {
+	}
+
+	/**
+	 * Create a new CaffeineNearCacheManager for the given target CacheManager.
+	 * @param targetCacheManager the target CacheManager to front
+	 */
+	public CaffeineNearCacheManager(CacheManager targetCacheManager) {
+		Assert.notNull(targetCacheManager, "Target CacheManager must not be null");
+		this.targetCacheManager = targetCacheManager;
+	}
+
+
+	/**
+	 * Set the target CacheManager to front.
+	 */
+	public void setTargetCacheManager(CacheManager targetCacheManager) {
+		this.targetCacheManager = targetCacheManager;
+	}
+
+	/**
+	 * Set the channel to publish and receive invalidations through.
+	 * <p>Default is none, in which case modifications performed by other
+	 * instances are only picked up once the local entry has expired.
+	 */
+	public void setInvalidationChannel(@Nullable NearCacheInvalidationChannel invalidationChannel) {
+		this.invalidationChannel = invalidationChannel;
+	}
+
+	/**
+	 * Set the maximum number of entries held by the local tier of each cache.
+	 * <p>Default is {@value #DEFAULT_LOCAL_MAXIMUM_SIZE}.
+	 */
+	public void setLocalMaximumSize(long localMaximumSize) {
+		Assert.isTrue(localMaximumSize >= 0, "Local maximum size must not be negative");
+		this.localMaximumSize = localMaximumSize;
+	}
+
+	/**
+	 * Set the time for entries to remain in the local tier after they have
+	 * been written, bounding their staleness if an invalidation is missed.
+	 * <p>Default is 60 seconds.
+	 */
+	public void setLocalTimeToLive(Duration localTimeToLive) {
+		Assert.isTrue(!localTimeToLive.isNegative(), "Local time to live must not be negative");
+		this.localTimeToLive = localTimeToLive;
+	}
+
+	/**
+	 * Set the Caffeine builder to use for the local tier of each cache,
+	 * overriding the {@linkplain #setLocalMaximumSize maximum size} and
+	 * {@linkplain #setLocalTimeToLive time to live} settings.
+	 */
+	public void setLocalCacheBuilder(@Nullable Caffeine<Object, Object> localCacheBuilder) {
+		this.localCacheBuilder = localCacheBuilder;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.targetCacheManager == null) {
+			throw new IllegalArgumentException("Property 'targetCacheManager' is required");
+		}
+	}
+
+	/**
+	 * Unsubscribe all near caches created so far from the invalidation channel.
+	 * @see CaffeineNearCache#destroy()
+	 */
+	@Override
+	public void destroy() {
+		this.cacheMap.values().forEach(CaffeineNearCache::destroy);
+		this.cacheMap.clear();
+	}
+
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		CaffeineNearCache cache = this.cacheMap.get(name);
+		if (cache == null) {
+			Assert.state(this.targetCacheManager != null, "No target CacheManager set");
+			Cache targetCache = this.targetCacheManager.getCache(name);
+			if (targetCache == null) {
+				return null;
+			}
+			cache = this.cacheMap.computeIfAbsent(name, key -> createNearCache(targetCache));
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		Assert.state(this.targetCacheManager != null, "No target CacheManager set");
+		return this.targetCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Create a near cache fronting the given target cache.
+	 * @param targetCache the target cache
+	 * @return the CaffeineNearCache instance
+	 */
+	protected CaffeineNearCache createNearCache(Cache targetCache) {
+		return new CaffeineNearCache(targetCache, createLocalCache(), this.invalidationChannel);
+	}
+
+	/**
+	 * Build the Caffeine cache backing the local tier of a near cache.
+	 */
+	protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createLocalCache() {
+		if (this.localCacheBuilder != null) {
+			return this.localCacheBuilder.build();
+		}
+		return Caffeine.newBuilder()
+				.maximumSize(this.localMaximumSize)
+				.expireAfterWrite(this.localTimeToLive)
+				.recordStats()
+				.build();
+	}
+
+}
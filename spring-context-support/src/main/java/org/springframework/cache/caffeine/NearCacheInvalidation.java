@@ -0,0 +1,94 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.io.Serializable;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Message published through a {@link NearCacheInvalidationChannel} when an
+ * entry of a {@link CaffeineNearCache} has been modified, so that other
+ * instances drop the corresponding entry from their local tier.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see NearCacheInvalidationChannel
+ */
+@SuppressWarnings("serial")
+public final class NearCacheInvalidation implements Serializable {
+
+	private final String origin;
+
+	private final String cacheName;
+
+	@Nullable
+	private final Object key;
+
+
+	/**
+	 * Create a new invalidation message.
+	 * @param origin the identifier of the near cache that published the message
+	 * @param cacheName the name of the affected cache
+	 * @param key the affected key, or {@code null} if the entire cache was cleared
+	 */
+	public NearCacheInvalidation(String origin, String cacheName, @Nullable Object key) {
+		Assert.notNull(origin, "Origin must not be null");
+		Assert.notNull(cacheName, "Cache name must not be null");
+		this.origin = origin;
+		this.cacheName = cacheName;
+		this.key = key;
+	}
+
+
+	/**
+	 * Return the identifier of the near cache that published this message.
+	 */
+	public String getOrigin() {
+		return this.origin;
+	}
+
+	/**
+	 * Return the name of the affected cache.
+	 */
+	public String getCacheName() {
+		return this.cacheName;
+	}
+
+	/**
+	 * Return the affected key, or {@code null} if the entire cache was cleared.
+	 */
+	@Nullable
+	public Object getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Return whether the entire cache has been cleared.
+	 */
+	public boolean isClear() {
+		return (this.key == null);
+	}
+
+	@Override
+	public String toString() {
+		return "NearCacheInvalidation: cache '" + this.cacheName + "', " +
+				(this.key != null ? "key [" + this.key + "]" : "all keys") + ", origin '" + this.origin + "'";
+	}
+
+}
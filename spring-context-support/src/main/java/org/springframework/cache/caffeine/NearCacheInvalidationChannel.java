@@ -0,0 +1,55 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel propagating {@link NearCacheInvalidation} messages between the
+ * {@link CaffeineNearCache} instances fronting the same remote cache,
+ * typically backed by a messaging system such as a pub/sub topic.
+ *
+ * <p>Implementations are expected to deliver every published message to
+ * all subscribers, including the subscribers of the publishing instance:
+ * near caches ignore the messages they published themselves.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see SimpleNearCacheInvalidationChannel
+ * @see CaffeineNearCacheManager#setInvalidationChannel
+ */
+public interface NearCacheInvalidationChannel {
+
+	/**
+	 * Publish the given invalidation to all subscribers.
+	 * @param invalidation the invalidation message
+	 */
+	void publish(NearCacheInvalidation invalidation);
+
+	/**
+	 * Register a subscriber for the invalidations published on this channel.
+	 * @param listener the callback to invoke for each invalidation
+	 */
+	void subscribe(Consumer<NearCacheInvalidation> listener);
+
+	/**
+	 * Remove a subscriber previously registered through {@link #subscribe}.
+	 * @param listener the callback to remove
+	 */
+	void unsubscribe(Consumer<NearCacheInvalidation> listener);
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link NearCacheInvalidationChannel} that delivers every
+ * invalidation synchronously to all subscribers within the same JVM.
+ *
+ * <p>Useful for testing and for near caches fronting a cache that is
+ * shared within a single process only.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ */
+public class SimpleNearCacheInvalidationChannel implements NearCacheInvalidationChannel {
+
+	private final List<Consumer<NearCacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+
+	@Override
+	public void publish(NearCacheInvalidation invalidation) {
+		for (Consumer<NearCacheInvalidation> listener : this.listeners) {
+			listener.accept(invalidation);
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<NearCacheInvalidation> listener) {
+		this.listeners.add(listener);
+	}
+
+	@Override
+	public void unsubscribe(Consumer<NearCacheInvalidation> listener) {
+		this.listeners.remove(listener);
+	}
+
+}
@@ -16,13 +16,20 @@
 
 package org.springframework.cache.ehcache;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
 
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.Status;
 
 import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
 import org.springframework.cache.support.SimpleValueWrapper;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -30,16 +37,24 @@ import org.springframework.util.Assert;
 /**
  * {@link Cache} implementation on top of an {@link Ehcache} instance.
  *
+ * <p>Hit, miss and eviction counts are taken from the Ehcache
+ * {@link net.sf.ehcache.statistics.StatisticsGateway statistics}, with
+ * expired entries counting as evictions. Loads are tracked by this adapter.
+ *
  * @author Costin Leau
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 3.1
  * @see EhCacheCacheManager
  */
-public class EhCacheCache implements Cache {
+public class EhCacheCache implements Cache, CacheStatistics {
 
 	private final Ehcache cache;
 
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
 
 	/**
 	 * Create an {@link EhCacheCache} instance.
@@ -113,16 +128,34 @@ public class EhCacheCache implements Cache {
 
 	private <T> T loadValue(Object key, Callable<T> valueLoader) {
 		T value;
+		long start = System.nanoTime();
 		try {
 			value = valueLoader.call();
 		}
 		catch (Throwable ex) {
 			throw new ValueRetrievalException(key, valueLoader, ex);
 		}
+		finally {
+			this.loadCount.increment();
+			this.totalLoadTime.add(System.nanoTime() - start);
+		}
 		put(key, value);
 		return value;
 	}
 
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, Element> found = this.cache.getAll(keys);
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(found.size());
+		for (Object key : keys) {
+			Element element = found.get(key);
+			if (element != null) {
+				result.put(key, toValueWrapper(element));
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.cache.put(new Element(key, value));
@@ -135,6 +168,13 @@ public class EhCacheCache implements Cache {
 		return toValueWrapper(existingElement);
 	}
 
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		List<Element> elements = new ArrayList<>(entries.size());
+		entries.forEach((key, value) -> elements.add(new Element(key, value)));
+		this.cache.putAll(elements);
+	}
+
 	@Override
 	public void evict(Object key) {
 		this.cache.remove(key);
@@ -145,6 +185,11 @@ public class EhCacheCache implements Cache {
 		return this.cache.remove(key);
 	}
 
+	@Override
+	public void evictAll(Collection<?> keys) {
+		this.cache.removeAll(keys);
+	}
+
 	@Override
 	public void clear() {
 		this.cache.removeAll();
@@ -157,6 +202,31 @@ public class EhCacheCache implements Cache {
 		return notEmpty;
 	}
 
+	@Override
+	public long getHitCount() {
+		return this.cache.getStatistics().cacheHitCount();
+	}
+
+	@Override
+	public long getMissCount() {
+		return this.cache.getStatistics().cacheMissCount();
+	}
+
+	@Override
+	public long getLoadCount() {
+		return this.loadCount.sum();
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return this.totalLoadTime.sum();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return this.cache.getStatistics().cacheEvictedCount() + this.cache.getStatistics().cacheExpiredCount();
+	}
+
 
 	@Nullable
 	private Element lookup(Object key) {
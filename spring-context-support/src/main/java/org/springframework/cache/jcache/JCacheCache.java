@@ -16,13 +16,19 @@
 
 package org.springframework.cache.jcache;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.cache.Cache;
 import javax.cache.processor.EntryProcessor;
 import javax.cache.processor.EntryProcessorException;
 import javax.cache.processor.MutableEntry;
 
+import org.springframework.cache.CacheStatistics;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -33,15 +39,28 @@ import org.springframework.util.Assert;
  *
  * <p>Note: This class has been updated for JCache 1.0, as of Spring 4.0.
  *
+ * <p>As JCache only exposes its statistics through JMX, hits, misses and
+ * loads are tracked by this adapter as {@link CacheStatistics}, provided that
+ * value loaders are invoked locally. Evictions cannot be observed and are
+ * therefore not counted.
+ *
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 3.2
  * @see JCacheCacheManager
  */
-public class JCacheCache extends AbstractValueAdaptingCache {
+public class JCacheCache extends AbstractValueAdaptingCache implements CacheStatistics {
 
 	private final Cache<Object, Object> cache;
 
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
 
 	/**
 	 * Create a {@code JCacheCache} instance.
@@ -76,7 +95,14 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
-		return this.cache.get(key);
+		Object value = this.cache.get(key);
+		if (value != null) {
+			this.hitCount.increment();
+		}
+		else {
+			this.missCount.increment();
+		}
+		return value;
 	}
 
 	@Override
@@ -90,6 +116,21 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 		}
 	}
 
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, Object> found = this.cache.getAll(new LinkedHashSet<>(keys));
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(found.size());
+		for (Object key : keys) {
+			Object value = found.get(key);
+			if (value != null) {
+				result.put(key, toValueWrapper(value));
+			}
+		}
+		this.hitCount.add(result.size());
+		this.missCount.add(keys.size() - result.size());
+		return result;
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.cache.put(key, toStoreValue(value));
@@ -102,6 +143,13 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 		return (set ? null : get(key));
 	}
 
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		Map<Object, Object> storeValues = new LinkedHashMap<>(entries.size());
+		entries.forEach((key, value) -> storeValues.put(key, toStoreValue(value)));
+		this.cache.putAll(storeValues);
+	}
+
 	@Override
 	public void evict(Object key) {
 		this.cache.remove(key);
@@ -112,6 +160,11 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 		return this.cache.remove(key);
 	}
 
+	@Override
+	public void evictAll(Collection<?> keys) {
+		this.cache.removeAll(new LinkedHashSet<>(keys));
+	}
+
 	@Override
 	public void clear() {
 		this.cache.removeAll();
@@ -125,6 +178,32 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 	}
 
 
+	@Override
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	@Override
+	public long getLoadCount() {
+		return this.loadCount.sum();
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return this.totalLoadTime.sum();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return 0;
+	}
+
+
 	private class ValueLoaderEntryProcessor<T> implements EntryProcessor<Object, Object, T> {
 
 		@SuppressWarnings("unchecked")
@@ -133,10 +212,13 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 		public T process(MutableEntry<Object, Object> entry, Object... arguments) throws EntryProcessorException {
 			Callable<T> valueLoader = (Callable<T>) arguments[0];
 			if (entry.exists()) {
+				hitCount.increment();
 				return (T) fromStoreValue(entry.getValue());
 			}
 			else {
+				missCount.increment();
 				T value;
+				long start = System.nanoTime();
 				try {
 					value = valueLoader.call();
 				}
@@ -144,6 +226,10 @@ public class JCacheCache extends AbstractValueAdaptingCache {
 					throw new EntryProcessorException("Value loader '" + valueLoader + "' failed " +
 							"to compute value for key '" + entry.getKey() + "'", ex);
 				}
+				finally {
+					loadCount.increment();
+					totalLoadTime.add(System.nanoTime() - start);
+				}
 				entry.setValue(toStoreValue(value));
 				return value;
 			}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,19 @@
 
 package org.springframework.cache.transaction;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.support.TransactionSynchronizationAdapter;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
@@ -30,22 +40,37 @@ import org.springframework.util.Assert;
  * {@link TransactionSynchronizationManager}, performing the actual cache
  * put/evict/clear operation only in the after-commit phase of a successful
  * transaction. If no transaction is active, {@link #put}, {@link #evict} and
- * {@link #clear} operations will be performed immediately, as usual.
+ * {@link #clear} operations will be performed immediately, as usual. The same
+ * applies to the bulk {@link #putAll} and {@link #evictAll} operations.
+ *
+ * <p>Within a transaction, the deferred operations are buffered per cache and
+ * applied in a single after-commit callback, in their original order, with
+ * consecutive puts and evictions passed on as {@link Cache#putAll} and
+ * {@link Cache#evictAll} bulk operations.
  *
  * <p><b>Note:</b> Use of immediate operations such as {@link #putIfAbsent} and
  * {@link #evictIfPresent} cannot be deferred to the after-commit phase of a
  * running transaction. Use these with care in a transactional environment.
  *
+ * <p>{@link CacheStatistics} are delegated to the target Cache, remaining
+ * at {@code 0} if the target Cache does not expose any.
+ *
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @author Stas Volsky
  * @since 3.2
  * @see TransactionAwareCacheManagerProxy
  */
-public class TransactionAwareCacheDecorator implements Cache {
+public class TransactionAwareCacheDecorator implements Cache, CacheStatistics {
+
+	/** Marker for a pending {@link #clear()} operation. */
+	private static final Object CLEAR = new Object();
 
 	private final Cache targetCache;
 
+	/** Key for binding the pending operations for the target cache as a transactional resource. */
+	private final PendingOperationsKey pendingOperationsKey;
+
 
 	/**
 	 * Create a new TransactionAwareCache for the given target Cache.
@@ -54,6 +79,7 @@ public class TransactionAwareCacheDecorator implements Cache {
 	public TransactionAwareCacheDecorator(Cache targetCache) {
 		Assert.notNull(targetCache, "Target Cache must not be null");
 		this.targetCache = targetCache;
+		this.pendingOperationsKey = new PendingOperationsKey(targetCache);
 	}
 
 
@@ -92,20 +118,41 @@ public class TransactionAwareCacheDecorator implements Cache {
 	}
 
 	@Override
-	public void put(final Object key, @Nullable final Object value) {
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		return this.targetCache.getAll(keys);
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		return this.targetCache.retrieve(key);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		return this.targetCache.retrieve(key, valueLoader);
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
 		if (TransactionSynchronizationManager.isSynchronizationActive()) {
-			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
-				@Override
-				public void afterCommit() {
-					TransactionAwareCacheDecorator.this.targetCache.put(key, value);
-				}
-			});
+			getPendingOperations().put(key, value);
 		}
 		else {
 			this.targetCache.put(key, value);
 		}
 	}
 
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			entries.forEach(getPendingOperations()::put);
+		}
+		else {
+			this.targetCache.putAll(entries);
+		}
+	}
+
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
@@ -113,20 +160,25 @@ public class TransactionAwareCacheDecorator implements Cache {
 	}
 
 	@Override
-	public void evict(final Object key) {
+	public void evict(Object key) {
 		if (TransactionSynchronizationManager.isSynchronizationActive()) {
-			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
-				@Override
-				public void afterCommit() {
-					TransactionAwareCacheDecorator.this.targetCache.evict(key);
-				}
-			});
+			getPendingOperations().evict(key);
 		}
 		else {
 			this.targetCache.evict(key);
 		}
 	}
 
+	@Override
+	public void evictAll(Collection<?> keys) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			keys.forEach(getPendingOperations()::evict);
+		}
+		else {
+			this.targetCache.evictAll(keys);
+		}
+	}
+
 	@Override
 	public boolean evictIfPresent(Object key) {
 		return this.targetCache.evictIfPresent(key);
@@ -135,12 +187,7 @@ public class TransactionAwareCacheDecorator implements Cache {
 	@Override
 	public void clear() {
 		if (TransactionSynchronizationManager.isSynchronizationActive()) {
-			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
-				@Override
-				public void afterCommit() {
-					targetCache.clear();
-				}
-			});
+			getPendingOperations().clear();
 		}
 		else {
 			this.targetCache.clear();
@@ -152,4 +199,182 @@ public class TransactionAwareCacheDecorator implements Cache {
 		return this.targetCache.invalidate();
 	}
 
+	@Override
+	public long getHitCount() {
+		return (this.targetCache instanceof CacheStatistics ?
+				((CacheStatistics) this.targetCache).getHitCount() : 0);
+	}
+
+	@Override
+	public long getMissCount() {
+		return (this.targetCache instanceof CacheStatistics ?
+				((CacheStatistics) this.targetCache).getMissCount() : 0);
+	}
+
+	@Override
+	public long getLoadCount() {
+		return (this.targetCache instanceof CacheStatistics ?
+				((CacheStatistics) this.targetCache).getLoadCount() : 0);
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return (this.targetCache instanceof CacheStatistics ?
+				((CacheStatistics) this.targetCache).getTotalLoadTime() : 0);
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return (this.targetCache instanceof CacheStatistics ?
+				((CacheStatistics) this.targetCache).getEvictionCount() : 0);
+	}
+
+	/**
+	 * Obtain the operations pending for the target cache in the current transaction,
+	 * registering a synchronization for them on first access. The operations are
+	 * bound under a key for the target cache so that they are shared by all
+	 * decorators for it, without colliding with resources bound to the cache itself.
+	 */
+	private PendingOperations getPendingOperations() {
+		PendingOperations pendingOperations =
+				(PendingOperations) TransactionSynchronizationManager.getResource(this.pendingOperationsKey);
+		if (pendingOperations == null) {
+			pendingOperations = new PendingOperations();
+			TransactionSynchronizationManager.bindResource(this.pendingOperationsKey, pendingOperations);
+			TransactionSynchronizationManager.registerSynchronization(pendingOperations);
+		}
+		return pendingOperations;
+	}
+
+
+	/**
+	 * Operations buffered within a transaction, applied to the target cache
+	 * in their original order after commit. Consecutive puts and evictions
+	 * are merged into a single bulk operation each.
+	 */
+	private class PendingOperations extends TransactionSynchronizationAdapter {
+
+		private final List<Object> batches = new ArrayList<>();
+
+		public void put(Object key, @Nullable Object value) {
+			Object last = lastBatch();
+			if (last instanceof PutBatch) {
+				((PutBatch) last).entries.put(key, value);
+			}
+			else {
+				PutBatch batch = new PutBatch();
+				batch.entries.put(key, value);
+				this.batches.add(batch);
+			}
+		}
+
+		public void evict(Object key) {
+			Object last = lastBatch();
+			if (last instanceof EvictBatch) {
+				((EvictBatch) last).keys.add(key);
+			}
+			else {
+				EvictBatch batch = new EvictBatch();
+				batch.keys.add(key);
+				this.batches.add(batch);
+			}
+		}
+
+		public void clear() {
+			// Any previous operation is superseded by clearing the cache
+			this.batches.clear();
+			this.batches.add(CLEAR);
+		}
+
+		@Nullable
+		private Object lastBatch() {
+			return (!this.batches.isEmpty() ? this.batches.get(this.batches.size() - 1) : null);
+		}
+
+		@Override
+		public void suspend() {
+			TransactionSynchronizationManager.unbindResource(pendingOperationsKey);
+		}
+
+		@Override
+		public void resume() {
+			TransactionSynchronizationManager.bindResource(pendingOperationsKey, this);
+		}
+
+		@Override
+		public void afterCommit() {
+			for (Object batch : this.batches) {
+				if (batch instanceof PutBatch) {
+					Map<Object, Object> entries = ((PutBatch) batch).entries;
+					if (entries.size() == 1) {
+						Map.Entry<Object, Object> entry = entries.entrySet().iterator().next();
+						targetCache.put(entry.getKey(), entry.getValue());
+					}
+					else {
+						targetCache.putAll(entries);
+					}
+				}
+				else if (batch instanceof EvictBatch) {
+					Set<Object> keys = ((EvictBatch) batch).keys;
+					if (keys.size() == 1) {
+						targetCache.evict(keys.iterator().next());
+					}
+					else {
+						targetCache.evictAll(keys);
+					}
+				}
+				else {
+					targetCache.clear();
+				}
+			}
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(pendingOperationsKey);
+		}
+	}
+
+
+	/**
+	 * Transactional resource key for the pending operations of a target cache,
+	 * matching the same target cache instance.
+	 */
+	private static final class PendingOperationsKey {
+
+		private final Cache targetCache;
+
+		PendingOperationsKey(Cache targetCache) {
+			this.targetCache = targetCache;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof PendingOperationsKey &&
+					this.targetCache == ((PendingOperationsKey) other).targetCache));
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(this.targetCache);
+		}
+
+		@Override
+		public String toString() {
+			return "PendingOperationsKey for cache '" + this.targetCache.getName() + "'";
+		}
+	}
+
+
+	private static class PutBatch {
+
+		final Map<Object, Object> entries = new LinkedHashMap<>();
+	}
+
+
+	private static class EvictBatch {
+
+		final Set<Object> keys = new LinkedHashSet<>();
+	}
+
 }
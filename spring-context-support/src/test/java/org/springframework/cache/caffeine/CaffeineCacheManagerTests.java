@@ -16,6 +16,8 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.CaffeineSpec;
@@ -64,6 +66,23 @@ public class CaffeineCacheManagerTests {
 		assertThat(cache1.get("key3")).isNull();
 	}
 
+	@Test
+	public void testAsyncMode() {
+		CaffeineCacheManager cm = new CaffeineCacheManager();
+		cm.setAsyncCacheMode(true);
+		assertThat(cm.isAsyncCacheMode()).isTrue();
+		Cache cache1 = cm.getCache("c1");
+		assertThat(cache1).isInstanceOf(CaffeineCache.class);
+		assertThat(((CaffeineCache) cache1).getAsyncCache()).isNotNull();
+
+		cache1.put("key1", "value1");
+		assertThat(cache1.get("key1").get()).isEqualTo("value1");
+		assertThat(((Cache.ValueWrapper) cache1.retrieve("key1").join()).get()).isEqualTo("value1");
+		assertThat(cache1.retrieve("key2", () -> CompletableFuture.completedFuture("value2")).join())
+				.isEqualTo("value2");
+		assertThat(cache1.get("key2").get()).isEqualTo("value2");
+	}
+
 	@Test
 	public void testStaticMode() {
 		CaffeineCacheManager cm = new CaffeineCacheManager("c1", "c2");
@@ -16,6 +16,9 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -79,4 +82,69 @@ public class CaffeineCacheTests extends AbstractValueAdaptingCacheTests<Caffeine
 		assertThat(cache.get(key).get()).isEqualTo(value);
 	}
 
+	@Test
+	public void testRetrieveWithAsyncCache() {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().buildAsync(), true);
+		Object key = new Object();
+		assertThat(cache.retrieve(key)).isNull();
+
+		cache.put(key, "value");
+		assertThat(((Cache.ValueWrapper) cache.retrieve(key).join()).get()).isEqualTo("value");
+		assertThat(cache.getAsyncCache()).isNotNull();
+		assertThat(cache.getNativeCache().getIfPresent(key)).isEqualTo("value");
+
+		cache.put(key, null);
+		assertThat(((Cache.ValueWrapper) cache.retrieve(key).join()).get()).isNull();
+		assertThat(cache.get(key).get()).isNull();
+	}
+
+	@Test
+	public void testRetrieveWithValueLoaderAndAsyncCache() {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().buildAsync(), false);
+		Object key = new Object();
+		AtomicInteger loads = new AtomicInteger();
+		CompletableFuture<String> pending = new CompletableFuture<>();
+
+		CompletableFuture<String> first = cache.retrieve(key, () -> {
+			loads.incrementAndGet();
+			return pending;
+		});
+		CompletableFuture<String> second = cache.retrieve(key, () -> {
+			loads.incrementAndGet();
+			return CompletableFuture.completedFuture("other");
+		});
+		assertThat(first).isNotDone();
+		assertThat(second).isNotDone();
+
+		pending.complete("value");
+		assertThat(first.join()).isEqualTo("value");
+		assertThat(second.join()).isEqualTo("value");
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(cache.retrieve(key).join()).isEqualTo("value");
+	}
+
+	@Test
+	public void testRetrieveWithSyncCache() {
+		CaffeineCache cache = getCache();
+		Object key = new Object();
+		assertThat(cache.retrieve(key)).isNull();
+		assertThat(cache.retrieve(key, () -> CompletableFuture.completedFuture("value")).join()).isEqualTo("value");
+		assertThat(((Cache.ValueWrapper) cache.retrieve(key).join()).get()).isEqualTo("value");
+	}
+
+	@Test
+	public void testStatistics() {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME,
+				Caffeine.newBuilder().maximumSize(1).executor(Runnable::run).recordStats().build());
+		cache.put("key", "value");
+		assertThat(cache.get("key")).isNotNull();
+		assertThat(cache.get("missing")).isNull();
+		assertThat(cache.get("loaded", () -> "value")).isEqualTo("value");
+
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getLoadCount()).isEqualTo(1);
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+	}
+
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CaffeineNearCacheManager} and {@link CaffeineNearCache},
+ * simulating two instances sharing a remote cache.
+ */
+public class CaffeineNearCacheManagerTests {
+
+	private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager();
+
+	private final SimpleNearCacheInvalidationChannel channel = new SimpleNearCacheInvalidationChannel();
+
+	private CaffeineNearCacheManager node1;
+
+	private CaffeineNearCacheManager node2;
+
+
+	@BeforeEach
+	public void setUp() {
+		this.node1 = createNearCacheManager();
+		this.node2 = createNearCacheManager();
+	}
+
+	private CaffeineNearCacheManager createNearCacheManager() {
+		CaffeineNearCacheManager cacheManager = new CaffeineNearCacheManager(this.remoteCacheManager);
+		cacheManager.setInvalidationChannel(this.channel);
+		cacheManager.afterPropertiesSet();
+		return cacheManager;
+	}
+
+
+	@Test
+	public void lookupPopulatesLocalTier() {
+		CaffeineNearCache cache = (CaffeineNearCache) this.node1.getCache("test");
+		assertThat(this.node1.getCache("test")).isSameAs(cache);
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.getRemoteMissCount()).isEqualTo(1);
+
+		this.remoteCacheManager.getCache("test").put("key", "value");
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+		assertThat(cache.getLocalHitCount()).isEqualTo(1);
+		assertThat(cache.getLocalMissCount()).isEqualTo(2);
+		assertThat(cache.getRemoteHitCount()).isEqualTo(1);
+		assertThat(cache.getRemoteMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void nullValueHeldInLocalTier() {
+		Cache cache = this.node1.getCache("test");
+		cache.put("key", null);
+		Cache.ValueWrapper wrapper = cache.get("key");
+		assertThat(wrapper).isNotNull();
+		assertThat(wrapper.get()).isNull();
+		assertThat(((CaffeineNearCache) cache).getLocalHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void modificationInvalidatesOtherInstances() {
+		CaffeineNearCache cache1 = (CaffeineNearCache) this.node1.getCache("test");
+		CaffeineNearCache cache2 = (CaffeineNearCache) this.node2.getCache("test");
+		cache1.put("key", "value1");
+		assertThat(cache2.get("key", String.class)).isEqualTo("value1");
+		assertThat(cache2.getLocalCache().getIfPresent("key")).isEqualTo("value1");
+
+		cache1.put("key", "value2");
+		assertThat(cache2.getLocalCache().getIfPresent("key")).isNull();
+		assertThat(cache2.get("key", String.class)).isEqualTo("value2");
+		assertThat(cache2.getInvalidationCount()).isEqualTo(2);
+		assertThat(cache1.getInvalidationCount()).isEqualTo(0);
+		assertThat(cache1.getLocalCache().getIfPresent("key")).isEqualTo("value2");
+
+		cache1.evict("key");
+		assertThat(cache2.get("key")).isNull();
+
+		cache2.put("other", "value");
+		cache1.get("other");
+		cache2.clear();
+		assertThat(cache1.getLocalCache().estimatedSize()).isEqualTo(0);
+		assertThat(cache1.get("other")).isNull();
+	}
+
+	@Test
+	public void invalidationScopedToCacheName() {
+		CaffeineNearCache cache1 = (CaffeineNearCache) this.node1.getCache("test");
+		CaffeineNearCache other = (CaffeineNearCache) this.node2.getCache("other");
+		other.put("key", "value");
+		cache1.put("key", "value");
+		assertThat(other.getLocalCache().getIfPresent("key")).isEqualTo("value");
+		assertThat(other.getInvalidationCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void localTierExpiresAfterTimeToLive() {
+		AtomicLong nanos = new AtomicLong();
+		CaffeineNearCacheManager cacheManager = new CaffeineNearCacheManager(this.remoteCacheManager);
+		cacheManager.setLocalCacheBuilder(Caffeine.newBuilder()
+				.expireAfterWrite(10, TimeUnit.SECONDS).ticker(nanos::get).executor(Runnable::run));
+		CaffeineNearCache cache = (CaffeineNearCache) cacheManager.getCache("test");
+		cache.put("key", "value1");
+
+		// Modified behind the back of the near cache, e.g. by a missed invalidation
+		this.remoteCacheManager.getCache("test").put("key", "value2");
+		assertThat(cache.get("key", String.class)).isEqualTo("value1");
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+		assertThat(cache.get("key", String.class)).isEqualTo("value2");
+	}
+
+	@Test
+	public void valueLoaderInvokedOnceAcrossTiers() {
+		Cache cache1 = this.node1.getCache("test");
+		Cache cache2 = this.node2.getCache("test");
+		assertThat(cache1.get("key", () -> "value1")).isEqualTo("value1");
+		assertThat(cache2.get("key", () -> "value2")).isEqualTo("value1");
+		assertThat(((CaffeineNearCache) cache2).getRemoteHitCount()).isEqualTo(1);
+		assertThat(cache2.get("key", () -> "value2")).isEqualTo("value1");
+		assertThat(((CaffeineNearCache) cache2).getLocalHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void retrieveFromLocalTier() {
+		Cache cache = this.node1.getCache("test");
+		assertThat(cache.retrieve("key")).isNull();
+		assertThat(cache.retrieve("key", () -> CompletableFuture.completedFuture("value")).join())
+				.isEqualTo("value");
+		assertThat(((Cache.ValueWrapper) cache.retrieve("key").join()).get()).isEqualTo("value");
+		assertThat(((CaffeineNearCache) cache).getLocalHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void retrieveWithLoaderInvalidatesOtherInstances() {
+		CaffeineNearCache cache1 = (CaffeineNearCache) this.node1.getCache("test");
+		CaffeineNearCache cache2 = (CaffeineNearCache) this.node2.getCache("test");
+		cache2.put("key", "value1");
+		assertThat(cache2.getLocalCache().getIfPresent("key")).isEqualTo("value1");
+		this.remoteCacheManager.getCache("test").evict("key");
+
+		assertThat(cache1.retrieve("key", () -> CompletableFuture.completedFuture("value2")).join())
+				.isEqualTo("value2");
+		assertThat(cache1.getRemoteMissCount()).isEqualTo(1);
+		assertThat(cache1.getLoadCount()).isEqualTo(1);
+		assertThat(cache2.getLocalCache().getIfPresent("key")).isNull();
+		assertThat(cache2.getInvalidationCount()).isEqualTo(1);
+
+		assertThat(cache2.retrieve("key", () -> CompletableFuture.completedFuture("value3")).join())
+				.isEqualTo("value2");
+		assertThat(cache2.getRemoteHitCount()).isEqualTo(1);
+		assertThat(cache2.getLoadCount()).isEqualTo(0);
+		assertThat(cache1.getInvalidationCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void destroyUnsubscribesFromInvalidationChannel() {
+		CaffeineNearCache cache1 = (CaffeineNearCache) this.node1.getCache("test");
+		CaffeineNearCache cache2 = (CaffeineNearCache) this.node2.getCache("test");
+		cache2.put("key", "value");
+		this.node2.destroy();
+
+		cache1.put("key", "other");
+		assertThat(cache2.getInvalidationCount()).isEqualTo(0);
+		assertThat(cache2.getLocalCache().getIfPresent("key")).isEqualTo("value");
+		assertThat(this.node2.getCache("test")).isNotSameAs(cache2);
+	}
+
+	@Test
+	public void unknownCache() {
+		this.remoteCacheManager.setCacheNames(Collections.singleton("test"));
+		assertThat(this.node1.getCache("unknown")).isNull();
+		assertThat(this.node1.getCacheNames()).containsExactly("test");
+	}
+
+}
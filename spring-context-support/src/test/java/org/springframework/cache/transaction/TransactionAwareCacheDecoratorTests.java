@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,21 @@
 
 package org.springframework.cache.transaction;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.transaction.testfixture.CallCountingTransactionManager;
 
@@ -221,4 +232,153 @@ public class TransactionAwareCacheDecoratorTests {
 		assertThat(target.get(key)).isNull();
 	}
 
+	@Test
+	public void operationsBatchedInSingleSynchronization() {
+		RecordingCache target = new RecordingCache();
+		Cache cache = new TransactionAwareCacheDecorator(target);
+		target.put("evicted", "value");
+		target.operations.clear();
+
+		txTemplate.executeWithoutResult(s -> {
+			for (int i = 0; i < 100; i++) {
+				cache.put("key" + i, i);
+			}
+			cache.put("key0", "updated");
+			cache.evict("key1");
+			cache.evict("evicted");
+			cache.put("key1", "recreated");
+			assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+			assertThat(target.get("key0")).isNull();
+		});
+
+		assertThat(target.operations).containsExactly("putAll 100", "evictAll 2", "put key1");
+		assertThat(target.get("key0", String.class)).isEqualTo("updated");
+		assertThat(target.get("key1", String.class)).isEqualTo("recreated");
+		assertThat(target.get("key99", Integer.class)).isEqualTo(99);
+		assertThat(target.get("evicted")).isNull();
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+	}
+
+	@Test
+	public void operationsBatchedAcrossCacheManagerProxyLookups() {
+		RecordingCache target = new RecordingCache();
+		SimpleCacheManager targetCacheManager = new SimpleCacheManager();
+		targetCacheManager.setCaches(Collections.singletonList(target));
+		targetCacheManager.afterPropertiesSet();
+		CacheManager cacheManager = new TransactionAwareCacheManagerProxy(targetCacheManager);
+
+		txTemplate.executeWithoutResult(s -> {
+			cacheManager.getCache("testCache").put("key1", "value");
+			cacheManager.getCache("testCache").put("key2", "value");
+			cacheManager.getCache("testCache").evict("key1");
+			cacheManager.getCache("testCache").put("key1", "recreated");
+			assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+		});
+
+		assertThat(target.operations).containsExactly("putAll 2", "put key1");
+		assertThat(target.get("key1", String.class)).isEqualTo("recreated");
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+	}
+
+	@Test
+	public void clearSupersedesPreviousOperations() {
+		RecordingCache target = new RecordingCache();
+		Cache cache = new TransactionAwareCacheDecorator(target);
+
+		txTemplate.executeWithoutResult(s -> {
+			cache.put("key1", "value");
+			cache.evict("key2");
+			cache.clear();
+			cache.put("key3", "value");
+		});
+
+		assertThat(target.operations).containsExactly("clear", "put key3");
+	}
+
+	@Test
+	public void operationsDiscardedOnRollback() {
+		RecordingCache target = new RecordingCache();
+		Cache cache = new TransactionAwareCacheDecorator(target);
+
+		txTemplate.executeWithoutResult(s -> {
+			cache.putAll(Collections.singletonMap("key", "value"));
+			s.setRollbackOnly();
+		});
+
+		assertThat(target.operations).isEmpty();
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+	}
+
+	@Test
+	public void operationsScopedToSuspendedTransaction() {
+		RecordingCache target = new RecordingCache();
+		Cache cache = new TransactionAwareCacheDecorator(target);
+		TransactionTemplate requiresNew = new TransactionTemplate(txTemplate.getTransactionManager());
+		requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		txTemplate.executeWithoutResult(s -> {
+			cache.put("outer", "value");
+			requiresNew.executeWithoutResult(inner -> cache.evictAll(Arrays.asList("inner1", "inner2")));
+			assertThat(target.operations).containsExactly("evictAll 2");
+			cache.put("outer2", "value");
+		});
+
+		assertThat(target.operations).containsExactly("evictAll 2", "putAll 2");
+	}
+
+	@Test
+	public void operationsIndependentOfResourceBoundToTargetCache() {
+		RecordingCache target = new RecordingCache();
+		Cache cache = new TransactionAwareCacheDecorator(target);
+		Object resource = new Object();
+
+		txTemplate.executeWithoutResult(s -> {
+			TransactionSynchronizationManager.bindResource(target, resource);
+			try {
+				cache.put("key", "value");
+				assertThat(TransactionSynchronizationManager.getResource(target)).isSameAs(resource);
+			}
+			finally {
+				TransactionSynchronizationManager.unbindResource(target);
+			}
+		});
+
+		assertThat(target.operations).containsExactly("put key");
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+	}
+
+
+	private static class RecordingCache extends ConcurrentMapCache {
+
+		final List<String> operations = new ArrayList<>();
+
+		RecordingCache() {
+			super("testCache");
+		}
+
+		@Override
+		public void put(Object key, Object value) {
+			this.operations.add("put " + key);
+			super.put(key, value);
+		}
+
+		@Override
+		public void putAll(Map<?, ?> entries) {
+			this.operations.add("putAll " + entries.size());
+			entries.forEach(super::put);
+		}
+
+		@Override
+		public void evictAll(Collection<?> keys) {
+			this.operations.add("evictAll " + keys.size());
+			super.evictAll(keys);
+		}
+
+		@Override
+		public void clear() {
+			this.operations.add("clear");
+			super.clear();
+		}
+	}
+
 }
@@ -16,7 +16,12 @@
 
 package org.springframework.cache;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
 
@@ -100,6 +105,91 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Return the values to which this cache maps the specified keys.
+	 * <p>Keys without a mapping are not included in the returned map, while
+	 * cached {@code null} values are represented by a {@link ValueWrapper}
+	 * holding {@code null}, in line with {@link #get(Object)}.
+	 * <p>The default implementation performs a {@link #get(Object)} call per key,
+	 * to be overridden by caches that are able to look up several keys at once,
+	 * e.g. in a single round trip to a remote store.
+	 * @param keys the keys whose associated values are to be returned
+	 * @return a map from each key found in this cache to its {@link ValueWrapper},
+	 * in the iteration order of the given keys
+	 * @since 5.3
+	 * @see #get(Object)
+	 */
+	default Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, ValueWrapper> result = new LinkedHashMap<>(keys.size());
+		for (Object key : keys) {
+			ValueWrapper wrapper = get(key);
+			if (wrapper != null) {
+				result.put(key, wrapper);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the value to which this cache maps the specified key,
+	 * wrapped in a {@link CompletableFuture}. This operation must not block
+	 * but is allowed to return a completed {@link CompletableFuture} if the
+	 * corresponding value is immediately available.
+	 * <p>Returns {@code null} if the cache can immediately determine that it
+	 * contains no mapping for this key (e.g. through an in-memory key map).
+	 * Otherwise, the cached value will be returned in the {@link CompletableFuture},
+	 * with {@code null} indicating a late-determined cache miss. A nested
+	 * {@link ValueWrapper} potentially indicates a nullable cached value;
+	 * the cached value may also be represented as a plain element if null
+	 * values are not supported by the cache.
+	 * <p>The default implementation throws an {@link UnsupportedOperationException},
+	 * to be overridden by caches that are able to retrieve values asynchronously.
+	 * The cache interceptor falls back to {@link #get(Object)} in that case.
+	 * @param key the key whose associated value is to be returned
+	 * @return the value to which this cache maps the specified key, contained
+	 * within a {@link CompletableFuture} which will never be {@code null}
+	 * itself but may complete with {@code null} for a late-determined miss,
+	 * or a straight {@code null} for an immediately determined cache miss
+	 * @since 5.3
+	 * @see #retrieve(Object, Supplier)
+	 */
+	@Nullable
+	default CompletableFuture<?> retrieve(Object key) {
+		throw new UnsupportedOperationException(
+				getClass().getName() + " does not support CompletableFuture-based retrieval");
+	}
+
+	/**
+	 * Return the value to which this cache maps the specified key, obtaining
+	 * that value from {@code valueLoader} if necessary. This method provides
+	 * a simple substitute for the conventional "if cached, return; otherwise
+	 * create, cache and return" pattern, based on {@link CompletableFuture}.
+	 * This operation must not block.
+	 * <p>If possible, implementations should ensure that the loading operation
+	 * is synchronized so that the specified {@code valueLoader} is only called
+	 * once in case of concurrent access on the same key.
+	 * <p>Null values are generally not supported by this method. The provided
+	 * {@link CompletableFuture} handle produces a value or raises an exception.
+	 * If the {@code valueLoader} raises an exception, it will be propagated
+	 * to the returned {@code CompletableFuture} handle.
+	 * <p>The default implementation throws an {@link UnsupportedOperationException},
+	 * to be overridden by caches that are able to retrieve values asynchronously.
+	 * The cache interceptor falls back to {@link #get(Object)} and
+	 * {@link #put(Object, Object)} in that case, without synchronization.
+	 * @param key the key whose associated value is to be returned
+	 * @param valueLoader the supplier of the {@code CompletableFuture} to obtain
+	 * the value from in case of a cache miss
+	 * @return the value to which this cache maps the specified key, contained
+	 * within a {@link CompletableFuture} which will never be {@code null}
+	 * @since 5.3
+	 * @see #retrieve(Object)
+	 * @see #get(Object, Callable)
+	 */
+	default <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		throw new UnsupportedOperationException(
+				getClass().getName() + " does not support CompletableFuture-based retrieval");
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
@@ -150,6 +240,21 @@ public interface Cache {
 		return existingValue;
 	}
 
+	/**
+	 * Associate each of the specified values with its key in this cache.
+	 * <p>Like {@link #put(Object, Object)}, actual registration may be
+	 * performed in an asynchronous or deferred fashion.
+	 * <p>The default implementation performs a {@link #put(Object, Object)}
+	 * call per entry, to be overridden by caches that are able to store
+	 * several entries at once.
+	 * @param entries the keys and values to store
+	 * @since 5.3
+	 * @see #put(Object, Object)
+	 */
+	default void putAll(Map<?, ?> entries) {
+		entries.forEach(this::put);
+	}
+
 	/**
 	 * Evict the mapping for this key from this cache if it is present.
 	 * <p>Actual eviction may be performed in an asynchronous or deferred
@@ -182,6 +287,23 @@ public interface Cache {
 		return false;
 	}
 
+	/**
+	 * Evict the mappings for the specified keys from this cache, if present.
+	 * <p>Like {@link #evict(Object)}, actual eviction may be performed in an
+	 * asynchronous or deferred fashion.
+	 * <p>The default implementation performs an {@link #evict(Object)} call
+	 * per key, to be overridden by caches that are able to remove several
+	 * keys at once.
+	 * @param keys the keys whose mappings are to be removed from the cache
+	 * @since 5.3
+	 * @see #evict(Object)
+	 */
+	default void evictAll(Collection<?> keys) {
+		for (Object key : keys) {
+			evict(key);
+		}
+	}
+
 	/**
 	 * Clear the cache through removing all mappings.
 	 * <p>Actual clearing may be performed in an asynchronous or deferred
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache;
+
+/**
+ * Interface to be implemented by a {@link Cache} that keeps track of its
+ * efficiency, exposing cumulative counts since the cache has been created.
+ *
+ * <p>Implementations backed by a provider with its own statistics typically
+ * expose those, in which case the counts may depend on statistics having
+ * been enabled on the native cache; they remain at {@code 0} otherwise.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see org.springframework.cache.support.InstrumentedCacheManager
+ */
+public interface CacheStatistics {
+
+	/**
+	 * Return the number of lookups that found a cached value.
+	 */
+	long getHitCount();
+
+	/**
+	 * Return the number of lookups that did not find a cached value.
+	 */
+	long getMissCount();
+
+	/**
+	 * Return the number of values loaded through a value loader,
+	 * i.e. through {@link Cache#get(Object, java.util.concurrent.Callable)}.
+	 */
+	long getLoadCount();
+
+	/**
+	 * Return the total time spent loading values, in nanoseconds.
+	 * @see #getLoadCount()
+	 */
+	long getTotalLoadTime();
+
+	/**
+	 * Return the number of entries removed by the cache itself, for instance
+	 * because of a size limit or expiration, as opposed to an explicit
+	 * {@link Cache#evict eviction}.
+	 */
+	long getEvictionCount();
+
+	/**
+	 * Return the number of lookups, i.e. the sum of hits and misses.
+	 */
+	default long getRequestCount() {
+		return getHitCount() + getMissCount();
+	}
+
+	/**
+	 * Return the ratio of lookups that found a cached value, between
+	 * {@code 0.0} and {@code 1.0}, or {@code 1.0} if no lookup happened.
+	 */
+	default double getHitRatio() {
+		long requestCount = getRequestCount();
+		return (requestCount == 0 ? 1.0 : (double) getHitCount() / requestCount);
+	}
+
+}
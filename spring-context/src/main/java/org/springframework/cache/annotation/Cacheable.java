@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -179,4 +179,27 @@ public @interface Cacheable {
 	 */
 	boolean sync() default false;
 
+	/**
+	 * Serve a method taking a collection of keys partly from the cache, invoking
+	 * the underlying method for the keys that are not cached only.
+	 * <p>The {@link #key} must reference the collection argument, e.g. {@code "#ids"},
+	 * unless the method declares that single argument only. Each element of the
+	 * collection is a cache key on its own, and the method must return a
+	 * {@link java.util.Map} from element keys to values: the map returned to the
+	 * caller combines the cached values with the ones returned by the method,
+	 * which get cached individually. Keys missing from the returned map are not
+	 * cached. The bulk mode leads to the following limitations:
+	 * <ol>
+	 * <li>{@link #unless()} and {@link #sync()} are not supported</li>
+	 * <li>No other cache-related operation can be combined</li>
+	 * <li>The invocation must be able to proceed with different arguments, as
+	 * is the case with proxy-based and AspectJ-based caching (see
+	 * {@link org.springframework.cache.interceptor.CacheOperationInvoker#invokeWithArguments})</li>
+	 * </ol>
+	 * @since 5.3
+	 * @see org.springframework.cache.Cache#getAll
+	 * @see org.springframework.cache.Cache#putAll
+	 */
+	boolean bulk() default false;
+
 }
@@ -0,0 +1,662 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.cache.CacheStatistics;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.cache.Cache} implementation based on the core JDK
+ * {@code java.util.concurrent} package, bounded in size and optionally expiring
+ * entries after a fixed time since they have been written (time-to-live) or
+ * last accessed (time-to-idle).
+ *
+ * <p>When the maximum size is exceeded, entries are evicted according to the
+ * CLOCK algorithm, an approximation of least-recently-used: reads only flag
+ * an entry as recently used, while eviction scans the entries in insertion
+ * order, giving flagged entries a second chance. Expired entries are removed
+ * as they are looked up or encountered during eviction, and through a sweep
+ * of all entries that writes trigger at most once per expiration period,
+ * without any background thread; see {@link #cleanUp()} for removing them
+ * explicitly.
+ *
+ * <p>Hit, miss, load and eviction counts are exposed as {@link CacheStatistics}.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see ConcurrentMapCacheManager#setMaximumSize
+ * @see ConcurrentMapCacheManager#setTimeToLive
+ * @see ConcurrentMapCacheManager#setTimeToIdle
+ */
+public class BoundedConcurrentMapCache extends AbstractValueAdaptingCache implements CacheStatistics {
+
+	private final String name;
+
+	private final int maximumSize;
+
+	private final long timeToLive;
+
+	private final long timeToIdle;
+
+	private final ConcurrentMap<Object, Entry> store;
+
+	/** Value loads in progress, letting concurrent calls for the same key wait for them. */
+	private final ConcurrentMap<Object, Load> loads = new ConcurrentHashMap<>();
+
+	/** Keys in insertion order, possibly including removed ones. */
+	private final Queue<Node> evictionQueue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger evictionQueueSize = new AtomicInteger();
+
+	private final Object evictionMonitor = new Object();
+
+	/** Minimum time between sweeps for expired entries, or -1 if entries do not expire. */
+	private final long sweepInterval;
+
+	private final AtomicLong nextSweepTime = new AtomicLong();
+
+	@Nullable
+	private final SerializationDelegate serialization;
+
+	private Clock clock = Clock.systemUTC();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
+
+	/**
+	 * Create a new BoundedConcurrentMapCache without expiration.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 */
+	public BoundedConcurrentMapCache(String name, int maximumSize) {
+		this(name, maximumSize, null, null, true);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 * @param timeToLive the time after which an entry expires once written,
+	 * or {@code null} for no expiration after write
+	 * @param timeToIdle the time after which an entry expires once last accessed,
+	 * or {@code null} for no expiration after access
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 */
+	public BoundedConcurrentMapCache(String name, int maximumSize, @Nullable Duration timeToLive,
+			@Nullable Duration timeToIdle, boolean allowNullValues) {
+
+		this(name, maximumSize, timeToLive, timeToIdle, allowNullValues, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache. If the {@link SerializationDelegate}
+	 * is specified, {@link #isStoreByValue() store-by-value} is enabled.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries
+	 * @param timeToLive the time after which an entry expires once written,
+	 * or {@code null} for no expiration after write
+	 * @param timeToIdle the time after which an entry expires once last accessed,
+	 * or {@code null} for no expiration after access
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 */
+	protected BoundedConcurrentMapCache(String name, int maximumSize, @Nullable Duration timeToLive,
+			@Nullable Duration timeToIdle, boolean allowNullValues, @Nullable SerializationDelegate serialization) {
+
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(maximumSize > 0, "Maximum size must be positive");
+		Assert.isTrue(timeToLive == null || !timeToLive.isNegative(), "Time to live must not be negative");
+		Assert.isTrue(timeToIdle == null || !timeToIdle.isNegative(), "Time to idle must not be negative");
+		this.name = name;
+		this.maximumSize = maximumSize;
+		this.timeToLive = (timeToLive != null ? timeToLive.toMillis() : -1);
+		this.timeToIdle = (timeToIdle != null ? timeToIdle.toMillis() : -1);
+		long expiration = (this.timeToLive >= 0 && this.timeToIdle >= 0 ?
+				Math.min(this.timeToLive, this.timeToIdle) : Math.max(this.timeToLive, this.timeToIdle));
+		this.sweepInterval = (expiration >= 0 ? Math.max(expiration, 1) : -1);
+		this.store = new ConcurrentHashMap<>(Math.min(maximumSize, 256));
+		this.serialization = serialization;
+	}
+
+
+	/**
+	 * Set the {@link Clock} to determine the expiration of entries against.
+	 * <p>Default is the system clock.
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "Clock must not be null");
+		this.clock = clock;
+	}
+
+	/**
+	 * Return the maximum number of entries held by this cache.
+	 */
+	public final int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Return whether this cache stores a copy of each entry ({@code true}) or
+	 * a reference ({@code false}, default). If store by value is enabled, each
+	 * entry in the cache must be serializable.
+	 */
+	public final boolean isStoreByValue() {
+		return (this.serialization != null);
+	}
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the internal store, holding an entry object for each key.
+	 */
+	@Override
+	public final ConcurrentMap<Object, ?> getNativeCache() {
+		return this.store;
+	}
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		Object value = getLiveValue(key);
+		if (value != null) {
+			this.hitCount.increment();
+		}
+		else {
+			this.missCount.increment();
+		}
+		return value;
+	}
+
+	/**
+	 * Return the store value of the live entry for the given key, if any,
+	 * without recording a hit or miss.
+	 */
+	@Nullable
+	private Object getLiveValue(Object key) {
+		Entry entry = this.store.get(key);
+		if (entry != null) {
+			long now = currentTime();
+			if (!isExpired(entry, now)) {
+				entry.recordAccess(now);
+				return entry.value;
+			}
+			removeExpired(entry);
+		}
+		return null;
+	}
+
+	/**
+	 * This implementation invokes the value loader outside of any lock on the
+	 * internal store, so that the loader may access other keys of this cache.
+	 * Concurrent calls for a key that is being loaded wait for that load and
+	 * count as a hit, whereas the call performing the load counts as a miss.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Object value = getLiveValue(key);
+		if (value != null) {
+			this.hitCount.increment();
+			return (T) fromStoreValue(value);
+		}
+		Load load = new Load();
+		Load inFlightLoad = this.loads.putIfAbsent(key, load);
+		if (inFlightLoad != null) {
+			if (inFlightLoad.thread == Thread.currentThread()) {
+				throw new IllegalStateException(
+						"Recursive load of key '" + key + "' in cache '" + this.name + "'");
+			}
+			this.hitCount.increment();
+			return (T) fromStoreValue(inFlightLoad.await());
+		}
+		try {
+			// A load may have completed right before ours got registered
+			value = getLiveValue(key);
+			if (value != null) {
+				this.hitCount.increment();
+			}
+			else {
+				this.missCount.increment();
+				value = load(key, valueLoader, load);
+			}
+			load.future.complete(value);
+			return (T) fromStoreValue(value);
+		}
+		finally {
+			this.loads.remove(key, load);
+			if (!load.future.isDone()) {
+				load.future.completeExceptionally(new IllegalStateException("Load of key '" + key + "' aborted"));
+			}
+		}
+	}
+
+	private Object load(Object key, Callable<?> valueLoader, Load load) {
+		Object storeValue;
+		long start = System.nanoTime();
+		try {
+			storeValue = toStoreValue(valueLoader.call());
+		}
+		catch (Throwable ex) {
+			ValueRetrievalException failure = new ValueRetrievalException(key, valueLoader, ex);
+			load.future.completeExceptionally(failure);
+			throw failure;
+		}
+		finally {
+			this.loadCount.increment();
+			this.totalLoadTime.add(System.nanoTime() - start);
+		}
+		Object existing = storeIfAbsent(key, storeValue);
+		return (existing != null ? existing : storeValue);
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		Object value = lookup(key);
+		return (value != null ? CompletableFuture.completedFuture(
+				isAllowNullValues() ? toValueWrapper(value) : fromStoreValue(value)) : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Object value = lookup(key);
+		if (value != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(value));
+		}
+		return valueLoader.get().thenApply(loaded -> {
+			Object existing = storeIfAbsent(key, toStoreValue(loaded));
+			return (existing != null ? (T) fromStoreValue(existing) : loaded);
+		});
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		Object storeValue = toStoreValue(value);
+		long now = currentTime();
+		entryAdded(this.store.compute(key, (k, existing) -> new Entry(k, storeValue, now, existing)));
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		return toValueWrapper(storeIfAbsent(key, toStoreValue(value)));
+	}
+
+	/**
+	 * Store the given store value unless a live entry exists for the key.
+	 * @return the store value of the existing entry, or {@code null} if added
+	 */
+	@Nullable
+	private Object storeIfAbsent(Object key, Object storeValue) {
+		Entry[] added = new Entry[1];
+		Entry entry = this.store.compute(key, (k, existing) -> {
+			long now = currentTime();
+			if (existing != null && !isExpired(existing, now)) {
+				return existing;
+			}
+			added[0] = new Entry(k, storeValue, now, existing);
+			return added[0];
+		});
+		if (added[0] != null) {
+			entryAdded(added[0]);
+			return null;
+		}
+		return entry.value;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.store.remove(key);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		return (this.store.remove(key) != null);
+	}
+
+	@Override
+	public void clear() {
+		synchronized (this.evictionMonitor) {
+			this.store.clear();
+			compactEvictionQueue();
+		}
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean notEmpty = !this.store.isEmpty();
+		clear();
+		return notEmpty;
+	}
+
+	/**
+	 * Remove all expired entries from this cache.
+	 */
+	public void cleanUp() {
+		if (this.sweepInterval >= 0) {
+			long now = currentTime();
+			for (Entry entry : this.store.values()) {
+				if (isExpired(entry, now)) {
+					removeExpired(entry);
+				}
+			}
+		}
+		synchronized (this.evictionMonitor) {
+			compactEvictionQueue();
+		}
+	}
+
+
+	/**
+	 * Return the number of entries currently held by this cache,
+	 * possibly including expired entries not removed yet.
+	 */
+	public int getSize() {
+		return this.store.size();
+	}
+
+	/**
+	 * Return the number of keys in the eviction queue, for testing purposes.
+	 */
+	int getEvictionQueueSize() {
+		return this.evictionQueueSize.get();
+	}
+
+	@Override
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	@Override
+	public long getLoadCount() {
+		return this.loadCount.sum();
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return this.totalLoadTime.sum();
+	}
+
+	/**
+	 * Return the number of entries removed because of the size limit or
+	 * because they had expired.
+	 */
+	@Override
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+
+	private long currentTime() {
+		return (this.timeToLive >= 0 || this.timeToIdle >= 0 ? this.clock.millis() : 0);
+	}
+
+	private boolean isExpired(Entry entry, long now) {
+		return ((this.timeToLive >= 0 && now - entry.writeTime >= this.timeToLive) ||
+				(this.timeToIdle >= 0 && now - entry.accessTime >= this.timeToIdle));
+	}
+
+	private void removeExpired(Entry entry) {
+		if (this.store.remove(entry.key, entry)) {
+			this.evictionCount.increment();
+		}
+	}
+
+	/**
+	 * Track a newly stored entry: queue its key unless it replaced an existing
+	 * entry, and enforce the size limit and the expiration of entries.
+	 */
+	private void entryAdded(Entry entry) {
+		int queueSize;
+		if (entry.replaced) {
+			queueSize = this.evictionQueueSize.get();
+		}
+		else {
+			this.evictionQueue.add(entry.node);
+			queueSize = this.evictionQueueSize.incrementAndGet();
+		}
+		if (this.sweepInterval >= 0) {
+			long now = currentTime();
+			long nextSweepTime = this.nextSweepTime.get();
+			if (now >= nextSweepTime && this.nextSweepTime.compareAndSet(nextSweepTime, now + this.sweepInterval)) {
+				cleanUp();
+			}
+		}
+		if (this.store.size() > this.maximumSize || isCompactionNeeded(queueSize)) {
+			synchronized (this.evictionMonitor) {
+				evictEntries();
+			}
+		}
+	}
+
+	/**
+	 * Whether the eviction queue holds many more keys than the store,
+	 * because of keys that have been removed in the meantime.
+	 */
+	private boolean isCompactionNeeded(int queueSize) {
+		return (queueSize > 2L * Math.min(this.store.size(), this.maximumSize) + 64);
+	}
+
+	/**
+	 * Evict entries until the size limit is met, also dropping queue elements
+	 * for keys that have been removed in the meantime.
+	 */
+	private void evictEntries() {
+		long now = currentTime();
+		while (this.store.size() > this.maximumSize || isCompactionNeeded(this.evictionQueueSize.get())) {
+			Node node = this.evictionQueue.poll();
+			if (node == null) {
+				break;
+			}
+			this.evictionQueueSize.decrementAndGet();
+			Entry entry = this.store.get(node.key);
+			if (entry == null || entry.node != node) {
+				// Removed
+				continue;
+			}
+			boolean expired = isExpired(entry, now);
+			if (!expired && (entry.recentlyUsed || this.store.size() <= this.maximumSize)) {
+				// Second chance, or only compacting the queue
+				entry.recentlyUsed = false;
+				requeue(node);
+			}
+			else if (this.store.remove(entry.key, entry)) {
+				this.evictionCount.increment();
+			}
+			else {
+				// Replaced in the meantime, the new entry holding on to the same node
+				requeue(node);
+			}
+		}
+	}
+
+	private void requeue(Node node) {
+		this.evictionQueue.add(node);
+		this.evictionQueueSize.incrementAndGet();
+	}
+
+	private void compactEvictionQueue() {
+		int size = this.evictionQueueSize.get();
+		for (int i = 0; i < size; i++) {
+			Node node = this.evictionQueue.poll();
+			if (node == null) {
+				break;
+			}
+			Entry entry = this.store.get(node.key);
+			if (entry != null && entry.node == node) {
+				this.evictionQueue.add(node);
+			}
+			else {
+				this.evictionQueueSize.decrementAndGet();
+			}
+		}
+	}
+
+	@Override
+	protected Object toStoreValue(@Nullable Object userValue) {
+		Object storeValue = super.toStoreValue(userValue);
+		if (this.serialization != null) {
+			try {
+				return this.serialization.serializeToByteArray(storeValue);
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to serialize cache value '" + userValue +
+						"'. Does it implement Serializable?", ex);
+			}
+		}
+		else {
+			return storeValue;
+		}
+	}
+
+	@Override
+	protected Object fromStoreValue(@Nullable Object storeValue) {
+		if (storeValue != null && this.serialization != null) {
+			try {
+				return super.fromStoreValue(this.serialization.deserializeFromByteArray((byte[]) storeValue));
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to deserialize cache value '" + storeValue + "'", ex);
+			}
+		}
+		else {
+			return super.fromStoreValue(storeValue);
+		}
+	}
+
+
+	/**
+	 * Holder for a cached value along with its eviction and expiration state.
+	 */
+	private static final class Entry {
+
+		final Object key;
+
+		final Object value;
+
+		final long writeTime;
+
+		/** The position of the key in the eviction queue, shared with replaced entries. */
+		final Node node;
+
+		final boolean replaced;
+
+		volatile long accessTime;
+
+		volatile boolean recentlyUsed;
+
+		Entry(Object key, Object value, long writeTime, @Nullable Entry previous) {
+			this.key = key;
+			this.value = value;
+			this.writeTime = writeTime;
+			this.node = (previous != null ? previous.node : new Node(key));
+			this.replaced = (previous != null);
+			this.accessTime = writeTime;
+		}
+
+		void recordAccess(long now) {
+			if (!this.recentlyUsed) {
+				this.recentlyUsed = true;
+			}
+			if (this.accessTime != now) {
+				this.accessTime = now;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(this.value);
+		}
+	}
+
+
+	/**
+	 * Value load in progress for a key, along with the thread performing it.
+	 */
+	private static final class Load {
+
+		final CompletableFuture<Object> future = new CompletableFuture<>();
+
+		final Thread thread = Thread.currentThread();
+
+		Object await() {
+			try {
+				return this.future.join();
+			}
+			catch (CompletionException ex) {
+				if (ex.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) ex.getCause();
+				}
+				throw ex;
+			}
+		}
+	}
+
+
+	/**
+	 * Element of the eviction queue, standing for a key as long as it is
+	 * mapped to an entry holding this node.
+	 */
+	private static final class Node {
+
+		final Object key;
+
+		Node(Object key) {
+			this.key = key;
+		}
+	}
+
+}
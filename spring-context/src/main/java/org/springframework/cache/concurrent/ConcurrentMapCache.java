@@ -17,9 +17,13 @@
 package org.springframework.cache.concurrent;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
+import org.springframework.cache.CacheStatistics;
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
@@ -38,13 +42,16 @@ import org.springframework.util.Assert;
  * them with a predefined internal object. This behavior can be changed through the
  * {@link #ConcurrentMapCache(String, ConcurrentMap, boolean)} constructor.
  *
+ * <p>Keeps track of hits, misses and loads as {@link CacheStatistics}.
+ * As the store is unbounded, the eviction count always remains {@code 0}.
+ *
  * @author Costin Leau
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 3.1
  * @see ConcurrentMapCacheManager
  */
-public class ConcurrentMapCache extends AbstractValueAdaptingCache {
+public class ConcurrentMapCache extends AbstractValueAdaptingCache implements CacheStatistics {
 
 	private final String name;
 
@@ -53,6 +60,14 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Nullable
 	private final SerializationDelegate serialization;
 
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
 
 	/**
 	 * Create a new ConcurrentMapCache with the specified name.
@@ -132,21 +147,71 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
-		return this.store.get(key);
+		Object value = this.store.get(key);
+		if (value != null) {
+			this.hitCount.increment();
+		}
+		else {
+			this.missCount.increment();
+		}
+		return value;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	@Nullable
 	public <T> T get(Object key, Callable<T> valueLoader) {
-		return (T) fromStoreValue(this.store.computeIfAbsent(key, k -> {
-			try {
-				return toStoreValue(valueLoader.call());
-			}
-			catch (Throwable ex) {
-				throw new ValueRetrievalException(key, valueLoader, ex);
-			}
-		}));
+		Object value = this.store.get(key);
+		if (value != null) {
+			this.hitCount.increment();
+			return (T) fromStoreValue(value);
+		}
+		// Count a single miss if this call loads the value, or a hit if
+		// a concurrent call stored it in the meantime
+		boolean[] loaded = new boolean[1];
+		try {
+			value = this.store.computeIfAbsent(key, k -> {
+				loaded[0] = true;
+				long start = System.nanoTime();
+				try {
+					return toStoreValue(valueLoader.call());
+				}
+				catch (Throwable ex) {
+					throw new ValueRetrievalException(key, valueLoader, ex);
+				}
+				finally {
+					this.loadCount.increment();
+					this.totalLoadTime.add(System.nanoTime() - start);
+				}
+			});
+		}
+		finally {
+			(loaded[0] ? this.missCount : this.hitCount).increment();
+		}
+		return (T) fromStoreValue(value);
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		Object value = lookup(key);
+		return (value != null ? CompletableFuture.completedFuture(
+				isAllowNullValues() ? toValueWrapper(value) : fromStoreValue(value)) : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Object value = lookup(key);
+		if (value != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(value));
+		}
+		// Do not block on the loader within computeIfAbsent: concurrent misses
+		// may load in parallel, with the first completed value winning.
+		return valueLoader.get().thenApply(loaded -> {
+			Object existing = this.store.putIfAbsent(key, toStoreValue(loaded));
+			return (existing != null ? (T) fromStoreValue(existing) : loaded);
+		});
 	}
 
 	@Override
@@ -183,6 +248,31 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		return notEmpty;
 	}
 
+	@Override
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	@Override
+	public long getLoadCount() {
+		return this.loadCount.sum();
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return this.totalLoadTime.sum();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return 0;
+	}
+
 	@Override
 	protected Object toStoreValue(@Nullable Object userValue) {
 		Object storeValue = super.toStoreValue(userValue);
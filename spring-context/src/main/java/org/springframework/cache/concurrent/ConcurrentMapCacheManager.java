@@ -16,6 +16,7 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +29,7 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
 
 /**
  * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
@@ -35,9 +37,12 @@ import org.springframework.lang.Nullable;
  * the set of cache names is pre-defined through {@link #setCacheNames}, with no
  * dynamic creation of further cache regions at runtime.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
+ * <p>Note: This is by no means a sophisticated CacheManager; it comes with few
  * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * caching scenarios. Caches are unbounded by default: set a
+ * {@linkplain #setMaximumSize maximum size}, {@linkplain #setTimeToLive time to live}
+ * or {@linkplain #setTimeToIdle time to idle} to create
+ * {@link BoundedConcurrentMapCache} instances instead. For advanced local caching needs, consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager},
  * {@link org.springframework.cache.ehcache.EhCacheCacheManager},
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
@@ -56,6 +61,14 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 
 	private boolean storeByValue = false;
 
+	private int maximumSize = -1;
+
+	@Nullable
+	private Duration timeToLive;
+
+	@Nullable
+	private Duration timeToIdle;
+
 	@Nullable
 	private SerializationDelegate serialization;
 
@@ -146,6 +159,81 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the maximum number of entries for each cache in this cache manager,
+	 * evicting entries that have not been used recently once exceeded.
+	 * <p>Default is none, i.e. unbounded caches.
+	 * <p>Note: A change of the maximum size will reset all existing caches,
+	 * if any, to reconfigure them with the new size limit.
+	 * @since 5.3
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setMaximumSize(int maximumSize) {
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries for each cache,
+	 * or {@code -1} if unbounded.
+	 * @since 5.3
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Specify the time after which entries expire once they have been written,
+	 * for all caches in this cache manager.
+	 * <p>Default is none, i.e. no expiration after write.
+	 * <p>Note: A change of the time to live will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration setting.
+	 * @since 5.3
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setTimeToLive(@Nullable Duration timeToLive) {
+		if (!ObjectUtils.nullSafeEquals(timeToLive, this.timeToLive)) {
+			this.timeToLive = timeToLive;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the time after which entries expire once written, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public Duration getTimeToLive() {
+		return this.timeToLive;
+	}
+
+	/**
+	 * Specify the time after which entries expire once they have last been
+	 * accessed, for all caches in this cache manager.
+	 * <p>Default is none, i.e. no expiration after access.
+	 * <p>Note: A change of the time to idle will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration setting.
+	 * @since 5.3
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setTimeToIdle(@Nullable Duration timeToIdle) {
+		if (!ObjectUtils.nullSafeEquals(timeToIdle, this.timeToIdle)) {
+			this.timeToIdle = timeToIdle;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the time after which entries expire once last accessed, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public Duration getTimeToIdle() {
+		return this.timeToIdle;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -184,12 +272,17 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	}
 
 	/**
-	 * Create a new ConcurrentMapCache instance for the specified cache name.
+	 * Create a new ConcurrentMapCache instance for the specified cache name,
+	 * or a {@link BoundedConcurrentMapCache} if a size limit or expiration is set.
 	 * @param name the name of the cache
 	 * @return the ConcurrentMapCache (or a decorator thereof)
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
+		if (this.maximumSize > 0 || this.timeToLive != null || this.timeToIdle != null) {
+			return new BoundedConcurrentMapCache(name, (this.maximumSize > 0 ? this.maximumSize : Integer.MAX_VALUE),
+					this.timeToLive, this.timeToIdle, isAllowNullValues(), actualSerialization);
+		}
 		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization);
 	}
 
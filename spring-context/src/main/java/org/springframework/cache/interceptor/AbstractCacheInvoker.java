@@ -16,6 +16,13 @@
 
 package org.springframework.cache.interceptor;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.function.SingletonSupplier;
@@ -78,6 +85,93 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Execute {@link Cache#getAll(Collection)} on the specified {@link Cache}
+	 * and invoke the error handler if an exception occurs. Return an empty
+	 * map if the handler does not throw any exception, which simulates
+	 * cache misses for all keys in case of error.
+	 * @since 5.3
+	 * @see Cache#getAll(Collection)
+	 */
+	protected Map<Object, Cache.ValueWrapper> doGetAll(Cache cache, Collection<?> keys) {
+		try {
+			return cache.getAll(keys);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, keys);
+			return Collections.emptyMap();  // If the exception is handled, return cache misses
+		}
+	}
+
+	/**
+	 * Execute {@link Cache#retrieve(Object)} on the specified {@link Cache}
+	 * and invoke the error handler if an exception occurs, either immediately
+	 * or on completion of the returned future. Return {@code null} (or a future
+	 * completing with {@code null}) if the handler does not throw any exception,
+	 * which simulates a cache miss in case of error.
+	 * <p>Falls back to {@link #doGet(Cache, Object)} for a cache which does not
+	 * support {@code CompletableFuture}-based retrieval, i.e. throws an
+	 * {@link UnsupportedOperationException}.
+	 * @since 5.3
+	 * @see Cache#retrieve(Object)
+	 */
+	@Nullable
+	protected CompletableFuture<?> doRetrieve(Cache cache, Object key) {
+		try {
+			CompletableFuture<?> result = cache.retrieve(key);
+			if (result == null) {
+				return null;
+			}
+			return result.exceptionally(ex -> {
+				getErrorHandler().handleCacheGetError(unwrapCompletionException(ex), cache, key);
+				return null;  // If the exception is handled, return a cache miss
+			});
+		}
+		catch (UnsupportedOperationException ex) {
+			Cache.ValueWrapper wrapper = doGet(cache, key);
+			return (wrapper != null ? CompletableFuture.completedFuture(wrapper) : null);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, key);
+			return null;  // If the exception is handled, return a cache miss
+		}
+	}
+
+	/**
+	 * Execute {@link Cache#retrieve(Object, Supplier)} on the specified
+	 * {@link Cache} and invoke the error handler if an exception occurs.
+	 * Invoke the given value loader directly if the handler does not throw
+	 * any exception, which simulates a cache miss in case of error.
+	 * <p>Falls back to {@link #doGet(Cache, Object)} and, on a miss, to a
+	 * {@link #doPut(Cache, Object, Object)} on completion of the loaded value
+	 * for a cache which does not support {@code CompletableFuture}-based
+	 * retrieval, i.e. throws an {@link UnsupportedOperationException}.
+	 * Note that concurrent loads for the same key are not synchronized then.
+	 * @since 5.3
+	 * @see Cache#retrieve(Object, Supplier)
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> CompletableFuture<T> doRetrieve(Cache cache, Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		try {
+			return cache.retrieve(key, valueLoader);
+		}
+		catch (UnsupportedOperationException ex) {
+			Cache.ValueWrapper wrapper = doGet(cache, key);
+			if (wrapper != null) {
+				return CompletableFuture.completedFuture((T) wrapper.get());
+			}
+			return valueLoader.get().whenComplete((value, loadEx) -> {
+				if (loadEx == null) {
+					doPut(cache, key, value);
+				}
+			});
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, key);
+			return valueLoader.get();
+		}
+	}
+
 	/**
 	 * Execute {@link Cache#put(Object, Object)} on the specified {@link Cache}
 	 * and invoke the error handler if an exception occurs.
@@ -91,6 +185,20 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Execute {@link Cache#putAll(Map)} on the specified {@link Cache}
+	 * and invoke the error handler if an exception occurs.
+	 * @since 5.3
+	 */
+	protected void doPutAll(Cache cache, Map<?, ?> entries) {
+		try {
+			cache.putAll(entries);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCachePutError(ex, cache, entries.keySet(), entries.values());
+		}
+	}
+
 	/**
 	 * Execute {@link Cache#evict(Object)}/{@link Cache#evictIfPresent(Object)} on the
 	 * specified {@link Cache} and invoke the error handler if an exception occurs.
@@ -127,4 +235,9 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	private static RuntimeException unwrapCompletionException(Throwable ex) {
+		Throwable cause = (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+		return (cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause));
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,15 +21,26 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -44,6 +55,9 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -70,6 +84,12 @@ import org.springframework.util.function.SupplierUtils;
  * used for determining caching operations, a {@link KeyGenerator} will build the
  * cache keys, and a {@link CacheResolver} will resolve the actual cache(s) to use.
  *
+ * <p>{@link CompletableFuture} return values and, if Reactor is present, reactive
+ * return types such as {@code Mono} and {@code Flux} are cached by their eventual
+ * value rather than by the async handle itself, using the non-blocking
+ * {@link Cache#retrieve(Object)} and {@link Cache#retrieve(Object, Supplier)}
+ * operations for lookups.
+ *
  * <p>Note: A cache aspect is serializable but does not perform any actual caching
  * after deserialization.
  *
@@ -84,6 +104,15 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
+	/**
+	 * Marker for a reactive value that is not handled by the {@link ReactiveCachingHandler}.
+	 */
+	private static final Object NOT_HANDLED = new Object();
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
@@ -101,6 +130,12 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private BeanFactory beanFactory;
 
+	@Nullable
+	private CacheLoadCoalescer cacheLoadCoalescer;
+
+	@Nullable
+	private final ReactiveCachingHandler reactiveCachingHandler = (reactorPresent ? new ReactiveCachingHandler() : null);
+
 	private boolean initialized = false;
 
 
@@ -195,6 +230,25 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Set a {@link CacheLoadCoalescer} to share a single method invocation
+	 * between concurrent misses for the same cache key.
+	 * <p>Default is none, invoking the method for every miss.
+	 * @since 5.3
+	 */
+	public void setCacheLoadCoalescer(@Nullable CacheLoadCoalescer cacheLoadCoalescer) {
+		this.cacheLoadCoalescer = cacheLoadCoalescer;
+	}
+
+	/**
+	 * Return the {@link CacheLoadCoalescer} in use, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public CacheLoadCoalescer getCacheLoadCoalescer() {
+		return this.cacheLoadCoalescer;
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -370,6 +424,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return AopProxyUtils.ultimateTargetClass(target);
 	}
 
+	@SuppressWarnings("unchecked")
 	@Nullable
 	private Object execute(final CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
 		// Special handling of synchronized invocation
@@ -378,6 +433,15 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
 				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
 				Cache cache = context.getCaches().iterator().next();
+				if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+					return doRetrieve(cache, key, () -> (CompletableFuture<Object>) invokeOperation(invoker));
+				}
+				if (this.reactiveCachingHandler != null) {
+					Object returnValue = this.reactiveCachingHandler.executeSynchronized(invoker, method, cache, key);
+					if (returnValue != NOT_HANDLED) {
+						return returnValue;
+					}
+				}
 				try {
 					return wrapCacheValue(method, handleSynchronizedGet(invoker, key, cache));
 				}
@@ -393,13 +457,46 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 		}
 
+		// Special handling of bulk invocation
+		if (contexts.isBulk()) {
+			return executeBulk(invoker, contexts.get(CacheableOperation.class).iterator().next());
+		}
 
 		// Process any early evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
 				CacheOperationExpressionEvaluator.NO_RESULT);
 
-		// Check if we have a cached item matching the conditions
-		Cache.ValueWrapper cacheHit = findCachedItem(contexts.get(CacheableOperation.class));
+		// Check if we have a cached value matching the conditions
+		Object cacheHit = findCachedValue(invoker, method, contexts);
+		if (cacheHit == null || cacheHit instanceof Cache.ValueWrapper) {
+			return evaluate(cacheHit, invoker, method, contexts);
+		}
+
+		// Asynchronous cache lookup, with further processing chained to its completion
+		return cacheHit;
+	}
+
+	/**
+	 * Invoke the method if necessary and process puts and late evictions.
+	 * @param cacheHit the cache hit (a {@link Cache.ValueWrapper} or an async
+	 * handle for an already retrieved value), or {@code null} for a cache miss
+	 * @return the value to return from the intercepted method
+	 */
+	@Nullable
+	private Object evaluate(@Nullable Object cacheHit, CacheOperationInvoker invoker, Method method,
+			CacheOperationContexts contexts) {
+
+		CacheLoadCoalescer coalescer = this.cacheLoadCoalescer;
+		Object loadKey = contexts.getLoadKey();
+		if (cacheHit == null && coalescer != null && loadKey != null) {
+			return evaluateCoalesced(coalescer, loadKey, invoker, method, contexts);
+		}
+		return doEvaluate(cacheHit, invoker, method, contexts);
+	}
+
+	@Nullable
+	private Object doEvaluate(@Nullable Object cacheHit, CacheOperationInvoker invoker, Method method,
+			CacheOperationContexts contexts) {
 
 		// Collect puts from any @Cacheable miss, if no cached item is found
 		List<CachePutRequest> cachePutRequests = new LinkedList<>();
@@ -413,7 +510,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		if (cacheHit != null && !hasCachePut(contexts)) {
 			// If there are no put requests, just use the cache hit
-			cacheValue = cacheHit.get();
+			cacheValue = unwrapCacheValue(cacheHit);
 			returnValue = wrapCacheValue(method, cacheValue);
 		}
 		else {
@@ -427,15 +524,155 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		// Process any collected put requests, either from @CachePut or a @Cacheable miss
 		for (CachePutRequest cachePutRequest : cachePutRequests) {
-			cachePutRequest.apply(cacheValue);
+			Object returnOverride = cachePutRequest.apply(cacheValue);
+			if (returnOverride != null) {
+				// Async result: continue with the handle that performs the put on completion
+				cacheValue = returnOverride;
+				returnValue = returnOverride;
+			}
 		}
 
 		// Process any late evictions
-		processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+		Object returnOverride = processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+		if (returnOverride != null) {
+			returnValue = returnOverride;
+		}
 
 		return returnValue;
 	}
 
+	/**
+	 * Handle a cache miss through the given {@link CacheLoadCoalescer}, either
+	 * performing the load or joining a load for the same key in progress.
+	 */
+	@Nullable
+	private Object evaluateCoalesced(CacheLoadCoalescer coalescer, Object loadKey,
+			CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+
+		if (this.reactiveCachingHandler != null) {
+			Object returnValue = this.reactiveCachingHandler.evaluateCoalesced(
+					coalescer, loadKey, invoker, method, contexts);
+			if (returnValue != NOT_HANDLED) {
+				return returnValue;
+			}
+		}
+
+		boolean future = CompletableFuture.class.isAssignableFrom(method.getReturnType());
+		if (!future && coalescer.isLoadingOnCurrentThread(loadKey)) {
+			// Reentrant invocation for the same key: waiting for our own load would never return
+			return doEvaluate(null, invoker, method, contexts);
+		}
+
+		CompletableFuture<Object> load = new CompletableFuture<>();
+		CompletableFuture<Object> inFlightLoad = coalescer.register(loadKey, load);
+
+		if (inFlightLoad != null) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Joining load in progress for key '" + loadKey + "'");
+			}
+			if (future) {
+				// Dependent stage, so that cancellation by the caller does not affect the shared load
+				return inFlightLoad.thenApply(value -> value);
+			}
+			try {
+				return wrapCacheValue(method,
+						inFlightLoad.get(coalescer.getJoinTimeout().toNanos(), TimeUnit.NANOSECONDS));
+			}
+			catch (InterruptedException ex) {
+				// Stop waiting and load the value ourselves
+				Thread.currentThread().interrupt();
+				return doEvaluate(null, invoker, method, contexts);
+			}
+			catch (TimeoutException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Load in progress for key '" + loadKey + "' did not complete within " +
+							coalescer.getJoinTimeout() + " - invoking method without waiting any longer");
+				}
+				return doEvaluate(null, invoker, method, contexts);
+			}
+			catch (ExecutionException ex) {
+				ReflectionUtils.rethrowRuntimeException(ex.getCause());
+				return null;  // not reached
+			}
+		}
+
+		Object returnValue;
+		try {
+			returnValue = doEvaluate(null, invoker, method, contexts);
+		}
+		catch (RuntimeException | Error ex) {
+			coalescer.complete(loadKey, load, null, ex);
+			throw ex;
+		}
+		if (future) {
+			if (returnValue == null) {
+				coalescer.complete(loadKey, load, null, null);
+				return null;
+			}
+			return ((CompletableFuture<?>) returnValue).whenComplete((value, ex) ->
+					coalescer.complete(loadKey, load, value, ex));
+		}
+		coalescer.complete(loadKey, load, unwrapReturnValue(returnValue), null);
+		return returnValue;
+	}
+
+	/**
+	 * Serve a collection of keys partly from the caches, invoking the method
+	 * with the remaining keys only and caching its result entries.
+	 * @return the map of values for the requested keys, or the plain return
+	 * value if the condition does not pass
+	 */
+	@Nullable
+	private Object executeBulk(CacheOperationInvoker invoker, CacheOperationContext context) {
+		Object[] args = context.getArgs();
+		int keyIndex = context.metadata.bulkKeyArgumentIndex;
+		Collection<?> keys = (Collection<?>) args[keyIndex];
+		if (keys == null || !isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+			return invokeOperation(invoker);
+		}
+
+		Map<Object, Object> cachedValues = new HashMap<>();
+		Collection<Object> misses = new LinkedHashSet<>(keys);
+		for (Cache cache : context.getCaches()) {
+			if (misses.isEmpty()) {
+				break;
+			}
+			Map<Object, Cache.ValueWrapper> found = doGetAll(cache, misses);
+			found.forEach((key, wrapper) -> cachedValues.put(key, wrapper.get()));
+			misses.removeAll(found.keySet());
+		}
+
+		Map<?, ?> loadedValues = Collections.emptyMap();
+		if (!misses.isEmpty()) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("No cache entries for keys " + misses + " in cache(s) " + context.getCacheNames());
+			}
+			Collection<Object> missingKeys = CollectionFactory.createCollection(
+					context.metadata.targetMethod.getParameterTypes()[keyIndex], misses.size());
+			missingKeys.addAll(misses);
+			Object[] missingKeyArgs = args.clone();
+			missingKeyArgs[keyIndex] = missingKeys;
+			Object result = invoker.invokeWithArguments(missingKeyArgs);
+			if (result != null) {
+				loadedValues = (Map<?, ?>) result;
+				for (Cache cache : context.getCaches()) {
+					doPutAll(cache, loadedValues);
+				}
+			}
+		}
+
+		Map<Object, Object> values = new LinkedHashMap<>(keys.size());
+		for (Object key : keys) {
+			if (cachedValues.containsKey(key)) {
+				values.put(key, cachedValues.get(key));
+			}
+			else if (loadedValues.containsKey(key)) {
+				values.put(key, loadedValues.get(key));
+			}
+		}
+		return values;
+	}
+
 	@Nullable
 	private Object handleSynchronizedGet(CacheOperationInvoker invoker, Object key, Cache cache) {
 		InvocationAwareResult invocationResult = new InvocationAwareResult();
@@ -462,10 +699,24 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	@Nullable
-	private Object unwrapReturnValue(Object returnValue) {
+	private Object unwrapReturnValue(@Nullable Object returnValue) {
 		return ObjectUtils.unwrapOptional(returnValue);
 	}
 
+	@Nullable
+	private Object unwrapCacheValue(@Nullable Object cacheValue) {
+		return (cacheValue instanceof Cache.ValueWrapper ? ((Cache.ValueWrapper) cacheValue).get() : cacheValue);
+	}
+
+	/**
+	 * Determine whether the given result is an async handle whose eventual
+	 * value needs to be cached, rather than the handle itself.
+	 */
+	private boolean isAsyncResult(@Nullable Object result) {
+		return (result instanceof CompletableFuture ||
+				(this.reactiveCachingHandler != null && this.reactiveCachingHandler.isReactiveValue(result)));
+	}
+
 	private boolean hasCachePut(CacheOperationContexts contexts) {
 		// Evaluate the conditions *without* the result object because we don't have it yet...
 		Collection<CacheOperationContext> cachePutContexts = contexts.get(CachePutOperation.class);
@@ -484,7 +735,36 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return (cachePutContexts.size() != excluded.size());
 	}
 
-	private void processCacheEvicts(
+	/**
+	 * Process the given evictions, deferring them to the completion of an
+	 * async result if necessary.
+	 * @return an async handle to return instead of the given result,
+	 * or {@code null} if the evictions have been processed immediately
+	 */
+	@Nullable
+	private Object processCacheEvicts(
+			Collection<CacheOperationContext> contexts, boolean beforeInvocation, @Nullable Object result) {
+
+		if (!beforeInvocation && !contexts.isEmpty() && isAsyncResult(result)) {
+			if (result instanceof CompletableFuture) {
+				return ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+					if (ex == null) {
+						performCacheEvicts(contexts, false, value);
+					}
+				});
+			}
+			if (this.reactiveCachingHandler != null) {
+				Object returnValue = this.reactiveCachingHandler.processEvicts(contexts, result);
+				if (returnValue != NOT_HANDLED) {
+					return returnValue;
+				}
+			}
+		}
+		performCacheEvicts(contexts, beforeInvocation, result);
+		return null;
+	}
+
+	private void performCacheEvicts(
 			Collection<CacheOperationContext> contexts, boolean beforeInvocation, @Nullable Object result) {
 
 		for (CacheOperationContext context : contexts) {
@@ -522,18 +802,23 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	/**
-	 * Find a cached item only for {@link CacheableOperation} that passes the condition.
+	 * Find a cached value only for {@link CacheableOperation} that passes the condition.
 	 * @param contexts the cacheable operations
-	 * @return a {@link Cache.ValueWrapper} holding the cached item,
-	 * or {@code null} if none is found
+	 * @return a {@link Cache.ValueWrapper} holding the cached value, an async handle
+	 * for a cache lookup with the remaining processing chained to it, or {@code null}
+	 * if none is found
 	 */
 	@Nullable
-	private Cache.ValueWrapper findCachedItem(Collection<CacheOperationContext> contexts) {
+	private Object findCachedValue(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
 		Object result = CacheOperationExpressionEvaluator.NO_RESULT;
-		for (CacheOperationContext context : contexts) {
+		for (CacheOperationContext context : contexts.get(CacheableOperation.class)) {
 			if (isConditionPassing(context, result)) {
 				Object key = generateKey(context, result);
-				Cache.ValueWrapper cached = findInCaches(context, key);
+				if (this.cacheLoadCoalescer != null && contexts.isCoalescable() && contexts.getLoadKey() == null) {
+					// Include the return type: a load only serves misses expecting the same kind of result
+					contexts.setLoadKey(new SimpleKey(context.getCacheNames(), key, method.getReturnType()));
+				}
+				Object cached = findInCaches(context, key, invoker, method, contexts);
 				if (cached != null) {
 					return cached;
 				}
@@ -549,25 +834,54 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	/**
 	 * Collect the {@link CachePutRequest} for all {@link CacheOperation} using
-	 * the specified result item.
+	 * the specified result value.
 	 * @param contexts the contexts to handle
-	 * @param result the result item (never {@code null})
+	 * @param result the result value, possibly an async handle for which
+	 * conditions and keys are evaluated on completion
 	 * @param putRequests the collection to update
 	 */
 	private void collectPutRequests(Collection<CacheOperationContext> contexts,
 			@Nullable Object result, Collection<CachePutRequest> putRequests) {
 
+		boolean deferred = isAsyncResult(result);
 		for (CacheOperationContext context : contexts) {
-			if (isConditionPassing(context, result)) {
+			if (deferred) {
+				putRequests.add(new CachePutRequest(context, null));
+			}
+			else if (isConditionPassing(context, result)) {
 				Object key = generateKey(context, result);
 				putRequests.add(new CachePutRequest(context, key));
 			}
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	@Nullable
-	private Cache.ValueWrapper findInCaches(CacheOperationContext context, Object key) {
+	private Object findInCaches(CacheOperationContext context, Object key,
+			CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+
 		for (Cache cache : context.getCaches()) {
+			if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+				CompletableFuture<?> cachedFuture = doRetrieve(cache, key);
+				if (cachedFuture != null) {
+					return cachedFuture.thenCompose(value -> {
+						CompletableFuture<Object> returnValue = (CompletableFuture<Object>) evaluate(
+								(value != null ? CompletableFuture.completedFuture(unwrapCacheValue(value)) : null),
+								invoker, method, contexts);
+						return (returnValue != null ? returnValue : CompletableFuture.completedFuture(null));
+					});
+				}
+				continue;
+			}
+			if (this.reactiveCachingHandler != null) {
+				Object returnValue = this.reactiveCachingHandler.findInCaches(cache, key, invoker, method, contexts);
+				if (returnValue != NOT_HANDLED) {
+					if (returnValue != null) {
+						return returnValue;
+					}
+					continue;
+				}
+			}
 			Cache.ValueWrapper wrapper = doGet(cache, key);
 			if (wrapper != null) {
 				if (logger.isTraceEnabled()) {
@@ -607,6 +921,11 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final boolean sync;
 
+		private final boolean bulk;
+
+		@Nullable
+		private Object loadKey;
+
 		public CacheOperationContexts(Collection<? extends CacheOperation> operations, Method method,
 				Object[] args, Object target, Class<?> targetClass) {
 
@@ -615,6 +934,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				this.contexts.add(op.getClass(), getOperationContext(op, method, args, target, targetClass));
 			}
 			this.sync = determineSyncFlag(method);
+			this.bulk = determineBulkFlag(method);
 		}
 
 		public Collection<CacheOperationContext> get(Class<? extends CacheOperation> operationClass) {
@@ -626,6 +946,27 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return this.sync;
 		}
 
+		public boolean isBulk() {
+			return this.bulk;
+		}
+
+		/**
+		 * Determine whether a miss may be served by a load in progress, i.e.
+		 * whether the invocation has no side effects beyond populating caches.
+		 */
+		public boolean isCoalescable() {
+			return (get(CachePutOperation.class).isEmpty() && get(CacheEvictOperation.class).isEmpty());
+		}
+
+		public void setLoadKey(Object loadKey) {
+			this.loadKey = loadKey;
+		}
+
+		@Nullable
+		public Object getLoadKey() {
+			return this.loadKey;
+		}
+
 		private boolean determineSyncFlag(Method method) {
 			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
 			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
@@ -661,6 +1002,46 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 			return false;
 		}
+
+		private boolean determineBulkFlag(Method method) {
+			List<CacheOperationContext> cacheOperationContexts = this.contexts.get(CacheableOperation.class);
+			if (cacheOperationContexts == null) {  // no @Cacheable operation at all
+				return false;
+			}
+			boolean bulkEnabled = false;
+			for (CacheOperationContext cacheOperationContext : cacheOperationContexts) {
+				if (((CacheableOperation) cacheOperationContext.getOperation()).isBulk()) {
+					bulkEnabled = true;
+					break;
+				}
+			}
+			if (bulkEnabled) {
+				if (this.contexts.size() > 1 || cacheOperationContexts.size() > 1) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) cannot be combined with other cache operations on '" + method + "'");
+				}
+				CacheOperationContext cacheOperationContext = cacheOperationContexts.iterator().next();
+				CacheableOperation operation = (CacheableOperation) cacheOperationContext.getOperation();
+				if (this.sync) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) cannot be combined with sync attribute on '" + operation + "'");
+				}
+				if (StringUtils.hasText(operation.getUnless())) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) does not support unless attribute on '" + operation + "'");
+				}
+				if (cacheOperationContext.metadata.bulkKeyArgumentIndex < 0) {
+					throw new IllegalStateException("@Cacheable(bulk=true) requires the key to reference " +
+							"a Collection argument on '" + operation + "'");
+				}
+				if (!method.getReturnType().isAssignableFrom(LinkedHashMap.class)) {
+					throw new IllegalStateException(
+							"@Cacheable(bulk=true) requires a Map return type on '" + method + "'");
+				}
+				return true;
+			}
+			return false;
+		}
 	}
 
 
@@ -684,6 +1065,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final CacheResolver cacheResolver;
 
+		private final int keyArgumentIndex;
+
+		private final int bulkKeyArgumentIndex;
+
 		public CacheOperationMetadata(CacheOperation operation, Method method, Class<?> targetClass,
 				KeyGenerator keyGenerator, CacheResolver cacheResolver) {
 
@@ -695,6 +1080,27 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 			this.keyGenerator = keyGenerator;
 			this.cacheResolver = cacheResolver;
+			this.keyArgumentIndex = CacheOperationExpressionEvaluator.resolveKeyArgumentIndex(
+					operation.getKey(), this.targetMethod);
+			this.bulkKeyArgumentIndex = (operation instanceof CacheableOperation &&
+					((CacheableOperation) operation).isBulk() ? resolveBulkKeyArgumentIndex() : -1);
+		}
+
+		/**
+		 * Determine the index of the Collection argument holding the keys of a
+		 * bulk operation: the argument referenced by the key expression, if any,
+		 * or else the only argument of the method.
+		 */
+		private int resolveBulkKeyArgumentIndex() {
+			int index = this.keyArgumentIndex;
+			if (index < 0 && !StringUtils.hasText(this.operation.getKey()) &&
+					this.targetMethod.getParameterCount() == 1) {
+				index = 0;
+			}
+			if (index < 0 || !Collection.class.isAssignableFrom(this.targetMethod.getParameterTypes()[index])) {
+				return -1;
+			}
+			return index;
 		}
 	}
 
@@ -717,6 +1123,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		@Nullable
 		private Boolean conditionPassing;
 
+		@Nullable
+		private CacheExpressionRootObject expressionRootObject;
+
 		public CacheOperationContext(CacheOperationMetadata metadata, Object[] args, Object target) {
 			this.metadata = metadata;
 			this.args = extractArgs(metadata.method, args);
@@ -790,6 +1199,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		 */
 		@Nullable
 		protected Object generateKey(@Nullable Object result) {
+			if (this.metadata.keyArgumentIndex >= 0) {
+				// Plain reference to a method argument: no need to evaluate the expression
+				return this.args[this.metadata.keyArgumentIndex];
+			}
 			if (StringUtils.hasText(this.metadata.operation.getKey())) {
 				EvaluationContext evaluationContext = createEvaluationContext(result);
 				return evaluator.key(this.metadata.operation.getKey(), this.metadata.methodKey, evaluationContext);
@@ -798,8 +1211,16 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		}
 
 		private EvaluationContext createEvaluationContext(@Nullable Object result) {
-			return evaluator.createEvaluationContext(this.caches, this.metadata.method, this.args,
-					this.target, this.metadata.targetClass, this.metadata.targetMethod, result, beanFactory);
+			// Only the root object is shared: variables set by an expression must not
+			// be visible to the other expressions of the operation
+			CacheExpressionRootObject rootObject = this.expressionRootObject;
+			if (rootObject == null) {
+				rootObject = new CacheExpressionRootObject(this.caches, this.metadata.method, this.args,
+						this.target, this.metadata.targetClass);
+				this.expressionRootObject = rootObject;
+			}
+			return evaluator.createEvaluationContext(rootObject, this.metadata.targetMethod, this.args,
+					result, beanFactory);
 		}
 
 		protected Collection<? extends Cache> getCaches() {
@@ -824,17 +1245,55 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final CacheOperationContext context;
 
+		@Nullable
 		private final Object key;
 
-		public CachePutRequest(CacheOperationContext context, Object key) {
+		/**
+		 * Create a put request for the given context.
+		 * @param context the cache operation context
+		 * @param key the pre-computed key, or {@code null} for evaluating
+		 * the condition and the key against the eventual value of an async result
+		 */
+		public CachePutRequest(CacheOperationContext context, @Nullable Object key) {
 			this.context = context;
 			this.key = key;
 		}
 
-		public void apply(@Nullable Object result) {
-			if (this.context.canPutToCache(result)) {
+		/**
+		 * Apply this put request to the given result.
+		 * @return an async handle to return instead of the given async result,
+		 * or {@code null} if the put has been performed immediately
+		 */
+		@Nullable
+		public Object apply(@Nullable Object result) {
+			if (result instanceof CompletableFuture) {
+				return ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+					if (ex == null) {
+						performCachePut(value);
+					}
+				});
+			}
+			if (reactiveCachingHandler != null) {
+				Object returnValue = reactiveCachingHandler.processPutRequest(this, result);
+				if (returnValue != NOT_HANDLED) {
+					return returnValue;
+				}
+			}
+			performCachePut(result);
+			return null;
+		}
+
+		public void performCachePut(@Nullable Object value) {
+			Object key = this.key;
+			if (key == null) {
+				if (!isConditionPassing(this.context, value)) {
+					return;
+				}
+				key = generateKey(this.context, value);
+			}
+			if (this.context.canPutToCache(value)) {
 				for (Cache cache : this.context.getCaches()) {
-					doPut(cache, this.key, result);
+					doPut(cache, key, value);
 				}
 			}
 		}
@@ -894,4 +1353,185 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	}
 
+
+	/**
+	 * Reactive Streams support for caching the values emitted by a publisher,
+	 * in an inner class to avoid a hard dependency on Reactor at runtime.
+	 */
+	private class ReactiveCachingHandler {
+
+		private final ReactiveAdapterRegistry registry = ReactiveAdapterRegistry.getSharedInstance();
+
+		public boolean isReactiveValue(@Nullable Object result) {
+			return (getAdapter(result != null ? result.getClass() : null) != null);
+		}
+
+		@Nullable
+		private ReactiveAdapter getAdapter(@Nullable Class<?> type) {
+			if (type == null || type == Object.class) {
+				return null;
+			}
+			ReactiveAdapter adapter = this.registry.getAdapter(type);
+			return (adapter != null && !adapter.isNoValue() ? adapter : null);
+		}
+
+		public Object executeSynchronized(CacheOperationInvoker invoker, Method method, Cache cache, Object key) {
+			ReactiveAdapter adapter = getAdapter(method.getReturnType());
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			if (adapter.isMultiValue()) {
+				// Flux or similar: cache the collected elements as a List
+				return adapter.fromPublisher(Mono.fromFuture(() -> doRetrieve(cache, key,
+						() -> Flux.from(adapter.toPublisher(invokeOperation(invoker))).collectList().toFuture()))
+						.flatMapIterable(list -> list));
+			}
+			else {
+				// Mono or similar
+				return adapter.fromPublisher(Mono.fromFuture(() -> doRetrieve(cache, key,
+						() -> Mono.from(adapter.toPublisher(invokeOperation(invoker))).toFuture())));
+			}
+		}
+
+		@Nullable
+		public Object findInCaches(Cache cache, Object key,
+				CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+
+			ReactiveAdapter adapter = getAdapter(method.getReturnType());
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			CompletableFuture<?> cachedFuture = doRetrieve(cache, key);
+			if (cachedFuture == null) {
+				return null;
+			}
+			// The method may return null (e.g. when invoked for a @CachePut): an empty result
+			// has to be distinguished from a cache miss in order to not invoke it again
+			Mono<Object> result = Mono.fromFuture(cachedFuture)
+					.map(Optional::of)
+					.defaultIfEmpty(Optional.empty())
+					.flatMap(value -> Mono.justOrEmpty(evaluate(
+							value.map(cached -> adaptCachedValue(unwrapCacheValue(cached), adapter)).orElse(null),
+							invoker, method, contexts)));
+			if (adapter.isMultiValue()) {
+				return adapter.fromPublisher(result.flatMapMany(adapter::toPublisher));
+			}
+			else {
+				return adapter.fromPublisher(result.flatMap(value -> Mono.from(adapter.toPublisher(value))));
+			}
+		}
+
+		/**
+		 * Handle a cache miss through the given {@link CacheLoadCoalescer}, either
+		 * performing the load or joining a load for the same key in progress.
+		 * The load is only registered once the returned publisher is subscribed
+		 * to: a publisher that nobody subscribes to must not hold up further misses.
+		 */
+		@SuppressWarnings("unchecked")
+		public Object evaluateCoalesced(CacheLoadCoalescer coalescer, Object loadKey,
+				CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+
+			ReactiveAdapter adapter = getAdapter(method.getReturnType());
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			if (adapter.isMultiValue()) {
+				// Flux or similar: the load completes with the List of emitted elements
+				return adapter.fromPublisher(Flux.defer(() -> {
+					CompletableFuture<Object> load = new CompletableFuture<>();
+					CompletableFuture<Object> inFlightLoad = coalescer.register(loadKey, load);
+					if (inFlightLoad != null) {
+						return Mono.fromFuture(inFlightLoad.thenApply(value -> value))
+								.flatMapIterable(list -> (Iterable<Object>) list)
+								.onErrorResume(CancellationException.class,
+										ex -> Flux.defer(() -> evaluateMiss(adapter, invoker, method, contexts)));
+					}
+					List<Object> values = new ArrayList<>();
+					return Flux.from(evaluateMiss(adapter, invoker, method, contexts))
+							.doOnNext(values::add)
+							.doOnComplete(() -> coalescer.complete(loadKey, load, values, null))
+							.doOnError(ex -> coalescer.complete(loadKey, load, null, ex))
+							.doOnCancel(() -> coalescer.complete(loadKey, load, null, new CancellationException()));
+				}));
+			}
+			else {
+				// Mono or similar
+				return adapter.fromPublisher(Mono.defer(() -> {
+					CompletableFuture<Object> load = new CompletableFuture<>();
+					CompletableFuture<Object> inFlightLoad = coalescer.register(loadKey, load);
+					if (inFlightLoad != null) {
+						return Mono.fromFuture(inFlightLoad.thenApply(value -> value))
+								.onErrorResume(CancellationException.class,
+										ex -> Mono.defer(() -> Mono.from(evaluateMiss(adapter, invoker, method, contexts))));
+					}
+					return Mono.from(evaluateMiss(adapter, invoker, method, contexts))
+							.doOnSuccess(value -> coalescer.complete(loadKey, load, value, null))
+							.doOnError(ex -> coalescer.complete(loadKey, load, null, ex))
+							.doOnCancel(() -> coalescer.complete(loadKey, load, null, new CancellationException()));
+				}));
+			}
+		}
+
+		/**
+		 * Invoke the method for a cache miss, returning its result as a publisher.
+		 */
+		private Publisher<Object> evaluateMiss(ReactiveAdapter adapter, CacheOperationInvoker invoker, Method method,
+				CacheOperationContexts contexts) {
+
+			Object returnValue;
+			try {
+				returnValue = doEvaluate(null, invoker, method, contexts);
+			}
+			catch (CacheOperationInvoker.ThrowableWrapper ex) {
+				return Mono.error(ex.getOriginal());
+			}
+			return (returnValue != null ? adapter.toPublisher(returnValue) : Mono.empty());
+		}
+
+		private Object adaptCachedValue(@Nullable Object cachedValue, ReactiveAdapter adapter) {
+			if (adapter.isMultiValue()) {
+				return adapter.fromPublisher(cachedValue instanceof Iterable ?
+						Flux.fromIterable((Iterable<?>) cachedValue) : Mono.justOrEmpty(cachedValue).flux());
+			}
+			return adapter.fromPublisher(Mono.justOrEmpty(cachedValue));
+		}
+
+		public Object processPutRequest(CachePutRequest request, @Nullable Object result) {
+			ReactiveAdapter adapter = getAdapter(result != null ? result.getClass() : null);
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			if (adapter.isMultiValue()) {
+				// Pass elements on as they arrive, caching the complete List on completion
+				Flux<?> source = Flux.from(adapter.toPublisher(result));
+				return adapter.fromPublisher(Flux.defer(() -> {
+					List<Object> values = new ArrayList<>();
+					return source.doOnNext(values::add).doOnComplete(() -> request.performCachePut(values));
+				}));
+			}
+			else {
+				return adapter.fromPublisher(Mono.from(adapter.toPublisher(result))
+						.doOnSuccess(request::performCachePut));
+			}
+		}
+
+		public Object processEvicts(Collection<CacheOperationContext> contexts, @Nullable Object result) {
+			ReactiveAdapter adapter = getAdapter(result != null ? result.getClass() : null);
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			if (adapter.isMultiValue()) {
+				Flux<?> source = Flux.from(adapter.toPublisher(result));
+				return adapter.fromPublisher(Flux.defer(() -> {
+					List<Object> values = new ArrayList<>();
+					return source.doOnNext(values::add).doOnComplete(() -> performCacheEvicts(contexts, false, values));
+				}));
+			}
+			else {
+				return adapter.fromPublisher(Mono.from(adapter.toPublisher(result))
+						.doOnSuccess(value -> performCacheEvicts(contexts, false, value)));
+			}
+		}
+	}
+
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Registry of cache loads in progress, allowing concurrent misses for the
+ * same cache key to share a single invocation of the cached method.
+ *
+ * <p>When set on a {@link CacheAspectSupport}, the first miss for a given
+ * combination of cache names and key invokes the method while any further
+ * miss arriving in the meantime waits for that invocation and returns its
+ * result. In contrast to {@code @Cacheable(sync = true)}, this does not rely
+ * on the cache provider: it applies to operations spanning several caches,
+ * to operations with an {@code unless} condition, and to methods returning
+ * a {@link CompletableFuture} or a reactive type as well. Methods that also
+ * declare {@code @CachePut} or {@code @CacheEvict} operations are always
+ * invoked individually.
+ *
+ * <p>A miss that joins a load in progress observes the outcome of that load,
+ * including any exception thrown by the method. Only methods with the same
+ * return type share a load. For a reactive return type, the load is registered
+ * when the returned publisher is subscribed to, and a miss that joined a load
+ * cancelled by its subscriber performs a load of its own. A reentrant invocation
+ * for the same key on the thread performing a load invokes the method directly.
+ * A blocking miss waits for a load in progress for the {@link #setJoinTimeout
+ * join timeout} at most, and then invokes the method itself, so that a hanging
+ * load does not hold up every further miss for the same key indefinitely.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see CacheAspectSupport#setCacheLoadCoalescer
+ */
+public class CacheLoadCoalescer {
+
+	/**
+	 * The default timeout for joining a load in progress: 30 seconds.
+	 * @see #setJoinTimeout
+	 */
+	public static final Duration DEFAULT_JOIN_TIMEOUT = Duration.ofSeconds(30);
+
+
+	private final ConcurrentMap<Object, InFlightLoad> inFlightLoads = new ConcurrentHashMap<>(64);
+
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder coalescedLoadCount = new LongAdder();
+
+	private Duration joinTimeout = DEFAULT_JOIN_TIMEOUT;
+
+
+	/**
+	 * Set the maximum time a blocking cache miss waits for a load of the same
+	 * key in progress before invoking the method itself. Default is
+	 * {@link #DEFAULT_JOIN_TIMEOUT}.
+	 * <p>Misses for methods returning a {@link CompletableFuture} or a reactive
+	 * type do not block and are not affected by this timeout.
+	 */
+	public void setJoinTimeout(Duration joinTimeout) {
+		Assert.notNull(joinTimeout, "Join timeout must not be null");
+		Assert.isTrue(!joinTimeout.isNegative(), "Join timeout must not be negative");
+		this.joinTimeout = joinTimeout;
+	}
+
+	/**
+	 * Return the maximum time a blocking cache miss waits for a load in progress.
+	 */
+	public Duration getJoinTimeout() {
+		return this.joinTimeout;
+	}
+
+	/**
+	 * Register the given load for the specified key, unless another load
+	 * for the same key is in progress already.
+	 * @param loadKey the key identifying the load
+	 * @param load the future to complete once the load has finished
+	 * @return the load in progress to wait for, or {@code null} if the
+	 * given load has been registered and needs to be performed by the caller
+	 */
+	@Nullable
+	CompletableFuture<Object> register(Object loadKey, CompletableFuture<Object> load) {
+		InFlightLoad inFlightLoad = this.inFlightLoads.putIfAbsent(loadKey, new InFlightLoad(load));
+		if (inFlightLoad != null) {
+			this.coalescedLoadCount.increment();
+			return inFlightLoad.load;
+		}
+		this.loadCount.increment();
+		return null;
+	}
+
+	/**
+	 * Determine whether a load for the given key has been registered by the
+	 * current thread and is still in progress, i.e. whether the current thread
+	 * would wait for itself in case of a reentrant invocation.
+	 * @param loadKey the key identifying the load
+	 */
+	boolean isLoadingOnCurrentThread(Object loadKey) {
+		InFlightLoad inFlightLoad = this.inFlightLoads.get(loadKey);
+		return (inFlightLoad != null && inFlightLoad.thread == Thread.currentThread());
+	}
+
+	/**
+	 * Complete the given load, releasing any misses waiting for it.
+	 * @param loadKey the key the load has been registered with
+	 * @param load the load to complete
+	 * @param value the loaded value, if successful
+	 * @param ex the exception thrown by the load, if any
+	 */
+	void complete(Object loadKey, CompletableFuture<Object> load, @Nullable Object value, @Nullable Throwable ex) {
+		// Unregister first: a miss arriving after completion has to start a new load
+		this.inFlightLoads.computeIfPresent(loadKey,
+				(key, inFlightLoad) -> (inFlightLoad.load == load ? null : inFlightLoad));
+		if (ex != null) {
+			load.completeExceptionally(ex);
+		}
+		else {
+			load.complete(value);
+		}
+	}
+
+
+	/**
+	 * Return the number of loads performed, i.e. the number of method
+	 * invocations triggered by cache misses.
+	 */
+	public long getLoadCount() {
+		return this.loadCount.sum();
+	}
+
+	/**
+	 * Return the number of cache misses that have been served by a load
+	 * already in progress instead of invoking the method themselves.
+	 */
+	public long getCoalescedLoadCount() {
+		return this.coalescedLoadCount.sum();
+	}
+
+	/**
+	 * Return the number of loads currently in progress.
+	 */
+	public int getInFlightLoadCount() {
+		return this.inFlightLoads.size();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + ": loads=" + getLoadCount() +
+				", coalesced=" + getCoalescedLoadCount() + ", inFlight=" + getInFlightLoadCount();
+	}
+
+
+	/**
+	 * A registered load along with the thread that registered it.
+	 */
+	private static class InFlightLoad {
+
+		final CompletableFuture<Object> load;
+
+		final Thread thread = Thread.currentThread();
+
+		InFlightLoad(CompletableFuture<Object> load) {
+			this.load = load;
+		}
+	}
+
+}
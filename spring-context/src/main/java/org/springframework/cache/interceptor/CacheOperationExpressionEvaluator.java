@@ -26,16 +26,23 @@ import org.springframework.cache.Cache;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
 
 /**
  * Utility class handling the SpEL expression parsing.
  * Meant to be used as a reusable, thread-safe component.
  *
  * <p>Performs internal caching for performance reasons
- * using {@link AnnotatedElementKey}.
+ * using {@link AnnotatedElementKey}. Key expressions are compiled
+ * to bytecode once they have been evaluated often enough.
  *
  * @author Costin Leau
  * @author Phillip Webb
@@ -60,8 +67,12 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 	 */
 	public static final String RESULT_VARIABLE = "result";
 
+	private static final String ROOT_ARGS_PREFIX = "#root.args[";
 
-	private final Map<ExpressionKey, Expression> keyCache = new ConcurrentHashMap<>(64);
+	private static final ParameterNameDiscoverer argumentNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+
+	private final KeyExpressionEvaluator keyEvaluator = new KeyExpressionEvaluator();
 
 	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<>(64);
 
@@ -85,6 +96,23 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 
 		CacheExpressionRootObject rootObject = new CacheExpressionRootObject(
 				caches, method, args, target, targetClass);
+		return createEvaluationContext(rootObject, targetMethod, args, result, beanFactory);
+	}
+
+	/**
+	 * Create an {@link EvaluationContext} for the given root object, which may
+	 * be shared between the contexts created for the expressions of an operation.
+	 * @param rootObject the root object
+	 * @param targetMethod the target method
+	 * @param args the method arguments
+	 * @param result the return value (can be {@code null}) or
+	 * {@link #NO_RESULT} if there is no return at this time
+	 * @return the evaluation context
+	 * @since 5.3
+	 */
+	EvaluationContext createEvaluationContext(CacheExpressionRootObject rootObject, Method targetMethod,
+			Object[] args, @Nullable Object result, @Nullable BeanFactory beanFactory) {
+
 		CacheEvaluationContext evaluationContext = new CacheEvaluationContext(
 				rootObject, targetMethod, args, getParameterNameDiscoverer());
 		if (result == RESULT_UNAVAILABLE) {
@@ -101,7 +129,7 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 
 	@Nullable
 	public Object key(String keyExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
-		return getExpression(this.keyCache, methodKey, keyExpression).getValue(evalContext);
+		return this.keyEvaluator.getExpression(methodKey, keyExpression).getValue(evalContext);
 	}
 
 	public boolean condition(String conditionExpression, AnnotatedElementKey methodKey, EvaluationContext evalContext) {
@@ -114,13 +142,113 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 				evalContext, Boolean.class)));
 	}
 
+	/**
+	 * Determine the index of the method argument that the given key expression
+	 * plainly refers to, i.e. {@code #p0}, {@code #a0}, {@code #root.args[0]} or
+	 * a parameter name, in which case the key can be taken from the arguments
+	 * without evaluating the expression.
+	 * @param keyExpression the key expression, if any
+	 * @param method the method to resolve parameter names against
+	 * @return the argument index, or {@code -1} if the expression needs to be evaluated
+	 */
+	static int resolveKeyArgumentIndex(@Nullable String keyExpression, Method method) {
+		if (!StringUtils.hasText(keyExpression) || method.isVarArgs()) {
+			return -1;
+		}
+		String expression = keyExpression.trim();
+		int index = -1;
+		if (expression.startsWith(ROOT_ARGS_PREFIX) && expression.endsWith("]")) {
+			index = parseIndex(expression.substring(ROOT_ARGS_PREFIX.length(), expression.length() - 1));
+		}
+		else if (expression.length() > 1 && expression.charAt(0) == '#') {
+			String name = expression.substring(1);
+			if (!isIdentifier(name) || RESULT_VARIABLE.equals(name) || "root".equals(name) || "this".equals(name)) {
+				return -1;
+			}
+			String[] paramNames = argumentNameDiscoverer.getParameterNames(method);
+			if (paramNames != null) {
+				for (String paramName : paramNames) {
+					if (isIndexedName(paramName)) {
+						// Ambiguous with the pX/aX aliases
+						return -1;
+					}
+				}
+			}
+			if (isIndexedName(name)) {
+				index = parseIndex(name.substring(1));
+			}
+			else if (paramNames != null) {
+				for (int i = 0; i < paramNames.length; i++) {
+					if (name.equals(paramNames[i])) {
+						index = i;
+						break;
+					}
+				}
+			}
+		}
+		return (index < method.getParameterCount() ? index : -1);
+	}
+
+	private static boolean isIdentifier(String name) {
+		if (!Character.isJavaIdentifierStart(name.charAt(0))) {
+			return false;
+		}
+		for (int i = 1; i < name.length(); i++) {
+			if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isIndexedName(@Nullable String name) {
+		return (name != null && name.length() > 1 && (name.charAt(0) == 'p' || name.charAt(0) == 'a') &&
+				parseIndex(name.substring(1)) >= 0);
+	}
+
+	private static int parseIndex(String value) {
+		if (value.isEmpty() || value.length() > 3) {
+			return -1;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			if (!Character.isDigit(value.charAt(i))) {
+				return -1;
+			}
+		}
+		return Integer.parseInt(value);
+	}
+
 	/**
 	 * Clear all caches.
 	 */
 	void clear() {
-		this.keyCache.clear();
+		this.keyEvaluator.clear();
 		this.conditionCache.clear();
 		this.unlessCache.clear();
 	}
 
+
+	/**
+	 * Evaluator for key expressions, using a parser that compiles expressions
+	 * once they have been interpreted often enough, reverting to interpretation
+	 * whenever compiled code fails, e.g. for an argument of a different type.
+	 */
+	private static class KeyExpressionEvaluator extends CachedExpressionEvaluator {
+
+		private final Map<ExpressionKey, Expression> cache = new ConcurrentHashMap<>(64);
+
+		KeyExpressionEvaluator() {
+			super(new SpelExpressionParser(new SpelParserConfiguration(
+					SpelCompilerMode.MIXED, null)));
+		}
+
+		Expression getExpression(AnnotatedElementKey methodKey, String keyExpression) {
+			return getExpression(this.cache, methodKey, keyExpression);
+		}
+
+		void clear() {
+			this.cache.clear();
+		}
+	}
+
 }
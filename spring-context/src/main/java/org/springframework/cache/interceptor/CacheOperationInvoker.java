@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,22 @@ public interface CacheOperationInvoker {
 	 */
 	Object invoke() throws ThrowableWrapper;
 
+	/**
+	 * Invoke the cache operation with the given arguments instead of the
+	 * original ones, leaving the original arguments untouched. Used by
+	 * {@link org.springframework.cache.annotation.Cacheable#bulk() bulk}
+	 * operations for loading the missing keys only.
+	 * <p>The default implementation throws an {@link UnsupportedOperationException}.
+	 * @param args the arguments to invoke the operation with
+	 * @return the result of the operation
+	 * @throws ThrowableWrapper if an error occurred while invoking the operation
+	 * @since 5.3
+	 */
+	default Object invokeWithArguments(Object[] args) throws ThrowableWrapper {
+		throw new UnsupportedOperationException(
+				"Invocation with different arguments not supported by " + getClass().getName());
+	}
+
 
 	/**
 	 * Wrap any exception thrown while invoking {@link #invoke()}.
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStatistics;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Cache decorator recording {@link CacheStatistics} and a {@link LatencyHistogram}
+ * for the get, put and evict operations of its target cache, independently of
+ * the statistics support of the underlying cache provider.
+ *
+ * <p>Hits and misses are derived from the values returned by the target cache.
+ * As a consequence, a cached {@code null} value looked up through
+ * {@link #get(Object, Class)} counts as a miss. The time spent in a value
+ * loader is recorded as load time rather than get latency, and a bulk
+ * operation is recorded as a single latency. The eviction count is
+ * delegated to the target cache, if it exposes one.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see InstrumentedCacheManager
+ */
+public class InstrumentedCache implements Cache, CacheStatistics {
+
+	private final Cache targetCache;
+
+	private final LatencyHistogram getLatency = new LatencyHistogram();
+
+	private final LatencyHistogram putLatency = new LatencyHistogram();
+
+	private final LatencyHistogram evictLatency = new LatencyHistogram();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder totalLoadTime = new LongAdder();
+
+
+	/**
+	 * Create a new InstrumentedCache for the given target Cache.
+	 * @param targetCache the target Cache to decorate
+	 */
+	public InstrumentedCache(Cache targetCache) {
+		Assert.notNull(targetCache, "Target Cache must not be null");
+		this.targetCache = targetCache;
+	}
+
+
+	/**
+	 * Return the target Cache that this Cache delegates to.
+	 */
+	public Cache getTargetCache() {
+		return this.targetCache;
+	}
+
+	/**
+	 * Return the latencies of lookups, excluding the time spent loading values.
+	 */
+	public LatencyHistogram getGetLatency() {
+		return this.getLatency;
+	}
+
+	/**
+	 * Return the latencies of {@link #put}, {@link #putIfAbsent} and {@link #putAll} operations.
+	 */
+	public LatencyHistogram getPutLatency() {
+		return this.putLatency;
+	}
+
+	/**
+	 * Return the latencies of {@link #evict}, {@link #evictIfPresent} and {@link #evictAll} operations.
+	 */
+	public LatencyHistogram getEvictLatency() {
+		return this.evictLatency;
+	}
+
+	@Override
+	public String getName() {
+		return this.targetCache.getName();
+	}
+
+	@Override
+	public Object getNativeCache() {
+		return this.targetCache.getNativeCache();
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		long start = System.nanoTime();
+		ValueWrapper wrapper = this.targetCache.get(key);
+		this.getLatency.record(System.nanoTime() - start);
+		recordLookup(wrapper != null);
+		return wrapper;
+	}
+
+	@Override
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		long start = System.nanoTime();
+		T value = this.targetCache.get(key, type);
+		this.getLatency.record(System.nanoTime() - start);
+		recordLookup(value != null);
+		return value;
+	}
+
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		long[] loadTime = new long[] {-1};
+		long start = System.nanoTime();
+		T value = this.targetCache.get(key, () -> {
+			long loadStart = System.nanoTime();
+			try {
+				return valueLoader.call();
+			}
+			finally {
+				loadTime[0] = System.nanoTime() - loadStart;
+			}
+		});
+		long time = System.nanoTime() - start;
+		if (loadTime[0] >= 0) {
+			this.getLatency.record(time - loadTime[0]);
+			this.loadCount.increment();
+			this.totalLoadTime.add(loadTime[0]);
+			recordLookup(false);
+		}
+		else {
+			this.getLatency.record(time);
+			recordLookup(true);
+		}
+		return value;
+	}
+
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		long start = System.nanoTime();
+		Map<Object, ValueWrapper> result = this.targetCache.getAll(keys);
+		this.getLatency.record(System.nanoTime() - start);
+		this.hitCount.add(result.size());
+		this.missCount.add(keys.size() - result.size());
+		return result;
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		return this.targetCache.retrieve(key);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		return this.targetCache.retrieve(key, valueLoader);
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		long start = System.nanoTime();
+		this.targetCache.put(key, value);
+		this.putLatency.record(System.nanoTime() - start);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		long start = System.nanoTime();
+		ValueWrapper existing = this.targetCache.putIfAbsent(key, value);
+		this.putLatency.record(System.nanoTime() - start);
+		return existing;
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		long start = System.nanoTime();
+		this.targetCache.putAll(entries);
+		this.putLatency.record(System.nanoTime() - start);
+	}
+
+	@Override
+	public void evict(Object key) {
+		long start = System.nanoTime();
+		this.targetCache.evict(key);
+		this.evictLatency.record(System.nanoTime() - start);
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		long start = System.nanoTime();
+		boolean evicted = this.targetCache.evictIfPresent(key);
+		this.evictLatency.record(System.nanoTime() - start);
+		return evicted;
+	}
+
+	@Override
+	public void evictAll(Collection<?> keys) {
+		long start = System.nanoTime();
+		this.targetCache.evictAll(keys);
+		this.evictLatency.record(System.nanoTime() - start);
+	}
+
+	@Override
+	public void clear() {
+		this.targetCache.clear();
+	}
+
+	@Override
+	public boolean invalidate() {
+		return this.targetCache.invalidate();
+	}
+
+	@Override
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	@Override
+	public long getLoadCount() {
+		return this.loadCount.sum();
+	}
+
+	@Override
+	public long getTotalLoadTime() {
+		return this.totalLoadTime.sum();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return (this.targetCache instanceof CacheStatistics ?
+				((CacheStatistics) this.targetCache).getEvictionCount() : 0);
+	}
+
+	private void recordLookup(boolean hit) {
+		if (hit) {
+			this.hitCount.increment();
+		}
+		else {
+			this.missCount.increment();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "InstrumentedCache '" + getName() + "': hits=" + getHitCount() + ", misses=" +
+				getMissCount() + ", loads=" + getLoadCount() + ", get " + this.getLatency +
+				", put " + this.putLatency + ", evict " + this.evictLatency;
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Proxy for a target {@link CacheManager}, exposing {@link InstrumentedCache}
+ * decorators for its caches, so that hit ratios and operation latencies
+ * can be monitored in the same way for any cache provider.
+ *
+ * <p>The decorator for each cache is created once and retained, so that
+ * its statistics accumulate over the lifetime of this manager.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see #setTargetCacheManager
+ * @see InstrumentedCache
+ */
+public class InstrumentedCacheManager implements CacheManager, InitializingBean {
+
+	@Nullable
+	private CacheManager targetCacheManager;
+
+	private final ConcurrentMap<String, InstrumentedCache> cacheMap = new ConcurrentHashMap<>(16);
+
+
+	/**
+	 * Create a new InstrumentedCacheManager, setting the target CacheManager
+	 * through the {@link #setTargetCacheManager} bean property.
+	 */
+	public InstrumentedCacheManager() {
+	}
+
+	/**
+	 * Create a new InstrumentedCacheManager for the given target CacheManager.
+	 * @param targetCacheManager the target CacheManager to proxy
+	 */
+	public InstrumentedCacheManager(CacheManager targetCacheManager) {
+		Assert.notNull(targetCacheManager, "Target CacheManager must not be null");
+		this.targetCacheManager = targetCacheManager;
+	}
+
+
+	/**
+	 * Set the target CacheManager to proxy.
+	 */
+	public void setTargetCacheManager(CacheManager targetCacheManager) {
+		this.targetCacheManager = targetCacheManager;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.targetCacheManager == null) {
+			throw new IllegalArgumentException("Property 'targetCacheManager' is required");
+		}
+	}
+
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		InstrumentedCache cache = this.cacheMap.get(name);
+		if (cache == null) {
+			Assert.state(this.targetCacheManager != null, "No target CacheManager set");
+			Cache targetCache = this.targetCacheManager.getCache(name);
+			if (targetCache == null) {
+				return null;
+			}
+			cache = this.cacheMap.computeIfAbsent(name, key -> new InstrumentedCache(targetCache));
+		}
+		return cache;
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		Assert.state(this.targetCacheManager != null, "No target CacheManager set");
+		return this.targetCacheManager.getCacheNames();
+	}
+
+	/**
+	 * Return the decorators of the caches obtained so far.
+	 */
+	public Collection<InstrumentedCache> getInstrumentedCaches() {
+		return Collections.unmodifiableCollection(this.cacheMap.values());
+	}
+
+}
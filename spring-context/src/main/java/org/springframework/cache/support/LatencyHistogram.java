@@ -0,0 +1,170 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Lock-free histogram of latencies in nanoseconds, as recorded by an
+ * {@link InstrumentedCache} for each kind of operation.
+ *
+ * <p>Values are counted in logarithmic buckets, each power of two being
+ * split into 8 linear sub-buckets: percentiles are therefore reported
+ * with a relative error of at most 12.5%, while recording a value never
+ * allocates and the memory footprint remains fixed.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see InstrumentedCacheManager
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	private static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder totalTime = new LongAdder();
+
+	private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+
+
+	/**
+	 * Record the given latency.
+	 * @param nanos the latency in nanoseconds (negative values count as {@code 0})
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		this.buckets.incrementAndGet(bucketIndex(value));
+		this.count.increment();
+		this.totalTime.add(value);
+		this.maxTime.accumulate(value);
+	}
+
+	/**
+	 * Return the number of recorded latencies.
+	 */
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	/**
+	 * Return the sum of all recorded latencies, in nanoseconds.
+	 */
+	public long getTotalTime() {
+		return this.totalTime.sum();
+	}
+
+	/**
+	 * Return the highest recorded latency, in nanoseconds.
+	 */
+	public long getMaxTime() {
+		return this.maxTime.get();
+	}
+
+	/**
+	 * Return the mean of the recorded latencies, in nanoseconds,
+	 * or {@code 0} if none has been recorded yet.
+	 */
+	public double getMeanTime() {
+		long count = getCount();
+		return (count != 0 ? (double) getTotalTime() / count : 0);
+	}
+
+	/**
+	 * Return the latency below which the given percentage of the recorded
+	 * latencies fall, as the upper bound of the matching bucket.
+	 * @param percentile the percentile, between {@code 0.0} and {@code 100.0}
+	 * @return the latency in nanoseconds, or {@code 0} if none has been recorded yet
+	 */
+	public long getPercentile(double percentile) {
+		Assert.isTrue(percentile >= 0 && percentile <= 100, "Percentile must be between 0 and 100");
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = this.buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long threshold = Math.max((long) Math.ceil(total * percentile / 100), 1);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= threshold) {
+				return Math.min(bucketUpperBound(i), getMaxTime());
+			}
+		}
+		return getMaxTime();
+	}
+
+	/**
+	 * Clear all recorded latencies.
+	 * <p>Latencies recorded concurrently may be partially retained.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			this.buckets.set(i, 0);
+		}
+		this.count.reset();
+		this.totalTime.reset();
+		this.maxTime.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "LatencyHistogram [count=" + getCount() +
+				", mean=" + TimeUnit.NANOSECONDS.toMicros((long) getMeanTime()) + "us" +
+				", p50=" + TimeUnit.NANOSECONDS.toMicros(getPercentile(50)) + "us" +
+				", p99=" + TimeUnit.NANOSECONDS.toMicros(getPercentile(99)) + "us" +
+				", max=" + TimeUnit.NANOSECONDS.toMicros(getMaxTime()) + "us]";
+	}
+
+
+	static int bucketIndex(long value) {
+		if (value < 2 * SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	static long bucketUpperBound(int index) {
+		if (index < 2 * SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+		int subBucket = index % SUB_BUCKET_COUNT;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		long lowerBound = (SUB_BUCKET_COUNT + subBucket) * width;
+		return lowerBound + width - 1;
+	}
+
+}
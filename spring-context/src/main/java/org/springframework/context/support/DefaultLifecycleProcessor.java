@@ -25,8 +25,13 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -46,6 +51,12 @@ import org.springframework.util.Assert;
 /**
  * Default implementation of the {@link LifecycleProcessor} strategy.
  *
+ * <p>Beans within the same phase get started one after the other by default.
+ * With a {@link #setStartupExecutor startup executor}, the beans of a phase
+ * get started concurrently instead, except for beans depending on other
+ * lifecycle beans which get started after their dependencies. The start and
+ * stop time of each bean is logged at debug level.
+ *
  * @author Mark Fisher
  * @author Juergen Hoeller
  * @since 3.0
@@ -56,6 +67,15 @@ public class DefaultLifecycleProcessor implements LifecycleProcessor, BeanFactor
 
 	private volatile long timeoutPerShutdownPhase = 30000;
 
+	private volatile Map<Integer, Long> timeoutsForShutdownPhases = Collections.emptyMap();
+
+	@Nullable
+	private volatile Executor startupExecutor;
+
+	private volatile long timeoutPerStartupPhase = -1;
+
+	private volatile Map<Integer, Long> timeoutsForStartupPhases = Collections.emptyMap();
+
 	private volatile boolean running;
 
 	@Nullable
@@ -71,6 +91,54 @@ public class DefaultLifecycleProcessor implements LifecycleProcessor, BeanFactor
 		this.timeoutPerShutdownPhase = timeoutPerShutdownPhase;
 	}
 
+	/**
+	 * Specify the maximum time allotted in milliseconds for the shutdown of
+	 * specific phases, overriding the {@link #setTimeoutPerShutdownPhase
+	 * timeout per shutdown phase} for those phases.
+	 * @param timeoutsForShutdownPhases a Map with phase values as keys and
+	 * timeouts in milliseconds as values
+	 * @since 5.3
+	 */
+	public void setTimeoutsForShutdownPhases(Map<Integer, Long> timeoutsForShutdownPhases) {
+		this.timeoutsForShutdownPhases = new HashMap<>(timeoutsForShutdownPhases);
+	}
+
+	/**
+	 * Specify an executor for starting the beans within each phase concurrently,
+	 * e.g. message listener containers or embedded servers which take a while
+	 * to start. Phases are still started one after the other.
+	 * <p>By default, beans get started one by one on the calling thread.
+	 * @since 5.3
+	 * @see #setTimeoutPerStartupPhase
+	 */
+	public void setStartupExecutor(@Nullable Executor startupExecutor) {
+		this.startupExecutor = startupExecutor;
+	}
+
+	/**
+	 * Specify the maximum time allotted in milliseconds for the concurrent
+	 * startup of any phase, failing the startup if the beans of a phase did
+	 * not start in time.
+	 * <p>The default value is -1, waiting indefinitely. Only applies in
+	 * combination with a {@link #setStartupExecutor startup executor}.
+	 * @since 5.3
+	 */
+	public void setTimeoutPerStartupPhase(long timeoutPerStartupPhase) {
+		this.timeoutPerStartupPhase = timeoutPerStartupPhase;
+	}
+
+	/**
+	 * Specify the maximum time allotted in milliseconds for the concurrent
+	 * startup of specific phases, overriding the {@link #setTimeoutPerStartupPhase
+	 * timeout per startup phase} for those phases.
+	 * @param timeoutsForStartupPhases a Map with phase values as keys and
+	 * timeouts in milliseconds as values
+	 * @since 5.3
+	 */
+	public void setTimeoutsForStartupPhases(Map<Integer, Long> timeoutsForStartupPhases) {
+		this.timeoutsForStartupPhases = new HashMap<>(timeoutsForStartupPhases);
+	}
+
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) {
 		if (!(beanFactory instanceof ConfigurableListableBeanFactory)) {
@@ -145,7 +213,8 @@ public class DefaultLifecycleProcessor implements LifecycleProcessor, BeanFactor
 				int phase = getPhase(bean);
 				LifecycleGroup group = phases.get(phase);
 				if (group == null) {
-					group = new LifecycleGroup(phase, this.timeoutPerShutdownPhase, lifecycleBeans, autoStartupOnly);
+					group = new LifecycleGroup(phase, determineTimeout(phase, this.timeoutsForStartupPhases,
+							this.timeoutPerStartupPhase), lifecycleBeans, autoStartupOnly);
 					phases.put(phase, group);
 				}
 				group.add(beanName, bean);
@@ -173,22 +242,44 @@ public class DefaultLifecycleProcessor implements LifecycleProcessor, BeanFactor
 			for (String dependency : dependenciesForBean) {
 				doStart(lifecycleBeans, dependency, autoStartupOnly);
 			}
-			if (!bean.isRunning() &&
-					(!autoStartupOnly || !(bean instanceof SmartLifecycle) || ((SmartLifecycle) bean).isAutoStartup())) {
-				if (logger.isTraceEnabled()) {
-					logger.trace("Starting bean '" + beanName + "' of type [" + bean.getClass().getName() + "]");
-				}
-				try {
-					bean.start();
-				}
-				catch (Throwable ex) {
-					throw new ApplicationContextException("Failed to start bean '" + beanName + "'", ex);
-				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Successfully started bean '" + beanName + "'");
-				}
+			startBean(beanName, bean, autoStartupOnly);
+		}
+	}
+
+	/**
+	 * Start the given bean unless it is running already,
+	 * with its dependencies having been started before.
+	 */
+	private void startBean(String beanName, Lifecycle bean, boolean autoStartupOnly) {
+		if (!bean.isRunning() &&
+				(!autoStartupOnly || !(bean instanceof SmartLifecycle) || ((SmartLifecycle) bean).isAutoStartup())) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Starting bean '" + beanName + "' of type [" + bean.getClass().getName() + "]");
+			}
+			long startTime = System.nanoTime();
+			try {
+				bean.start();
+			}
+			catch (Throwable ex) {
+				throw new ApplicationContextException("Failed to start bean '" + beanName + "'", ex);
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Successfully started bean '" + beanName + "' in " + elapsedMillis(startTime) + " ms");
+			}
+		}
+	}
+
+	/**
+	 * Determine whether the given bean depends on a Lifecycle bean
+	 * which has not been started yet.
+	 */
+	private boolean hasPendingDependencies(Map<String, ? extends Lifecycle> lifecycleBeans, String beanName) {
+		for (String dependency : getBeanFactory().getDependenciesForBean(beanName)) {
+			if (lifecycleBeans.containsKey(dependency)) {
+				return true;
 			}
 		}
+		return false;
 	}
 
 	private void stopBeans() {
@@ -198,7 +289,8 @@ public class DefaultLifecycleProcessor implements LifecycleProcessor, BeanFactor
 			int shutdownPhase = getPhase(bean);
 			LifecycleGroup group = phases.get(shutdownPhase);
 			if (group == null) {
-				group = new LifecycleGroup(shutdownPhase, this.timeoutPerShutdownPhase, lifecycleBeans, false);
+				group = new LifecycleGroup(shutdownPhase, determineTimeout(shutdownPhase,
+						this.timeoutsForShutdownPhases, this.timeoutPerShutdownPhase), lifecycleBeans, false);
 				phases.put(shutdownPhase, group);
 			}
 			group.add(beanName, bean);
@@ -235,11 +327,13 @@ public class DefaultLifecycleProcessor implements LifecycleProcessor, BeanFactor
 									bean.getClass().getName() + "] to stop");
 						}
 						countDownBeanNames.add(beanName);
+						long startTime = System.nanoTime();
 						((SmartLifecycle) bean).stop(() -> {
 							latch.countDown();
 							countDownBeanNames.remove(beanName);
 							if (logger.isDebugEnabled()) {
-								logger.debug("Bean '" + beanName + "' completed its stop procedure");
+								logger.debug("Bean '" + beanName + "' completed its stop procedure in " +
+										elapsedMillis(startTime) + " ms");
 							}
 						});
 					}
@@ -248,9 +342,11 @@ public class DefaultLifecycleProcessor implements LifecycleProcessor, BeanFactor
 							logger.trace("Stopping bean '" + beanName + "' of type [" +
 									bean.getClass().getName() + "]");
 						}
+						long startTime = System.nanoTime();
 						bean.stop();
 						if (logger.isDebugEnabled()) {
-							logger.debug("Successfully stopped bean '" + beanName + "'");
+							logger.debug("Successfully stopped bean '" + beanName + "' in " +
+									elapsedMillis(startTime) + " ms");
 						}
 					}
 				}
@@ -268,6 +364,16 @@ public class DefaultLifecycleProcessor implements LifecycleProcessor, BeanFactor
 	}
 
 
+	private static long determineTimeout(int phase, Map<Integer, Long> timeoutsForPhases, long defaultTimeout) {
+		Long timeout = timeoutsForPhases.get(phase);
+		return (timeout != null ? timeout : defaultTimeout);
+	}
+
+	private static long elapsedMillis(long startTime) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+	}
+
+
 	// overridable hooks
 
 	/**
@@ -356,7 +462,66 @@ public class DefaultLifecycleProcessor implements LifecycleProcessor, BeanFactor
 				logger.debug("Starting beans in phase " + this.phase);
 			}
 			Collections.sort(this.members);
+			long startTime = System.nanoTime();
+			Executor executor = startupExecutor;
+			if (executor != null && this.members.size() > 1) {
+				startConcurrently(executor);
+			}
+			else {
+				for (LifecycleGroupMember member : this.members) {
+					doStart(this.lifecycleBeans, member.name, this.autoStartupOnly);
+				}
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Started beans in phase " + this.phase + " in " + elapsedMillis(startTime) + " ms");
+			}
+		}
+
+		private void startConcurrently(Executor executor) {
+			// Beans with pending dependencies get started afterwards, along with their dependencies
+			List<LifecycleGroupMember> independentMembers = new ArrayList<>();
+			List<LifecycleGroupMember> dependentMembers = new ArrayList<>();
 			for (LifecycleGroupMember member : this.members) {
+				(hasPendingDependencies(this.lifecycleBeans, member.name) ? dependentMembers : independentMembers).add(member);
+			}
+			Set<String> pendingBeanNames = ConcurrentHashMap.newKeySet();
+			List<CompletableFuture<Void>> futures = new ArrayList<>();
+			for (LifecycleGroupMember member : independentMembers) {
+				Lifecycle bean = this.lifecycleBeans.remove(member.name);
+				if (bean != null && bean != DefaultLifecycleProcessor.this) {
+					pendingBeanNames.add(member.name);
+					futures.add(CompletableFuture.runAsync(() -> {
+						startBean(member.name, bean, this.autoStartupOnly);
+						pendingBeanNames.remove(member.name);
+					}, executor));
+				}
+			}
+			CompletableFuture<Void> allStarted = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+			try {
+				if (this.timeout < 0) {
+					allStarted.get();
+				}
+				else {
+					allStarted.get(this.timeout, TimeUnit.MILLISECONDS);
+				}
+			}
+			catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof ApplicationContextException) {
+					throw (ApplicationContextException) cause;
+				}
+				throw new ApplicationContextException("Failed to start beans in phase " + this.phase, cause);
+			}
+			catch (TimeoutException ex) {
+				throw new ApplicationContextException("Failed to start " + pendingBeanNames.size() + " bean" +
+						(pendingBeanNames.size() > 1 ? "s" : "") + " with phase value " + this.phase +
+						" within timeout of " + this.timeout + "ms: " + pendingBeanNames);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new ApplicationContextException("Interrupted while starting beans in phase " + this.phase);
+			}
+			for (LifecycleGroupMember member : dependentMembers) {
 				doStart(this.lifecycleBeans, member.name, this.autoStartupOnly);
 			}
 		}
@@ -25,6 +25,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ImportAware;
 import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
@@ -60,6 +61,20 @@ public abstract class AbstractAsyncConfiguration implements ImportAware {
 			throw new IllegalArgumentException(
 					"@EnableAsync is not present on importing class " + importMetadata.getClassName());
 		}
+		if (this.enableAsync.getBoolean("virtualThreads")) {
+			// Called after autowiring, i.e. with any AsyncConfigurer applied already
+			Supplier<Executor> configuredExecutor = this.executor;
+			this.executor = () -> {
+				Executor executor = (configuredExecutor != null ? configuredExecutor.get() : null);
+				return (executor != null ? executor : createVirtualThreadExecutor());
+			};
+		}
+	}
+
+	private static Executor createVirtualThreadExecutor() {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+		executor.setVirtualThreads(true);
+		return executor;
 	}
 
 	/**
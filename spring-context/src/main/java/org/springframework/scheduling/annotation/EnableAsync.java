@@ -208,4 +208,20 @@ public @interface EnableAsync {
 	 */
 	int order() default Ordered.LOWEST_PRECEDENCE;
 
+	/**
+	 * Indicate whether async methods should run on virtual threads by default,
+	 * with a new virtual thread per invocation.
+	 * <p>The default is {@code false}, searching for a {@code TaskExecutor} bean
+	 * as described above. If set to {@code true}, a
+	 * {@link org.springframework.core.task.SimpleAsyncTaskExecutor} creating
+	 * virtual threads gets used instead, unless an {@link AsyncConfigurer}
+	 * provides an executor. Methods qualified with a specific executor through
+	 * {@link Async#value} are not affected.
+	 * <p>Virtual threads require JDK 21 or higher; on earlier JVMs, the executor
+	 * falls back to creating platform threads.
+	 * @since 5.3
+	 * @see org.springframework.core.task.SimpleAsyncTaskExecutor#setVirtualThreads
+	 */
+	boolean virtualThreads() default false;
+
 }
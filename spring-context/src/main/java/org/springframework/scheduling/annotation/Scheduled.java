@@ -81,11 +81,13 @@ public @interface Scheduled {
 	 * <li>month</li>
 	 * <li>day of week</li>
 	 * </ul>
+	 * <p>Macros such as {@code "@hourly"} or {@code "@daily"} can be used
+	 * instead of the six fields.
 	 * <p>The special value {@link #CRON_DISABLED "-"} indicates a disabled cron
 	 * trigger, primarily meant for externally specified values resolved by a
 	 * <code>${...}</code> placeholder.
 	 * @return an expression that can be parsed to a cron schedule
-	 * @see org.springframework.scheduling.support.CronSequenceGenerator
+	 * @see org.springframework.scheduling.support.CronExpression#parse(String)
 	 */
 	String cron() default "";
 
@@ -30,6 +30,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.support.TaskExecutionListener;
 import org.springframework.lang.Nullable;
 
 /**
@@ -61,6 +62,9 @@ public abstract class ExecutorConfigurationSupport extends CustomizableThreadFac
 
 	private long awaitTerminationMillis = 0;
 
+	@Nullable
+	private TaskExecutionListener taskExecutionListener;
+
 	@Nullable
 	private String beanName;
 
@@ -158,6 +162,28 @@ public abstract class ExecutorConfigurationSupport extends CustomizableThreadFac
 		this.awaitTerminationMillis = awaitTerminationMillis;
 	}
 
+	/**
+	 * Set a listener to report task executions and rejections to, for example
+	 * a {@link org.springframework.core.task.support.TaskExecutionStatistics}
+	 * instance or an adapter to a metrics library.
+	 * <p>Subclasses report the time each task waited for a thread - or, for
+	 * scheduled tasks, the delay relative to the intended start - as well as
+	 * the time it took to execute. Rejections are reported by any subclass.
+	 * @since 5.3
+	 */
+	public void setTaskExecutionListener(@Nullable TaskExecutionListener taskExecutionListener) {
+		this.taskExecutionListener = taskExecutionListener;
+	}
+
+	/**
+	 * Return the listener to report task executions to, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	protected TaskExecutionListener getTaskExecutionListener() {
+		return this.taskExecutionListener;
+	}
+
 	@Override
 	public void setBeanName(String name) {
 		this.beanName = name;
@@ -183,7 +209,16 @@ public abstract class ExecutorConfigurationSupport extends CustomizableThreadFac
 		if (!this.threadNamePrefixSet && this.beanName != null) {
 			setThreadNamePrefix(this.beanName + "-");
 		}
-		this.executor = initializeExecutor(this.threadFactory, this.rejectedExecutionHandler);
+		RejectedExecutionHandler rejectedExecutionHandler = this.rejectedExecutionHandler;
+		TaskExecutionListener listener = this.taskExecutionListener;
+		if (listener != null) {
+			RejectedExecutionHandler targetHandler = rejectedExecutionHandler;
+			rejectedExecutionHandler = (task, executor) -> {
+				listener.taskRejected(task);
+				targetHandler.rejectedExecution(task, executor);
+			};
+		}
+		this.executor = initializeExecutor(this.threadFactory, rejectedExecutionHandler);
 	}
 
 	/**
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.task.support.TaskExecutionListener;
+
+/**
+ * Internal wrapper reporting the executions of a submitted or scheduled task
+ * to a {@link TaskExecutionListener}.
+ *
+ * <p>Executions of a recurring task happen one after the other, possibly on
+ * different threads but ordered by the executor's queue, so that the state
+ * for the next intended start does not need to be volatile.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ */
+final class InstrumentedRunnable implements Runnable {
+
+	private final Runnable delegate;
+
+	private final TaskExecutionListener listener;
+
+	private final boolean scheduled;
+
+	// Positive for a fixed rate, negative for a fixed delay, 0 for a single execution
+	private final long periodNanos;
+
+	private long dueTime;
+
+
+	private InstrumentedRunnable(Runnable delegate, TaskExecutionListener listener,
+			boolean scheduled, long dueTime, long periodNanos) {
+
+		this.delegate = delegate;
+		this.listener = listener;
+		this.scheduled = scheduled;
+		this.dueTime = dueTime;
+		this.periodNanos = periodNanos;
+	}
+
+
+	/**
+	 * Wrap a task to be executed as soon as possible.
+	 */
+	static InstrumentedRunnable submitted(Runnable task, TaskExecutionListener listener) {
+		return new InstrumentedRunnable(task, listener, false, System.nanoTime(), 0);
+	}
+
+	/**
+	 * Wrap a task scheduled with the given initial delay and period, as given to
+	 * {@link java.util.concurrent.ScheduledExecutorService#scheduleAtFixedRate}
+	 * (positive period) or {@code scheduleWithFixedDelay} (negative period).
+	 */
+	static InstrumentedRunnable scheduled(Runnable task, TaskExecutionListener listener,
+			long initialDelay, long period, TimeUnit unit) {
+
+		return new InstrumentedRunnable(task, listener, true,
+				System.nanoTime() + unit.toNanos(Math.max(initialDelay, 0)), unit.toNanos(period));
+	}
+
+
+	Runnable getDelegate() {
+		return this.delegate;
+	}
+
+	@Override
+	public void run() {
+		long startTime = System.nanoTime();
+		Throwable failure = null;
+		try {
+			this.delegate.run();
+		}
+		catch (RuntimeException | Error ex) {
+			failure = ex;
+			throw ex;
+		}
+		finally {
+			long endTime = System.nanoTime();
+			if (this.scheduled) {
+				this.listener.scheduledTaskExecuted(startTime - this.dueTime, endTime - startTime, failure);
+			}
+			else {
+				this.listener.taskExecuted(startTime - this.dueTime, endTime - startTime, failure);
+			}
+			this.dueTime = (this.periodNanos >= 0 ? this.dueTime + this.periodNanos : endTime - this.periodNanos);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return this.delegate.toString();
+	}
+
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.springframework.core.task.support.TaskExecutionListener;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.support.DelegatingErrorHandlingRunnable;
@@ -51,6 +52,9 @@ class ReschedulingRunnable extends DelegatingErrorHandlingRunnable implements Sc
 
 	private final ScheduledExecutorService executor;
 
+	@Nullable
+	private final TaskExecutionListener listener;
+
 	@Nullable
 	private ScheduledFuture<?> currentFuture;
 
@@ -63,9 +67,16 @@ class ReschedulingRunnable extends DelegatingErrorHandlingRunnable implements Sc
 	public ReschedulingRunnable(
 			Runnable delegate, Trigger trigger, ScheduledExecutorService executor, ErrorHandler errorHandler) {
 
+		this(delegate, trigger, executor, errorHandler, null);
+	}
+
+	public ReschedulingRunnable(Runnable delegate, Trigger trigger, ScheduledExecutorService executor,
+			ErrorHandler errorHandler, @Nullable TaskExecutionListener listener) {
+
 		super(delegate, errorHandler);
 		this.trigger = trigger;
 		this.executor = executor;
+		this.listener = listener;
 	}
 
 
@@ -90,7 +101,12 @@ class ReschedulingRunnable extends DelegatingErrorHandlingRunnable implements Sc
 	@Override
 	public void run() {
 		Date actualExecutionTime = new Date();
-		super.run();
+		if (this.listener != null) {
+			runInstrumented(this.listener, actualExecutionTime);
+		}
+		else {
+			super.run();
+		}
 		Date completionTime = new Date();
 		synchronized (this.triggerContextMonitor) {
 			Assert.state(this.scheduledExecutionTime != null, "No scheduled execution");
@@ -102,6 +118,29 @@ class ReschedulingRunnable extends DelegatingErrorHandlingRunnable implements Sc
 	}
 
 
+	private void runInstrumented(TaskExecutionListener listener, Date actualExecutionTime) {
+		long driftNanos;
+		synchronized (this.triggerContextMonitor) {
+			Assert.state(this.scheduledExecutionTime != null, "No scheduled execution");
+			driftNanos = TimeUnit.MILLISECONDS.toNanos(
+					actualExecutionTime.getTime() - this.scheduledExecutionTime.getTime());
+		}
+		long startTime = System.nanoTime();
+		Throwable failure = null;
+		try {
+			super.run();
+		}
+		catch (RuntimeException | Error ex) {
+			// Propagated by the ErrorHandler
+			failure = ex;
+			throw ex;
+		}
+		finally {
+			listener.scheduledTaskExecuted(driftNanos, System.nanoTime() - startTime, failure);
+		}
+	}
+
+
 	@Override
 	public boolean cancel(boolean mayInterruptIfRunning) {
 		synchronized (this.triggerContextMonitor) {
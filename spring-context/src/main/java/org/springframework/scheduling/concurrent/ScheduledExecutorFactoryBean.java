@@ -24,6 +24,7 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.core.task.support.TaskExecutionListener;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.support.DelegatingErrorHandlingRunnable;
 import org.springframework.scheduling.support.TaskUtils;
@@ -197,8 +198,13 @@ public class ScheduledExecutorFactoryBean extends ExecutorConfigurationSupport
 	 * @param executor the ScheduledExecutorService to register the tasks on.
 	 */
 	protected void registerTasks(ScheduledExecutorTask[] tasks, ScheduledExecutorService executor) {
+		TaskExecutionListener listener = getTaskExecutionListener();
 		for (ScheduledExecutorTask task : tasks) {
 			Runnable runnable = getRunnableToSchedule(task);
+			if (listener != null) {
+				long period = (task.isOneTimeTask() ? 0 : task.isFixedRate() ? task.getPeriod() : -task.getPeriod());
+				runnable = InstrumentedRunnable.scheduled(runnable, listener, task.getDelay(), period, task.getTimeUnit());
+			}
 			if (task.isOneTimeTask()) {
 				executor.schedule(runnable, task.getDelay(), task.getTimeUnit());
 			}
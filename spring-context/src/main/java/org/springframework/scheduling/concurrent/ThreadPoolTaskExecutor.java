@@ -29,10 +29,13 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.core.task.TaskDecorator;
 import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutionListener;
+import org.springframework.core.task.support.TaskExecutionStatistics;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.SchedulingTaskExecutor;
 import org.springframework.util.Assert;
@@ -57,6 +60,9 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  * {@link #setMaxPoolSize "maxPoolSize"} at that point, as well as possibly a higher
  * {@link #setCorePoolSize "corePoolSize"} (see also the
  * {@link #setAllowCoreThreadTimeOut "allowCoreThreadTimeOut"} mode of scaling).
+ * Alternatively, the {@link #setEagerPoolGrowth "eagerPoolGrowth"} mode grows
+ * the pool up to its max pool size before queueing any tasks, with a bounded
+ * or unbounded queue.
  *
  * <p><b>NOTE:</b> This class implements Spring's
  * {@link org.springframework.core.task.TaskExecutor} interface as well as the
@@ -94,6 +100,8 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 
 	private boolean allowCoreThreadTimeOut = false;
 
+	private boolean eagerPoolGrowth = false;
+
 	@Nullable
 	private TaskDecorator taskDecorator;
 
@@ -197,6 +205,38 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
 	}
 
+	/**
+	 * Specify whether to start new threads up to the max pool size before
+	 * queueing tasks, rather than only once the queue is full.
+	 * <p>A standard ThreadPoolExecutor only adds threads beyond the core pool size
+	 * when its queue rejects a task, so with a large queue capacity the pool never
+	 * grows. In this mode, a task is queued only if an idle thread is about to take
+	 * it or if the pool reached its max pool size. Threads beyond the core pool size
+	 * still terminate after the {@link #setKeepAliveSeconds keep-alive time}.
+	 * <p>Default is "false". Only applicable with a positive queue capacity,
+	 * in which case a custom {@link #createQueue} implementation is not used.
+	 * @since 5.3
+	 * @see #setMaxPoolSize
+	 * @see #setQueueCapacity
+	 */
+	public void setEagerPoolGrowth(boolean eagerPoolGrowth) {
+		this.eagerPoolGrowth = eagerPoolGrowth;
+	}
+
+	/**
+	 * Specify whether to collect {@link #getStatistics() statistics} about the time
+	 * tasks spend in the queue and the time they take to execute.
+	 * <p>Default is "false". This is a shortcut for setting a new
+	 * {@link TaskExecutionStatistics} instance as
+	 * {@link #setTaskExecutionListener task execution listener}, which adds two
+	 * {@link System#nanoTime()} calls and a few counter updates per task.
+	 * @since 5.3
+	 * @see #getStatistics()
+	 */
+	public void setCollectStatistics(boolean collectStatistics) {
+		setTaskExecutionListener(collectStatistics ? new TaskExecutionStatistics() : null);
+	}
+
 	/**
 	 * Specify a custom {@link TaskDecorator} to be applied to any {@link Runnable}
 	 * about to be executed.
@@ -229,24 +269,26 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 	protected ExecutorService initializeExecutor(
 			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
 
-		BlockingQueue<Runnable> queue = createQueue(this.queueCapacity);
-
 		ThreadPoolExecutor executor;
-		if (this.taskDecorator != null) {
+		if (this.eagerPoolGrowth && this.queueCapacity > 0) {
+			EagerGrowthQueue queue = new EagerGrowthQueue(this.queueCapacity);
+			EagerGrowthThreadPoolExecutor eagerExecutor =
+					new EagerGrowthThreadPoolExecutor(queue, threadFactory, rejectedExecutionHandler);
+			queue.setExecutor(eagerExecutor);
+			executor = eagerExecutor;
+		}
+		else if (this.taskDecorator != null || getTaskExecutionListener() != null) {
 			executor = new ThreadPoolExecutor(
 					this.corePoolSize, this.maxPoolSize, this.keepAliveSeconds, TimeUnit.SECONDS,
-					queue, threadFactory, rejectedExecutionHandler) {
+					createQueue(this.queueCapacity), threadFactory, rejectedExecutionHandler) {
 				@Override
 				public void execute(Runnable command) {
-					Runnable decorated = taskDecorator.decorate(command);
-					if (decorated != command) {
-						decoratedTaskMap.put(decorated, command);
-					}
-					super.execute(decorated);
+					super.execute(decorateTask(command));
 				}
 			};
 		}
 		else {
+			BlockingQueue<Runnable> queue = createQueue(this.queueCapacity);
 			executor = new ThreadPoolExecutor(
 					this.corePoolSize, this.maxPoolSize, this.keepAliveSeconds, TimeUnit.SECONDS,
 					queue, threadFactory, rejectedExecutionHandler);
@@ -261,6 +303,24 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		return executor;
 	}
 
+	/**
+	 * Apply the task decorator and the task execution listener to the given task.
+	 */
+	private Runnable decorateTask(Runnable command) {
+		Runnable decorated = command;
+		if (this.taskDecorator != null) {
+			decorated = this.taskDecorator.decorate(command);
+			if (decorated != command) {
+				this.decoratedTaskMap.put(decorated, command);
+			}
+		}
+		TaskExecutionListener listener = getTaskExecutionListener();
+		if (listener != null) {
+			decorated = InstrumentedRunnable.submitted(decorated, listener);
+		}
+		return decorated;
+	}
+
 	/**
 	 * Create the BlockingQueue to use for the ThreadPoolExecutor.
 	 * <p>A LinkedBlockingQueue instance will be created for a positive
@@ -279,6 +339,17 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		}
 	}
 
+	/**
+	 * Return the statistics about the tasks executed so far.
+	 * @return the statistics, or {@code null} if not {@link #setCollectStatistics collected}
+	 * @since 5.3
+	 */
+	@Nullable
+	public TaskExecutionStatistics getStatistics() {
+		TaskExecutionListener listener = getTaskExecutionListener();
+		return (listener instanceof TaskExecutionStatistics ? (TaskExecutionStatistics) listener : null);
+	}
+
 	/**
 	 * Return the underlying ThreadPoolExecutor for native access.
 	 * @return the underlying ThreadPoolExecutor (never {@code null})
@@ -380,6 +451,9 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 
 	@Override
 	protected void cancelRemainingTask(Runnable task) {
+		if (task instanceof InstrumentedRunnable) {
+			task = ((InstrumentedRunnable) task).getDelegate();
+		}
 		super.cancelRemainingTask(task);
 		// Cancel associated user-level Future handle as well
 		Object original = this.decoratedTaskMap.get(task);
@@ -388,4 +462,75 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		}
 	}
 
+
+	/**
+	 * ThreadPoolExecutor tracking the number of submitted tasks that did not
+	 * complete yet, for the {@link EagerGrowthQueue} to detect idle threads.
+	 */
+	private class EagerGrowthThreadPoolExecutor extends ThreadPoolExecutor {
+
+		private final AtomicInteger submittedCount = new AtomicInteger();
+
+		EagerGrowthThreadPoolExecutor(EagerGrowthQueue queue, ThreadFactory threadFactory,
+				RejectedExecutionHandler rejectedExecutionHandler) {
+
+			super(corePoolSize, maxPoolSize, keepAliveSeconds, TimeUnit.SECONDS, queue, threadFactory,
+					(task, executor) -> {
+						// Pool at its max size: queue the task after all, unless full
+						if (executor.isShutdown() || !queue.forceOffer(task)) {
+							((EagerGrowthThreadPoolExecutor) executor).submittedCount.decrementAndGet();
+							rejectedExecutionHandler.rejectedExecution(task, executor);
+						}
+					});
+		}
+
+		@Override
+		public void execute(Runnable command) {
+			this.submittedCount.incrementAndGet();
+			super.execute(decorateTask(command));
+		}
+
+		@Override
+		protected void afterExecute(Runnable task, @Nullable Throwable ex) {
+			super.afterExecute(task, ex);
+			this.submittedCount.decrementAndGet();
+		}
+	}
+
+
+	/**
+	 * LinkedBlockingQueue refusing tasks as long as the pool may grow and has
+	 * no idle thread, making the ThreadPoolExecutor start a new thread instead.
+	 */
+	@SuppressWarnings("serial")
+	private static class EagerGrowthQueue extends LinkedBlockingQueue<Runnable> {
+
+		@Nullable
+		private transient volatile EagerGrowthThreadPoolExecutor executor;
+
+		EagerGrowthQueue(int capacity) {
+			super(capacity);
+		}
+
+		void setExecutor(EagerGrowthThreadPoolExecutor executor) {
+			this.executor = executor;
+		}
+
+		@Override
+		public boolean offer(Runnable task) {
+			EagerGrowthThreadPoolExecutor executor = this.executor;
+			if (executor != null) {
+				int poolSize = executor.getPoolSize();
+				if (executor.submittedCount.get() > poolSize && poolSize < executor.getMaximumPoolSize()) {
+					return false;
+				}
+			}
+			return super.offer(task);
+		}
+
+		boolean forceOffer(Runnable task) {
+			return super.offer(task);
+		}
+	}
+
 }
@@ -32,6 +32,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutionListener;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.SchedulingTaskExecutor;
 import org.springframework.scheduling.TaskScheduler;
@@ -47,11 +48,16 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  * Implementation of Spring's {@link TaskScheduler} interface, wrapping
  * a native {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
  *
+ * <p>With {@link #setVirtualThreads virtual threads} on JDK 21 or higher,
+ * the pool size may be raised considerably for scheduled tasks which block
+ * on I/O, since waiting virtual threads do not occupy platform threads.
+ *
  * @author Juergen Hoeller
  * @author Mark Fisher
  * @since 3.0
  * @see #setPoolSize
  * @see #setRemoveOnCancelPolicy
+ * @see #setVirtualThreads
  * @see #setThreadFactory
  * @see #setErrorHandler
  */
@@ -216,7 +222,7 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 	public void execute(Runnable task) {
 		Executor executor = getScheduledExecutor();
 		try {
-			executor.execute(errorHandlingTask(task, false));
+			executor.execute(instrument(errorHandlingTask(task, false)));
 		}
 		catch (RejectedExecutionException ex) {
 			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
@@ -232,7 +238,7 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 	public Future<?> submit(Runnable task) {
 		ExecutorService executor = getScheduledExecutor();
 		try {
-			return executor.submit(errorHandlingTask(task, false));
+			return executor.submit(instrument(errorHandlingTask(task, false)));
 		}
 		catch (RejectedExecutionException ex) {
 			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
@@ -248,7 +254,7 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 			if (errorHandler != null) {
 				taskToUse = new DelegatingErrorHandlingCallable<>(task, errorHandler);
 			}
-			return executor.submit(taskToUse);
+			return executor.submit(instrument(taskToUse));
 		}
 		catch (RejectedExecutionException ex) {
 			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
@@ -282,7 +288,7 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 	}
 
 	private void executeAndTrack(ExecutorService executor, ListenableFutureTask<?> listenableFuture) {
-		Future<?> scheduledFuture = executor.submit(errorHandlingTask(listenableFuture, false));
+		Future<?> scheduledFuture = executor.submit(instrument(errorHandlingTask(listenableFuture, false)));
 		this.listenableFutureMap.put(scheduledFuture, listenableFuture);
 		listenableFuture.addCallback(result -> this.listenableFutureMap.remove(scheduledFuture),
 				ex -> this.listenableFutureMap.remove(scheduledFuture));
@@ -310,7 +316,7 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 			if (errorHandler == null) {
 				errorHandler = TaskUtils.getDefaultErrorHandler(true);
 			}
-			return new ReschedulingRunnable(task, trigger, executor, errorHandler).schedule();
+			return new ReschedulingRunnable(task, trigger, executor, errorHandler, getTaskExecutionListener()).schedule();
 		}
 		catch (RejectedExecutionException ex) {
 			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
@@ -322,7 +328,8 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 		ScheduledExecutorService executor = getScheduledExecutor();
 		long initialDelay = startTime.getTime() - System.currentTimeMillis();
 		try {
-			return executor.schedule(errorHandlingTask(task, false), initialDelay, TimeUnit.MILLISECONDS);
+			return executor.schedule(
+					instrument(errorHandlingTask(task, false), initialDelay, 0), initialDelay, TimeUnit.MILLISECONDS);
 		}
 		catch (RejectedExecutionException ex) {
 			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
@@ -334,7 +341,8 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 		ScheduledExecutorService executor = getScheduledExecutor();
 		long initialDelay = startTime.getTime() - System.currentTimeMillis();
 		try {
-			return executor.scheduleAtFixedRate(errorHandlingTask(task, true), initialDelay, period, TimeUnit.MILLISECONDS);
+			return executor.scheduleAtFixedRate(instrument(errorHandlingTask(task, true), initialDelay, period),
+					initialDelay, period, TimeUnit.MILLISECONDS);
 		}
 		catch (RejectedExecutionException ex) {
 			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
@@ -345,7 +353,8 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
 		ScheduledExecutorService executor = getScheduledExecutor();
 		try {
-			return executor.scheduleAtFixedRate(errorHandlingTask(task, true), 0, period, TimeUnit.MILLISECONDS);
+			return executor.scheduleAtFixedRate(instrument(errorHandlingTask(task, true), 0, period),
+					0, period, TimeUnit.MILLISECONDS);
 		}
 		catch (RejectedExecutionException ex) {
 			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
@@ -357,7 +366,8 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 		ScheduledExecutorService executor = getScheduledExecutor();
 		long initialDelay = startTime.getTime() - System.currentTimeMillis();
 		try {
-			return executor.scheduleWithFixedDelay(errorHandlingTask(task, true), initialDelay, delay, TimeUnit.MILLISECONDS);
+			return executor.scheduleWithFixedDelay(instrument(errorHandlingTask(task, true), initialDelay, -delay),
+					initialDelay, delay, TimeUnit.MILLISECONDS);
 		}
 		catch (RejectedExecutionException ex) {
 			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
@@ -368,7 +378,8 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
 		ScheduledExecutorService executor = getScheduledExecutor();
 		try {
-			return executor.scheduleWithFixedDelay(errorHandlingTask(task, true), 0, delay, TimeUnit.MILLISECONDS);
+			return executor.scheduleWithFixedDelay(instrument(errorHandlingTask(task, true), 0, -delay),
+					0, delay, TimeUnit.MILLISECONDS);
 		}
 		catch (RejectedExecutionException ex) {
 			throw new TaskRejectedException("Executor [" + executor + "] did not accept task: " + task, ex);
@@ -380,6 +391,43 @@ public class ThreadPoolTaskScheduler extends ExecutorConfigurationSupport
 		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, isRepeatingTask);
 	}
 
+	private Runnable instrument(Runnable task) {
+		TaskExecutionListener listener = getTaskExecutionListener();
+		return (listener != null ? InstrumentedRunnable.submitted(task, listener) : task);
+	}
+
+	/**
+	 * Instrument a task with the given delay and period in milliseconds,
+	 * the latter being negative for a fixed delay.
+	 */
+	private Runnable instrument(Runnable task, long initialDelay, long period) {
+		TaskExecutionListener listener = getTaskExecutionListener();
+		return (listener != null ?
+				InstrumentedRunnable.scheduled(task, listener, initialDelay, period, TimeUnit.MILLISECONDS) : task);
+	}
+
+	private <V> Callable<V> instrument(Callable<V> task) {
+		TaskExecutionListener listener = getTaskExecutionListener();
+		if (listener == null) {
+			return task;
+		}
+		long submitTime = System.nanoTime();
+		return () -> {
+			long startTime = System.nanoTime();
+			Throwable failure = null;
+			try {
+				return task.call();
+			}
+			catch (Exception | Error ex) {
+				failure = ex;
+				throw ex;
+			}
+			finally {
+				listener.taskExecuted(startTime - submitTime, System.nanoTime() - startTime, failure);
+			}
+		};
+	}
+
 
 	private static class DelegatingErrorHandlingCallable<V> implements Callable<V> {
 
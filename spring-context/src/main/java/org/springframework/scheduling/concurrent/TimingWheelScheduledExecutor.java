@@ -0,0 +1,711 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ScheduledExecutorService} backed by a hierarchical timing wheel,
+ * handing due tasks over to a separate pool of worker threads.
+ *
+ * <p>In contrast to a {@link java.util.concurrent.ScheduledThreadPoolExecutor},
+ * whose delay queue is a binary heap guarded by a single lock, scheduling and
+ * cancelling a task are constant-time operations: new and cancelled tasks are
+ * passed to a dedicated timer thread through lock-free stacks, and the timer
+ * thread links them into (or out of) the bucket covering their deadline.
+ * Each wheel consists of a fixed number of buckets of one tick each, and each
+ * overflow wheel covers a full rotation of the wheel below it per bucket, so
+ * that tasks with distant deadlines only cascade down a few times as their
+ * deadline comes closer.
+ *
+ * <p>The trade-off is precision: a task is executed on the first tick after
+ * its deadline, i.e. never early but up to one tick duration late. This suits
+ * large numbers of timeouts, most of which get cancelled before they expire.
+ *
+ * <p>On {@link #shutdown()}, periodic tasks are cancelled whereas delayed
+ * one-shot tasks still get executed, in line with the default policies of
+ * {@code ScheduledThreadPoolExecutor}. Tasks submitted after shutdown are
+ * handed to the rejection policy, except for the JDK policies that only act
+ * on an executor which is not shut down: like with a shut down
+ * {@code ScheduledThreadPoolExecutor}, the task is then discarded rather than
+ * executed on the caller thread.
+ *
+ * <p>While no task is scheduled, the timer thread is parked until the next
+ * task gets scheduled instead of waking up on every tick.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see TimingWheelTaskScheduler
+ */
+public class TimingWheelScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+	private static final int RUNNING = 0;
+
+	private static final int SHUTDOWN = 1;
+
+	private static final int STOP = 2;
+
+	// Upper bound for delays, keeping deadline arithmetic clear of overflows
+	private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 2;
+
+
+	private final long tickNanos;
+
+	private final int wheelBits;
+
+	private final int wheelMask;
+
+	private final ThreadPoolExecutor workerPool;
+
+	private final Thread timerThread;
+
+	private final long startNanos;
+
+	// Lock-free stacks of new and cancelled tasks, linked through the tasks themselves
+	private final AtomicReference<WheelTask<?>> pendingTasks = new AtomicReference<>();
+
+	private final AtomicReference<WheelTask<?>> cancelledTasks = new AtomicReference<>();
+
+	private final CountDownLatch timerTermination = new CountDownLatch(1);
+
+	private volatile int state = RUNNING;
+
+	private volatile boolean timerParked;
+
+	// Timer thread state from here on
+
+	private Bucket[][] wheels = new Bucket[1][];
+
+	private long currentTick;
+
+	private int wheelTaskCount;
+
+
+	/**
+	 * Create a new TimingWheelScheduledExecutor with default thread factory.
+	 * @param tickDuration the duration of a tick, i.e. the precision of deadlines
+	 * @param unit the time unit of the tick duration
+	 * @param ticksPerWheel the number of buckets per wheel (a power of two)
+	 * @param poolSize the number of worker threads executing due tasks
+	 */
+	public TimingWheelScheduledExecutor(long tickDuration, TimeUnit unit, int ticksPerWheel, int poolSize) {
+		this(tickDuration, unit, ticksPerWheel, poolSize,
+				Executors.defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Create a new TimingWheelScheduledExecutor.
+	 * @param tickDuration the duration of a tick, i.e. the precision of deadlines
+	 * @param unit the time unit of the tick duration
+	 * @param ticksPerWheel the number of buckets per wheel (a power of two)
+	 * @param poolSize the number of worker threads executing due tasks
+	 * @param threadFactory the ThreadFactory for the timer and worker threads
+	 * @param rejectedExecutionHandler the RejectedExecutionHandler for the worker pool,
+	 * also applied to tasks submitted after shutdown
+	 */
+	public TimingWheelScheduledExecutor(long tickDuration, TimeUnit unit, int ticksPerWheel, int poolSize,
+			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		Assert.isTrue(tickDuration > 0, "Tick duration must be positive");
+		Assert.isTrue(ticksPerWheel > 1 && Integer.bitCount(ticksPerWheel) == 1,
+				"Ticks per wheel must be a power of two greater than 1");
+		Assert.isTrue(poolSize > 0, "Pool size must be 1 or higher");
+		this.tickNanos = unit.toNanos(tickDuration);
+		this.wheelBits = Integer.numberOfTrailingZeros(ticksPerWheel);
+		this.wheelMask = ticksPerWheel - 1;
+		this.workerPool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), threadFactory, rejectedExecutionHandler);
+		this.startNanos = System.nanoTime();
+		this.timerThread = threadFactory.newThread(this::runTimer);
+		this.timerThread.start();
+	}
+
+
+	/**
+	 * Set the number of worker threads executing due tasks.
+	 */
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize > 0, "Pool size must be 1 or higher");
+		if (poolSize > this.workerPool.getMaximumPoolSize()) {
+			this.workerPool.setMaximumPoolSize(poolSize);
+			this.workerPool.setCorePoolSize(poolSize);
+		}
+		else {
+			this.workerPool.setCorePoolSize(poolSize);
+			this.workerPool.setMaximumPoolSize(poolSize);
+		}
+	}
+
+	/**
+	 * Return the current number of worker threads.
+	 * @see ThreadPoolExecutor#getPoolSize()
+	 */
+	public int getPoolSize() {
+		return this.workerPool.getPoolSize();
+	}
+
+	/**
+	 * Return the approximate number of worker threads executing tasks.
+	 * @see ThreadPoolExecutor#getActiveCount()
+	 */
+	public int getActiveCount() {
+		return this.workerPool.getActiveCount();
+	}
+
+	/**
+	 * Return the duration of a tick, in nanoseconds.
+	 */
+	public long getTickNanos() {
+		return this.tickNanos;
+	}
+
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+		return schedule(new WheelTask<Void>(command, null, deadline(delay, unit), 0));
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+		return schedule(new WheelTask<>(callable, deadline(delay, unit)));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+		Assert.isTrue(period > 0, "Period must be positive");
+		return schedule(new WheelTask<Void>(command, null, deadline(initialDelay, unit), unit.toNanos(period)));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+		Assert.isTrue(delay > 0, "Delay must be positive");
+		return schedule(new WheelTask<Void>(command, null, deadline(initialDelay, unit), -unit.toNanos(delay)));
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		schedule(command, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		return schedule(task, 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable task, T result) {
+		return schedule(Executors.callable(task, result), 0, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return schedule(task, 0, TimeUnit.NANOSECONDS);
+	}
+
+	private long deadline(long delay, TimeUnit unit) {
+		return System.nanoTime() + Math.min(unit.toNanos(Math.max(delay, 0)), MAX_DELAY_NANOS);
+	}
+
+	private <V> WheelTask<V> schedule(WheelTask<V> task) {
+		if (isShutdown()) {
+			// Like ScheduledThreadPoolExecutor, leave it to the rejection policy, unless the
+			// policy would only check the worker pool, still running, for its shutdown state
+			RejectedExecutionHandler handler = this.workerPool.getRejectedExecutionHandler();
+			if (!(handler instanceof ThreadPoolExecutor.CallerRunsPolicy ||
+					handler instanceof ThreadPoolExecutor.DiscardOldestPolicy)) {
+				handler.rejectedExecution(task, this.workerPool);
+			}
+			return task;
+		}
+		if (task.getDelay(TimeUnit.NANOSECONDS) <= 0) {
+			execute(task);
+		}
+		else {
+			pushPendingTask(task);
+			// The timer thread may have terminated in the meantime, not picking up the task anymore
+			if (this.timerTermination.getCount() == 0) {
+				task.cancel(false);
+				throw new RejectedExecutionException("Executor [" + this + "] has been shut down");
+			}
+		}
+		return task;
+	}
+
+	private void reschedule(WheelTask<?> task) {
+		if (!isShutdown()) {
+			pushPendingTask(task);
+			if (this.timerTermination.getCount() > 0) {
+				return;
+			}
+		}
+		task.cancel(false);
+	}
+
+	private void execute(WheelTask<?> task) {
+		// Like ScheduledThreadPoolExecutor, start worker threads without a first
+		// task, so that any task not started yet is found in the work queue
+		this.workerPool.prestartCoreThread();
+		this.workerPool.execute(task);
+	}
+
+	private void pushPendingTask(WheelTask<?> task) {
+		WheelTask<?> head;
+		do {
+			head = this.pendingTasks.get();
+			task.nextPending = head;
+		}
+		while (!this.pendingTasks.compareAndSet(head, task));
+		if (this.timerParked) {
+			LockSupport.unpark(this.timerThread);
+		}
+	}
+
+	private void pushCancelledTask(WheelTask<?> task) {
+		WheelTask<?> head;
+		do {
+			head = this.cancelledTasks.get();
+			task.nextCancelled = head;
+		}
+		while (!this.cancelledTasks.compareAndSet(head, task));
+		if (this.timerParked) {
+			LockSupport.unpark(this.timerThread);
+		}
+	}
+
+
+	@Override
+	public void shutdown() {
+		if (this.state == RUNNING) {
+			this.state = SHUTDOWN;
+		}
+		LockSupport.unpark(this.timerThread);
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		this.state = STOP;
+		// Stop the workers first: due tasks not started yet must not get a chance to run
+		List<Runnable> remainingTasks = new ArrayList<>(this.workerPool.shutdownNow());
+		LockSupport.unpark(this.timerThread);
+		awaitTimerTermination();
+		for (Bucket[] wheel : this.wheels) {
+			if (wheel != null) {
+				for (Bucket bucket : wheel) {
+					if (bucket != null) {
+						for (WheelTask<?> task = bucket.detach(); task != null; task = task.detachNext()) {
+							if (!task.isCancelled()) {
+								remainingTasks.add(task);
+							}
+						}
+					}
+				}
+			}
+		}
+		this.wheelTaskCount = 0;
+		for (WheelTask<?> task = this.pendingTasks.getAndSet(null); task != null; task = task.nextPending) {
+			if (!task.isCancelled()) {
+				remainingTasks.add(task);
+			}
+		}
+		return remainingTasks;
+	}
+
+	private void awaitTimerTermination() {
+		boolean interrupted = false;
+		while (this.timerTermination.getCount() > 0) {
+			try {
+				this.timerTermination.await();
+			}
+			catch (InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return (this.state != RUNNING);
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return (this.timerTermination.getCount() == 0 && this.workerPool.isTerminated());
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		if (!this.timerTermination.await(timeout, unit)) {
+			return false;
+		}
+		return this.workerPool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+
+
+	private void runTimer() {
+		try {
+			boolean periodicTasksCancelled = false;
+			while (true) {
+				int state = this.state;
+				if (state == STOP) {
+					return;
+				}
+				if (state == SHUTDOWN && !periodicTasksCancelled) {
+					cancelPeriodicTasks();
+					periodicTasksCancelled = true;
+				}
+				removeCancelledTasks();
+				transferPendingTasks(state == SHUTDOWN);
+				long elapsedTicks = (System.nanoTime() - this.startNanos) / this.tickNanos;
+				if (this.wheelTaskCount == 0) {
+					// Nothing to expire: jump straight to the current tick
+					this.currentTick = Math.max(this.currentTick, elapsedTicks);
+				}
+				while (this.currentTick < elapsedTicks) {
+					advance(++this.currentTick);
+				}
+				if (state == SHUTDOWN && this.wheelTaskCount == 0 && this.pendingTasks.get() == null) {
+					this.workerPool.shutdown();
+					return;
+				}
+				if (this.wheelTaskCount == 0) {
+					// Nothing to expire: park until a task gets pushed, re-checking for
+					// tasks pushed before the flag became visible to the pushing thread
+					this.timerParked = true;
+					if (this.pendingTasks.get() == null && this.cancelledTasks.get() == null &&
+							this.state == state) {
+						LockSupport.park(this);
+					}
+					this.timerParked = false;
+					continue;
+				}
+				long nextTickNanos = this.startNanos + (this.currentTick + 1) * this.tickNanos;
+				long sleepNanos = nextTickNanos - System.nanoTime();
+				if (sleepNanos > 0) {
+					LockSupport.parkNanos(this, sleepNanos);
+				}
+			}
+		}
+		finally {
+			this.timerTermination.countDown();
+			if (this.state == SHUTDOWN) {
+				for (WheelTask<?> task = this.pendingTasks.getAndSet(null); task != null; task = task.nextPending) {
+					task.cancel(false);
+				}
+			}
+		}
+	}
+
+	private void removeCancelledTasks() {
+		WheelTask<?> next;
+		for (WheelTask<?> task = this.cancelledTasks.getAndSet(null); task != null; task = next) {
+			next = task.nextCancelled;
+			task.nextCancelled = null;
+			if (task.bucket != null) {
+				task.bucket.remove(task);
+				this.wheelTaskCount--;
+			}
+		}
+	}
+
+	private void transferPendingTasks(boolean shutdown) {
+		WheelTask<?> next;
+		for (WheelTask<?> task = this.pendingTasks.getAndSet(null); task != null; task = next) {
+			// Unlink first, since a dispatched periodic task may get pushed again
+			next = task.nextPending;
+			task.nextPending = null;
+			if (shutdown && task.isPeriodic()) {
+				task.cancel(false);
+			}
+			else if (!task.isCancelled()) {
+				long relativeDeadline = task.deadline - this.startNanos;
+				task.deadlineTick = (relativeDeadline <= 0 ? 0 : (relativeDeadline + this.tickNanos - 1) / this.tickNanos);
+				place(task);
+			}
+		}
+	}
+
+	private void cancelPeriodicTasks() {
+		for (Bucket[] wheel : this.wheels) {
+			if (wheel != null) {
+				for (Bucket bucket : wheel) {
+					if (bucket != null) {
+						for (WheelTask<?> task = bucket.head; task != null; task = task.next) {
+							if (task.isPeriodic()) {
+								task.cancel(false);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void advance(long tick) {
+		// Cascade the overflow wheels completing a rotation, highest level first,
+		// then expire the current bucket of the innermost wheel
+		int level = 0;
+		while (level + 1 < this.wheels.length && (tick & ((1L << (this.wheelBits * (level + 1))) - 1)) == 0) {
+			level++;
+		}
+		for (; level >= 0; level--) {
+			int shift = this.wheelBits * level;
+			Bucket bucket = getBucket(level, (int) (tick >>> shift) & this.wheelMask, false);
+			if (bucket != null) {
+				for (WheelTask<?> task = bucket.detach(); task != null; ) {
+					WheelTask<?> next = task.detachNext();
+					this.wheelTaskCount--;
+					if (!task.isCancelled()) {
+						place(task);
+					}
+					task = next;
+				}
+			}
+		}
+	}
+
+	private void place(WheelTask<?> task) {
+		long deadlineTick = task.deadlineTick;
+		if (deadlineTick <= this.currentTick) {
+			dispatch(task);
+			return;
+		}
+		int level = 0;
+		int shift = 0;
+		while ((deadlineTick >>> shift) - (this.currentTick >>> shift) > this.wheelMask) {
+			level++;
+			shift += this.wheelBits;
+		}
+		Bucket bucket = getBucket(level, (int) (deadlineTick >>> shift) & this.wheelMask, true);
+		Assert.state(bucket != null, "No bucket");
+		bucket.add(task);
+		this.wheelTaskCount++;
+	}
+
+	private void dispatch(WheelTask<?> task) {
+		try {
+			execute(task);
+		}
+		catch (RejectedExecutionException ex) {
+			task.cancel(false);
+		}
+	}
+
+	@Nullable
+	private Bucket getBucket(int level, int index, boolean create) {
+		if (level >= this.wheels.length) {
+			if (!create) {
+				return null;
+			}
+			this.wheels = Arrays.copyOf(this.wheels, level + 1);
+		}
+		Bucket[] wheel = this.wheels[level];
+		if (wheel == null) {
+			if (!create) {
+				return null;
+			}
+			wheel = new Bucket[this.wheelMask + 1];
+			this.wheels[level] = wheel;
+		}
+		Bucket bucket = wheel[index];
+		if (bucket == null && create) {
+			bucket = new Bucket();
+			wheel[index] = bucket;
+		}
+		return bucket;
+	}
+
+
+	@Override
+	public String toString() {
+		return super.toString() + "[" + (this.state == RUNNING ? "Running" : isTerminated() ? "Terminated" :
+				"Shutting down") + ", tick = " + this.tickNanos + "ns, ticks per wheel = " + (this.wheelMask + 1) +
+				", pool size = " + getPoolSize() + ", active threads = " + getActiveCount() + "]";
+	}
+
+
+	/**
+	 * Doubly-linked list of the tasks expiring within the same bucket,
+	 * only accessed by the timer thread.
+	 */
+	private static final class Bucket {
+
+		@Nullable
+		WheelTask<?> head;
+
+		@Nullable
+		WheelTask<?> tail;
+
+		void add(WheelTask<?> task) {
+			task.bucket = this;
+			task.prev = this.tail;
+			task.next = null;
+			if (this.tail == null) {
+				this.head = task;
+			}
+			else {
+				this.tail.next = task;
+			}
+			this.tail = task;
+		}
+
+		void remove(WheelTask<?> task) {
+			if (task.prev == null) {
+				this.head = task.next;
+			}
+			else {
+				task.prev.next = task.next;
+			}
+			if (task.next == null) {
+				this.tail = task.prev;
+			}
+			else {
+				task.next.prev = task.prev;
+			}
+			task.bucket = null;
+			task.prev = null;
+			task.next = null;
+		}
+
+		@Nullable
+		WheelTask<?> detach() {
+			WheelTask<?> head = this.head;
+			this.head = null;
+			this.tail = null;
+			return head;
+		}
+	}
+
+
+	/**
+	 * Task scheduled for a deadline, optionally repeating with a fixed rate
+	 * (positive period) or with a fixed delay (negative period).
+	 */
+	private class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+		private final long period;
+
+		private volatile long deadline;
+
+		@Nullable
+		WheelTask<?> nextPending;
+
+		@Nullable
+		WheelTask<?> nextCancelled;
+
+		// Timer thread state from here on
+
+		long deadlineTick;
+
+		@Nullable
+		Bucket bucket;
+
+		@Nullable
+		WheelTask<?> prev;
+
+		@Nullable
+		WheelTask<?> next;
+
+		WheelTask(Runnable runnable, @Nullable V result, long deadline, long period) {
+			super(runnable, result);
+			this.deadline = deadline;
+			this.period = period;
+		}
+
+		WheelTask(Callable<V> callable, long deadline) {
+			super(callable);
+			this.deadline = deadline;
+			this.period = 0;
+		}
+
+		@Nullable
+		WheelTask<?> detachNext() {
+			WheelTask<?> next = this.next;
+			this.bucket = null;
+			this.prev = null;
+			this.next = null;
+			return next;
+		}
+
+		@Override
+		public boolean isPeriodic() {
+			return (this.period != 0);
+		}
+
+		@Override
+		public void run() {
+			if (!isPeriodic()) {
+				super.run();
+			}
+			else if (runAndReset()) {
+				this.deadline = (this.period > 0 ? this.deadline + this.period : System.nanoTime() - this.period);
+				reschedule(this);
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				pushCancelledTask(this);
+			}
+			return cancelled;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (this == other) {
+				return 0;
+			}
+			long diff = (other instanceof WheelTask ? this.deadline - ((WheelTask<?>) other).deadline :
+					getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS));
+			return (diff == 0 ? 0 : (diff < 0 ? -1 : 1));
+		}
+	}
+
+}
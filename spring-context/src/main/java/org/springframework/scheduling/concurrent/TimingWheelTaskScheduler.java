@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Variant of {@link ThreadPoolTaskScheduler} backed by a {@link TimingWheelScheduledExecutor},
+ * scheduling and cancelling tasks in constant time rather than at the logarithmic cost
+ * of the delay queue of a {@link java.util.concurrent.ScheduledThreadPoolExecutor}.
+ *
+ * <p>Meant for very large numbers of timers, such as session expirations or retry
+ * delays, which can tolerate being executed up to one {@link #setTickDuration tick}
+ * late. The {@link #setPoolSize pool size} applies to the worker threads executing
+ * due tasks, in addition to a single timer thread advancing the wheel.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see #setTickDuration
+ * @see #setTicksPerWheel
+ */
+@SuppressWarnings("serial")
+public class TimingWheelTaskScheduler extends ThreadPoolTaskScheduler {
+
+	private Duration tickDuration = Duration.ofMillis(10);
+
+	private int ticksPerWheel = 512;
+
+	@Nullable
+	private volatile TimingWheelScheduledExecutor timingWheelExecutor;
+
+
+	/**
+	 * Set the duration of a tick, i.e. the precision of task deadlines.
+	 * Default is 10 milliseconds.
+	 */
+	public void setTickDuration(Duration tickDuration) {
+		Assert.isTrue(!tickDuration.isNegative() && !tickDuration.isZero(), "'tickDuration' must be positive");
+		this.tickDuration = tickDuration;
+	}
+
+	/**
+	 * Set the number of ticks per wheel, as a power of two.
+	 * Default is 512.
+	 * <p>Deadlines within one rotation of the innermost wheel are scheduled
+	 * directly, whereas further deadlines cascade down from overflow wheels.
+	 */
+	public void setTicksPerWheel(int ticksPerWheel) {
+		Assert.isTrue(ticksPerWheel > 1 && Integer.bitCount(ticksPerWheel) == 1,
+				"'ticksPerWheel' must be a power of two greater than 1");
+		this.ticksPerWheel = ticksPerWheel;
+	}
+
+	/**
+	 * Set the number of worker threads executing due tasks.
+	 * Default is 1.
+	 * <p><b>This setting can be modified at runtime, for example through JMX.</b>
+	 */
+	@Override
+	public void setPoolSize(int poolSize) {
+		super.setPoolSize(poolSize);
+		TimingWheelScheduledExecutor executor = this.timingWheelExecutor;
+		if (executor != null) {
+			executor.setPoolSize(poolSize);
+		}
+	}
+
+
+	@Override
+	protected ScheduledExecutorService createExecutor(
+			int poolSize, ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		TimingWheelScheduledExecutor executor = new TimingWheelScheduledExecutor(this.tickDuration.toNanos(),
+				TimeUnit.NANOSECONDS, this.ticksPerWheel, poolSize, threadFactory, rejectedExecutionHandler);
+		this.timingWheelExecutor = executor;
+		return executor;
+	}
+
+	/**
+	 * Return the current number of worker threads.
+	 */
+	@Override
+	public int getPoolSize() {
+		TimingWheelScheduledExecutor executor = this.timingWheelExecutor;
+		return (executor != null ? executor.getPoolSize() : super.getPoolSize());
+	}
+
+	/**
+	 * Return the number of currently active worker threads.
+	 */
+	@Override
+	public int getActiveCount() {
+		TimingWheelScheduledExecutor executor = this.timingWheelExecutor;
+		return (executor != null ? executor.getActiveCount() : 0);
+	}
+
+	/**
+	 * Always returns {@code true}, since cancelled tasks are unconditionally
+	 * removed from the timing wheel.
+	 */
+	@Override
+	public boolean isRemoveOnCancelPolicy() {
+		return true;
+	}
+
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.support;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.zone.ZoneOffsetTransition;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Representation of a
+ * <a href="https://www.manpagez.com/man/5/crontab/">crontab expression</a>
+ * that can calculate the next time it matches, based on {@code java.time}.
+ *
+ * <p>The pattern is a list of six single space-separated fields: representing
+ * second, minute, hour, day, month, weekday. Month and weekday names can be
+ * given as the first three letters of the English names. A day matches if
+ * both its day of month and its weekday are allowed.
+ *
+ * <p>Example patterns:
+ * <ul>
+ * <li>"0 0 * * * *" = the top of every hour of every day.</li>
+ * <li>"*&#47;10 * * * * *" = every ten seconds.</li>
+ * <li>"0 0 8-10 * * *" = 8, 9 and 10 o'clock of every day.</li>
+ * <li>"0 0 6,19 * * *" = 6:00 AM and 7:00 PM every day.</li>
+ * <li>"0 0/30 8-10 * * *" = 8:00, 8:30, 9:00, 9:30, 10:00 and 10:30 every day.</li>
+ * <li>"0 0 9-17 * * MON-FRI" = on the hour nine-to-five weekdays</li>
+ * <li>"0 0 0 25 12 ?" = every Christmas Day at midnight</li>
+ * </ul>
+ *
+ * <p>The following macros are also supported:
+ * <ul>
+ * <li>{@code "@yearly"} (or {@code "@annually"}) to run once a year, i.e. {@code "0 0 0 1 1 *"},</li>
+ * <li>{@code "@monthly"} to run once a month, i.e. {@code "0 0 0 1 * *"},</li>
+ * <li>{@code "@weekly"} to run once a week, i.e. {@code "0 0 0 * * 0"},</li>
+ * <li>{@code "@daily"} (or {@code "@midnight"}) to run once a day, i.e. {@code "0 0 0 * * *"},</li>
+ * <li>{@code "@hourly"} to run once an hour, i.e. {@code "0 0 * * * *"}.</li>
+ * </ul>
+ *
+ * <p>Each field is parsed into a bit mask once, so that calculating the next
+ * match only takes a few direct lookups per field instead of a search through
+ * the calendar. Matches are looked up in local time. A match skipped by a
+ * daylight saving gap is shifted forward by the length of the gap, e.g. from
+ * 02:30 to 03:30. A match repeated by a daylight saving overlap fires once,
+ * unless the seconds, minutes or hours field is a wildcard ({@code *},
+ * optionally with a step), in which case it fires for both occurrences.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see CronTrigger
+ */
+public final class CronExpression {
+
+	// Upper bound for the search of a match, e.g. for February 29 across 2100
+	static final int MAX_YEARS = 8;
+
+	private static final String[] MACROS = new String[] {
+			"@yearly", "0 0 0 1 1 *",
+			"@annually", "0 0 0 1 1 *",
+			"@monthly", "0 0 0 1 * *",
+			"@weekly", "0 0 0 * * 0",
+			"@daily", "0 0 0 * * *",
+			"@midnight", "0 0 0 * * *",
+			"@hourly", "0 0 * * * *"
+	};
+
+
+	private final CronField seconds;
+
+	private final CronField minutes;
+
+	private final CronField hours;
+
+	private final CronField daysOfMonth;
+
+	private final CronField months;
+
+	private final CronField daysOfWeek;
+
+	// Days of a month matching the days of week, indexed by the weekday of the 1st
+	private final long[] daysOfWeekMasks = new long[7];
+
+	// Whether local times repeated by an overlap match twice, e.g. for "0 0 * * * *"
+	private final boolean repeatedInOverlaps;
+
+	private final String expression;
+
+
+	private CronExpression(String[] fields, String expression) {
+		this.seconds = CronField.parseSeconds(fields[0], expression);
+		this.minutes = CronField.parseMinutes(fields[1], expression);
+		this.hours = CronField.parseHours(fields[2], expression);
+		this.daysOfMonth = CronField.parseDaysOfMonth(fields[3], expression);
+		this.months = CronField.parseMonths(fields[4], expression);
+		this.daysOfWeek = CronField.parseDaysOfWeek(fields[5], expression);
+		for (int firstDayOfWeek = 0; firstDayOfWeek < 7; firstDayOfWeek++) {
+			long mask = 0;
+			for (int day = 1; day <= 31; day++) {
+				if (this.daysOfWeek.matches((firstDayOfWeek + day - 1) % 7)) {
+					mask |= 1L << day;
+				}
+			}
+			this.daysOfWeekMasks[firstDayOfWeek] = mask;
+		}
+		this.repeatedInOverlaps = (isWildcard(fields[0]) || isWildcard(fields[1]) || isWildcard(fields[2]));
+		this.expression = expression;
+	}
+
+
+	/**
+	 * Parse the given crontab expression or macro.
+	 * @param expression a space-separated list of time fields, or one of the macros
+	 * @return the parsed {@code CronExpression}
+	 * @throws IllegalArgumentException if the expression cannot be parsed
+	 */
+	public static CronExpression parse(String expression) {
+		Assert.hasLength(expression, "Expression string must not be empty");
+		String[] fields = StringUtils.tokenizeToStringArray(resolveMacros(expression), " ");
+		if (fields.length != 6) {
+			throw new IllegalArgumentException(String.format(
+					"Cron expression must consist of 6 fields (found %d in \"%s\")", fields.length, expression));
+		}
+		return new CronExpression(fields, expression);
+	}
+
+	/**
+	 * Determine whether the given string represents a valid cron expression.
+	 * @param expression the expression to evaluate
+	 * @return {@code true} if the given expression is a valid cron expression
+	 */
+	public static boolean isValidExpression(@Nullable String expression) {
+		if (!StringUtils.hasLength(expression)) {
+			return false;
+		}
+		try {
+			parse(expression);
+			return true;
+		}
+		catch (IllegalArgumentException ex) {
+			return false;
+		}
+	}
+
+	private static boolean isWildcard(String field) {
+		return (field.equals("*") || field.startsWith("*/"));
+	}
+
+	private static String resolveMacros(String expression) {
+		String trimmed = expression.trim();
+		for (int i = 0; i < MACROS.length; i += 2) {
+			if (MACROS[i].equalsIgnoreCase(trimmed)) {
+				return MACROS[i + 1];
+			}
+		}
+		return expression;
+	}
+
+
+	/**
+	 * Calculate the next time matching this expression, strictly after the given time.
+	 * @param dateTime the time to start from, also defining the time zone
+	 * @return the next match, with a whole number of seconds, or {@code null}
+	 * if there is none within the next {@value #MAX_YEARS} years
+	 */
+	@Nullable
+	public ZonedDateTime next(ZonedDateTime dateTime) {
+		ZoneId zone = dateTime.getZone();
+		LocalDateTime local = dateTime.toLocalDateTime();
+		LocalDateTime start = local.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+		int maxYear = start.getYear() + MAX_YEARS;
+		ZonedDateTime result = null;
+		while (result == null) {
+			LocalDateTime match = nextOrSame(start, maxYear);
+			if (match == null) {
+				return null;
+			}
+			result = resolve(match, zone, dateTime);
+			start = match.plusSeconds(1);
+		}
+		// Before the end of an overlap, local times already passed are repeated
+		ZoneOffsetTransition transition = zone.getRules().getTransition(local);
+		if (this.repeatedInOverlaps && transition != null && transition.isOverlap() &&
+				dateTime.getOffset().equals(transition.getOffsetBefore())) {
+			LocalDateTime repeated = nextOrSame(transition.getDateTimeAfter(), maxYear);
+			if (repeated != null && repeated.isBefore(transition.getDateTimeBefore())) {
+				ZonedDateTime repeatedResult = ZonedDateTime.ofLocal(repeated, zone, transition.getOffsetAfter());
+				if (repeatedResult.isBefore(result)) {
+					result = repeatedResult;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Calculate the next local time matching this expression, strictly after the given time.
+	 * @param dateTime the time to start from
+	 * @return the next match, with a whole number of seconds, or {@code null}
+	 * if there is none within the next {@value #MAX_YEARS} years
+	 */
+	@Nullable
+	public LocalDateTime next(LocalDateTime dateTime) {
+		LocalDateTime start = dateTime.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+		return nextOrSame(start, start.getYear() + MAX_YEARS);
+	}
+
+	@Nullable
+	private LocalDateTime nextOrSame(LocalDateTime start, int maxYear) {
+		int year = start.getYear();
+		int month = start.getMonthValue();
+		int day = start.getDayOfMonth();
+		int hour = start.getHour();
+		int minute = start.getMinute();
+		int second = start.getSecond();
+
+		// Each step either accepts the current value of a field or moves to its
+		// next allowed value (or to the next period of the enclosing field),
+		// resetting the fields of lower significance
+		while (year <= maxYear) {
+			int nextMonth = this.months.nextOrSame(month);
+			if (nextMonth == -1) {
+				year++;
+				month = 1;
+				day = 1;
+				hour = minute = second = 0;
+				continue;
+			}
+			if (nextMonth != month) {
+				month = nextMonth;
+				day = 1;
+				hour = minute = second = 0;
+			}
+			int nextDay = nextDayOrSame(year, month, day);
+			if (nextDay == -1) {
+				month++;
+				day = 1;
+				hour = minute = second = 0;
+				continue;
+			}
+			if (nextDay != day) {
+				day = nextDay;
+				hour = minute = second = 0;
+			}
+			int nextHour = this.hours.nextOrSame(hour);
+			if (nextHour == -1) {
+				day++;
+				hour = minute = second = 0;
+				continue;
+			}
+			if (nextHour != hour) {
+				hour = nextHour;
+				minute = second = 0;
+			}
+			int nextMinute = this.minutes.nextOrSame(minute);
+			if (nextMinute == -1) {
+				hour++;
+				minute = second = 0;
+				continue;
+			}
+			if (nextMinute != minute) {
+				minute = nextMinute;
+				second = 0;
+			}
+			int nextSecond = this.seconds.nextOrSame(second);
+			if (nextSecond == -1) {
+				minute++;
+				second = 0;
+				continue;
+			}
+			return LocalDateTime.of(year, month, day, hour, minute, nextSecond);
+		}
+		return null;
+	}
+
+	private int nextDayOrSame(int year, int month, int day) {
+		int length = Month.of(month).length(Year.isLeap(year));
+		int firstDayOfWeek = LocalDate.of(year, month, 1).getDayOfWeek().getValue() % 7;
+		long days = this.daysOfMonth.bits() & this.daysOfWeekMasks[firstDayOfWeek] &
+				(-1L >>> (63 - length)) & (-1L << day);
+		return (days != 0 ? Long.numberOfTrailingZeros(days) : -1);
+	}
+
+	/**
+	 * Resolve the given local match in the given zone, if it lies after the
+	 * given start time there.
+	 */
+	@Nullable
+	private ZonedDateTime resolve(LocalDateTime match, ZoneId zone, ZonedDateTime start) {
+		ZoneOffsetTransition transition = zone.getRules().getTransition(match);
+		if (transition == null || transition.isGap()) {
+			// Local time skipped by a gap: shifted forward by the length of the gap
+			ZonedDateTime result = ZonedDateTime.of(match, zone);
+			return (result.isAfter(start) ? result : null);
+		}
+		// Local time repeated by an overlap: earlier occurrence first,
+		// later occurrence only if the expression repeats within overlaps
+		ZonedDateTime result = ZonedDateTime.ofLocal(match, zone, transition.getOffsetBefore());
+		if (result.isAfter(start)) {
+			return result;
+		}
+		if (this.repeatedInOverlaps) {
+			result = ZonedDateTime.ofLocal(match, zone, transition.getOffsetAfter());
+			if (result.isAfter(start)) {
+				return result;
+			}
+		}
+		return null;
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof CronExpression)) {
+			return false;
+		}
+		CronExpression otherCron = (CronExpression) other;
+		return (this.seconds.equals(otherCron.seconds) && this.minutes.equals(otherCron.minutes) &&
+				this.hours.equals(otherCron.hours) && this.daysOfMonth.equals(otherCron.daysOfMonth) &&
+				this.months.equals(otherCron.months) && this.daysOfWeek.equals(otherCron.daysOfWeek));
+	}
+
+	@Override
+	public int hashCode() {
+		return (17 * this.months.hashCode() + 29 * this.daysOfMonth.hashCode() + 37 * this.daysOfWeek.hashCode() +
+				41 * this.hours.hashCode() + 53 * this.minutes.hashCode() + 61 * this.seconds.hashCode());
+	}
+
+	/**
+	 * Return the expression string used to create this {@code CronExpression}.
+	 */
+	@Override
+	public String toString() {
+		return this.expression;
+	}
+
+}
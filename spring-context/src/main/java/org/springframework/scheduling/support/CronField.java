@@ -0,0 +1,209 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.support;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Single field of a {@link CronExpression}, holding the allowed values
+ * as a bit mask so that the next allowed value can be looked up directly.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ */
+final class CronField {
+
+	// Names indexed by their value, months starting with 1
+	private static final String[] MONTHS = {"", "JAN", "FEB", "MAR", "APR", "MAY", "JUN",
+			"JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+
+	private static final String[] DAYS = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+
+	private final long bits;
+
+
+	private CronField(long bits) {
+		this.bits = bits;
+	}
+
+
+	/**
+	 * Return the bit mask of allowed values.
+	 */
+	long bits() {
+		return this.bits;
+	}
+
+	/**
+	 * Return whether the given value is allowed.
+	 */
+	boolean matches(int value) {
+		return ((this.bits & (1L << value)) != 0);
+	}
+
+	/**
+	 * Return the lowest allowed value greater than or equal to the given value.
+	 * @return the next value, or {@code -1} if there is none
+	 */
+	int nextOrSame(int value) {
+		long remaining = this.bits & (-1L << value);
+		return (remaining != 0 ? Long.numberOfTrailingZeros(remaining) : -1);
+	}
+
+
+	static CronField parseSeconds(String value, String expression) {
+		return parseField(value, 0, 59, null, expression);
+	}
+
+	static CronField parseMinutes(String value, String expression) {
+		return parseField(value, 0, 59, null, expression);
+	}
+
+	static CronField parseHours(String value, String expression) {
+		return parseField(value, 0, 23, null, expression);
+	}
+
+	static CronField parseDaysOfMonth(String value, String expression) {
+		return parseField(replaceQuestionMark(value), 1, 31, null, expression);
+	}
+
+	static CronField parseMonths(String value, String expression) {
+		return parseField(value, 1, 12, MONTHS, expression);
+	}
+
+	/**
+	 * Parse the day-of-week field, with Sunday represented as {@code 0} or {@code 7}
+	 * in the expression and as {@code 0} in the resulting field.
+	 */
+	static CronField parseDaysOfWeek(String value, String expression) {
+		long bits = parseField(replaceQuestionMark(value), 0, 7, DAYS, expression).bits;
+		if ((bits & (1L << 7)) != 0) {
+			bits = (bits | 1L) & ~(1L << 7);
+		}
+		return new CronField(bits);
+	}
+
+	private static String replaceQuestionMark(String value) {
+		return (value.contains("?") ? "*" : value);
+	}
+
+	private static CronField parseField(String value, int min, int max, @Nullable String[] names, String expression) {
+		long bits = 0;
+		for (String field : StringUtils.delimitedListToStringArray(value, ",")) {
+			int slashPos = field.indexOf('/');
+			if (slashPos == -1) {
+				int[] range = parseRange(field, min, max, names, expression);
+				bits |= rangeBits(range[0], range[1], 1);
+			}
+			else {
+				String rangeValue = field.substring(0, slashPos);
+				String deltaValue = field.substring(slashPos + 1);
+				if (deltaValue.contains("/")) {
+					throw new IllegalArgumentException("Incrementer has more than two fields: '" +
+							field + "' in expression \"" + expression + "\"");
+				}
+				int[] range = parseRange(rangeValue, min, max, names, expression);
+				if (!rangeValue.contains("-")) {
+					range[1] = max;
+				}
+				int delta = Integer.parseInt(deltaValue);
+				if (delta <= 0) {
+					throw new IllegalArgumentException("Incrementer delta must be 1 or higher: '" +
+							field + "' in expression \"" + expression + "\"");
+				}
+				bits |= rangeBits(range[0], range[1], delta);
+			}
+		}
+		return new CronField(bits);
+	}
+
+	private static int[] parseRange(String field, int min, int max, @Nullable String[] names, String expression) {
+		int[] result = new int[2];
+		if (field.equals("*")) {
+			result[0] = min;
+			result[1] = max;
+			return result;
+		}
+		int dashPos = field.indexOf('-');
+		if (dashPos == -1) {
+			result[0] = result[1] = parseValue(field, names);
+		}
+		else {
+			String end = field.substring(dashPos + 1);
+			if (end.contains("-")) {
+				throw new IllegalArgumentException("Range has more than two fields: '" +
+						field + "' in expression \"" + expression + "\"");
+			}
+			result[0] = parseValue(field.substring(0, dashPos), names);
+			result[1] = parseValue(end, names);
+		}
+		if (result[0] > max || result[1] > max) {
+			throw new IllegalArgumentException("Range exceeds maximum (" + max + "): '" +
+					field + "' in expression \"" + expression + "\"");
+		}
+		if (result[0] < min || result[1] < min) {
+			throw new IllegalArgumentException("Range less than minimum (" + min + "): '" +
+					field + "' in expression \"" + expression + "\"");
+		}
+		if (result[0] > result[1]) {
+			throw new IllegalArgumentException("Invalid inverted range: '" + field +
+					"' in expression \"" + expression + "\"");
+		}
+		return result;
+	}
+
+	private static int parseValue(String value, @Nullable String[] names) {
+		if (names != null) {
+			for (int i = 0; i < names.length; i++) {
+				if (!names[i].isEmpty() && names[i].equalsIgnoreCase(value)) {
+					return i;
+				}
+			}
+		}
+		return Integer.parseInt(value);
+	}
+
+	private static long rangeBits(int start, int end, int delta) {
+		if (delta == 1) {
+			return (-1L >>> (63 - end)) & (-1L << start);
+		}
+		long bits = 0;
+		for (int i = start; i <= end; i += delta) {
+			bits |= 1L << i;
+		}
+		return bits;
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		return (this == other || (other instanceof CronField && this.bits == ((CronField) other).bits));
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(this.bits);
+	}
+
+	@Override
+	public String toString() {
+		return Long.toBinaryString(this.bits);
+	}
+
+}
@@ -16,43 +16,61 @@
 
 package org.springframework.scheduling.support;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.TimeZone;
 
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.TriggerContext;
+import org.springframework.util.Assert;
 
 /**
  * {@link Trigger} implementation for cron expressions.
- * Wraps a {@link CronSequenceGenerator}.
+ * Wraps a {@link CronExpression}.
  *
  * @author Juergen Hoeller
  * @since 3.0
- * @see CronSequenceGenerator
+ * @see CronExpression
  */
 public class CronTrigger implements Trigger {
 
-	private final CronSequenceGenerator sequenceGenerator;
+	private final CronExpression expression;
+
+	private final ZoneId zoneId;
 
 
 	/**
 	 * Build a {@link CronTrigger} from the pattern provided in the default time zone.
 	 * @param expression a space-separated list of time fields, following cron
-	 * expression conventions
+	 * expression conventions, or one of the {@link CronExpression} macros
 	 */
 	public CronTrigger(String expression) {
-		this.sequenceGenerator = new CronSequenceGenerator(expression);
+		this(expression, ZoneId.systemDefault());
 	}
 
 	/**
 	 * Build a {@link CronTrigger} from the pattern provided in the given time zone.
 	 * @param expression a space-separated list of time fields, following cron
-	 * expression conventions
+	 * expression conventions, or one of the {@link CronExpression} macros
 	 * @param timeZone a time zone in which the trigger times will be generated
 	 */
 	public CronTrigger(String expression, TimeZone timeZone) {
-		this.sequenceGenerator = new CronSequenceGenerator(expression, timeZone);
+		this(expression, timeZone.toZoneId());
+	}
+
+	/**
+	 * Build a {@link CronTrigger} from the pattern provided in the given time zone.
+	 * @param expression a space-separated list of time fields, following cron
+	 * expression conventions, or one of the {@link CronExpression} macros
+	 * @param zoneId a time zone in which the trigger times will be generated
+	 * @since 5.3
+	 */
+	public CronTrigger(String expression, ZoneId zoneId) {
+		Assert.notNull(zoneId, "ZoneId must not be null");
+		this.expression = CronExpression.parse(expression);
+		this.zoneId = zoneId;
 	}
 
 
@@ -60,7 +78,7 @@ public class CronTrigger implements Trigger {
 	 * Return the cron pattern that this trigger has been built with.
 	 */
 	public String getExpression() {
-		return this.sequenceGenerator.getExpression();
+		return this.expression.toString();
 	}
 
 
@@ -85,24 +103,29 @@ public class CronTrigger implements Trigger {
 		else {
 			date = new Date();
 		}
-		return this.sequenceGenerator.next(date);
+		ZonedDateTime next = this.expression.next(ZonedDateTime.ofInstant(date.toInstant(), this.zoneId));
+		if (next == null) {
+			throw new IllegalArgumentException("Cron expression \"" + getExpression() +
+					"\" does not match any time within " + CronExpression.MAX_YEARS + " years after " + date);
+		}
+		return Date.from(next.toInstant());
 	}
 
 
 	@Override
 	public boolean equals(@Nullable Object other) {
 		return (this == other || (other instanceof CronTrigger &&
-				this.sequenceGenerator.equals(((CronTrigger) other).sequenceGenerator)));
+				this.expression.equals(((CronTrigger) other).expression)));
 	}
 
 	@Override
 	public int hashCode() {
-		return this.sequenceGenerator.hashCode();
+		return this.expression.hashCode();
 	}
 
 	@Override
 	public String toString() {
-		return this.sequenceGenerator.toString();
+		return getClass().getSimpleName() + ": " + this.expression;
 	}
 
 }
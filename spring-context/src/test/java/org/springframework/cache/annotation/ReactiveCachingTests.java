@@ -0,0 +1,325 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.annotation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for annotation-based caching methods that return
+ * {@link CompletableFuture} or Reactor {@link Mono}/{@link Flux} values.
+ */
+class ReactiveCachingTests {
+
+	@Test
+	void cacheableWithCompletableFuture() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(Config.class);
+		ReactiveCacheableService service = ctx.getBean(ReactiveCacheableService.class);
+		Object key = new Object();
+
+		Long r1 = service.cacheFuture(key).join();
+		Long r2 = service.cacheFuture(key).join();
+		Long r3 = service.cacheFuture(key).join();
+		assertThat(r1).isNotNull().isSameAs(r2).isSameAs(r3);
+
+		Cache.ValueWrapper cached = ctx.getBean(CacheManager.class).getCache("first").get(key);
+		assertThat(cached).isNotNull();
+		assertThat(cached.get()).as("future value rather than future cached").isSameAs(r1);
+		ctx.close();
+	}
+
+	@Test
+	void cacheableWithMono() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(Config.class);
+		ReactiveCacheableService service = ctx.getBean(ReactiveCacheableService.class);
+		Object key = new Object();
+
+		Long r1 = service.cacheMono(key).block();
+		Long r2 = service.cacheMono(key).block();
+		Long r3 = service.cacheMono(key).block();
+		assertThat(r1).isNotNull().isSameAs(r2).isSameAs(r3);
+		assertThat(ctx.getBean(CacheManager.class).getCache("first").get(key, Long.class)).isSameAs(r1);
+		ctx.close();
+	}
+
+	@Test
+	void cacheableWithFlux() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(Config.class);
+		ReactiveCacheableService service = ctx.getBean(ReactiveCacheableService.class);
+		Object key = new Object();
+
+		List<Long> r1 = service.cacheFlux(key).collectList().block();
+		List<Long> r2 = service.cacheFlux(key).collectList().block();
+		List<Long> r3 = service.cacheFlux(key).collectList().block();
+		assertThat(r1).isNotNull().hasSize(3).isEqualTo(r2).isEqualTo(r3);
+		assertThat(ctx.getBean(CacheManager.class).getCache("first").get(key, List.class)).isEqualTo(r1);
+		ctx.close();
+	}
+
+	@Test
+	void cacheableSyncWithCompletableFutureAndMono() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(Config.class);
+		ReactiveCacheableService service = ctx.getBean(ReactiveCacheableService.class);
+		Object key = new Object();
+
+		Long r1 = service.cacheFutureSync(key).join();
+		assertThat(service.cacheFutureSync(key).join()).isSameAs(r1);
+
+		Object otherKey = new Object();
+		Long r2 = service.cacheMonoSync(otherKey).block();
+		assertThat(service.cacheMonoSync(otherKey).block()).isSameAs(r2);
+		assertThat(service.getInvocationCount()).isEqualTo(2);
+		ctx.close();
+	}
+
+	@Test
+	void cacheableWithMonoIsLazy() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(Config.class);
+		ReactiveCacheableService service = ctx.getBean(ReactiveCacheableService.class);
+		Object key = new Object();
+
+		Mono<Long> mono = service.cacheMono(key);
+		assertThat(ctx.getBean(CacheManager.class).getCache("first").get(key)).isNull();
+		assertThat(mono.block()).isNotNull();
+		assertThat(ctx.getBean(CacheManager.class).getCache("first").get(key)).isNotNull();
+		ctx.close();
+	}
+
+	@Test
+	void cacheEvictWithCompletableFuture() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(Config.class);
+		ReactiveCacheableService service = ctx.getBean(ReactiveCacheableService.class);
+		Object key = new Object();
+
+		Long r1 = service.cacheFuture(key).join();
+		CompletableFuture<Void> evicted = new CompletableFuture<>();
+		CompletableFuture<Void> result = service.evictFuture(key, evicted);
+		assertThat(ctx.getBean(CacheManager.class).getCache("first").get(key))
+				.as("eviction deferred until completion").isNotNull();
+		evicted.complete(null);
+		result.join();
+		assertThat(ctx.getBean(CacheManager.class).getCache("first").get(key)).isNull();
+		assertThat(service.cacheFuture(key).join()).isNotEqualTo(r1);
+		ctx.close();
+	}
+
+	@Test
+	void cachePutWithMonoReturningNullOnCacheHit() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(Config.class);
+		ReactiveCacheableService service = ctx.getBean(ReactiveCacheableService.class);
+		Object key = new Object();
+		ctx.getBean(CacheManager.class).getCache("first").put(key, 1L);
+
+		assertThat(service.cacheAndPutNull(key).block()).isNull();
+		assertThat(service.getInvocationCount()).isEqualTo(1);
+		ctx.close();
+	}
+
+	@Test
+	void cacheableWithCompletableFutureOnCacheWithoutRetrieve() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(LegacyCacheConfig.class);
+		ReactiveCacheableService service = ctx.getBean(ReactiveCacheableService.class);
+		Object key = new Object();
+
+		Long r1 = service.cacheFuture(key).join();
+		assertThat(service.cacheFuture(key).join()).isSameAs(r1);
+		assertThat(ctx.getBean(CacheManager.class).getCache("first").get(key, Long.class)).isSameAs(r1);
+
+		Object otherKey = new Object();
+		Long r2 = service.cacheFutureSync(otherKey).join();
+		assertThat(service.cacheFutureSync(otherKey).join()).isSameAs(r2);
+		assertThat(service.getInvocationCount()).isEqualTo(2);
+		ctx.close();
+	}
+
+	@Test
+	void cacheableWithMonoAndFluxOnCacheWithoutRetrieve() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(LegacyCacheConfig.class);
+		ReactiveCacheableService service = ctx.getBean(ReactiveCacheableService.class);
+		Object key = new Object();
+
+		Long r1 = service.cacheMono(key).block();
+		assertThat(service.cacheMono(key).block()).isSameAs(r1);
+		assertThat(ctx.getBean(CacheManager.class).getCache("first").get(key, Long.class)).isSameAs(r1);
+
+		Object otherKey = new Object();
+		List<Long> r2 = service.cacheFlux(otherKey).collectList().block();
+		assertThat(service.cacheFlux(otherKey).collectList().block()).isEqualTo(r2);
+
+		Object syncKey = new Object();
+		Long r3 = service.cacheMonoSync(syncKey).block();
+		assertThat(service.cacheMonoSync(syncKey).block()).isSameAs(r3);
+		assertThat(service.getInvocationCount()).isEqualTo(5);
+		ctx.close();
+	}
+
+
+	@CacheConfig(cacheNames = "first")
+	static class ReactiveCacheableService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		public long getInvocationCount() {
+			return this.counter.get();
+		}
+
+		@Cacheable
+		public CompletableFuture<Long> cacheFuture(Object arg) {
+			return CompletableFuture.completedFuture(this.counter.getAndIncrement());
+		}
+
+		@Cacheable(sync = true)
+		public CompletableFuture<Long> cacheFutureSync(Object arg) {
+			return CompletableFuture.completedFuture(this.counter.getAndIncrement());
+		}
+
+		@Cacheable
+		public Mono<Long> cacheMono(Object arg) {
+			return Mono.fromSupplier(this.counter::getAndIncrement);
+		}
+
+		@Cacheable(sync = true)
+		public Mono<Long> cacheMonoSync(Object arg) {
+			return Mono.fromSupplier(this.counter::getAndIncrement);
+		}
+
+		@Cacheable
+		public Flux<Long> cacheFlux(Object arg) {
+			return Flux.defer(() -> Flux.just(this.counter.getAndIncrement(),
+					this.counter.getAndIncrement(), this.counter.getAndIncrement()));
+		}
+
+		@CacheEvict(key = "#p0")
+		public CompletableFuture<Void> evictFuture(Object arg, CompletableFuture<Void> completion) {
+			return completion;
+		}
+
+		@Cacheable
+		@CachePut("second")
+		public Mono<Long> cacheAndPutNull(Object arg) {
+			this.counter.getAndIncrement();
+			return null;
+		}
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager("first", "second");
+		}
+
+		@Bean
+		ReactiveCacheableService reactiveCacheableService() {
+			return new ReactiveCacheableService();
+		}
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableCaching
+	static class LegacyCacheConfig {
+
+		@Bean
+		CacheManager cacheManager() {
+			SimpleCacheManager cacheManager = new SimpleCacheManager();
+			cacheManager.setCaches(Collections.singletonList(new LegacyCache(new ConcurrentMapCache("first"))));
+			return cacheManager;
+		}
+
+		@Bean
+		ReactiveCacheableService reactiveCacheableService() {
+			return new ReactiveCacheableService();
+		}
+	}
+
+
+	/**
+	 * A {@link Cache} which does not support {@code CompletableFuture}-based retrieval.
+	 */
+	static class LegacyCache implements Cache {
+
+		private final Cache delegate;
+
+		LegacyCache(Cache delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public String getName() {
+			return this.delegate.getName();
+		}
+
+		@Override
+		public Object getNativeCache() {
+			return this.delegate.getNativeCache();
+		}
+
+		@Override
+		public ValueWrapper get(Object key) {
+			return this.delegate.get(key);
+		}
+
+		@Override
+		public <T> T get(Object key, @Nullable Class<T> type) {
+			return this.delegate.get(key, type);
+		}
+
+		@Override
+		public <T> T get(Object key, Callable<T> valueLoader) {
+			return this.delegate.get(key, valueLoader);
+		}
+
+		@Override
+		public void put(Object key, @Nullable Object value) {
+			this.delegate.put(key, value);
+		}
+
+		@Override
+		public void evict(Object key) {
+			this.delegate.evict(key);
+		}
+
+		@Override
+		public void clear() {
+			this.delegate.clear();
+		}
+	}
+
+}
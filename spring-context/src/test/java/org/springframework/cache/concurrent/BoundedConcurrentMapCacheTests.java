@@ -0,0 +1,284 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link BoundedConcurrentMapCache}.
+ */
+public class BoundedConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<BoundedConcurrentMapCache> {
+
+	private BoundedConcurrentMapCache cache;
+
+	private BoundedConcurrentMapCache cacheNoNull;
+
+	private final MutableClock clock = new MutableClock();
+
+
+	@BeforeEach
+	public void setup() {
+		this.cache = new BoundedConcurrentMapCache(CACHE_NAME, 1000, null, null, true);
+		this.cacheNoNull = new BoundedConcurrentMapCache(CACHE_NAME_NO_NULL, 1000, null, null, false);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache() {
+		return getCache(true);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache(boolean allowNull) {
+		return (allowNull ? this.cache : this.cacheNoNull);
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.cache.getNativeCache();
+	}
+
+
+	@Test
+	public void evictsBeyondMaximumSize() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache("bounded", 100);
+		for (int i = 0; i < 1000; i++) {
+			cache.put(i, i);
+		}
+		assertThat(cache.getSize()).isEqualTo(100);
+		assertThat(cache.getEvictionCount()).isEqualTo(900);
+		assertThat(cache.get(999, Integer.class)).isEqualTo(999);
+		assertThat(cache.get(0)).isNull();
+	}
+
+	@Test
+	public void recentlyUsedEntriesSurviveEviction() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache("bounded", 10);
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, i);
+		}
+		assertThat(cache.get(0)).isNotNull();
+		cache.put(10, 10);
+		assertThat(cache.get(0)).as("recently used").isNotNull();
+		assertThat(cache.get(1)).as("least recently used").isNull();
+		assertThat(cache.getSize()).isEqualTo(10);
+	}
+
+	@Test
+	public void evictionQueueCompactedAfterRemovals() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache("bounded", 10);
+		for (int i = 0; i < 1000; i++) {
+			cache.put("key", i);
+			cache.put(i, i);
+			cache.evict(i);
+		}
+		assertThat(cache.getSize()).isEqualTo(1);
+		assertThat(cache.getEvictionCount()).isEqualTo(0);
+		assertThat(cache.get("key", Integer.class)).isEqualTo(999);
+	}
+
+	@Test
+	public void expiresAfterTimeToLive() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(
+				"ttl", 100, Duration.ofSeconds(10), null, true);
+		cache.setClock(this.clock);
+		cache.put("key", "value");
+		this.clock.advance(Duration.ofSeconds(9));
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+		this.clock.advance(Duration.ofSeconds(1));
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.getSize()).isEqualTo(0);
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+		assertThat(cache.get("key", () -> "other")).isEqualTo("other");
+	}
+
+	@Test
+	public void expiresAfterTimeToIdle() {
+		BoundedConcurrentMapCache cache = new BoundedConcurrentMapCache(
+				"tti", 100, null, Duration.ofSeconds(10), true);
+		cache.setClock(this.clock);
+		cache.put("key", "value");
+		cache.put("idle", "value");
+		for (int i = 0; i < 3; i++) {
+			this.clock.advance(Duration.ofSeconds(6));
+			assertThat(cache.get("key")).isNotNull();
+		}
+		assertThat(cache.putIfAbsent("idle", "other")).isNull();
+		assertThat(cache.get("idle", String.class)).isEqualTo("other");
+
+		this.clock.advance(Duration.ofSeconds(10));
+		cache.cleanUp();
+		assertThat(cache.getSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void overwritesDoNotGrowEvictionQueue() {
+		ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+		cacheManager.setTimeToLive(Duration.ofSeconds(10));
+		BoundedConcurrentMapCache cache = (BoundedConcurrentMapCache) cacheManager.getCache("ttl");
+		assertThat(cache.getMaximumSize()).isEqualTo(Integer.MAX_VALUE);
+		for (int i = 0; i < 10000; i++) {
+			cache.put("key", i);
+			assertThat(cache.putIfAbsent("key", -1)).isNotNull();
+		}
+		assertThat(cache.getSize()).isEqualTo(1);
+		assertThat(cache.getEvictionQueueSize()).isEqualTo(1);
+		assertThat(cache.get("key", Integer.class)).isEqualTo(9999);
+	}
+
+	@Test
+	public void expiredEntriesSweptOnWriteWithTimeToLiveOnly() {
+		ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+		cacheManager.setTimeToLive(Duration.ofSeconds(10));
+		BoundedConcurrentMapCache cache = (BoundedConcurrentMapCache) cacheManager.getCache("ttl");
+		cache.setClock(this.clock);
+		for (int i = 0; i < 10000; i++) {
+			cache.put(i, i);
+			this.clock.advance(Duration.ofMillis(100));
+			assertThat(cache.getSize()).isLessThanOrEqualTo(200);
+			assertThat(cache.getEvictionQueueSize()).isLessThanOrEqualTo(200);
+		}
+		assertThat(cache.getEvictionCount()).isGreaterThanOrEqualTo(9800);
+		assertThat(cache.get(9999, Integer.class)).isEqualTo(9999);
+	}
+
+	@Test
+	public void recordsStatistics() {
+		BoundedConcurrentMapCache cache = getCache();
+		cache.put("key", "value");
+		cache.get("key");
+		cache.get("key", String.class);
+		cache.get("missing");
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void concurrentValueLoaderCallsCountOneMissAndOneHit() throws Exception {
+		BoundedConcurrentMapCache cache = getCache();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> first = executor.submit(() -> cache.get("key", () -> {
+				loads.incrementAndGet();
+				loading.countDown();
+				release.await();
+				return "value";
+			}));
+			assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+			Thread joiner = new Thread(() -> cache.get("key", () -> "other"));
+			joiner.start();
+			while (joiner.getState() != Thread.State.WAITING && joiner.isAlive()) {
+				Thread.sleep(1);
+			}
+			release.countDown();
+			joiner.join(10000);
+			assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(loads.get()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getLoadCount()).isEqualTo(1);
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+	}
+
+	@Test
+	public void valueLoaderMayLoadOtherKeys() {
+		BoundedConcurrentMapCache cache = getCache();
+		for (int i = 0; i < 100; i++) {
+			int key = i;
+			assertThat(cache.get(key, () -> cache.get(key + 1000, () -> key) + 1)).isEqualTo(key + 1);
+		}
+		assertThat(cache.getSize()).isEqualTo(200);
+		assertThat(cache.getMissCount()).isEqualTo(200);
+	}
+
+	@Test
+	public void recursiveValueLoaderForSameKeyFails() {
+		BoundedConcurrentMapCache cache = getCache();
+		assertThatExceptionOfType(Cache.ValueRetrievalException.class)
+				.isThrownBy(() -> cache.get("key", () -> cache.get("key", () -> "value")))
+				.withCauseInstanceOf(IllegalStateException.class);
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+	}
+
+	@Test
+	public void cacheManagerCreatesBoundedCaches() {
+		ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("c1");
+		assertThat(cacheManager.getCache("c1")).isInstanceOf(ConcurrentMapCache.class);
+
+		cacheManager.setMaximumSize(50);
+		cacheManager.setTimeToLive(Duration.ofMinutes(1));
+		Cache cache = cacheManager.getCache("c1");
+		assertThat(cache).isInstanceOf(BoundedConcurrentMapCache.class);
+		assertThat(((BoundedConcurrentMapCache) cache).getMaximumSize()).isEqualTo(50);
+		assertThat(cacheManager.getCache("c2")).isNull();
+
+		cacheManager.setMaximumSize(-1);
+		cacheManager.setTimeToLive(null);
+		assertThat(cacheManager.getCache("c1")).isInstanceOf(ConcurrentMapCache.class);
+	}
+
+
+	private static class MutableClock extends Clock {
+
+		private Instant instant = Instant.now();
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.systemDefault();
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+	}
+
+}
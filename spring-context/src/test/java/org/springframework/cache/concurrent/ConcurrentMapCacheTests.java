@@ -19,16 +19,19 @@ package org.springframework.cache.concurrent;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cache.Cache;
 import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
 import org.springframework.core.serializer.support.SerializationDelegate;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
@@ -115,6 +118,69 @@ public class ConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<Con
 			.withMessageContaining("Some garbage");
 	}
 
+	@Test
+	public void testRetrieve() {
+		String key = createRandomKey();
+		assertThat(this.cache.retrieve(key)).isNull();
+
+		this.cache.put(key, "value");
+		assertThat(((Cache.ValueWrapper) this.cache.retrieve(key).join()).get()).isEqualTo("value");
+
+		this.cache.put(key, null);
+		assertThat(this.cache.retrieve(key).join()).isInstanceOf(Cache.ValueWrapper.class);
+		assertThat(((Cache.ValueWrapper) this.cache.retrieve(key).join()).get()).isNull();
+
+		this.cacheNoNull.put(key, "value");
+		assertThat(this.cacheNoNull.retrieve(key).join()).isEqualTo("value");
+	}
+
+	@Test
+	public void testRetrieveWithValueLoader() {
+		String key = createRandomKey();
+		assertThat(this.cache.retrieve(key, () -> CompletableFuture.completedFuture("value1")).join())
+				.isEqualTo("value1");
+		assertThat(this.cache.retrieve(key, () -> CompletableFuture.completedFuture("value2")).join())
+				.isEqualTo("value1");
+		assertThat(this.cache.get(key, String.class)).isEqualTo("value1");
+	}
+
+	@Test
+	public void testStatistics() {
+		ConcurrentMapCache cache = new ConcurrentMapCache(CACHE_NAME);
+		cache.put("key", "value");
+		assertThat(cache.get("key")).isNotNull();
+		assertThat(cache.get("missing")).isNull();
+		assertThat(cache.get("loaded", () -> "value")).isEqualTo("value");
+		assertThat(cache.get("loaded", () -> "other")).isEqualTo("value");
+
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getLoadCount()).isEqualTo(1);
+		assertThat(cache.getTotalLoadTime()).isGreaterThan(0);
+		assertThat(cache.getEvictionCount()).isEqualTo(0);
+		assertThat(cache.getHitRatio()).isEqualTo(0.5);
+	}
+
+	@Test
+	public void testStatisticsWithValueLoader() {
+		ConcurrentMapCache cache = new ConcurrentMapCache(CACHE_NAME);
+		assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(0);
+
+		assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+
+		assertThatExceptionOfType(Cache.ValueRetrievalException.class).isThrownBy(() ->
+				cache.get("failing", () -> {
+					throw new IllegalStateException();
+				}));
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getLoadCount()).isEqualTo(2);
+	}
+
 
 	private ConcurrentMapCache createCacheWithStoreByValue() {
 		return new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true,
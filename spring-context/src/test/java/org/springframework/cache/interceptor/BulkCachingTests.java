@@ -0,0 +1,209 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link Cacheable#bulk()} operations.
+ */
+class BulkCachingTests {
+
+	private ConfigurableApplicationContext context;
+
+	private UserService service;
+
+	private Cache cache;
+
+
+	@BeforeEach
+	void setUp() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(UserService.class);
+		this.cache = this.context.getBean(CacheManager.class).getCache("users");
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.context.close();
+	}
+
+
+	@Test
+	void onlyMissingKeysLoaded() {
+		this.cache.put(2L, "cached-2");
+		Map<Long, String> users = this.service.findAll(Arrays.asList(3L, 2L, 1L));
+
+		assertThat(users).containsExactly(entry(3L, "user-3"), entry(2L, "cached-2"), entry(1L, "user-1"));
+		assertThat(this.service.getRequestedIds()).containsExactly(Arrays.asList(3L, 1L));
+		assertThat(this.cache.get(1L, String.class)).isEqualTo("user-1");
+		assertThat(this.cache.get(3L, String.class)).isEqualTo("user-3");
+
+		assertThat(this.service.findAll(Arrays.asList(1L, 2L))).containsExactly(
+				entry(1L, "user-1"), entry(2L, "cached-2"));
+		assertThat(this.service.getRequestedIds()).hasSize(1);
+	}
+
+	@Test
+	void allKeysCached() {
+		this.cache.put(1L, "cached-1");
+		assertThat(this.service.findAll(Collections.singletonList(1L))).containsExactly(entry(1L, "cached-1"));
+		assertThat(this.service.getRequestedIds()).isEmpty();
+	}
+
+	@Test
+	void keysMissingFromResultNotCached() {
+		Map<Long, String> users = this.service.findAll(Arrays.asList(1L, UserService.UNKNOWN_ID));
+		assertThat(users).containsOnlyKeys(1L);
+		assertThat(this.cache.get(UserService.UNKNOWN_ID)).isNull();
+
+		this.service.findAll(Arrays.asList(1L, UserService.UNKNOWN_ID));
+		assertThat(this.service.getRequestedIds()).containsExactly(
+				Arrays.asList(1L, UserService.UNKNOWN_ID), Collections.singletonList(UserService.UNKNOWN_ID));
+	}
+
+	@Test
+	void collectionTypeOfArgumentPreserved() {
+		this.cache.put("b", "cached-b");
+		Map<String, String> users = this.service.findByNames("tenant", new TreeSet<>(Arrays.asList("a", "b", "c")));
+		assertThat(users).containsExactly(entry("a", "tenant-a"), entry("b", "cached-b"), entry("c", "tenant-c"));
+		assertThat(this.service.getRequestedNames()).containsExactly(new TreeSet<>(Arrays.asList("a", "c")));
+		assertThat(this.service.getRequestedNames().get(0)).isInstanceOf(Set.class);
+	}
+
+	@Test
+	void conditionNotPassing() {
+		this.cache.put(1L, "cached-1");
+		assertThat(this.service.findAllIfSeveral(Collections.singletonList(1L))).containsExactly(entry(1L, "user-1"));
+		assertThat(this.service.findAllIfSeveral(Collections.emptyList())).isEmpty();
+	}
+
+	@Test
+	void unsupportedReturnType() {
+		assertThatIllegalStateException().isThrownBy(() -> this.service.invalidReturnType(Collections.singletonList(1L)))
+				.withMessageContaining("Map return type");
+	}
+
+	@Test
+	void unsupportedKey() {
+		assertThatIllegalStateException().isThrownBy(() -> this.service.invalidKey(1L, Collections.singletonList(1L)))
+				.withMessageContaining("Collection argument");
+	}
+
+
+	private static <K, V> Map.Entry<K, V> entry(K key, V value) {
+		return Collections.singletonMap(key, value).entrySet().iterator().next();
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public UserService userService() {
+			return new UserService();
+		}
+	}
+
+
+	static class UserService {
+
+		static final Long UNKNOWN_ID = -1L;
+
+		private final List<Collection<Long>> requestedIds = new ArrayList<>();
+
+		private final List<Set<String>> requestedNames = new ArrayList<>();
+
+		public List<Collection<Long>> getRequestedIds() {
+			return this.requestedIds;
+		}
+
+		public List<Set<String>> getRequestedNames() {
+			return this.requestedNames;
+		}
+
+		@Cacheable(cacheNames = "users", bulk = true)
+		public Map<Long, String> findAll(Collection<Long> ids) {
+			this.requestedIds.add(new ArrayList<>(ids));
+			Map<Long, String> users = new HashMap<>();
+			for (Long id : ids) {
+				if (!UNKNOWN_ID.equals(id)) {
+					users.put(id, "user-" + id);
+				}
+			}
+			return users;
+		}
+
+		@Cacheable(cacheNames = "users", key = "#names", bulk = true)
+		public Map<String, String> findByNames(String tenant, Set<String> names) {
+			this.requestedNames.add(names);
+			Map<String, String> users = new LinkedHashMap<>();
+			names.forEach(name -> users.put(name, tenant + "-" + name));
+			return users;
+		}
+
+		@Cacheable(cacheNames = "users", condition = "#ids.size() > 1", bulk = true)
+		public Map<Long, String> findAllIfSeveral(List<Long> ids) {
+			Map<Long, String> users = new HashMap<>();
+			ids.forEach(id -> users.put(id, "user-" + id));
+			return users;
+		}
+
+		@Cacheable(cacheNames = "users", bulk = true)
+		public List<String> invalidReturnType(List<Long> ids) {
+			return Collections.emptyList();
+		}
+
+		@Cacheable(cacheNames = "users", key = "#id", bulk = true)
+		public Map<Long, String> invalidKey(Long id, List<Long> ids) {
+			return Collections.emptyMap();
+		}
+	}
+
+}
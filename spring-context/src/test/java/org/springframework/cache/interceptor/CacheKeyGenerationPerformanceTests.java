@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.testfixture.EnabledForTestGroups;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.core.testfixture.TestGroup.PERFORMANCE;
+
+/**
+ * Measures time and allocations of cache hits for various key definitions.
+ */
+@EnabledForTestGroups(PERFORMANCE)
+class CacheKeyGenerationPerformanceTests {
+
+	private static final boolean DEBUG = false;
+
+	private static final int ITERATIONS = 200_000;
+
+	private AnnotationConfigApplicationContext context;
+
+	private KeyService service;
+
+
+	@BeforeEach
+	void setUp() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(KeyService.class);
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.context.close();
+	}
+
+
+	@Test
+	void cacheHitWithDefaultKey() {
+		long bytes = measure("Default key", i -> this.service.defaultKey(i % 100, "name"));
+		assertThat(bytes).isLessThan(2048);
+	}
+
+	@Test
+	void cacheHitWithParameterKey() {
+		long bytes = measure("Parameter key", i -> this.service.parameterKey(i % 100, "name"));
+		assertThat(bytes).isLessThan(2048);
+	}
+
+	@Test
+	void cacheHitWithCompiledKeyExpression() {
+		long bytes = measure("Compiled key", i -> this.service.expressionKey(i % 100, "name"));
+		assertThat(bytes).isLessThan(4096);
+	}
+
+	private long measure(String name, IntFunction<Object> invocation) {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		// warmup, also populating the cache and triggering SpEL compilation
+		for (int i = 0; i < ITERATIONS; i++) {
+			assertThat(invocation.apply(i)).isNotNull();
+		}
+		long start = System.nanoTime();
+		long allocated = allocatedBytes(threadBean);
+		for (int i = 0; i < ITERATIONS; i++) {
+			invocation.apply(i);
+		}
+		long bytesPerHit = (allocatedBytes(threadBean) - allocated) / ITERATIONS;
+		long nanosPerHit = (System.nanoTime() - start) / ITERATIONS;
+		if (DEBUG) {
+			System.out.println(name + ": " + nanosPerHit + "ns and " + bytesPerHit + " bytes per cache hit");
+		}
+		return bytesPerHit;
+	}
+
+	private static long allocatedBytes(ThreadMXBean threadBean) {
+		if (threadBean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(
+					Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public KeyService keyService() {
+			return new KeyService();
+		}
+	}
+
+
+	static class KeyService {
+
+		@Cacheable("default")
+		public Object defaultKey(int id, String name) {
+			return name + id;
+		}
+
+		@Cacheable(cacheNames = "parameter", key = "#id")
+		public Object parameterKey(int id, String name) {
+			return name + id;
+		}
+
+		@Cacheable(cacheNames = "expression", key = "#name.concat('-').concat(#id.toString())")
+		public Object expressionKey(int id, String name) {
+			return name + id;
+		}
+	}
+
+}
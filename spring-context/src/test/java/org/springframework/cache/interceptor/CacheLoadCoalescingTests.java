@@ -0,0 +1,355 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for coalescing concurrent cache misses through a {@link CacheLoadCoalescer}.
+ */
+class CacheLoadCoalescingTests {
+
+	private ConfigurableApplicationContext context;
+
+	private CacheLoadCoalescer coalescer;
+
+	private SlowService service;
+
+	private ExecutorService executor;
+
+
+	@BeforeEach
+	void setUp() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.coalescer = new CacheLoadCoalescer();
+		this.context.getBean(CacheInterceptor.class).setCacheLoadCoalescer(this.coalescer);
+		this.service = this.context.getBean(SlowService.class);
+		this.service.setSelf(this.service);
+		this.executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+		this.context.close();
+	}
+
+
+	@Test
+	void concurrentMissesShareSingleInvocation() throws Exception {
+		List<Future<String>> results = submit(4, () -> this.service.load("key"));
+		awaitCoalesced(3);
+		this.service.release();
+
+		for (Future<String> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("key-1");
+		}
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+		assertThat(this.coalescer.getLoadCount()).isEqualTo(1);
+		assertThat(this.coalescer.getInFlightLoadCount()).isEqualTo(0);
+		CacheManager cacheManager = this.context.getBean(CacheManager.class);
+		assertThat(cacheManager.getCache("primary").get("key", String.class)).isEqualTo("key-1");
+		assertThat(cacheManager.getCache("secondary").get("key", String.class)).isEqualTo("key-1");
+
+		assertThat(this.service.load("key")).isEqualTo("key-1");
+		assertThat(this.coalescer.getLoadCount()).isEqualTo(1);
+	}
+
+	@Test
+	void joiningMissInvokesMethodAfterJoinTimeout() throws Exception {
+		this.coalescer.setJoinTimeout(Duration.ofMillis(100));
+		List<Future<String>> results = submit(2, () -> this.service.load("key"));
+		awaitCoalesced(1);
+		long deadline = System.currentTimeMillis() + 5000;
+		while (this.service.getInvocationCount() < 2) {
+			assertThat(System.currentTimeMillis()).as("invocations").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+		this.service.release();
+
+		List<String> values = new ArrayList<>();
+		for (Future<String> result : results) {
+			values.add(result.get(5, TimeUnit.SECONDS));
+		}
+		assertThat(values).containsExactlyInAnyOrder("key-1", "key-2");
+		assertThat(this.coalescer.getLoadCount()).isEqualTo(1);
+		assertThat(this.coalescer.getCoalescedLoadCount()).isEqualTo(1);
+		assertThat(this.coalescer.getInFlightLoadCount()).isEqualTo(0);
+	}
+
+	@Test
+	void concurrentMissesWithUnlessShareResultWithoutCaching() throws Exception {
+		List<Future<String>> results = submit(3, () -> this.service.loadUncached("key"));
+		awaitCoalesced(2);
+		this.service.release();
+
+		for (Future<String> result : results) {
+			assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("key-1");
+		}
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+		assertThat(this.context.getBean(CacheManager.class).getCache("primary").get("key")).isNull();
+	}
+
+	@Test
+	void concurrentMissesObserveFailure() throws Exception {
+		List<Future<String>> results = submit(2, () -> this.service.fail("key"));
+		awaitCoalesced(1);
+		this.service.release();
+
+		for (Future<String> result : results) {
+			assertThatIllegalStateException().isThrownBy(() -> {
+				try {
+					result.get(5, TimeUnit.SECONDS);
+				}
+				catch (ExecutionException ex) {
+					throw ex.getCause();
+				}
+			}).withMessage("key");
+		}
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+		assertThat(this.coalescer.getInFlightLoadCount()).isEqualTo(0);
+	}
+
+	@Test
+	void concurrentMissesWithCompletableFuture() {
+		CompletableFuture<String> first = this.service.loadFuture("key");
+		CompletableFuture<String> second = this.service.loadFuture("key");
+		assertThat(this.coalescer.getCoalescedLoadCount()).isEqualTo(1);
+		assertThat(second).isNotDone();
+
+		this.service.completePending("value");
+		assertThat(first.join()).isEqualTo("value");
+		assertThat(second.join()).isEqualTo("value");
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+		assertThat(this.context.getBean(CacheManager.class).getCache("primary").get("key", String.class))
+				.isEqualTo("value");
+	}
+
+	@Test
+	void concurrentMissesWithMono() {
+		CompletableFuture<String> first = this.service.loadMono("key").toFuture();
+		CompletableFuture<String> second = this.service.loadMono("key").toFuture();
+		assertThat(this.coalescer.getCoalescedLoadCount()).isEqualTo(1);
+
+		this.service.completePending("value");
+		assertThat(first.join()).isEqualTo("value");
+		assertThat(second.join()).isEqualTo("value");
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	void monoNotSubscribedToDoesNotRegisterLoad() {
+		Mono<String> unused = this.service.loadMono("key");
+		assertThat(unused).isNotNull();
+		assertThat(this.coalescer.getInFlightLoadCount()).isEqualTo(0);
+
+		this.service.completePending("value");
+		assertThat(this.service.loadMono("key").block(Duration.ofSeconds(5))).isEqualTo("value");
+		assertThat(this.coalescer.getCoalescedLoadCount()).isEqualTo(0);
+		assertThat(this.coalescer.getInFlightLoadCount()).isEqualTo(0);
+		assertThat(this.service.getInvocationCount()).isEqualTo(1);
+	}
+
+	@Test
+	void cancelledMonoLoadIsPerformedByWaitingMiss() {
+		Disposable first = this.service.loadMono("key").subscribe();
+		CompletableFuture<String> second = this.service.loadMono("key").toFuture();
+		assertThat(this.coalescer.getCoalescedLoadCount()).isEqualTo(1);
+
+		first.dispose();
+		assertThat(this.coalescer.getInFlightLoadCount()).isEqualTo(0);
+		this.service.completePending("value");
+		assertThat(second.join()).isEqualTo("value");
+		assertThat(this.service.getInvocationCount()).isEqualTo(2);
+	}
+
+	@Test
+	void missesWithDifferentReturnTypesAreNotCoalesced() {
+		CompletableFuture<String> first = this.service.loadFuture("key");
+		CompletableFuture<List<String>> second = this.service.loadFlux("key").collectList().toFuture();
+		assertThat(this.coalescer.getCoalescedLoadCount()).isEqualTo(0);
+
+		this.service.completePending("value");
+		assertThat(first.join()).isEqualTo("value");
+		assertThat(second.join()).containsExactly("value");
+		assertThat(this.service.getInvocationCount()).isEqualTo(2);
+	}
+
+	@Test
+	void reentrantMissForSameKeyIsNotCoalesced() throws Exception {
+		this.service.release();
+		Future<String> result = this.executor.submit(() -> this.service.loadReentrant("key", 2));
+		assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("key-1");
+		assertThat(this.coalescer.getLoadCount()).isEqualTo(1);
+		assertThat(this.coalescer.getCoalescedLoadCount()).isEqualTo(0);
+		assertThat(this.coalescer.getInFlightLoadCount()).isEqualTo(0);
+	}
+
+	@Test
+	void missesWithCachePutAreNotCoalesced() {
+		CompletableFuture<String> first = this.service.loadAndPut("key");
+		CompletableFuture<String> second = this.service.loadAndPut("key");
+		assertThat(this.coalescer.getCoalescedLoadCount()).isEqualTo(0);
+		this.service.completePending("value");
+		assertThat(first.join()).isEqualTo("value");
+		assertThat(this.service.getInvocationCount()).isEqualTo(2);
+		assertThat(second.join()).isEqualTo("value");
+	}
+
+
+	private <T> List<Future<T>> submit(int count, Callable<T> task) {
+		List<Future<T>> results = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			results.add(this.executor.submit(task));
+		}
+		return results;
+	}
+
+	private void awaitCoalesced(long count) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (this.coalescer.getCoalescedLoadCount() < count) {
+			assertThat(System.currentTimeMillis()).as("coalesced loads").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		public SlowService slowService() {
+			return new SlowService();
+		}
+	}
+
+
+	static class SlowService {
+
+		private final AtomicInteger invocationCount = new AtomicInteger();
+
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		private final CompletableFuture<String> pending = new CompletableFuture<>();
+
+		@Nullable
+		private SlowService self;
+
+		public void setSelf(SlowService self) {
+			this.self = self;
+		}
+
+		public int getInvocationCount() {
+			return this.invocationCount.get();
+		}
+
+		public void release() {
+			this.latch.countDown();
+		}
+
+		public void completePending(String value) {
+			this.pending.complete(value);
+		}
+
+		@Cacheable(cacheNames = {"primary", "secondary"})
+		public String load(String key) throws InterruptedException {
+			int count = this.invocationCount.incrementAndGet();
+			this.latch.await(5, TimeUnit.SECONDS);
+			return key + "-" + count;
+		}
+
+		@Cacheable(cacheNames = "primary", unless = "#result != null")
+		public String loadUncached(String key) throws InterruptedException {
+			return load(key);
+		}
+
+		@Cacheable("primary")
+		public String fail(String key) throws InterruptedException {
+			this.invocationCount.incrementAndGet();
+			this.latch.await(5, TimeUnit.SECONDS);
+			throw new IllegalStateException(key);
+		}
+
+		@Cacheable("primary")
+		public CompletableFuture<String> loadFuture(String key) {
+			this.invocationCount.incrementAndGet();
+			return this.pending.thenApply(value -> value);
+		}
+
+		@Cacheable("primary")
+		public Mono<String> loadMono(String key) {
+			this.invocationCount.incrementAndGet();
+			return Mono.fromFuture(this.pending.thenApply(value -> value));
+		}
+
+		@Cacheable("primary")
+		public Flux<String> loadFlux(String key) {
+			this.invocationCount.incrementAndGet();
+			return Flux.from(Mono.fromFuture(this.pending.thenApply(value -> value)));
+		}
+
+		@Cacheable(cacheNames = "primary", key = "#p0")
+		public String loadReentrant(String key, int depth) throws InterruptedException {
+			return (depth > 0 ? this.self.loadReentrant(key, depth - 1) : load(key));
+		}
+
+		@Cacheable("primary")
+		@CachePut(cacheNames = "secondary")
+		public CompletableFuture<String> loadAndPut(String key) {
+			return loadFuture(key);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -104,6 +104,14 @@ public class CachePutEvaluationTests {
 		assertThat(this.cache.get(anotherValue + 100).get()).as("Wrong value for @CachePut key").isEqualTo(anotherValue);
 	}
 
+	@Test
+	public void conditionVariablesNotVisibleToKey() {
+		Long value = this.service.getWithConditionVariable("1");
+		assertThat(this.cache.get("1").get()).isEqualTo(value);
+		assertThat(this.cache.get("1x")).isNull();
+		assertThat(this.service.getWithConditionVariable("1")).isSameAs(value);
+	}
+
 	@Configuration
 	@EnableCaching
 	static class Config extends CachingConfigurerSupport {
@@ -143,5 +151,10 @@ public class CachePutEvaluationTests {
 		public Long getAndPut(long id) {
 			return this.counter.getAndIncrement();
 		}
+
+		@Cacheable(condition = "(#suffixed = #p0 + 'x') != null", key = "#suffixed ?: #p0")
+		public Long getWithConditionVariable(String id) {
+			return this.counter.getAndIncrement();
+		}
 	}
 }
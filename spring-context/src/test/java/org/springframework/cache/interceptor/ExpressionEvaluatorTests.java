@@ -136,6 +136,39 @@ public class ExpressionEvaluatorTests {
 		assertThat(value).isEqualTo(String.class.getName());
 	}
 
+	@Test
+	public void resolveKeyArgumentIndex() {
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("#a", method)).isEqualTo(0);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex(" #b ", method)).isEqualTo(1);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("#p1", method)).isEqualTo(1);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("#a0", method)).isEqualTo(0);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("#root.args[1]", method)).isEqualTo(1);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("#p2", method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("#c", method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("#a.hashCode()", method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("#result", method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("#root", method)).isEqualTo(-1);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("", method)).isEqualTo(-1);
+
+		Method varArgs = ReflectionUtils.findMethod(AnnotatedClass.class, "varArgs", Object[].class);
+		assertThat(CacheOperationExpressionEvaluator.resolveKeyArgumentIndex("#p0", varArgs)).isEqualTo(-1);
+	}
+
+	@Test
+	public void compiledKeyExpression() {
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		AnnotatedElementKey key = new AnnotatedElementKey(method, AnnotatedClass.class);
+		for (int i = 0; i < 500; i++) {
+			Object[] args = new Object[] {"a" + i, i};
+			EvaluationContext evalCtx = this.eval.createEvaluationContext(Collections.emptyList(), method, args,
+					new AnnotatedClass(), AnnotatedClass.class, method, CacheOperationExpressionEvaluator.NO_RESULT, null);
+			assertThat(this.eval.key("#a.concat('-').concat(#b.toString())", key, evalCtx)).isEqualTo("a" + i + "-" + i);
+		}
+	}
+
 	private EvaluationContext createEvaluationContext(Object result) {
 		return createEvaluationContext(result, null);
 	}
@@ -156,6 +189,9 @@ public class ExpressionEvaluatorTests {
 		@Caching(cacheable = { @Cacheable(value = "test", key = "#a"), @Cacheable(value = "test", key = "#b") })
 		public void multipleCaching(Object a, Object b) {
 		}
+
+		public void varArgs(Object... values) {
+		}
 	}
 
 }
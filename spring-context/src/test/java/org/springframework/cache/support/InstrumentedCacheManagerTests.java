@@ -0,0 +1,107 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.BoundedConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link InstrumentedCacheManager} and {@link InstrumentedCache}.
+ */
+class InstrumentedCacheManagerTests {
+
+	private final ConcurrentMapCacheManager targetCacheManager = new ConcurrentMapCacheManager();
+
+	private final InstrumentedCacheManager cacheManager = new InstrumentedCacheManager(this.targetCacheManager);
+
+
+	@Test
+	void decoratorRetainedPerCache() {
+		Cache cache = this.cacheManager.getCache("test");
+		assertThat(cache).isInstanceOf(InstrumentedCache.class);
+		assertThat(((InstrumentedCache) cache).getTargetCache()).isSameAs(this.targetCacheManager.getCache("test"));
+		assertThat(this.cacheManager.getCache("test")).isSameAs(cache);
+		assertThat(this.cacheManager.getInstrumentedCaches()).containsExactly((InstrumentedCache) cache);
+	}
+
+	@Test
+	void unknownCache() {
+		this.targetCacheManager.setCacheNames(Collections.singleton("test"));
+		assertThat(this.cacheManager.getCache("unknown")).isNull();
+		assertThat(this.cacheManager.getCacheNames()).containsExactly("test");
+	}
+
+	@Test
+	void recordsLookups() {
+		InstrumentedCache cache = (InstrumentedCache) this.cacheManager.getCache("test");
+		cache.put("key", "value");
+		cache.put("null", null);
+		assertThat(cache.get("key")).isNotNull();
+		assertThat(cache.get("null")).isNotNull();
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+		assertThat(cache.get("missing")).isNull();
+
+		assertThat(cache.getHitCount()).isEqualTo(3);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitRatio()).isEqualTo(0.75);
+		assertThat(cache.getGetLatency().getCount()).isEqualTo(4);
+		assertThat(cache.getPutLatency().getCount()).isEqualTo(2);
+		assertThat(cache.getEvictLatency().getCount()).isEqualTo(0);
+	}
+
+	@Test
+	void recordsLoadsSeparately() throws InterruptedException {
+		InstrumentedCache cache = (InstrumentedCache) this.cacheManager.getCache("test");
+		assertThat(cache.get("key", () -> {
+			Thread.sleep(20);
+			return "value";
+		})).isEqualTo("value");
+		assertThat(cache.get("key", () -> "other")).isEqualTo("value");
+
+		assertThat(cache.getLoadCount()).isEqualTo(1);
+		assertThat(cache.getTotalLoadTime()).isGreaterThanOrEqualTo(20_000_000);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getGetLatency().getCount()).isEqualTo(2);
+		assertThat(cache.getGetLatency().getMaxTime()).isLessThan(cache.getTotalLoadTime());
+	}
+
+	@Test
+	void recordsEvictions() {
+		InstrumentedCache cache = new InstrumentedCache(new BoundedConcurrentMapCache("bounded", 1));
+		cache.put("key1", "value");
+		cache.put("key2", "value");
+		cache.evict("key2");
+		assertThat(cache.evictIfPresent("key2")).isFalse();
+		assertThat(cache.getEvictLatency().getCount()).isEqualTo(2);
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void targetCacheManagerRequired() {
+		assertThatIllegalArgumentException().isThrownBy(new InstrumentedCacheManager()::afterPropertiesSet);
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for {@link LatencyHistogram}.
+ */
+class LatencyHistogramTests {
+
+	@Test
+	void emptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertThat(histogram.getCount()).isEqualTo(0);
+		assertThat(histogram.getMeanTime()).isEqualTo(0);
+		assertThat(histogram.getPercentile(99)).isEqualTo(0);
+	}
+
+	@Test
+	void bucketsCoverAllValues() {
+		int previous = -1;
+		for (long value = 0; value < 100_000; value++) {
+			int index = LatencyHistogram.bucketIndex(value);
+			assertThat(index).isBetween(previous, previous + 1);
+			assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+			previous = index;
+		}
+		assertThat(LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)))
+				.isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	void percentilesWithinPrecision() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 10_000; i++) {
+			histogram.record(i * 1000L);
+		}
+		assertThat(histogram.getCount()).isEqualTo(10_000);
+		assertThat(histogram.getMaxTime()).isEqualTo(10_000_000);
+		assertThat(histogram.getMeanTime()).isCloseTo(5_000_500, within(0.1));
+		assertThat((double) histogram.getPercentile(50)).isCloseTo(5_000_000, within(5_000_000 * 0.125));
+		assertThat((double) histogram.getPercentile(99)).isCloseTo(9_900_000, within(9_900_000 * 0.125));
+		assertThat(histogram.getPercentile(100)).isEqualTo(10_000_000);
+		assertThat(histogram.getPercentile(0)).isEqualTo(LatencyHistogram.bucketUpperBound(
+				LatencyHistogram.bucketIndex(1000)));
+	}
+
+	@Test
+	void reset() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(42);
+		histogram.reset();
+		assertThat(histogram.getCount()).isEqualTo(0);
+		assertThat(histogram.getMaxTime()).isEqualTo(0);
+		assertThat(histogram.getPercentile(50)).isEqualTo(0);
+	}
+
+	@Test
+	void invalidPercentile() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new LatencyHistogram().getPercentile(101));
+	}
+
+}
@@ -16,7 +16,11 @@
 
 package org.springframework.context.support;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -24,12 +28,15 @@ import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationContextException;
 import org.springframework.context.Lifecycle;
 import org.springframework.context.LifecycleProcessor;
 import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.testfixture.EnabledForTestGroups;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.springframework.core.testfixture.TestGroup.PERFORMANCE;
 
 /**
@@ -176,6 +183,63 @@ public class DefaultLifecycleProcessorTests {
 		assertThat(getPhase(startedBeans.get(4))).isEqualTo(Integer.MAX_VALUE);
 	}
 
+	@Test
+	public void smartLifecycleGroupConcurrentStartup() throws Exception {
+		CopyOnWriteArrayList<Lifecycle> startedBeans = new CopyOnWriteArrayList<>();
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		BarrierSmartLifecycleBean bean1a = new BarrierSmartLifecycleBean(1, barrier, startedBeans);
+		BarrierSmartLifecycleBean bean1b = new BarrierSmartLifecycleBean(1, barrier, startedBeans);
+		TestSmartLifecycleBean bean2 = TestSmartLifecycleBean.forStartupTests(2, startedBeans);
+		StaticApplicationContext context = createContextWithStartupExecutor(Collections.emptyMap());
+		context.getBeanFactory().registerSingleton("bean2", bean2);
+		context.getBeanFactory().registerSingleton("bean1a", bean1a);
+		context.getBeanFactory().registerSingleton("bean1b", bean1b);
+		context.refresh();
+		assertThat(bean1a.isRunning()).isTrue();
+		assertThat(bean1b.isRunning()).isTrue();
+		assertThat(bean2.isRunning()).isTrue();
+		assertThat(startedBeans).hasSize(3);
+		assertThat(startedBeans.get(2)).isSameAs(bean2);
+		context.close();
+	}
+
+	@Test
+	public void smartLifecycleGroupConcurrentStartupWithDependency() throws Exception {
+		CopyOnWriteArrayList<Lifecycle> startedBeans = new CopyOnWriteArrayList<>();
+		TestSmartLifecycleBean dependent = TestSmartLifecycleBean.forStartupTests(1, startedBeans);
+		TestSmartLifecycleBean dependency = TestSmartLifecycleBean.forStartupTests(1, startedBeans);
+		TestSmartLifecycleBean other = TestSmartLifecycleBean.forStartupTests(1, startedBeans);
+		StaticApplicationContext context = createContextWithStartupExecutor(Collections.emptyMap());
+		context.getBeanFactory().registerSingleton("dependency", dependency);
+		context.getBeanFactory().registerSingleton("dependent", dependent);
+		context.getBeanFactory().registerSingleton("other", other);
+		context.getBeanFactory().registerDependentBean("dependency", "dependent");
+		context.refresh();
+		assertThat(startedBeans).hasSize(3);
+		assertThat(startedBeans.indexOf(dependency)).isLessThan(startedBeans.indexOf(dependent));
+		context.close();
+	}
+
+	@Test
+	public void smartLifecycleGroupConcurrentStartupTimeout() throws Exception {
+		CopyOnWriteArrayList<Lifecycle> startedBeans = new CopyOnWriteArrayList<>();
+		CyclicBarrier barrier = new CyclicBarrier(3);
+		BarrierSmartLifecycleBean bean1a = new BarrierSmartLifecycleBean(1, barrier, startedBeans);
+		BarrierSmartLifecycleBean bean1b = new BarrierSmartLifecycleBean(1, barrier, startedBeans);
+		StaticApplicationContext context = createContextWithStartupExecutor(Collections.singletonMap(1, 50L));
+		context.getBeanFactory().registerSingleton("bean1a", bean1a);
+		context.getBeanFactory().registerSingleton("bean1b", bean1b);
+		try {
+			assertThatExceptionOfType(ApplicationContextException.class).isThrownBy(context::refresh)
+					.withMessageContaining("within timeout of 50ms")
+					.withMessageContaining("bean1a")
+					.withMessageContaining("bean1b");
+		}
+		finally {
+			barrier.reset();
+		}
+	}
+
 	@Test
 	public void contextRefreshThenStartWithMixedBeans() throws Exception {
 		CopyOnWriteArrayList<Lifecycle> startedBeans = new CopyOnWriteArrayList<>();
@@ -296,6 +360,24 @@ public class DefaultLifecycleProcessorTests {
 		assertThat(stoppedBeans.get(0)).isEqualTo(bean);
 	}
 
+	@Test
+	public void smartLifecycleShutdownWithTimeoutForPhase() throws Exception {
+		CopyOnWriteArrayList<Lifecycle> stoppedBeans = new CopyOnWriteArrayList<>();
+		TestSmartLifecycleBean bean1 = TestSmartLifecycleBean.forShutdownTests(1, 5000, stoppedBeans);
+		TestSmartLifecycleBean bean2 = TestSmartLifecycleBean.forShutdownTests(2, 0, stoppedBeans);
+		BeanDefinition beanDefinition = new RootBeanDefinition(DefaultLifecycleProcessor.class);
+		beanDefinition.getPropertyValues().addPropertyValue("timeoutsForShutdownPhases", Collections.singletonMap(1, 50L));
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.registerBeanDefinition("lifecycleProcessor", beanDefinition);
+		context.getBeanFactory().registerSingleton("bean1", bean1);
+		context.getBeanFactory().registerSingleton("bean2", bean2);
+		context.refresh();
+		long startTime = System.nanoTime();
+		context.stop();
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)).isLessThan(2500);
+		assertThat(stoppedBeans).containsExactly(bean2, bean1);
+	}
+
 	@Test
 	public void singleLifecycleShutdown() throws Exception {
 		CopyOnWriteArrayList<Lifecycle> stoppedBeans = new CopyOnWriteArrayList<>();
@@ -570,6 +652,16 @@ public class DefaultLifecycleProcessorTests {
 	}
 
 
+	private static StaticApplicationContext createContextWithStartupExecutor(Map<Integer, Long> timeoutsForStartupPhases) {
+		BeanDefinition beanDefinition = new RootBeanDefinition(DefaultLifecycleProcessor.class);
+		beanDefinition.getPropertyValues().addPropertyValue("startupExecutor", new SimpleAsyncTaskExecutor());
+		beanDefinition.getPropertyValues().addPropertyValue("timeoutsForStartupPhases", timeoutsForStartupPhases);
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.registerBeanDefinition("lifecycleProcessor", beanDefinition);
+		return context;
+	}
+
+
 	private static class TestLifecycleBean implements Lifecycle {
 
 		private final CopyOnWriteArrayList<Lifecycle> startedBeans;
@@ -672,6 +764,54 @@ public class DefaultLifecycleProcessorTests {
 	}
 
 
+	/**
+	 * Bean awaiting a barrier on startup, only starting while other beans start concurrently.
+	 */
+	private static class BarrierSmartLifecycleBean implements SmartLifecycle {
+
+		private final int phase;
+
+		private final CyclicBarrier barrier;
+
+		private final CopyOnWriteArrayList<Lifecycle> startedBeans;
+
+		private volatile boolean running;
+
+		BarrierSmartLifecycleBean(int phase, CyclicBarrier barrier, CopyOnWriteArrayList<Lifecycle> startedBeans) {
+			this.phase = phase;
+			this.barrier = barrier;
+			this.startedBeans = startedBeans;
+		}
+
+		@Override
+		public int getPhase() {
+			return this.phase;
+		}
+
+		@Override
+		public boolean isRunning() {
+			return this.running;
+		}
+
+		@Override
+		public void start() {
+			try {
+				this.barrier.await(5, TimeUnit.SECONDS);
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException("Not started concurrently", ex);
+			}
+			this.startedBeans.add(this);
+			this.running = true;
+		}
+
+		@Override
+		public void stop() {
+			this.running = false;
+		}
+	}
+
+
 	public static class DummySmartLifecycleBean implements SmartLifecycle {
 
 		public boolean running = false;
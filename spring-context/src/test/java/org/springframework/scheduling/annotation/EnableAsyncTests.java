@@ -48,6 +48,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.Ordered;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -204,6 +205,26 @@ public class EnableAsyncTests {
 		ctx.close();
 	}
 
+	@Test
+	public void virtualThreadsExecutor() {
+		// Arrange
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(VirtualThreadsConfig.class);
+		ctx.refresh();
+		AsyncBean asyncBean = ctx.getBean(AsyncBean.class);
+		// Act
+		asyncBean.work();
+		// Assert
+		Awaitility.await()
+					.atMost(500, TimeUnit.MILLISECONDS)
+					.pollInterval(10, TimeUnit.MILLISECONDS)
+					.until(() -> asyncBean.getThreadOfExecution() != null);
+		Thread thread = asyncBean.getThreadOfExecution();
+		assertThat(thread.getName()).startsWith("SimpleAsyncTaskExecutor-");
+		assertThat(thread.isDaemon()).isEqualTo(SimpleAsyncTaskExecutor.isVirtualThreadSupported());
+		ctx.close();
+	}
+
 	@Test
 	public void customExecutorConfig() {
 		// Arrange
@@ -492,6 +513,22 @@ public class EnableAsyncTests {
 	}
 
 
+	@Configuration
+	@EnableAsync(virtualThreads = true)
+	static class VirtualThreadsConfig {
+
+		@Bean
+		public AsyncBean asyncBean() {
+			return new AsyncBean();
+		}
+
+		@Bean
+		public Executor taskExecutor() {
+			return Executors.newSingleThreadExecutor(new CustomizableThreadFactory("Custom-"));
+		}
+	}
+
+
 	@Configuration
 	@EnableAsync
 	static class CustomExecutorConfig implements AsyncConfigurer {
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutionStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ThreadPoolTaskExecutor} with eager pool growth and statistics.
+ */
+class EagerThreadPoolTaskExecutorTests extends AbstractSchedulingTaskExecutorTests {
+
+	@Override
+	protected AsyncListenableTaskExecutor buildExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setEagerPoolGrowth(true);
+		executor.setCollectStatistics(true);
+		executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+		executor.setMaxPoolSize(1);
+		executor.afterPropertiesSet();
+		return executor;
+	}
+
+
+	@Test
+	void poolGrowsBeforeQueueing() throws Exception {
+		ThreadPoolTaskExecutor executor = createEagerExecutor(4, 10);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < 4; i++) {
+				executor.execute(() -> await(release));
+			}
+			assertThat(executor.getPoolSize()).isEqualTo(4);
+			assertThat(executor.getThreadPoolExecutor().getQueue()).isEmpty();
+
+			executor.execute(() -> await(release));
+			assertThat(executor.getPoolSize()).isEqualTo(4);
+			assertThat(executor.getThreadPoolExecutor().getQueue()).hasSize(1);
+		}
+		finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void idleThreadsReusedBeforeGrowing() throws Exception {
+		ThreadPoolTaskExecutor executor = createEagerExecutor(4, 10);
+		try {
+			for (int i = 0; i < 10; i++) {
+				executor.submit(() -> { }).get(1, TimeUnit.SECONDS);
+				awaitIdle(executor);
+			}
+			assertThat(executor.getPoolSize()).isEqualTo(1);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void tasksRejectedWhenPoolAndQueueFull() {
+		ThreadPoolTaskExecutor executor = createEagerExecutor(2, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < 3; i++) {
+				executor.execute(() -> await(release));
+			}
+			assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() ->
+					executor.execute(() -> await(release)));
+		}
+		finally {
+			release.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void statisticsRecorded() throws Exception {
+		ThreadPoolTaskExecutor executor = createEagerExecutor(1, 10);
+		try {
+			executor.execute(() -> sleep(20));
+			executor.submit(() -> sleep(20)).get(1, TimeUnit.SECONDS);
+			awaitIdle(executor);
+
+			TaskExecutionStatistics statistics = executor.getStatistics();
+			assertThat(statistics).isNotNull();
+			assertThat(statistics.getTaskCount()).isEqualTo(2);
+			assertThat(statistics.getMaxExecutionTime()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+			assertThat(statistics.getMaxQueueWaitTime()).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+			assertThat(statistics.getAverageExecutionTime()).isLessThanOrEqualTo(statistics.getMaxExecutionTime());
+
+			statistics.reset();
+			assertThat(statistics.getTaskCount()).isEqualTo(0);
+			assertThat(statistics.getAverageQueueWaitTime()).isEqualTo(Duration.ZERO);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	private static ThreadPoolTaskExecutor createEagerExecutor(int maxPoolSize, int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setMaxPoolSize(maxPoolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setEagerPoolGrowth(true);
+		executor.setCollectStatistics(true);
+		executor.afterPropertiesSet();
+		return executor;
+	}
+
+	private static void awaitIdle(ThreadPoolTaskExecutor executor) throws InterruptedException {
+		// A completed future does not mean that its thread finished its bookkeeping yet
+		while (executor.getActiveCount() > 0) {
+			Thread.sleep(1);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
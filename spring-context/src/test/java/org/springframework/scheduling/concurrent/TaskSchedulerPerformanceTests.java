@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.testfixture.EnabledForTestGroups;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.core.testfixture.TestGroup.PERFORMANCE;
+
+/**
+ * Compares {@link ThreadPoolTaskScheduler} and {@link TimingWheelTaskScheduler}
+ * for large numbers of timeouts, most of which get cancelled before they expire.
+ */
+@EnabledForTestGroups(PERFORMANCE)
+class TaskSchedulerPerformanceTests {
+
+	private static final boolean DEBUG = false;
+
+	private static final int THREADS = 4;
+
+	private static final int TIMEOUTS_PER_THREAD = 250_000;
+
+
+	@Test
+	void scheduledThreadPool() throws Exception {
+		ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setRemoveOnCancelPolicy(true);
+		measure("ThreadPoolTaskScheduler", scheduler);
+	}
+
+	@Test
+	void timingWheel() throws Exception {
+		measure("TimingWheelTaskScheduler", new TimingWheelTaskScheduler());
+	}
+
+	private void measure(String name, ThreadPoolTaskScheduler scheduler) throws Exception {
+		scheduler.setPoolSize(2);
+		scheduler.afterPropertiesSet();
+		try {
+			run(scheduler);  // warmup
+			long start = System.nanoTime();
+			int expired = run(scheduler);
+			long nanosPerTimeout = (System.nanoTime() - start) / (THREADS * TIMEOUTS_PER_THREAD);
+			if (DEBUG) {
+				System.out.println(name + ": " + nanosPerTimeout + "ns per scheduled and cancelled timeout, " +
+						expired + " expired timeouts");
+			}
+		}
+		finally {
+			scheduler.shutdown();
+		}
+	}
+
+	private int run(ThreadPoolTaskScheduler scheduler) throws Exception {
+		AtomicInteger expired = new AtomicInteger();
+		CountDownLatch lastExpired = new CountDownLatch(THREADS);
+		ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> results = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				results.add(callers.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					List<ScheduledFuture<?>> timeouts = new ArrayList<>(TIMEOUTS_PER_THREAD);
+					long now = System.currentTimeMillis();
+					for (int j = 0; j < TIMEOUTS_PER_THREAD; j++) {
+						Date deadline = new Date(now + 30_000 + random.nextInt(30_000));
+						timeouts.add(scheduler.schedule(expired::incrementAndGet, deadline));
+					}
+					// Cancel all timeouts except for a few short ones
+					for (ScheduledFuture<?> timeout : timeouts) {
+						timeout.cancel(false);
+					}
+					scheduler.schedule(() -> {
+						expired.incrementAndGet();
+						lastExpired.countDown();
+					}, new Date(now + 50));
+				}));
+			}
+			for (Future<?> result : results) {
+				result.get();
+			}
+			assertThat(lastExpired.await(10, TimeUnit.SECONDS)).isTrue();
+			assertThat(expired.get()).isEqualTo(THREADS);
+			return expired.get();
+		}
+		finally {
+			callers.shutdown();
+		}
+	}
+
+}
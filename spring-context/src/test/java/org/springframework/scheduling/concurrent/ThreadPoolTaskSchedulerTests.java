@@ -27,6 +27,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutionStatistics;
 import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.TriggerContext;
 import org.springframework.util.ErrorHandler;
@@ -41,9 +43,13 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
  */
 public class ThreadPoolTaskSchedulerTests extends AbstractSchedulingTaskExecutorTests {
 
-	private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+	final ThreadPoolTaskScheduler scheduler = createScheduler();
 
 
+	protected ThreadPoolTaskScheduler createScheduler() {
+		return new ThreadPoolTaskScheduler();
+	}
+
 	@Override
 	protected AsyncListenableTaskExecutor buildExecutor() {
 		scheduler.setThreadNamePrefix(THREAD_NAME_PREFIX);
@@ -134,11 +140,65 @@ public class ThreadPoolTaskSchedulerTests extends AbstractSchedulingTaskExecutor
 		}
 	}
 
+	@Test
+	public void scheduleTriggerTaskOnVirtualThreads() throws Exception {
+		ThreadPoolTaskScheduler scheduler = createScheduler();
+		scheduler.setVirtualThreads(true);
+		scheduler.setThreadNamePrefix(THREAD_NAME_PREFIX);
+		scheduler.afterPropertiesSet();
+		try {
+			TestTask task = new TestTask(2);
+			scheduler.schedule(task, new TestTrigger(2));
+			await(task);
+			assertThreadNamePrefix(task);
+			assertThat(task.lastThread.isDaemon()).isEqualTo(ThreadPoolTaskScheduler.isVirtualThreadSupported());
+		}
+		finally {
+			scheduler.shutdown();
+		}
+	}
+
+	@Test
+	public void scheduleTasksWithTaskExecutionListener() throws Exception {
+		TaskExecutionStatistics statistics = new TaskExecutionStatistics();
+		ThreadPoolTaskScheduler scheduler = createScheduler();
+		scheduler.setTaskExecutionListener(statistics);
+		scheduler.afterPropertiesSet();
+		try {
+			TestTask triggerTask = new TestTask(2);
+			scheduler.schedule(triggerTask, new TestTrigger(2));
+			await(triggerTask);
+			scheduler.schedule(new TestTask(1), new Date()).get(1000, TimeUnit.MILLISECONDS);
+			Future<?> failingFuture = scheduler.submit(new TestTask(0));
+			assertThatExceptionOfType(ExecutionException.class).isThrownBy(() ->
+					failingFuture.get(1000, TimeUnit.MILLISECONDS));
+			awaitTaskCount(statistics, 4);
+
+			assertThat(statistics.getTaskCount()).isEqualTo(4);
+			assertThat(statistics.getFailedTaskCount()).isEqualTo(1);
+			assertThat(statistics.getExecutionTimeHistogram().values().stream().mapToLong(Long::longValue).sum())
+					.isEqualTo(4);
+		}
+		finally {
+			scheduler.shutdown();
+		}
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() ->
+				scheduler.execute(new TestTask(1)));
+		assertThat(statistics.getRejectedTaskCount()).isEqualTo(1);
+	}
+
 
 	private void assertThreadNamePrefix(TestTask task) {
 		assertThat(task.lastThread.getName().substring(0, THREAD_NAME_PREFIX.length())).isEqualTo(THREAD_NAME_PREFIX);
 	}
 
+	private void awaitTaskCount(TaskExecutionStatistics statistics, long taskCount) throws InterruptedException {
+		// Executions are reported after the task itself completed
+		for (int i = 0; i < 1000 && statistics.getTaskCount() < taskCount; i++) {
+			Thread.sleep(1);
+		}
+	}
+
 	private void await(TestTask task) {
 		await(task.latch);
 	}
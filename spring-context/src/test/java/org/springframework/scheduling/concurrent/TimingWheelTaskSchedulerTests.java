@@ -0,0 +1,199 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link TimingWheelTaskScheduler}, in addition to the
+ * {@link ThreadPoolTaskScheduler} contract.
+ */
+class TimingWheelTaskSchedulerTests extends ThreadPoolTaskSchedulerTests {
+
+	@Override
+	protected ThreadPoolTaskScheduler createScheduler() {
+		TimingWheelTaskScheduler scheduler = new TimingWheelTaskScheduler();
+		scheduler.setTickDuration(Duration.ofMillis(5));
+		// Small wheels for deadlines cascading down from overflow wheels
+		scheduler.setTicksPerWheel(4);
+		return scheduler;
+	}
+
+
+	@Test
+	void delayedTasksNeverExecutedEarly() throws Exception {
+		int taskCount = 200;
+		CountDownLatch latch = new CountDownLatch(taskCount);
+		AtomicInteger earlyCount = new AtomicInteger();
+		for (int i = 0; i < taskCount; i++) {
+			long delay = i % 100;
+			// Date based start times are only precise to the millisecond
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay - 1);
+			this.scheduler.schedule(() -> {
+				if (System.nanoTime() < deadline) {
+					earlyCount.incrementAndGet();
+				}
+				latch.countDown();
+			}, new Date(System.currentTimeMillis() + delay));
+		}
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(earlyCount.get()).isEqualTo(0);
+	}
+
+	@Test
+	void cancelledTasksNotExecuted() throws Exception {
+		AtomicInteger runCount = new AtomicInteger();
+		List<ScheduledFuture<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			futures.add(this.scheduler.schedule(runCount::incrementAndGet, new Date(System.currentTimeMillis() + 50)));
+		}
+		futures.forEach(future -> future.cancel(false));
+		ScheduledFuture<?> marker = this.scheduler.schedule(() -> { }, new Date(System.currentTimeMillis() + 100));
+		marker.get(2, TimeUnit.SECONDS);
+		assertThat(runCount.get()).isEqualTo(0);
+		assertThat(futures).allMatch(ScheduledFuture::isCancelled);
+	}
+
+	@Test
+	void fixedRateTaskRepeatedUntilCancelled() throws Exception {
+		CountDownLatch latch = new CountDownLatch(5);
+		ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(latch::countDown, 2);
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		future.cancel(false);
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(future.isDone()).isTrue();
+	}
+
+	@Test
+	void fixedDelayTaskRepeated() throws Exception {
+		CountDownLatch latch = new CountDownLatch(5);
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(latch::countDown, 2);
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		future.cancel(false);
+	}
+
+	@Test
+	void delayedTasksExecutedAfterShutdown() throws Exception {
+		ScheduledExecutorService executor = this.scheduler.getScheduledExecutor();
+		CountDownLatch latch = new CountDownLatch(1);
+		ScheduledFuture<?> oneShot = executor.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+		ScheduledFuture<?> periodic = executor.scheduleAtFixedRate(() -> { }, 1, 1, TimeUnit.SECONDS);
+		executor.shutdown();
+
+		assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() ->
+				executor.schedule(() -> { }, 1, TimeUnit.MILLISECONDS));
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(executor.awaitTermination(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(oneShot.isDone()).isTrue();
+		assertThat(periodic.isCancelled()).isTrue();
+	}
+
+	@Test
+	void delayedTasksDiscardedAfterShutdownWithCallerRunsPolicy() throws Exception {
+		TimingWheelScheduledExecutor executor = new TimingWheelScheduledExecutor(5, TimeUnit.MILLISECONDS, 4, 1,
+				Executors.defaultThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+		CountDownLatch latch = new CountDownLatch(1);
+		executor.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+		executor.shutdown();
+
+		AtomicInteger runCount = new AtomicInteger();
+		ScheduledFuture<?> rejected = executor.schedule(runCount::incrementAndGet, 1, TimeUnit.MINUTES);
+		executor.execute(runCount::incrementAndGet);
+		assertThat(runCount.get()).isEqualTo(0);
+		assertThat(rejected.isDone()).isFalse();
+		assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(executor.awaitTermination(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(runCount.get()).isEqualTo(0);
+	}
+
+	@Test
+	void timerThreadParkedWhileNoTaskScheduled() throws Exception {
+		List<Thread> threads = new CopyOnWriteArrayList<>();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable);
+			threads.add(thread);
+			return thread;
+		};
+		TimingWheelScheduledExecutor executor = new TimingWheelScheduledExecutor(1, TimeUnit.MILLISECONDS, 4, 1,
+				threadFactory, new ThreadPoolExecutor.AbortPolicy());
+		try {
+			Thread timerThread = threads.get(0);
+			awaitState(timerThread, Thread.State.WAITING);
+
+			CountDownLatch latch = new CountDownLatch(1);
+			executor.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+			assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+			awaitState(timerThread, Thread.State.WAITING);
+
+			executor.schedule(() -> { }, 1, TimeUnit.MINUTES).cancel(false);
+			awaitState(timerThread, Thread.State.WAITING);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(executor.awaitTermination(2, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void pendingTasksReturnedOnShutdownNow() {
+		ScheduledExecutorService executor = this.scheduler.getScheduledExecutor();
+		executor.schedule(() -> { }, 1, TimeUnit.MINUTES);
+		executor.schedule(() -> { }, 1, TimeUnit.HOURS);
+		executor.schedule(() -> { }, 1, TimeUnit.DAYS).cancel(false);
+		assertThat(executor.shutdownNow()).hasSize(2);
+		assertThat(executor.isShutdown()).isTrue();
+	}
+
+	@Test
+	void poolSizeAdjustedAtRuntime() {
+		TimingWheelTaskScheduler scheduler = (TimingWheelTaskScheduler) this.scheduler;
+		scheduler.setPoolSize(3);
+		for (int i = 0; i < 10; i++) {
+			scheduler.execute(() -> { });
+		}
+		assertThat(scheduler.getPoolSize()).isBetween(1, 3);
+		assertThat(scheduler.isRemoveOnCancelPolicy()).isTrue();
+	}
+
+
+	private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+		while (thread.getState() != state && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(thread.getState()).isEqualTo(state);
+	}
+
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.support;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CronExpression}.
+ */
+class CronExpressionTests {
+
+	@Test
+	void everySecond() {
+		CronExpression expression = CronExpression.parse("* * * * * *");
+		assertThat(expression.next(LocalDateTime.of(2022, 1, 1, 10, 0, 0))).isEqualTo(LocalDateTime.of(2022, 1, 1, 10, 0, 1));
+		assertThat(expression.next(LocalDateTime.of(2022, 1, 1, 10, 0, 0, 500))).isEqualTo(LocalDateTime.of(2022, 1, 1, 10, 0, 1));
+		assertThat(expression.next(LocalDateTime.of(2022, 12, 31, 23, 59, 59))).isEqualTo(LocalDateTime.of(2023, 1, 1, 0, 0, 0));
+	}
+
+	@Test
+	void incrementsAndRanges() {
+		CronExpression expression = CronExpression.parse("*/15 * 1-4 * * *");
+		assertThat(expression.next(LocalDateTime.of(2012, 7, 1, 9, 53, 50))).isEqualTo(LocalDateTime.of(2012, 7, 2, 1, 0));
+		assertThat(expression.next(LocalDateTime.of(2012, 7, 2, 1, 0, 50))).isEqualTo(LocalDateTime.of(2012, 7, 2, 1, 1));
+
+		expression = CronExpression.parse("0 0/30 8-10 * * *");
+		assertThat(expression.next(LocalDateTime.of(2012, 7, 1, 10, 30))).isEqualTo(LocalDateTime.of(2012, 7, 2, 8, 0));
+		assertThat(expression.next(LocalDateTime.of(2012, 7, 1, 8, 10))).isEqualTo(LocalDateTime.of(2012, 7, 1, 8, 30));
+	}
+
+	@Test
+	void listsAndNames() {
+		CronExpression expression = CronExpression.parse("0 0 6,19 * JAN-MAR,DEC mon-fri");
+		// Saturday 31 December 2022
+		assertThat(expression.next(LocalDateTime.of(2022, 12, 30, 20, 0))).isEqualTo(LocalDateTime.of(2023, 1, 2, 6, 0));
+		assertThat(expression.next(LocalDateTime.of(2023, 3, 31, 19, 0))).isEqualTo(LocalDateTime.of(2023, 12, 1, 6, 0));
+	}
+
+	@Test
+	void dayOfMonthAndDayOfWeekMustBothMatch() {
+		// Friday the 13th
+		CronExpression expression = CronExpression.parse("0 0 0 13 * FRI");
+		assertThat(expression.next(LocalDateTime.of(2022, 5, 14, 0, 0))).isEqualTo(LocalDateTime.of(2023, 1, 13, 0, 0));
+	}
+
+	@Test
+	void sundayAsZeroOrSeven() {
+		LocalDateTime saturday = LocalDateTime.of(2022, 10, 15, 12, 0);
+		LocalDateTime sunday = LocalDateTime.of(2022, 10, 16, 0, 0);
+		assertThat(CronExpression.parse("0 0 0 * * 0").next(saturday)).isEqualTo(sunday);
+		assertThat(CronExpression.parse("0 0 0 * * 7").next(saturday)).isEqualTo(sunday);
+		assertThat(CronExpression.parse("0 0 0 * * SUN").next(saturday)).isEqualTo(sunday);
+		assertThat(CronExpression.parse("0 0 0 * * 0")).isEqualTo(CronExpression.parse("0 0 0 * * 7"));
+	}
+
+	@Test
+	void leapDay() {
+		CronExpression expression = CronExpression.parse("0 0 0 29 2 *");
+		assertThat(expression.next(LocalDateTime.of(2021, 3, 1, 0, 0))).isEqualTo(LocalDateTime.of(2024, 2, 29, 0, 0));
+		assertThat(expression.next(LocalDateTime.of(2096, 3, 1, 0, 0))).isEqualTo(LocalDateTime.of(2104, 2, 29, 0, 0));
+	}
+
+	@Test
+	void noMatch() {
+		assertThat(CronExpression.parse("0 0 0 30 2 *").next(LocalDateTime.of(2022, 1, 1, 0, 0))).isNull();
+		assertThat(CronExpression.parse("0 0 0 31 4 *").next(ZonedDateTime.now())).isNull();
+	}
+
+	@Test
+	void macros() {
+		LocalDateTime dateTime = LocalDateTime.of(2022, 10, 18, 10, 30);
+		assertThat(CronExpression.parse("@yearly").next(dateTime)).isEqualTo(LocalDateTime.of(2023, 1, 1, 0, 0));
+		assertThat(CronExpression.parse("@annually").next(dateTime)).isEqualTo(LocalDateTime.of(2023, 1, 1, 0, 0));
+		assertThat(CronExpression.parse("@monthly").next(dateTime)).isEqualTo(LocalDateTime.of(2022, 11, 1, 0, 0));
+		assertThat(CronExpression.parse("@weekly").next(dateTime)).isEqualTo(LocalDateTime.of(2022, 10, 23, 0, 0));
+		assertThat(CronExpression.parse("@daily").next(dateTime)).isEqualTo(LocalDateTime.of(2022, 10, 19, 0, 0));
+		assertThat(CronExpression.parse("@midnight").next(dateTime)).isEqualTo(LocalDateTime.of(2022, 10, 19, 0, 0));
+		assertThat(CronExpression.parse("@hourly").next(dateTime)).isEqualTo(LocalDateTime.of(2022, 10, 18, 11, 0));
+		assertThat(CronExpression.parse("@hourly")).isEqualTo(CronExpression.parse("0 0 * * * *"));
+		assertThat(CronExpression.parse("@hourly").toString()).isEqualTo("@hourly");
+	}
+
+	@Test
+	void invalidExpressions() {
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse(""));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("0 0 * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("@fortnightly"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("*/0 * * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("*/-1 * * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("* 6-5 * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("60 * * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("* * * 0 * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("* * * * 13 *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("* * * * * 8"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("* 1-2-3 * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("*/1/2 * * * * *"));
+		assertThatIllegalArgumentException().isThrownBy(() -> CronExpression.parse("* * * * FOO *"));
+	}
+
+	@Test
+	void isValidExpression() {
+		assertThat(CronExpression.isValidExpression(null)).isFalse();
+		assertThat(CronExpression.isValidExpression("")).isFalse();
+		assertThat(CronExpression.isValidExpression("*")).isFalse();
+		assertThat(CronExpression.isValidExpression("* * * * * *")).isTrue();
+		assertThat(CronExpression.isValidExpression("0 0 0 25 12 ?")).isTrue();
+		assertThat(CronExpression.isValidExpression("@daily")).isTrue();
+	}
+
+	@Test
+	void daylightSavingGapShiftedForward() {
+		ZoneId zone = ZoneId.of("Europe/Berlin");
+		CronExpression expression = CronExpression.parse("0 30 2 * * *");
+		ZonedDateTime before = ZonedDateTime.of(2022, 3, 27, 1, 0, 0, 0, zone);
+		ZonedDateTime shifted = expression.next(before);
+		assertThat(shifted.toLocalDateTime()).isEqualTo(LocalDateTime.of(2022, 3, 27, 3, 30));
+		assertThat(shifted.getOffset()).isEqualTo(ZoneOffset.ofHours(2));
+		assertThat(expression.next(shifted)).isEqualTo(ZonedDateTime.of(2022, 3, 28, 2, 30, 0, 0, zone));
+
+		expression = CronExpression.parse("0 0 * * * *");
+		ZonedDateTime next = expression.next(before.plusMinutes(30));
+		assertThat(next.toLocalDateTime()).isEqualTo(LocalDateTime.of(2022, 3, 27, 3, 0));
+		assertThat(expression.next(next).toLocalDateTime()).isEqualTo(LocalDateTime.of(2022, 3, 27, 4, 0));
+	}
+
+	@Test
+	void daylightSavingOverlapMatchedOnce() {
+		ZoneId zone = ZoneId.of("Europe/Berlin");
+		CronExpression expression = CronExpression.parse("0 30 2 * * *");
+		ZonedDateTime first = expression.next(ZonedDateTime.of(2022, 10, 30, 1, 0, 0, 0, zone));
+		assertThat(first.toLocalDateTime()).isEqualTo(LocalDateTime.of(2022, 10, 30, 2, 30));
+		assertThat(first.getOffset()).isEqualTo(ZoneOffset.ofHours(2));
+		assertThat(expression.next(first)).isEqualTo(ZonedDateTime.of(2022, 10, 31, 2, 30, 0, 0, zone));
+	}
+
+	@Test
+	void daylightSavingOverlapMatchedTwiceForWildcard() {
+		ZoneId zone = ZoneId.of("Europe/Berlin");
+		for (String pattern : new String[] {"0 30 * * * *", "0 */30 2 * * *", "* 30 2 * * *"}) {
+			CronExpression expression = CronExpression.parse(pattern);
+			ZonedDateTime first = expression.next(ZonedDateTime.of(2022, 10, 30, 2, 29, 59, 0, zone));
+			assertThat(first.toLocalDateTime()).as(pattern).isEqualTo(LocalDateTime.of(2022, 10, 30, 2, 30));
+			assertThat(first.getOffset()).as(pattern).isEqualTo(ZoneOffset.ofHours(2));
+
+			ZonedDateTime second = ZonedDateTime.ofLocal(LocalDateTime.of(2022, 10, 30, 2, 29, 59), zone, ZoneOffset.ofHours(1));
+			second = expression.next(second);
+			assertThat(second.toLocalDateTime()).as(pattern).isEqualTo(LocalDateTime.of(2022, 10, 30, 2, 30));
+			assertThat(second.getOffset()).as(pattern).isEqualTo(ZoneOffset.ofHours(1));
+		}
+		CronExpression expression = CronExpression.parse("0 30 * * * *");
+		ZonedDateTime first = expression.next(ZonedDateTime.of(2022, 10, 30, 2, 0, 0, 0, zone));
+		assertThat(first.getOffset()).isEqualTo(ZoneOffset.ofHours(2));
+		ZonedDateTime second = expression.next(first);
+		assertThat(second.toLocalDateTime()).isEqualTo(LocalDateTime.of(2022, 10, 30, 2, 30));
+		assertThat(second.getOffset()).isEqualTo(ZoneOffset.ofHours(1));
+	}
+
+	/**
+	 * Each match must be confirmed by the old generator, and must never lie after
+	 * its result. The old generator occasionally skips matches or returns times not
+	 * matching at all when rolling over to the next day, so its results only count
+	 * if it returns them again when starting one second earlier.
+	 */
+	@Test
+	@SuppressWarnings("deprecation")
+	void consistentWithCronSequenceGenerator() {
+		Random random = new Random(42);
+		TimeZone timeZone = TimeZone.getTimeZone("UTC");
+		int sameResults = 0;
+		int total = 0;
+		for (int i = 0; i < 2000; i++) {
+			String expression = randomExpression(random);
+			CronExpression cronExpression = CronExpression.parse(expression);
+			CronSequenceGenerator generator = new CronSequenceGenerator(expression, timeZone);
+			ZonedDateTime dateTime = ZonedDateTime.of(2000 + random.nextInt(40), 1 + random.nextInt(12),
+					1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60),
+					random.nextInt(1000) * 1_000_000, ZoneOffset.UTC);
+			for (int j = 0; j < 5; j++) {
+				Date expected;
+				try {
+					expected = generator.next(Date.from(dateTime.toInstant()));
+				}
+				catch (IllegalArgumentException ex) {
+					// Runaway search in the old generator, e.g. for February 30
+					break;
+				}
+				String description = String.format("Next match of \"%s\" after %s", expression, dateTime);
+				ZonedDateTime next = cronExpression.next(dateTime);
+				assertThat(next).as(description).isNotNull();
+				Date actual = Date.from(next.toInstant());
+				assertThat(generator.next(new Date(actual.getTime() - 1000))).as(description).isEqualTo(actual);
+				if (generator.next(new Date(expected.getTime() - 1000)).equals(expected)) {
+					assertThat(actual).as(description).isBeforeOrEqualsTo(expected);
+				}
+				if (actual.equals(expected)) {
+					sameResults++;
+				}
+				total++;
+				dateTime = next;
+			}
+		}
+		assertThat(sameResults).isGreaterThan(total * 9 / 10);
+	}
+
+	private static String randomExpression(Random random) {
+		// CronSequenceGenerator started "*/n" days of month at 0, so use "1/n" instead
+		return randomField(random, 0, 59) + " " + randomField(random, 0, 59) + " " + randomField(random, 0, 23) +
+				" " + randomField(random, 1, 31).replace("*/", "1/") + " " + randomField(random, 1, 12) +
+				" " + randomField(random, 0, 7);
+	}
+
+	private static String randomField(Random random, int min, int max) {
+		StringBuilder field = new StringBuilder();
+		int count = 1 + random.nextInt(3);
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				field.append(',');
+			}
+			int start = min + random.nextInt(max - min + 1);
+			int end = start + random.nextInt(max - start + 1);
+			switch (random.nextInt(6)) {
+				case 0:
+					return "*";
+				case 1:
+					field.append("*/").append(1 + random.nextInt(max));
+					break;
+				case 2:
+					field.append(start);
+					break;
+				case 3:
+					field.append(start).append('-').append(end);
+					break;
+				case 4:
+					field.append(start).append('/').append(1 + random.nextInt(max));
+					break;
+				default:
+					field.append(start).append('-').append(end).append('/').append(1 + random.nextInt(max));
+			}
+		}
+		return field.toString();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,8 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
@@ -27,6 +29,7 @@ import java.util.TimeZone;
 import java.util.stream.Stream;
 
 import org.joda.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -825,10 +828,8 @@ class CronTriggerTests {
 		this.calendar.set(Calendar.SECOND, 54);
 		Date localDate = this.calendar.getTime();
 		TriggerContext context1 = getTriggerContext(localDate);
-		if (timeZone.equals(TimeZone.getTimeZone("CET"))) {
-			// Clocks go forward an hour so 2am doesn't exist in CET for this localDateTime
-			this.calendar.add(Calendar.DAY_OF_MONTH, 1);
-		}
+		// Clocks go forward an hour so 2am doesn't exist in CET for this localDateTime:
+		// shifted forward to 3:10 by the lenient calendar as well as by the trigger
 		this.calendar.add(Calendar.HOUR_OF_DAY, 1);
 		this.calendar.set(Calendar.MINUTE, 10);
 		this.calendar.set(Calendar.SECOND, 0);
@@ -836,6 +837,43 @@ class CronTriggerTests {
 		assertThat(actual).isEqualTo(this.calendar.getTime());
 	}
 
+	@Test
+	void testDaylightSavingGapShiftedForward() {
+		ZoneId zoneId = ZoneId.of("Europe/Berlin");
+		CronTrigger trigger = new CronTrigger("0 30 2 * * *", zoneId);
+		Date next = trigger.nextExecutionTime(getTriggerContext(date(2022, 3, 27, 1, 0, zoneId)));
+		assertThat(next).isEqualTo(date(2022, 3, 27, 3, 30, zoneId));
+		assertThat(next.toInstant()).isEqualTo(Instant.parse("2022-03-27T01:30:00Z"));
+		next = trigger.nextExecutionTime(getTriggerContext(next));
+		assertThat(next).isEqualTo(date(2022, 3, 28, 2, 30, zoneId));
+	}
+
+	@Test
+	void testDaylightSavingOverlapFiresOnce() {
+		ZoneId zoneId = ZoneId.of("Europe/Berlin");
+		CronTrigger trigger = new CronTrigger("0 30 2 * * *", zoneId);
+		Date next = trigger.nextExecutionTime(getTriggerContext(date(2022, 10, 30, 1, 0, zoneId)));
+		assertThat(next.toInstant()).isEqualTo(Instant.parse("2022-10-30T00:30:00Z"));
+		next = trigger.nextExecutionTime(getTriggerContext(next));
+		assertThat(next).isEqualTo(date(2022, 10, 31, 2, 30, zoneId));
+	}
+
+	@Test
+	void testDaylightSavingOverlapFiresTwiceForWildcardHour() {
+		ZoneId zoneId = ZoneId.of("Europe/Berlin");
+		CronTrigger trigger = new CronTrigger("0 30 * * * *", zoneId);
+		Date next = trigger.nextExecutionTime(getTriggerContext(date(2022, 10, 30, 2, 0, zoneId)));
+		assertThat(next.toInstant()).isEqualTo(Instant.parse("2022-10-30T00:30:00Z"));
+		next = trigger.nextExecutionTime(getTriggerContext(next));
+		assertThat(next.toInstant()).isEqualTo(Instant.parse("2022-10-30T01:30:00Z"));
+		next = trigger.nextExecutionTime(getTriggerContext(next));
+		assertThat(next).isEqualTo(date(2022, 10, 30, 3, 30, zoneId));
+	}
+
+	private static Date date(int year, int month, int day, int hour, int minute, ZoneId zoneId) {
+		return Date.from(java.time.LocalDateTime.of(year, month, day, hour, minute).atZone(zoneId).toInstant());
+	}
+
 	private static void roundup(Calendar calendar) {
 		calendar.add(Calendar.SECOND, 1);
 		calendar.set(Calendar.MILLISECOND, 0);
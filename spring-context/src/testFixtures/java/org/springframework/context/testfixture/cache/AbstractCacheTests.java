@@ -16,7 +16,10 @@
 
 package org.springframework.context.testfixture.cache;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
@@ -113,6 +116,32 @@ public abstract class AbstractCacheTests<T extends Cache> {
 		assertThat((Object) cache.get("enescu")).isNull();
 	}
 
+	@Test
+	public void testCacheBulkOperations() {
+		T cache = getCache();
+
+		String key1 = createRandomKey();
+		String key2 = createRandomKey();
+		String key3 = createRandomKey();
+		assertThat(cache.getAll(Arrays.asList(key1, key2, key3))).isEmpty();
+
+		Map<String, Object> entries = new LinkedHashMap<>();
+		entries.put(key1, "value1");
+		entries.put(key2, null);
+		cache.putAll(entries);
+		assertThat(cache.get(key1, String.class)).isEqualTo("value1");
+
+		Map<Object, Cache.ValueWrapper> found = cache.getAll(Arrays.asList(key3, key2, key1));
+		assertThat(found).containsOnlyKeys(key2, key1);
+		assertThat(found.keySet()).containsExactly(key2, key1);
+		assertThat(found.get(key1).get()).isEqualTo("value1");
+		assertThat(found.get(key2).get()).isNull();
+
+		cache.evictAll(Arrays.asList(key1, key3));
+		assertThat(cache.get(key1)).isNull();
+		assertThat(cache.getAll(Arrays.asList(key1, key2, key3))).containsOnlyKeys(key2);
+	}
+
 	@Test
 	public void testCacheGetCallable() {
 		doTestCacheGetCallable("test");
@@ -18,6 +18,9 @@ package org.springframework.core.codec;
 
 import java.util.Map;
 
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
@@ -44,6 +47,19 @@ public class ByteArrayDecoder extends AbstractDataBufferDecoder<byte[]> {
 		return (elementType.resolve() == byte[].class && super.canDecode(elementType, mimeType));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation composes the input buffers without joining
+	 * them, copying their content only once into the resulting array.
+	 */
+	@Override
+	public Mono<byte[]> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
+			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+		return DataBufferUtils.compose(input, getMaxInMemorySize())
+				.map(buffer -> decode(buffer, elementType, mimeType, hints));
+	}
+
 	@Override
 	public byte[] decode(DataBuffer dataBuffer, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
@@ -16,8 +16,12 @@
 
 package org.springframework.core.codec;
 
+import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -33,6 +37,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.CompositeDataBuffer;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.LimitedDataBufferList;
@@ -123,7 +128,7 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 					if (chunks.isEmpty()) {
 						return Mono.empty();
 					}
-					DataBuffer lastBuffer = chunks.get(0).factory().join(chunks);
+					DataBuffer lastBuffer = DataBufferUtils.compose(chunks);
 					chunks.clear();
 					return Mono.just(lastBuffer);
 				}))
@@ -132,6 +137,18 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 				.map(buffer -> decode(buffer, elementType, mimeType, hints));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation composes the input buffers without joining them.
+	 */
+	@Override
+	public Mono<String> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
+			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+		return DataBufferUtils.compose(input, getMaxInMemorySize())
+				.map(buffer -> decode(buffer, elementType, mimeType, hints));
+	}
+
 	private byte[][] getDelimiterBytes(@Nullable MimeType mimeType) {
 		return this.delimitersCache.computeIfAbsent(getCharset(mimeType), charset -> {
 			byte[][] result = new byte[this.delimiters.size()][];
@@ -166,7 +183,7 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 				}
 				else {
 					chunks.add(slice);
-					DataBuffer joined = buffer.factory().join(chunks);
+					DataBuffer joined = DataBufferUtils.compose(chunks);
 					if (this.stripDelimiter) {
 						joined.writePosition(joined.writePosition() - matcher.delimiter().length);
 					}
@@ -188,7 +205,13 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
 		Charset charset = getCharset(mimeType);
-		CharBuffer charBuffer = charset.decode(dataBuffer.asByteBuffer());
+		CharBuffer charBuffer;
+		if (dataBuffer instanceof CompositeDataBuffer && ((CompositeDataBuffer) dataBuffer).componentCount() > 1) {
+			charBuffer = decode(((CompositeDataBuffer) dataBuffer).asByteBuffers(), charset);
+		}
+		else {
+			charBuffer = charset.decode(dataBuffer.asByteBuffer());
+		}
 		DataBufferUtils.release(dataBuffer);
 		String value = charBuffer.toString();
 		LogFormatUtils.traceDebug(logger, traceOn -> {
@@ -207,6 +230,58 @@ public final class StringDecoder extends AbstractDataBufferDecoder<String> {
 		}
 	}
 
+	/**
+	 * Decode the given buffers one after the other, rather than copying them
+	 * into a single buffer first, replacing malformed input the same way as
+	 * {@link Charset#decode(ByteBuffer)}.
+	 */
+	private static CharBuffer decode(ByteBuffer[] byteBuffers, Charset charset) {
+		CharsetDecoder decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		int length = 0;
+		for (ByteBuffer byteBuffer : byteBuffers) {
+			length += byteBuffer.remaining();
+		}
+		CharBuffer charBuffer = CharBuffer.allocate((int) (length * (double) decoder.averageCharsPerByte()) + 1);
+		ByteBuffer remainder = ByteBuffer.allocate(0);
+		for (ByteBuffer byteBuffer : byteBuffers) {
+			// Complete a character split across the previous buffer, one byte at a time
+			while (remainder.hasRemaining() && byteBuffer.hasRemaining()) {
+				ByteBuffer bytes = ByteBuffer.allocate(remainder.remaining() + 1);
+				bytes.put(remainder).put(byteBuffer.get()).flip();
+				charBuffer = decode(decoder, bytes, charBuffer, false);
+				remainder = bytes;
+			}
+			if (!remainder.hasRemaining()) {
+				charBuffer = decode(decoder, byteBuffer, charBuffer, false);
+				remainder = byteBuffer;
+			}
+		}
+		charBuffer = decode(decoder, remainder, charBuffer, true);
+		while (decoder.flush(charBuffer).isOverflow()) {
+			charBuffer = grow(charBuffer);
+		}
+		charBuffer.flip();
+		return charBuffer;
+	}
+
+	private static CharBuffer decode(CharsetDecoder decoder, ByteBuffer byteBuffer,
+			CharBuffer charBuffer, boolean endOfInput) {
+
+		CoderResult result;
+		while ((result = decoder.decode(byteBuffer, charBuffer, endOfInput)).isOverflow()) {
+			charBuffer = grow(charBuffer);
+		}
+		Assert.state(result.isUnderflow(), "Unexpected decoding result");
+		return charBuffer;
+	}
+
+	private static CharBuffer grow(CharBuffer charBuffer) {
+		charBuffer.flip();
+		return CharBuffer.allocate(charBuffer.capacity() * 2 + 1).put(charBuffer);
+	}
+
 	/**
 	 * Create a {@code StringDecoder} for {@code "text/plain"}.
 	 * @param stripDelimiter this flag is ignored
@@ -35,12 +35,13 @@ import org.springframework.util.ResourceUtils;
  * such as {@link UrlResource} or {@link ClassPathResource}.
  *
  * <p>Detects the "file" protocol as well as the JBoss "vfs" protocol in URLs,
- * resolving file system references accordingly.
+ * resolving file system references accordingly. Resources resolved to files
+ * can be read through a {@link FileChannel} as a {@link MappableResource}.
  *
  * @author Juergen Hoeller
  * @since 3.0
  */
-public abstract class AbstractFileResolvingResource extends AbstractResource {
+public abstract class AbstractFileResolvingResource extends AbstractResource implements MappableResource {
 
 	@Override
 	public boolean exists() {
@@ -221,14 +222,30 @@ public abstract class AbstractFileResolvingResource extends AbstractResource {
 	public ReadableByteChannel readableChannel() throws IOException {
 		try {
 			// Try file system channel
-			return FileChannel.open(getFile().toPath(), StandardOpenOption.READ);
+			return readableFileChannel();
 		}
-		catch (FileNotFoundException | NoSuchFileException ex) {
+		catch (FileNotFoundException ex) {
 			// Fall back to InputStream adaptation in superclass
 			return super.readableChannel();
 		}
 	}
 
+	/**
+	 * This implementation returns a FileChannel for the underlying file,
+	 * provided that the resource refers to a file in the file system.
+	 * @since 5.3
+	 * @see #getFile()
+	 */
+	@Override
+	public FileChannel readableFileChannel() throws IOException {
+		try {
+			return FileChannel.open(getFile().toPath(), StandardOpenOption.READ);
+		}
+		catch (NoSuchFileException ex) {
+			throw new FileNotFoundException(ex.getMessage());
+		}
+	}
+
 	@Override
 	public long contentLength() throws IOException {
 		URL url = getURL();
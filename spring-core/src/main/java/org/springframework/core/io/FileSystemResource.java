@@ -40,7 +40,8 @@ import org.springframework.util.StringUtils;
  * {@link Resource} implementation for {@code java.io.File} and
  * {@code java.nio.file.Path} handles with a file system target.
  * Supports resolution as a {@code File} and also as a {@code URL}.
- * Implements the extended {@link WritableResource} interface.
+ * Implements the extended {@link WritableResource} interface, as well as
+ * {@link MappableResource} for reading the file through a {@link FileChannel}.
  *
  * <p>Note: As of Spring Framework 5.0, this {@link Resource} implementation uses
  * NIO.2 API for read/write interactions. As of 5.1, it may be constructed with a
@@ -55,7 +56,7 @@ import org.springframework.util.StringUtils;
  * @see java.io.File
  * @see java.nio.file.Files
  */
-public class FileSystemResource extends AbstractResource implements WritableResource {
+public class FileSystemResource extends AbstractResource implements WritableResource, MappableResource {
 
 	private final String path;
 
@@ -251,6 +252,16 @@ public class FileSystemResource extends AbstractResource implements WritableReso
 	 */
 	@Override
 	public ReadableByteChannel readableChannel() throws IOException {
+		return readableFileChannel();
+	}
+
+	/**
+	 * This implementation opens a FileChannel for the underlying file.
+	 * @since 5.3
+	 * @see java.nio.channels.FileChannel
+	 */
+	@Override
+	public FileChannel readableFileChannel() throws IOException {
 		try {
 			return FileChannel.open(this.filePath, StandardOpenOption.READ);
 		}
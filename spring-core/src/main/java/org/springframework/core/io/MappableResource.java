@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Extended interface for a resource backed by a file which can be read
+ * through a {@link FileChannel}, and therefore also be mapped into memory.
+ * Provides a {@link #readableFileChannel() FileChannel accessor} and
+ * {@link #map(long, long) mapped views} of the file content.
+ *
+ * <p>Mapping a file avoids copying its content through heap buffers, which
+ * is mostly worthwhile for large files that are read repeatedly. Note that
+ * a mapping remains valid until the buffer is garbage collected, even after
+ * the file channel has been closed.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see java.nio.channels.FileChannel#map
+ * @see org.springframework.core.io.buffer.DataBufferUtils#readMapped
+ */
+public interface MappableResource extends Resource {
+
+	/**
+	 * Indicate whether the contents of this resource can be read via
+	 * {@link #readableFileChannel()}.
+	 * <p>The default implementation returns the value of {@link #isFile()}.
+	 * Note that actual content reading may still fail when attempted.
+	 * However, a value of {@code false} is a definitive indication
+	 * that the resource content cannot be read through a file channel.
+	 * @see #readableFileChannel()
+	 */
+	default boolean isMappable() {
+		return isFile();
+	}
+
+	/**
+	 * Return a read-only {@link FileChannel} for the underlying file.
+	 * <p>It is expected that each call creates a <i>fresh</i> channel,
+	 * to be closed by the caller.
+	 * @return the file channel for the underlying resource (must not be {@code null})
+	 * @throws java.io.FileNotFoundException if the underlying resource doesn't exist
+	 * or is not available in a file system
+	 * @throws IOException if the file channel could not be opened
+	 * @see #readableChannel()
+	 */
+	FileChannel readableFileChannel() throws IOException;
+
+	/**
+	 * Map a region of the underlying file into memory, read-only.
+	 * <p>The default implementation maps the region through a
+	 * {@link #readableFileChannel()} which is closed right away.
+	 * @param position the position within the file at which the region starts
+	 * @param size the size of the region to map, at most {@link Integer#MAX_VALUE}
+	 * @return the mapped byte buffer
+	 * @throws java.io.FileNotFoundException if the underlying resource doesn't exist
+	 * or is not available in a file system
+	 * @throws IOException if the region could not be mapped
+	 * @see FileChannel#map(FileChannel.MapMode, long, long)
+	 */
+	default MappedByteBuffer map(long position, long size) throws IOException {
+		try (FileChannel channel = readableFileChannel()) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+		}
+	}
+
+	/**
+	 * Map the entire content of the underlying file into memory, read-only.
+	 * @return the mapped byte buffer
+	 * @throws java.io.FileNotFoundException if the underlying resource doesn't exist
+	 * or is not available in a file system
+	 * @throws IOException if the file could not be mapped, e.g. if it is
+	 * larger than {@link Integer#MAX_VALUE} bytes
+	 * @see #map(long, long)
+	 */
+	default MappedByteBuffer map() throws IOException {
+		try (FileChannel channel = readableFileChannel()) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("Cannot map " + getDescription() + " of " + size + " bytes in one region");
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+	}
+
+}
@@ -23,8 +23,10 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.OpenOption;
@@ -39,7 +41,8 @@ import org.springframework.util.Assert;
  * {@link Resource} implementation for {@link java.nio.file.Path} handles,
  * performing all operations and transformations via the {@code Path} API.
  * Supports resolution as a {@link File} and also as a {@link URL}.
- * Implements the extended {@link WritableResource} interface.
+ * Implements the extended {@link WritableResource} interface, as well as
+ * {@link MappableResource} for paths on the default file system.
  *
  * <p>Note: As of 5.1, {@link java.nio.file.Path} support is also available
  * in {@link FileSystemResource#FileSystemResource(Path) FileSystemResource},
@@ -55,7 +58,7 @@ import org.springframework.util.Assert;
  * @see java.nio.file.Files
  * @see FileSystemResource
  */
-public class PathResource extends AbstractResource implements WritableResource {
+public class PathResource extends AbstractResource implements WritableResource, MappableResource {
 
 	private final Path path;
 
@@ -220,6 +223,35 @@ public class PathResource extends AbstractResource implements WritableResource {
 		}
 	}
 
+	/**
+	 * This implementation checks whether the underlying path
+	 * is located on the default file system.
+	 * @since 5.3
+	 * @see FileSystems#getDefault()
+	 */
+	@Override
+	public boolean isMappable() {
+		return (this.path.getFileSystem() == FileSystems.getDefault());
+	}
+
+	/**
+	 * This implementation opens a FileChannel for the underlying file.
+	 * @since 5.3
+	 * @see FileChannel#open(Path, OpenOption...)
+	 */
+	@Override
+	public FileChannel readableFileChannel() throws IOException {
+		try {
+			return FileChannel.open(this.path, StandardOpenOption.READ);
+		}
+		catch (NoSuchFileException ex) {
+			throw new FileNotFoundException(ex.getMessage());
+		}
+		catch (UnsupportedOperationException ex) {
+			throw new FileNotFoundException(this.path + " cannot be opened as file channel");
+		}
+	}
+
 	/**
 	 * This implementation opens a Channel for the underlying file.
 	 * @see Files#newByteChannel(Path, OpenOption...)
@@ -0,0 +1,549 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.IntPredicate;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Read-only {@link DataBuffer} presenting the readable bytes of several
+ * buffers as one buffer, without copying them. Created through
+ * {@link DataBufferUtils#compose(List)}.
+ *
+ * <p>The composite takes over the given buffers and releases them once it is
+ * released itself. Accessing a range of bytes within a single component,
+ * e.g. through {@link #asByteBuffer(int, int)} or {@link #slice(int, int)},
+ * delegates to that component, whereas ranges spanning several components
+ * are copied. Reading through {@link #read(byte[])} or {@link #asInputStream()}
+ * copies bytes from the components straight to the target.
+ *
+ * <p>The read and write positions can be moved as usual, but writing to the
+ * composite or changing its capacity is not supported.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see DataBufferUtils#compose(List)
+ */
+public class CompositeDataBuffer implements PooledDataBuffer {
+
+	private static final AtomicIntegerFieldUpdater<CompositeDataBuffer> REF_COUNT_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(CompositeDataBuffer.class, "refCount");
+
+
+	private final DataBufferFactory dataBufferFactory;
+
+	private final DataBuffer[] components;
+
+	// Index of the first byte of each component within that component
+	private final int[] offsets;
+
+	// Index of the first byte of each component within this composite
+	private final int[] starts;
+
+	private final int capacity;
+
+	@Nullable
+	private final CompositeDataBuffer parent;
+
+	private volatile int refCount = 1;
+
+	private int readPosition;
+
+	private int writePosition;
+
+
+	private CompositeDataBuffer(DataBufferFactory dataBufferFactory, DataBuffer[] components,
+			int[] offsets, int[] starts, int capacity, @Nullable CompositeDataBuffer parent) {
+
+		this.dataBufferFactory = dataBufferFactory;
+		this.components = components;
+		this.offsets = offsets;
+		this.starts = starts;
+		this.capacity = capacity;
+		this.parent = parent;
+		this.writePosition = capacity;
+	}
+
+	/**
+	 * Create a composite of the readable bytes of the given buffers.
+	 */
+	static CompositeDataBuffer of(DataBufferFactory dataBufferFactory, List<? extends DataBuffer> dataBuffers) {
+		int size = dataBuffers.size();
+		DataBuffer[] components = new DataBuffer[size];
+		int[] offsets = new int[size];
+		int[] starts = new int[size];
+		int capacity = 0;
+		for (int i = 0; i < size; i++) {
+			DataBuffer dataBuffer = dataBuffers.get(i);
+			components[i] = dataBuffer;
+			offsets[i] = dataBuffer.readPosition();
+			starts[i] = capacity;
+			capacity = Math.addExact(capacity, dataBuffer.readableByteCount());
+		}
+		return new CompositeDataBuffer(dataBufferFactory, components, offsets, starts, capacity, null);
+	}
+
+
+	/**
+	 * Return the number of buffers this composite consists of.
+	 */
+	public int componentCount() {
+		return this.components.length;
+	}
+
+	@Override
+	public DataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public int indexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "IntPredicate must not be null");
+		if (fromIndex < 0) {
+			fromIndex = 0;
+		}
+		else if (fromIndex >= this.writePosition) {
+			return -1;
+		}
+		for (int i = componentIndex(fromIndex); i < this.components.length; i++) {
+			int start = this.starts[i];
+			if (start >= this.writePosition) {
+				break;
+			}
+			int offset = this.offsets[i];
+			int end = Math.min(start + componentLength(i), this.writePosition);
+			int index = this.components[i].indexOf(predicate, offset + Math.max(fromIndex - start, 0));
+			if (index != -1 && index - offset < end - start) {
+				return start + index - offset;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int lastIndexOf(IntPredicate predicate, int fromIndex) {
+		Assert.notNull(predicate, "IntPredicate must not be null");
+		fromIndex = Math.min(fromIndex, this.writePosition - 1);
+		if (fromIndex < 0) {
+			return -1;
+		}
+		for (int i = componentIndex(fromIndex); i >= 0; i--) {
+			int start = this.starts[i];
+			int offset = this.offsets[i];
+			int index = this.components[i].lastIndexOf(predicate, offset + Math.min(fromIndex - start, componentLength(i) - 1));
+			if (index >= offset) {
+				return start + index - offset;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int readableByteCount() {
+		return this.writePosition - this.readPosition;
+	}
+
+	@Override
+	public int writableByteCount() {
+		return this.capacity - this.writePosition;
+	}
+
+	@Override
+	public int capacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Not supported by composite buffers, apart from keeping the capacity.
+	 */
+	@Override
+	public CompositeDataBuffer capacity(int capacity) {
+		if (capacity != this.capacity) {
+			throw new UnsupportedOperationException("Changing the capacity of a composite buffer is not supported");
+		}
+		return this;
+	}
+
+	@Override
+	public CompositeDataBuffer ensureCapacity(int capacity) {
+		if (capacity > writableByteCount()) {
+			throw new UnsupportedOperationException("Changing the capacity of a composite buffer is not supported");
+		}
+		return this;
+	}
+
+	@Override
+	public int readPosition() {
+		return this.readPosition;
+	}
+
+	@Override
+	public CompositeDataBuffer readPosition(int readPosition) {
+		assertIndex(readPosition >= 0, "'readPosition' %d must be >= 0", readPosition);
+		assertIndex(readPosition <= this.writePosition, "'readPosition' %d must be <= %d",
+				readPosition, this.writePosition);
+		this.readPosition = readPosition;
+		return this;
+	}
+
+	@Override
+	public int writePosition() {
+		return this.writePosition;
+	}
+
+	@Override
+	public CompositeDataBuffer writePosition(int writePosition) {
+		assertIndex(writePosition >= this.readPosition, "'writePosition' %d must be >= %d",
+				writePosition, this.readPosition);
+		assertIndex(writePosition <= this.capacity, "'writePosition' %d must be <= %d",
+				writePosition, this.capacity);
+		this.writePosition = writePosition;
+		return this;
+	}
+
+	@Override
+	public byte getByte(int index) {
+		assertIndex(index >= 0, "index %d must be >= 0", index);
+		assertIndex(index <= this.writePosition - 1, "index %d must be <= %d", index, this.writePosition - 1);
+		int i = componentIndex(index);
+		return this.components[i].getByte(this.offsets[i] + index - this.starts[i]);
+	}
+
+	@Override
+	public byte read() {
+		assertIndex(this.readPosition <= this.writePosition - 1, "readPosition %d must be <= %d",
+				this.readPosition, this.writePosition - 1);
+		byte b = getByte(this.readPosition);
+		this.readPosition++;
+		return b;
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination) {
+		Assert.notNull(destination, "Byte array must not be null");
+		return read(destination, 0, destination.length);
+	}
+
+	@Override
+	public CompositeDataBuffer read(byte[] destination, int offset, int length) {
+		Assert.notNull(destination, "Byte array must not be null");
+		assertIndex(this.readPosition <= this.writePosition - length,
+				"readPosition %d and length %d should be smaller than writePosition %d",
+				this.readPosition, length, this.writePosition);
+		copy(this.readPosition, destination, offset, length);
+		this.readPosition += length;
+		return this;
+	}
+
+	@Override
+	public DataBuffer write(byte b) {
+		throw readOnly();
+	}
+
+	@Override
+	public DataBuffer write(byte[] source) {
+		throw readOnly();
+	}
+
+	@Override
+	public DataBuffer write(byte[] source, int offset, int length) {
+		throw readOnly();
+	}
+
+	@Override
+	public DataBuffer write(DataBuffer... buffers) {
+		throw readOnly();
+	}
+
+	@Override
+	public DataBuffer write(ByteBuffer... buffers) {
+		throw readOnly();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation returns a composite of the components containing
+	 * the given range, sharing the reference count of this composite.
+	 */
+	@Override
+	public CompositeDataBuffer slice(int index, int length) {
+		checkIndex(index, length);
+		if (length == 0) {
+			return new CompositeDataBuffer(this.dataBufferFactory, new DataBuffer[0], new int[0], new int[0], 0, root());
+		}
+		int first = componentIndex(index);
+		int last = componentIndex(index + length - 1);
+		DataBuffer[] components = Arrays.copyOfRange(this.components, first, last + 1);
+		int[] offsets = Arrays.copyOfRange(this.offsets, first, last + 1);
+		int[] starts = new int[components.length];
+		offsets[0] += index - this.starts[first];
+		for (int i = 1; i < components.length; i++) {
+			starts[i] = this.starts[first + i] - index;
+		}
+		return new CompositeDataBuffer(this.dataBufferFactory, components, offsets, starts, length, root());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation returns a copy of the given range if it spans
+	 * several components.
+	 */
+	@Override
+	public ByteBuffer asByteBuffer() {
+		return asByteBuffer(this.readPosition, readableByteCount());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation returns a copy of the given range if it spans
+	 * several components.
+	 */
+	@Override
+	public ByteBuffer asByteBuffer(int index, int length) {
+		checkIndex(index, length);
+		if (length > 0) {
+			int first = componentIndex(index);
+			if (first == componentIndex(index + length - 1)) {
+				return this.components[first].asByteBuffer(this.offsets[first] + index - this.starts[first], length);
+			}
+		}
+		byte[] bytes = new byte[length];
+		copy(index, bytes, 0, length);
+		return ByteBuffer.wrap(bytes);
+	}
+
+	/**
+	 * Expose the readable bytes of this composite as one {@link ByteBuffer}
+	 * per component, sharing memory with the components.
+	 * <p>Changes to the returned buffers' positions do not affect the read
+	 * position of this composite.
+	 * @return the readable bytes of each component, in order
+	 * @see #asByteBuffer()
+	 */
+	public ByteBuffer[] asByteBuffers() {
+		int index = this.readPosition;
+		int length = readableByteCount();
+		List<ByteBuffer> byteBuffers = new ArrayList<>(this.components.length);
+		int i = (length > 0 ? componentIndex(index) : this.components.length);
+		while (length > 0) {
+			int position = index - this.starts[i];
+			int count = Math.min(length, componentLength(i) - position);
+			if (count > 0) {
+				byteBuffers.add(this.components[i].asByteBuffer(this.offsets[i] + position, count));
+			}
+			index += count;
+			length -= count;
+			i++;
+		}
+		return byteBuffers.toArray(new ByteBuffer[0]);
+	}
+
+	@Override
+	public InputStream asInputStream() {
+		return new CompositeDataBufferInputStream(false);
+	}
+
+	@Override
+	public InputStream asInputStream(boolean releaseOnClose) {
+		return new CompositeDataBufferInputStream(releaseOnClose);
+	}
+
+	@Override
+	public OutputStream asOutputStream() {
+		throw readOnly();
+	}
+
+	@Override
+	public String toString(int index, int length, Charset charset) {
+		checkIndex(index, length);
+		Assert.notNull(charset, "Charset must not be null");
+		if (length > 0) {
+			int first = componentIndex(index);
+			if (first == componentIndex(index + length - 1)) {
+				return this.components[first].toString(this.offsets[first] + index - this.starts[first], length, charset);
+			}
+		}
+		byte[] bytes = new byte[length];
+		copy(index, bytes, 0, length);
+		return new String(bytes, charset);
+	}
+
+
+	@Override
+	public boolean isAllocated() {
+		return (root().refCount > 0);
+	}
+
+	@Override
+	public PooledDataBuffer retain() {
+		CompositeDataBuffer root = root();
+		int refCount;
+		do {
+			refCount = root.refCount;
+			if (refCount <= 0) {
+				throw new IllegalStateException("CompositeDataBuffer has been released already");
+			}
+		}
+		while (!REF_COUNT_UPDATER.compareAndSet(root, refCount, refCount + 1));
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation releases all components once the
+	 * reference count of this composite reaches zero.
+	 */
+	@Override
+	public boolean release() {
+		CompositeDataBuffer root = root();
+		int refCount;
+		do {
+			refCount = root.refCount;
+			if (refCount <= 0) {
+				throw new IllegalStateException("CompositeDataBuffer has been released already");
+			}
+		}
+		while (!REF_COUNT_UPDATER.compareAndSet(root, refCount, refCount - 1));
+		if (refCount == 1) {
+			for (DataBuffer component : root.components) {
+				DataBufferUtils.release(component);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private CompositeDataBuffer root() {
+		return (this.parent != null ? this.parent : this);
+	}
+
+
+	/**
+	 * Copy the given range of bytes to the given array, component by component.
+	 */
+	private void copy(int index, byte[] destination, int offset, int length) {
+		int i = (length > 0 ? componentIndex(index) : this.components.length);
+		while (length > 0) {
+			int position = index - this.starts[i];
+			int count = Math.min(length, componentLength(i) - position);
+			this.components[i].asByteBuffer(this.offsets[i] + position, count).get(destination, offset, count);
+			index += count;
+			offset += count;
+			length -= count;
+			i++;
+		}
+	}
+
+	/**
+	 * Return the index of the component containing the byte at the given index.
+	 */
+	private int componentIndex(int index) {
+		int i = Arrays.binarySearch(this.starts, index);
+		if (i < 0) {
+			return -i - 2;
+		}
+		// Skip empty components starting at the same index
+		while (i < this.starts.length - 1 && this.starts[i + 1] == index) {
+			i++;
+		}
+		return i;
+	}
+
+	private int componentLength(int i) {
+		return (i < this.starts.length - 1 ? this.starts[i + 1] : this.capacity) - this.starts[i];
+	}
+
+	private void checkIndex(int index, int length) {
+		assertIndex(index >= 0, "index %d must be >= 0", index);
+		assertIndex(length >= 0, "length %d must be >= 0", length);
+		assertIndex(index <= this.capacity - length, "index %d and length %d must be <= %d",
+				index, length, this.capacity);
+	}
+
+	private void assertIndex(boolean expression, String format, Object... args) {
+		if (!expression) {
+			String message = String.format(format, args);
+			throw new IndexOutOfBoundsException(message);
+		}
+	}
+
+	private static UnsupportedOperationException readOnly() {
+		return new UnsupportedOperationException("Writing to a composite buffer is not supported");
+	}
+
+
+	@Override
+	public String toString() {
+		return String.format("CompositeDataBuffer (r: %d, w: %d, c: %d, components: %d)",
+				this.readPosition, this.writePosition, this.capacity, this.components.length);
+	}
+
+
+	private class CompositeDataBufferInputStream extends InputStream {
+
+		private final boolean releaseOnClose;
+
+		private boolean closed;
+
+		CompositeDataBufferInputStream(boolean releaseOnClose) {
+			this.releaseOnClose = releaseOnClose;
+		}
+
+		@Override
+		public int available() {
+			return readableByteCount();
+		}
+
+		@Override
+		public int read() {
+			return available() > 0 ? CompositeDataBuffer.this.read() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int off, int len) throws IOException {
+			int available = available();
+			if (available > 0) {
+				len = Math.min(len, available);
+				CompositeDataBuffer.this.read(bytes, off, len);
+				return len;
+			}
+			else {
+				return -1;
+			}
+		}
+
+		@Override
+		public void close() {
+			if (this.releaseOnClose && !this.closed) {
+				this.closed = true;
+				DataBufferUtils.release(CompositeDataBuffer.this);
+			}
+		}
+	}
+
+}
@@ -21,23 +21,31 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.IntPredicate;
 
+import io.netty.buffer.ByteBuf;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.reactivestreams.Publisher;
@@ -48,9 +56,11 @@ import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.SynchronousSink;
 
+import org.springframework.core.io.MappableResource;
 import org.springframework.core.io.Resource;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
 /**
  * Utility class for working with {@link DataBuffer DataBuffers}.
@@ -65,6 +75,9 @@ public abstract class DataBufferUtils {
 
 	private static final Consumer<DataBuffer> RELEASE_CONSUMER = DataBufferUtils::release;
 
+	private static final boolean nettyPresent =
+			ClassUtils.isPresent("io.netty.buffer.ByteBuf", DataBufferUtils.class.getClassLoader());
+
 
 	//---------------------------------------------------------------------
 	// Reading
@@ -232,6 +245,43 @@ public abstract class DataBufferUtils {
 		return position == 0 ? result : skipUntilByteCount(result, position);
 	}
 
+	/**
+	 * Read the given {@code Resource} into a {@code Flux} of {@code DataBuffer}s
+	 * starting at the given position, mapping the file content into memory
+	 * rather than copying it, if possible.
+	 * <p>If the resource is a {@linkplain MappableResource#isMappable() mappable}
+	 * {@link MappableResource}, consecutive regions of its file of at most the
+	 * given buffer size get mapped read-only and {@linkplain DataBufferFactory#wrap(ByteBuffer)
+	 * wrapped} as data buffers, or else this method falls back on
+	 * {@link #read(Resource, long, DataBufferFactory, int)}.
+	 * Closes the channel when the flux is terminated.
+	 * <p>Note that the mapped data buffers are read-only, and that the mapped
+	 * memory gets released when the buffers are garbage collected, so this
+	 * is mostly worthwhile for large files and large buffer sizes.
+	 * @param resource the resource to read from
+	 * @param position the position to start reading from
+	 * @param bufferFactory the factory to wrap the mapped regions with
+	 * @param bufferSize the maximum size of the data buffers
+	 * @return a Flux of data buffers read from the given resource
+	 * @since 5.3
+	 * @see MappableResource#map(long, long)
+	 */
+	public static Flux<DataBuffer> readMapped(
+			Resource resource, long position, DataBufferFactory bufferFactory, int bufferSize) {
+
+		Assert.notNull(resource, "Resource must not be null");
+		Assert.notNull(bufferFactory, "BufferFactory must not be null");
+		Assert.isTrue(position >= 0, "'position' must be >= 0");
+		Assert.isTrue(bufferSize > 0, "'bufferSize' must be > 0");
+
+		if (resource instanceof MappableResource && ((MappableResource) resource).isMappable()) {
+			return Flux.using(((MappableResource) resource)::readableFileChannel,
+					channel -> Flux.generate(new FileChannelMappingGenerator(channel, position, bufferFactory, bufferSize)),
+					DataBufferUtils::closeChannel);
+		}
+		return read(resource, position, bufferFactory, bufferSize);
+	}
+
 
 	//---------------------------------------------------------------------
 	// Writing
@@ -565,6 +615,59 @@ public abstract class DataBufferUtils {
 				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
 	}
 
+	/**
+	 * Variant of {@link #join(Publisher, int)} that composes the given data
+	 * buffers into a read-only buffer without copying them, if possible.
+	 * <p>This is preferable for aggregating content only to be read, such as
+	 * a request body to decode, since joining buffers of the
+	 * {@link DefaultDataBufferFactory} copies them into a new buffer.
+	 * @param buffers the data buffers that are to be composed
+	 * @param maxByteCount the max number of bytes to buffer, or -1 for unlimited
+	 * @return a buffer with the aggregated content, possibly an empty Mono if
+	 * the max number of bytes to buffer is exceeded.
+	 * @throws DataBufferLimitException if maxByteCount is exceeded
+	 * @since 5.3
+	 * @see #compose(List)
+	 */
+	@SuppressWarnings("unchecked")
+	public static Mono<DataBuffer> compose(Publisher<? extends DataBuffer> buffers, int maxByteCount) {
+		Assert.notNull(buffers, "'dataBuffers' must not be null");
+
+		if (buffers instanceof Mono) {
+			return (Mono<DataBuffer>) buffers;
+		}
+
+		return Flux.from(buffers)
+				.collect(() -> new LimitedDataBufferList(maxByteCount), LimitedDataBufferList::add)
+				.filter(list -> !list.isEmpty())
+				.map(DataBufferUtils::compose)
+				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+	}
+
+	/**
+	 * Compose the given data buffers into a single buffer to be read, taking
+	 * over the given buffers: they get released along with the returned buffer.
+	 * <p>Buffers of a {@link DefaultDataBufferFactory} are composed into a
+	 * read-only {@link CompositeDataBuffer} without copying their content.
+	 * Other buffers get {@linkplain DataBufferFactory#join joined} by their
+	 * factory, which for a {@link NettyDataBufferFactory} does not copy
+	 * their content either.
+	 * @param dataBuffers the data buffers to compose, at least one
+	 * @return a buffer with the content of the given buffers
+	 * @since 5.3
+	 */
+	public static DataBuffer compose(List<? extends DataBuffer> dataBuffers) {
+		Assert.notEmpty(dataBuffers, "DataBuffer List must not be empty");
+		if (dataBuffers.size() == 1) {
+			return dataBuffers.get(0);
+		}
+		DataBufferFactory bufferFactory = dataBuffers.get(0).factory();
+		if (bufferFactory instanceof DefaultDataBufferFactory) {
+			return CompositeDataBuffer.of(bufferFactory, dataBuffers);
+		}
+		return bufferFactory.join(dataBuffers);
+	}
+
 	/**
 	 * Return a {@link Matcher} for the given delimiter.
 	 * The matcher can be used to find the delimiters in a stream of data buffers.
@@ -573,7 +676,7 @@ public abstract class DataBufferUtils {
 	 * @since 5.2
 	 */
 	public static Matcher matcher(byte[] delimiter) {
-		return createMatcher(delimiter);
+		return new DelimiterMatcher(new byte[][] {delimiter});
 	}
 
 	/**
@@ -585,19 +688,7 @@ public abstract class DataBufferUtils {
 	 */
 	public static Matcher matcher(byte[]... delimiters) {
 		Assert.isTrue(delimiters.length > 0, "Delimiters must not be empty");
-		return (delimiters.length == 1 ? createMatcher(delimiters[0]) : new CompositeMatcher(delimiters));
-	}
-
-	private static NestedMatcher createMatcher(byte[] delimiter) {
-		Assert.isTrue(delimiter.length > 0, "Delimiter must not be empty");
-		switch (delimiter.length) {
-			case 1:
-				return (delimiter[0] == 10 ? SingleByteMatcher.NEWLINE_MATCHER : new SingleByteMatcher(delimiter));
-			case 2:
-				return new TwoByteMatcher(delimiter);
-			default:
-				return new KnuthMorrisPrattMatcher(delimiter);
-		}
+		return new DelimiterMatcher(delimiters);
 	}
 
 
@@ -629,224 +720,217 @@ public abstract class DataBufferUtils {
 
 
 	/**
-	 * Matcher that supports searching for multiple delimiters.
+	 * Matcher for one or more delimiters, which scans for the last byte of any
+	 * delimiter and then compares the bytes preceding it. Where the longest of
+	 * several delimiters ending at the same index matches, that one is chosen.
+	 * <p>Scanning reads heap and direct buffers a word at a time, testing all
+	 * bytes of a word at once, for both {@link DefaultDataBuffer} and
+	 * {@link NettyDataBuffer}. Other buffers are scanned through
+	 * {@link DataBuffer#indexOf}. The last bytes of a buffer without a match
+	 * are kept, so that delimiters spanning several buffers are found as well.
+	 * Matching does not allocate, apart from an NIO view of Netty buffers.
 	 */
-	private static class CompositeMatcher implements Matcher {
+	private static class DelimiterMatcher implements Matcher {
 
-		private static final byte[] NO_DELIMITER = new byte[0];
+		private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
 
+		// Scanning a word at a time pays off for a few distinct last bytes only
+		private static final int MAX_WORD_PATTERNS = 4;
 
-		private final NestedMatcher[] matchers;
+		// Returned if a buffer could not be scanned through its memory
+		static final int NOT_SCANNED = -2;
 
-		byte[] longestDelimiter = NO_DELIMITER;
 
-		CompositeMatcher(byte[][] delimiters) {
-			this.matchers = initMatchers(delimiters);
-		}
+		// Delimiters per value of their last byte, longest first
+		private final byte[][][] delimitersByLastByte = new byte[256][][];
 
-		private static NestedMatcher[] initMatchers(byte[][] delimiters) {
-			NestedMatcher[] matchers = new NestedMatcher[delimiters.length];
-			for (int i = 0; i < delimiters.length; i++) {
-				matchers[i] = createMatcher(delimiters[i]);
-			}
-			return matchers;
-		}
+		private final boolean[] lastBytes = new boolean[256];
 
-		@Override
-		public int match(DataBuffer dataBuffer) {
-			this.longestDelimiter = NO_DELIMITER;
+		private final long[] lastBytePatterns;
 
-			for (int pos = dataBuffer.readPosition(); pos < dataBuffer.writePosition(); pos++) {
-				byte b = dataBuffer.getByte(pos);
+		private final IntPredicate lastBytePredicate = b -> this.lastBytes[b & 0xFF];
 
-				for (NestedMatcher matcher : this.matchers) {
-					if (matcher.match(b) && matcher.delimiter().length > this.longestDelimiter.length) {
-						this.longestDelimiter = matcher.delimiter();
-					}
-				}
+		// The last bytes of previous buffers, for delimiters spanning buffers
+		private final byte[] history;
 
-				if (this.longestDelimiter != NO_DELIMITER) {
-					reset();
-					return pos;
-				}
-			}
-			return -1;
-		}
+		private int historyLength;
 
-		@Override
-		public byte[] delimiter() {
-			Assert.state(this.longestDelimiter != NO_DELIMITER, "Illegal state!");
-			return this.longestDelimiter;
-		}
+		@Nullable
+		private byte[] matchedDelimiter;
 
-		@Override
-		public void reset() {
-			for (NestedMatcher matcher : this.matchers) {
-				matcher.reset();
-			}
-		}
-	}
 
-
-	/**
-	 * Matcher that can be nested within {@link CompositeMatcher} where multiple
-	 * matchers advance together using the same index, one byte at a time.
-	 */
-	private interface NestedMatcher extends Matcher {
-
-		/**
-		 * Perform a match against the next byte of the stream and return true
-		 * if the delimiter is fully matched.
-		 */
-		boolean match(byte b);
-
-	}
-
-
-	/**
-	 * Matcher for a single byte delimiter.
-	 */
-	private static class SingleByteMatcher implements NestedMatcher {
-
-		static SingleByteMatcher NEWLINE_MATCHER = new SingleByteMatcher(new byte[] {10});
-
-		private final byte[] delimiter;
-
-		SingleByteMatcher(byte[] delimiter) {
-			Assert.isTrue(delimiter.length == 1, "Expected a 1 byte delimiter");
-			this.delimiter = delimiter;
+		DelimiterMatcher(byte[][] delimiters) {
+			List<List<byte[]>> byLastByte = new ArrayList<>(Collections.nCopies(256, null));
+			int maxLength = 0;
+			for (byte[] delimiter : delimiters) {
+				Assert.isTrue(delimiter.length > 0, "Delimiter must not be empty");
+				int lastByte = delimiter[delimiter.length - 1] & 0xFF;
+				if (byLastByte.get(lastByte) == null) {
+					byLastByte.set(lastByte, new ArrayList<>());
+				}
+				byLastByte.get(lastByte).add(delimiter);
+				maxLength = Math.max(maxLength, delimiter.length);
+			}
+			long[] patterns = new long[256];
+			int patternCount = 0;
+			for (int i = 0; i < 256; i++) {
+				List<byte[]> candidates = byLastByte.get(i);
+				if (candidates != null) {
+					candidates.sort((d1, d2) -> Integer.compare(d2.length, d1.length));
+					this.delimitersByLastByte[i] = candidates.toArray(new byte[0][]);
+					this.lastBytes[i] = true;
+					patterns[patternCount++] = 0x0101010101010101L * i;
+				}
+			}
+			this.lastBytePatterns = Arrays.copyOf(patterns, patternCount);
+			this.history = new byte[maxLength - 1];
+			this.matchedDelimiter = (delimiters.length == 1 ? delimiters[0] : null);
 		}
 
 		@Override
 		public int match(DataBuffer dataBuffer) {
-			for (int pos = dataBuffer.readPosition(); pos < dataBuffer.writePosition(); pos++) {
-				byte b = dataBuffer.getByte(pos);
-				if (match(b)) {
-					return pos;
+			int start = dataBuffer.readPosition();
+			int end = dataBuffer.writePosition();
+			int pos = start;
+			while ((pos = indexOfLastByte(dataBuffer, pos, end)) != -1) {
+				for (byte[] delimiter : this.delimitersByLastByte[dataBuffer.getByte(pos) & 0xFF]) {
+					if (matchesBefore(delimiter, dataBuffer, start, pos)) {
+						this.matchedDelimiter = delimiter;
+						this.historyLength = 0;
+						return pos;
+					}
 				}
+				pos++;
 			}
+			keepHistory(dataBuffer, start, end);
 			return -1;
 		}
 
-		@Override
-		public boolean match(byte b) {
-			return this.delimiter[0] == b;
-		}
-
-		@Override
-		public byte[] delimiter() {
-			return this.delimiter;
-		}
-
-		@Override
-		public void reset() {
+		private int indexOfLastByte(DataBuffer dataBuffer, int fromIndex, int toIndex) {
+			if (fromIndex >= toIndex) {
+				return -1;
+			}
+			if (dataBuffer instanceof DefaultDataBuffer) {
+				return indexOfLastByte(((DefaultDataBuffer) dataBuffer).byteBuffer(), fromIndex, toIndex);
+			}
+			if (nettyPresent) {
+				int index = NettyBufferScanner.indexOfLastByte(this, dataBuffer, fromIndex, toIndex);
+				if (index != NOT_SCANNED) {
+					return index;
+				}
+			}
+			// Let the buffer iterate over its bytes, e.g. a composite over its components
+			int index = dataBuffer.indexOf(this.lastBytePredicate, fromIndex);
+			return (index < toIndex ? index : -1);
 		}
-	}
-
-
-	/**
-	 * Base class for a {@link NestedMatcher}.
-	 */
-	private static abstract class AbstractNestedMatcher implements NestedMatcher {
 
-		private final byte[] delimiter;
-
-		private int matches = 0;
-
-
-		protected AbstractNestedMatcher(byte[] delimiter) {
-			this.delimiter = delimiter;
+		int indexOfLastByte(byte[] array, int offset, int fromIndex, int toIndex) {
+			int index = indexOfLastByte(ByteBuffer.wrap(array), offset + fromIndex, offset + toIndex);
+			return (index != -1 ? index - offset : -1);
 		}
 
-		protected void setMatches(int index) {
-			this.matches = index;
+		int indexOfLastByte(ByteBuffer byteBuffer, int fromIndex, int toIndex) {
+			int i = fromIndex;
+			if (this.lastBytePatterns.length <= MAX_WORD_PATTERNS) {
+				boolean bigEndian = (byteBuffer.order() == ByteOrder.BIG_ENDIAN);
+				for (; i <= toIndex - Long.BYTES; i += Long.BYTES) {
+					long mask = lastByteMask(byteBuffer.getLong(i));
+					if (mask != 0) {
+						return i + (bigEndian ? Long.numberOfLeadingZeros(mask) : Long.numberOfTrailingZeros(mask)) / 8;
+					}
+				}
+			}
+			for (; i < toIndex; i++) {
+				if (this.lastBytes[byteBuffer.get(i) & 0xFF]) {
+					return i;
+				}
+			}
+			return -1;
 		}
 
-		protected int getMatches() {
-			return this.matches;
+		/**
+		 * Return a mask with the high bit set in each byte of the given word
+		 * that is the last byte of a delimiter. Unlike the usual test for zero
+		 * bytes, no carry crosses from one byte to another, so that every bit
+		 * set is exact, whatever the byte order.
+		 */
+		private long lastByteMask(long word) {
+			long mask = 0;
+			for (long pattern : this.lastBytePatterns) {
+				long x = word ^ pattern;
+				mask |= ~(((x & LOW_BITS) + LOW_BITS) | x | LOW_BITS);
+			}
+			return mask;
 		}
 
-		@Override
-		public int match(DataBuffer dataBuffer) {
-			for (int pos = dataBuffer.readPosition(); pos < dataBuffer.writePosition(); pos++) {
-				byte b = dataBuffer.getByte(pos);
-				if (match(b)) {
-					reset();
-					return pos;
+		/**
+		 * Whether the given delimiter, whose last byte is at the given index,
+		 * matches the bytes before, including the bytes kept from previous buffers.
+		 */
+		private boolean matchesBefore(byte[] delimiter, DataBuffer dataBuffer, int start, int index) {
+			if (delimiter.length - 1 > index - start + this.historyLength) {
+				return false;
+			}
+			for (int i = delimiter.length - 2, pos = index - 1; i >= 0; i--, pos--) {
+				byte b = (pos >= start ? dataBuffer.getByte(pos) : this.history[this.historyLength - (start - pos)]);
+				if (b != delimiter[i]) {
+					return false;
 				}
 			}
-			return -1;
+			return true;
 		}
 
-		@Override
-		public boolean match(byte b) {
-			if (b == this.delimiter[this.matches]) {
-				this.matches++;
-				return (this.matches == delimiter().length);
+		private void keepHistory(DataBuffer dataBuffer, int start, int end) {
+			int capacity = this.history.length;
+			if (capacity == 0) {
+				return;
 			}
-			return false;
+			int count = Math.min(end - start, capacity);
+			int retained = Math.min(this.historyLength, capacity - count);
+			System.arraycopy(this.history, this.historyLength - retained, this.history, 0, retained);
+			for (int i = 0; i < count; i++) {
+				this.history[retained + i] = dataBuffer.getByte(end - count + i);
+			}
+			this.historyLength = retained + count;
 		}
 
 		@Override
 		public byte[] delimiter() {
-			return this.delimiter;
+			Assert.state(this.matchedDelimiter != null, "No delimiter matched yet");
+			return this.matchedDelimiter;
 		}
 
 		@Override
 		public void reset() {
-			this.matches = 0;
+			this.historyLength = 0;
 		}
 	}
 
 
 	/**
-	 * Matcher with a 2 byte delimiter that does not benefit from a
-	 * Knuth-Morris-Pratt suffix-prefix table.
+	 * Inner class to avoid a hard dependency on Netty.
 	 */
-	private static class TwoByteMatcher extends AbstractNestedMatcher {
-
-		protected TwoByteMatcher(byte[] delimiter) {
-			super(delimiter);
-			Assert.isTrue(delimiter.length == 2, "Expected a 2-byte delimiter");
-		}
-	}
-
+	private static class NettyBufferScanner {
 
-	/**
-	 * Implementation of {@link Matcher} that uses the Knuth-Morris-Pratt algorithm.
-	 * @see <a href="https://www.nayuki.io/page/knuth-morris-pratt-string-matching">Knuth-Morris-Pratt string matching</a>
-	 */
-	private static class KnuthMorrisPrattMatcher extends AbstractNestedMatcher {
-
-		private final int[] table;
-
-		public KnuthMorrisPrattMatcher(byte[] delimiter) {
-			super(delimiter);
-			this.table = longestSuffixPrefixTable(delimiter);
-		}
-
-		private static int[] longestSuffixPrefixTable(byte[] delimiter) {
-			int[] result = new int[delimiter.length];
-			result[0] = 0;
-			for (int i = 1; i < delimiter.length; i++) {
-				int j = result[i - 1];
-				while (j > 0 && delimiter[i] != delimiter[j]) {
-					j = result[j - 1];
-				}
-				if (delimiter[i] == delimiter[j]) {
-					j++;
-				}
-				result[i] = j;
+		/**
+		 * Scan the memory of a Netty buffer for the last byte of a delimiter, or
+		 * return {@link DelimiterMatcher#NOT_SCANNED} if not a Netty buffer with
+		 * a backing array or a single NIO buffer.
+		 */
+		static int indexOfLastByte(DelimiterMatcher matcher, DataBuffer dataBuffer, int fromIndex, int toIndex) {
+			if (!(dataBuffer instanceof NettyDataBuffer)) {
+				return DelimiterMatcher.NOT_SCANNED;
 			}
-			return result;
-		}
-
-		@Override
-		public boolean match(byte b) {
-			while (getMatches() > 0 && b != delimiter()[getMatches()]) {
-				setMatches(this.table[getMatches() - 1]);
+			ByteBuf byteBuf = ((NettyDataBuffer) dataBuffer).getNativeBuffer();
+			if (byteBuf.hasArray()) {
+				return matcher.indexOfLastByte(byteBuf.array(), byteBuf.arrayOffset(), fromIndex, toIndex);
+			}
+			else if (byteBuf.nioBufferCount() == 1) {
+				ByteBuffer byteBuffer = byteBuf.nioBuffer(fromIndex, toIndex - fromIndex);
+				int index = matcher.indexOfLastByte(byteBuffer, byteBuffer.position(), byteBuffer.limit());
+				return (index != -1 ? index - byteBuffer.position() + fromIndex : -1);
 			}
-			return super.match(b);
+			return DelimiterMatcher.NOT_SCANNED;
 		}
 	}
 
@@ -895,6 +979,46 @@ public abstract class DataBufferUtils {
 	}
 
 
+	private static class FileChannelMappingGenerator implements Consumer<SynchronousSink<DataBuffer>> {
+
+		private final FileChannel channel;
+
+		private final DataBufferFactory dataBufferFactory;
+
+		private final int bufferSize;
+
+		private long position;
+
+		public FileChannelMappingGenerator(
+				FileChannel channel, long position, DataBufferFactory dataBufferFactory, int bufferSize) {
+
+			this.channel = channel;
+			this.position = position;
+			this.dataBufferFactory = dataBufferFactory;
+			this.bufferSize = bufferSize;
+		}
+
+		@Override
+		public void accept(SynchronousSink<DataBuffer> sink) {
+			try {
+				long remaining = this.channel.size() - this.position;
+				if (remaining > 0) {
+					long size = Math.min(remaining, this.bufferSize);
+					ByteBuffer byteBuffer = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, size);
+					this.position += size;
+					sink.next(this.dataBufferFactory.wrap(byteBuffer));
+				}
+				else {
+					sink.complete();
+				}
+			}
+			catch (IOException ex) {
+				sink.error(ex);
+			}
+		}
+	}
+
+
 	private static class ReadCompletionHandler implements CompletionHandler<Integer, DataBuffer> {
 
 		private final AsynchronousFileChannel channel;
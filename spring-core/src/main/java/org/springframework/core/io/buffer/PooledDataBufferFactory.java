@@ -0,0 +1,559 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DataBufferFactory} pooling the heap memory of the buffers it allocates,
+ * for runtimes without Netty's pooled allocator such as Servlet containers and
+ * Undertow, e.g. through {@code ServletHttpHandlerAdapter#setDataBufferFactory}.
+ *
+ * <p>Allocated buffers are {@link PooledDataBuffer PooledDataBuffers}: their
+ * memory returns to the pool once they have been {@linkplain DataBufferUtils#release
+ * released} as often as they have been retained, after which accessing their
+ * content results in an {@link IllegalStateException}. Memory is pooled in size classes of powers of two up to the
+ * maximum pooled capacity, with larger buffers allocated on demand. Each thread
+ * caches a few small buffers per size class, and beyond that shares one of
+ * several arenas with other threads.
+ *
+ * <p>Buffers garbage collected without having been released do not corrupt the
+ * pool, but their memory is not reused either. Such leaks can be found by
+ * decorating this factory with a {@link TrackingDataBufferFactory}. Buffers
+ * {@linkplain #wrap(ByteBuffer) wrapping} existing memory are not pooled.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see NettyDataBufferFactory
+ * @see TrackingDataBufferFactory
+ */
+public class PooledDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The default maximum capacity of pooled buffers: 1 MB.
+	 * @see #PooledDataBufferFactory(int, int, int)
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 1024 * 1024;
+
+	// The smallest size class: 256 bytes
+	private static final int MIN_SIZE_CLASS_SHIFT = 8;
+
+	private static final int MAX_SIZE_CLASS_SHIFT = 30;
+
+	// Thread caches only hold small buffers, bounding the memory held per thread
+	private static final int MAX_CACHED_CAPACITY = 16 * 1024;
+
+	private static final int THREAD_CACHE_SIZE = 8;
+
+	private static final int MAX_ARENA_BYTES_PER_SIZE_CLASS = 1024 * 1024;
+
+
+	private final int maxPooledCapacity;
+
+	private final int cachedSizeClasses;
+
+	private final Arena[] arenas;
+
+	private final AtomicInteger nextArena = new AtomicInteger();
+
+	private final ThreadLocal<ThreadCache> threadCache =
+			new NamedThreadLocal<>("PooledDataBufferFactory thread cache");
+
+	private final LongAdder activeBufferCount = new LongAdder();
+
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with default settings,
+	 * using as many arenas as available processors.
+	 */
+	public PooledDataBufferFactory() {
+		this(DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_POOLED_CAPACITY, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}.
+	 * @param defaultInitialCapacity the capacity to use for {@link #allocateBuffer()}
+	 * @param maxPooledCapacity the maximum capacity of pooled buffers,
+	 * rounded up to the next power of two
+	 * @param arenaCount the number of arenas shared by allocating threads
+	 */
+	public PooledDataBufferFactory(int defaultInitialCapacity, int maxPooledCapacity, int arenaCount) {
+		super(false, defaultInitialCapacity);
+		Assert.isTrue(maxPooledCapacity > 0 && maxPooledCapacity <= (1 << MAX_SIZE_CLASS_SHIFT),
+				"'maxPooledCapacity' must be between 1 and 2^" + MAX_SIZE_CLASS_SHIFT);
+		Assert.isTrue(arenaCount > 0, "'arenaCount' must be larger than 0");
+		int sizeClasses = sizeClassIndex(maxPooledCapacity) + 1;
+		this.maxPooledCapacity = sizeOf(sizeClasses - 1);
+		this.cachedSizeClasses = Math.min(sizeClasses, sizeClassIndex(MAX_CACHED_CAPACITY) + 1);
+		this.arenas = new Arena[arenaCount];
+		for (int i = 0; i < arenaCount; i++) {
+			this.arenas[i] = new Arena(sizeClasses);
+		}
+	}
+
+
+	/**
+	 * Return the maximum capacity of pooled buffers.
+	 */
+	public int getMaxPooledCapacity() {
+		return this.maxPooledCapacity;
+	}
+
+	/**
+	 * Return the number of buffers allocated and not released yet,
+	 * including buffers garbage collected without having been released.
+	 */
+	public long getActiveBufferCount() {
+		return this.activeBufferCount.sum();
+	}
+
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "'initialCapacity' must be >= 0");
+		PooledHeapDataBuffer dataBuffer = new PooledHeapDataBuffer(this, allocateNativeBuffer(initialCapacity));
+		this.activeBufferCount.increment();
+		return dataBuffer;
+	}
+
+	/**
+	 * Allocate a heap buffer with the given capacity, from the pool if possible.
+	 */
+	ByteBuffer allocateNativeBuffer(int capacity) {
+		byte[] array = (capacity <= this.maxPooledCapacity ?
+				allocateArray(sizeClassIndex(capacity)) : new byte[capacity]);
+		return ByteBuffer.wrap(array, 0, capacity).slice();
+	}
+
+	private byte[] allocateArray(int sizeClass) {
+		ThreadCache cache = getThreadCache();
+		byte[] array = cache.poll(sizeClass);
+		if (array == null) {
+			array = cache.arena.poll(sizeClass);
+		}
+		return (array != null ? array : new byte[sizeOf(sizeClass)]);
+	}
+
+	/**
+	 * Return the given array of an allocated heap buffer to the pool,
+	 * unless it exceeds the maximum pooled capacity.
+	 */
+	void releaseArray(byte[] array) {
+		int length = array.length;
+		if (length > this.maxPooledCapacity) {
+			return;
+		}
+		int sizeClass = sizeClassIndex(length);
+		if (sizeOf(sizeClass) == length) {
+			ThreadCache cache = getThreadCache();
+			if (!cache.offer(sizeClass, array)) {
+				cache.arena.offer(sizeClass, array);
+			}
+		}
+	}
+
+	void deallocate(PooledHeapDataBuffer dataBuffer) {
+		releaseArray(dataBuffer.array);
+		this.activeBufferCount.decrement();
+	}
+
+	private ThreadCache getThreadCache() {
+		ThreadCache cache = this.threadCache.get();
+		if (cache == null) {
+			Arena arena = this.arenas[Math.floorMod(this.nextArena.getAndIncrement(), this.arenas.length)];
+			cache = new ThreadCache(arena, this.cachedSizeClasses);
+			this.threadCache.set(cache);
+		}
+		return cache;
+	}
+
+
+	private static int sizeClassIndex(int capacity) {
+		int shift = 32 - Integer.numberOfLeadingZeros(Math.max(capacity, 1) - 1);
+		return Math.max(shift - MIN_SIZE_CLASS_SHIFT, 0);
+	}
+
+	private static int sizeOf(int sizeClass) {
+		return 1 << (sizeClass + MIN_SIZE_CLASS_SHIFT);
+	}
+
+	private static InputStream releasingInputStream(InputStream inputStream, PooledDataBuffer dataBuffer) {
+		return new FilterInputStream(inputStream) {
+			private boolean closed;
+			@Override
+			public void close() throws IOException {
+				if (!this.closed) {
+					this.closed = true;
+					DataBufferUtils.release(dataBuffer);
+				}
+			}
+		};
+	}
+
+
+	@Override
+	public String toString() {
+		return "PooledDataBufferFactory (maxPooledCapacity=" + this.maxPooledCapacity +
+				", arenas=" + this.arenas.length + ")";
+	}
+
+
+	/**
+	 * Arrays of the pooled size classes shared by several threads.
+	 */
+	private static final class Arena {
+
+		private final SizeClass[] sizeClasses;
+
+		Arena(int sizeClassCount) {
+			this.sizeClasses = new SizeClass[sizeClassCount];
+			for (int i = 0; i < sizeClassCount; i++) {
+				this.sizeClasses[i] = new SizeClass(Math.max(MAX_ARENA_BYTES_PER_SIZE_CLASS / sizeOf(i), 2));
+			}
+		}
+
+		@Nullable
+		byte[] poll(int sizeClass) {
+			return this.sizeClasses[sizeClass].poll();
+		}
+
+		void offer(int sizeClass, byte[] array) {
+			this.sizeClasses[sizeClass].offer(array);
+		}
+	}
+
+
+	/**
+	 * Bounded stack of the arrays of one size class, guarded by its monitor.
+	 */
+	private static final class SizeClass {
+
+		private final byte[][] arrays;
+
+		private int count;
+
+		SizeClass(int capacity) {
+			this.arrays = new byte[capacity][];
+		}
+
+		@Nullable
+		synchronized byte[] poll() {
+			if (this.count == 0) {
+				return null;
+			}
+			byte[] array = this.arrays[--this.count];
+			this.arrays[this.count] = null;
+			return array;
+		}
+
+		synchronized void offer(byte[] array) {
+			if (this.count < this.arrays.length) {
+				this.arrays[this.count++] = array;
+			}
+		}
+	}
+
+
+	/**
+	 * Arrays of the smaller size classes cached by a single thread,
+	 * which therefore requires no synchronization.
+	 */
+	private static final class ThreadCache {
+
+		final Arena arena;
+
+		private final byte[][][] arrays;
+
+		private final int[] counts;
+
+		ThreadCache(Arena arena, int sizeClassCount) {
+			this.arena = arena;
+			this.arrays = new byte[sizeClassCount][THREAD_CACHE_SIZE][];
+			this.counts = new int[sizeClassCount];
+		}
+
+		@Nullable
+		byte[] poll(int sizeClass) {
+			if (sizeClass >= this.counts.length || this.counts[sizeClass] == 0) {
+				return null;
+			}
+			int index = --this.counts[sizeClass];
+			byte[] array = this.arrays[sizeClass][index];
+			this.arrays[sizeClass][index] = null;
+			return array;
+		}
+
+		boolean offer(int sizeClass, byte[] array) {
+			if (sizeClass >= this.counts.length || this.counts[sizeClass] == THREAD_CACHE_SIZE) {
+				return false;
+			}
+			this.arrays[sizeClass][this.counts[sizeClass]++] = array;
+			return true;
+		}
+	}
+
+
+	/**
+	 * {@link DefaultDataBuffer} whose memory returns to the pool once released,
+	 * rejecting any access to its content from then on, as the memory may
+	 * already be in use by another buffer.
+	 */
+	private abstract static class GuardedDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		GuardedDataBuffer(PooledDataBufferFactory factory, ByteBuffer byteBuffer) {
+			super(factory, byteBuffer);
+		}
+
+		final void assertAccessible() {
+			if (!isAllocated()) {
+				throw new IllegalStateException("PooledDataBuffer has been released already");
+			}
+		}
+
+		@Override
+		ByteBuffer byteBuffer() {
+			assertAccessible();
+			return super.byteBuffer();
+		}
+
+		@Override
+		public ByteBuffer getNativeBuffer() {
+			assertAccessible();
+			return super.getNativeBuffer();
+		}
+
+		@Override
+		public int indexOf(IntPredicate predicate, int fromIndex) {
+			assertAccessible();
+			return super.indexOf(predicate, fromIndex);
+		}
+
+		@Override
+		public int lastIndexOf(IntPredicate predicate, int fromIndex) {
+			assertAccessible();
+			return super.lastIndexOf(predicate, fromIndex);
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			assertAccessible();
+			return super.capacity(newCapacity);
+		}
+
+		@Override
+		public byte getByte(int index) {
+			assertAccessible();
+			return super.getByte(index);
+		}
+
+		@Override
+		public byte read() {
+			assertAccessible();
+			return super.read();
+		}
+
+		@Override
+		public DefaultDataBuffer read(byte[] destination, int offset, int length) {
+			assertAccessible();
+			return super.read(destination, offset, length);
+		}
+
+		@Override
+		public DefaultDataBuffer write(byte b) {
+			assertAccessible();
+			return super.write(b);
+		}
+
+		@Override
+		public DefaultDataBuffer write(byte[] source, int offset, int length) {
+			assertAccessible();
+			return super.write(source, offset, length);
+		}
+
+		@Override
+		public DefaultDataBuffer write(ByteBuffer... buffers) {
+			assertAccessible();
+			return super.write(buffers);
+		}
+
+		@Override
+		public ByteBuffer asByteBuffer(int index, int length) {
+			assertAccessible();
+			return super.asByteBuffer(index, length);
+		}
+
+		@Override
+		public InputStream asInputStream() {
+			assertAccessible();
+			return super.asInputStream();
+		}
+
+		@Override
+		public OutputStream asOutputStream() {
+			assertAccessible();
+			return super.asOutputStream();
+		}
+
+		@Override
+		public String toString(int index, int length, Charset charset) {
+			assertAccessible();
+			return super.toString(index, length, charset);
+		}
+	}
+
+
+	/**
+	 * Reference counted {@link DefaultDataBuffer} whose arrays come from the pool,
+	 * including the arrays allocated when changing its capacity.
+	 */
+	private static final class PooledHeapDataBuffer extends GuardedDataBuffer {
+
+		private static final AtomicIntegerFieldUpdater<PooledHeapDataBuffer> REF_COUNT_UPDATER =
+				AtomicIntegerFieldUpdater.newUpdater(PooledHeapDataBuffer.class, "refCount");
+
+		private final PooledDataBufferFactory factory;
+
+		private byte[] array;
+
+		private volatile int refCount = 1;
+
+		PooledHeapDataBuffer(PooledDataBufferFactory factory, ByteBuffer byteBuffer) {
+			super(factory, byteBuffer);
+			this.factory = factory;
+			this.array = byteBuffer.array();
+		}
+
+		@Override
+		ByteBuffer allocateNativeBuffer(int capacity, boolean direct) {
+			ByteBuffer byteBuffer = this.factory.allocateNativeBuffer(capacity);
+			this.array = byteBuffer.array();
+			return byteBuffer;
+		}
+
+		@Override
+		void releaseNativeBuffer(ByteBuffer byteBuffer) {
+			this.factory.releaseArray(byteBuffer.array());
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return (this.refCount > 0);
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			int refCount;
+			do {
+				refCount = this.refCount;
+				if (refCount <= 0) {
+					throw new IllegalStateException("PooledDataBuffer has been released already");
+				}
+			}
+			while (!REF_COUNT_UPDATER.compareAndSet(this, refCount, refCount + 1));
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			int refCount;
+			do {
+				refCount = this.refCount;
+				if (refCount <= 0) {
+					throw new IllegalStateException("PooledDataBuffer has been released already");
+				}
+			}
+			while (!REF_COUNT_UPDATER.compareAndSet(this, refCount, refCount - 1));
+			if (refCount == 1) {
+				this.factory.deallocate(this);
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public DefaultDataBuffer slice(int index, int length) {
+			assertAccessible();
+			return new PooledSlicedDataBuffer(this.factory, asByteBuffer(index, length), this);
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			return (releaseOnClose ? releasingInputStream(asInputStream(), this) : asInputStream());
+		}
+	}
+
+
+	/**
+	 * Slice of a {@link PooledHeapDataBuffer}, sharing its memory and reference count.
+	 */
+	private static final class PooledSlicedDataBuffer extends GuardedDataBuffer {
+
+		private final PooledHeapDataBuffer parent;
+
+		PooledSlicedDataBuffer(PooledDataBufferFactory factory, ByteBuffer byteBuffer, PooledHeapDataBuffer parent) {
+			super(factory, byteBuffer);
+			writePosition(byteBuffer.remaining());
+			this.parent = parent;
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return this.parent.isAllocated();
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			throw new UnsupportedOperationException("Changing the capacity of a sliced buffer is not supported");
+		}
+
+		@Override
+		public DefaultDataBuffer slice(int index, int length) {
+			assertAccessible();
+			return new PooledSlicedDataBuffer((PooledDataBufferFactory) factory(), asByteBuffer(index, length), this.parent);
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			return (releaseOnClose ? releasingInputStream(asInputStream(), this) : asInputStream());
+		}
+	}
+
+}
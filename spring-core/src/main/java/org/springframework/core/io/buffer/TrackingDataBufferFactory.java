@@ -0,0 +1,537 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DataBufferFactory} decorator tracking the buffers allocated by the
+ * delegate factory, in order to find buffers that are never released.
+ *
+ * <p>Allocated buffers are returned as {@link PooledDataBuffer PooledDataBuffers}
+ * with a reference count of their own, whether the delegate buffers are pooled
+ * or not, so that leaks show up with a {@link DefaultDataBufferFactory} as well.
+ * {@link DataBufferUtils#retain} and {@link DataBufferUtils#release} apply to
+ * the tracked buffer and are passed on to a pooled delegate buffer. Slices
+ * share the reference count of the buffer they were created from.
+ *
+ * <p>Buffers garbage collected without having been released are logged as
+ * errors, including the stack trace of their allocation for a sample of the
+ * buffers as determined by the {@link #setSamplingInterval sampling interval}.
+ * For those sampled buffers, the bytes not released yet are also counted per
+ * allocating call site, see {@link #getLiveBytesByCallSite()}.
+ *
+ * <p>Buffers {@linkplain #join joined} by this factory hand over their
+ * reference to the joined buffer. Buffers {@linkplain #wrap(ByteBuffer) wrapping}
+ * existing memory are only tracked if the delegate returns a pooled buffer.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see PooledDataBufferFactory
+ */
+public class TrackingDataBufferFactory implements DataBufferFactory {
+
+	/**
+	 * The default sampling interval: every 128th buffer on average.
+	 * @see #setSamplingInterval(int)
+	 */
+	public static final int DEFAULT_SAMPLING_INTERVAL = 128;
+
+	private static final String CLASS_NAME = TrackingDataBufferFactory.class.getName();
+
+	private static final Log logger = LogFactory.getLog(TrackingDataBufferFactory.class);
+
+
+	private final DataBufferFactory delegate;
+
+	private final ReferenceQueue<TrackedDataBuffer> leakQueue = new ReferenceQueue<>();
+
+	private final Set<Tracker> trackers = ConcurrentHashMap.newKeySet();
+
+	private final LongAdder liveByteCount = new LongAdder();
+
+	private final LongAdder leakedBufferCount = new LongAdder();
+
+	private final Map<String, LongAdder> liveBytesByCallSite = new ConcurrentHashMap<>();
+
+	private volatile int samplingInterval = DEFAULT_SAMPLING_INTERVAL;
+
+
+	/**
+	 * Create a new {@code TrackingDataBufferFactory} for the given delegate.
+	 * @param delegate the factory to allocate buffers with
+	 */
+	public TrackingDataBufferFactory(DataBufferFactory delegate) {
+		Assert.notNull(delegate, "DataBufferFactory delegate must not be null");
+		this.delegate = delegate;
+	}
+
+
+	/**
+	 * Return the factory that buffers are allocated with.
+	 */
+	public DataBufferFactory getDelegate() {
+		return this.delegate;
+	}
+
+	/**
+	 * Set the average interval between buffers whose allocation stack trace
+	 * is recorded: {@code 1} for every buffer, which is expensive, or {@code 0}
+	 * for none. Leaks are detected either way.
+	 * <p>The default is {@value #DEFAULT_SAMPLING_INTERVAL}.
+	 */
+	public void setSamplingInterval(int samplingInterval) {
+		Assert.isTrue(samplingInterval >= 0, "'samplingInterval' must be >= 0");
+		this.samplingInterval = samplingInterval;
+	}
+
+	/**
+	 * Return the average interval between buffers whose allocation
+	 * stack trace is recorded.
+	 */
+	public int getSamplingInterval() {
+		return this.samplingInterval;
+	}
+
+	/**
+	 * Return the number of buffers allocated and not released yet,
+	 * not counting buffers detected as leaked.
+	 */
+	public long getLiveBufferCount() {
+		reportLeaks();
+		return this.trackers.size();
+	}
+
+	/**
+	 * Return the number of bytes of the buffers allocated and not released
+	 * yet, based on the capacity of each buffer upon allocation.
+	 */
+	public long getLiveByteCount() {
+		reportLeaks();
+		return this.liveByteCount.sum();
+	}
+
+	/**
+	 * Return the number of bytes of the sampled buffers not released yet,
+	 * keyed by the stack trace element of their allocating call site.
+	 * With a sampling interval of {@code 1}, all live buffers are counted.
+	 * @return a snapshot of the live bytes per call site, excluding
+	 * call sites whose buffers have all been released
+	 * @see #setSamplingInterval(int)
+	 */
+	public Map<String, Long> getLiveBytesByCallSite() {
+		reportLeaks();
+		Map<String, Long> result = new HashMap<>();
+		this.liveBytesByCallSite.forEach((callSite, byteCount) -> {
+			long sum = byteCount.sum();
+			if (sum > 0) {
+				result.put(callSite, sum);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Return the number of buffers detected as garbage collected
+	 * without having been released.
+	 */
+	public long getLeakedBufferCount() {
+		reportLeaks();
+		return this.leakedBufferCount.sum();
+	}
+
+
+	@Override
+	public DataBuffer allocateBuffer() {
+		return track(this.delegate.allocateBuffer());
+	}
+
+	@Override
+	public DataBuffer allocateBuffer(int initialCapacity) {
+		return track(this.delegate.allocateBuffer(initialCapacity));
+	}
+
+	@Override
+	public DataBuffer wrap(ByteBuffer byteBuffer) {
+		DataBuffer dataBuffer = this.delegate.wrap(byteBuffer);
+		return (dataBuffer instanceof PooledDataBuffer ? track(dataBuffer) : dataBuffer);
+	}
+
+	@Override
+	public DataBuffer wrap(byte[] bytes) {
+		DataBuffer dataBuffer = this.delegate.wrap(bytes);
+		return (dataBuffer instanceof PooledDataBuffer ? track(dataBuffer) : dataBuffer);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation lets the delegate join the given buffers, each of
+	 * which hands over its reference, and tracks the joined buffer in turn.
+	 */
+	@Override
+	public DataBuffer join(List<? extends DataBuffer> dataBuffers) {
+		Assert.notEmpty(dataBuffers, "DataBuffer List must not be empty");
+		List<DataBuffer> delegates = new ArrayList<>(dataBuffers.size());
+		for (DataBuffer dataBuffer : dataBuffers) {
+			delegates.add(dataBuffer instanceof TrackedDataBuffer ?
+					((TrackedDataBuffer) dataBuffer).handOver() : dataBuffer);
+		}
+		return track(this.delegate.join(delegates));
+	}
+
+	private DataBuffer track(DataBuffer dataBuffer) {
+		reportLeaks();
+		int capacity = dataBuffer.capacity();
+		Throwable allocation = null;
+		String callSite = null;
+		int interval = this.samplingInterval;
+		if (interval == 1 || (interval > 1 && ThreadLocalRandom.current().nextInt(interval) == 0)) {
+			allocation = recordAllocation();
+			StackTraceElement[] stackTrace = allocation.getStackTrace();
+			callSite = (stackTrace.length > 0 ? stackTrace[0].toString() : "unknown");
+			this.liveBytesByCallSite.computeIfAbsent(callSite, key -> new LongAdder()).add(capacity);
+		}
+		TrackedDataBuffer trackedBuffer = new TrackedDataBuffer(dataBuffer, this, null);
+		Tracker tracker = new Tracker(trackedBuffer, this.leakQueue, capacity, callSite, allocation);
+		trackedBuffer.tracker = tracker;
+		this.trackers.add(tracker);
+		this.liveByteCount.add(capacity);
+		return trackedBuffer;
+	}
+
+	/**
+	 * Record the current stack trace, starting at the caller of this factory.
+	 */
+	private static Throwable recordAllocation() {
+		Throwable allocation = new Throwable("DataBuffer allocation");
+		StackTraceElement[] stackTrace = allocation.getStackTrace();
+		int start = 0;
+		while (start < stackTrace.length && isTrackingClass(stackTrace[start].getClassName())) {
+			start++;
+		}
+		allocation.setStackTrace(Arrays.copyOfRange(stackTrace, start, stackTrace.length));
+		return allocation;
+	}
+
+	private static boolean isTrackingClass(String className) {
+		return (className.startsWith(CLASS_NAME) &&
+				(className.length() == CLASS_NAME.length() || className.charAt(CLASS_NAME.length()) == '$'));
+	}
+
+	void untrack(Tracker tracker) {
+		if (this.trackers.remove(tracker)) {
+			tracker.clear();
+			removeLiveBytes(tracker);
+		}
+	}
+
+	private void removeLiveBytes(Tracker tracker) {
+		this.liveByteCount.add(-tracker.capacity);
+		if (tracker.callSite != null) {
+			this.liveBytesByCallSite.get(tracker.callSite).add(-tracker.capacity);
+		}
+	}
+
+	private void reportLeaks() {
+		Reference<? extends TrackedDataBuffer> reference;
+		while ((reference = this.leakQueue.poll()) != null) {
+			Tracker tracker = (Tracker) reference;
+			if (this.trackers.remove(tracker)) {
+				this.leakedBufferCount.increment();
+				removeLiveBytes(tracker);
+				if (logger.isErrorEnabled()) {
+					String message = "DataBuffer with capacity " + tracker.capacity +
+							" garbage collected without having been released";
+					if (tracker.allocation != null) {
+						logger.error(message + ", allocated at:", tracker.allocation);
+					}
+					else {
+						logger.error(message + " - set the sampling interval of " +
+								"TrackingDataBufferFactory to 1 to record allocation stack traces");
+					}
+				}
+			}
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return "TrackingDataBufferFactory (" + this.delegate + ")";
+	}
+
+
+	/**
+	 * Weak reference to a tracked buffer, enqueued if the buffer
+	 * gets garbage collected without having been released.
+	 */
+	private static final class Tracker extends WeakReference<TrackedDataBuffer> {
+
+		final int capacity;
+
+		@Nullable
+		final String callSite;
+
+		@Nullable
+		final Throwable allocation;
+
+		Tracker(TrackedDataBuffer dataBuffer, ReferenceQueue<TrackedDataBuffer> queue, int capacity,
+				@Nullable String callSite, @Nullable Throwable allocation) {
+
+			super(dataBuffer, queue);
+			this.capacity = capacity;
+			this.callSite = callSite;
+			this.allocation = allocation;
+		}
+	}
+
+
+	/**
+	 * Reference counted wrapper around a delegate buffer. Slices refer
+	 * to the buffer they were created from, keeping it reachable.
+	 */
+	private static final class TrackedDataBuffer extends DataBufferWrapper implements PooledDataBuffer {
+
+		private static final AtomicIntegerFieldUpdater<TrackedDataBuffer> REF_COUNT_UPDATER =
+				AtomicIntegerFieldUpdater.newUpdater(TrackedDataBuffer.class, "refCount");
+
+		private final TrackingDataBufferFactory factory;
+
+		@Nullable
+		private final TrackedDataBuffer parent;
+
+		private volatile int refCount = 1;
+
+		@Nullable
+		Tracker tracker;
+
+		TrackedDataBuffer(DataBuffer delegate, TrackingDataBufferFactory factory,
+				@Nullable TrackedDataBuffer parent) {
+
+			super(delegate);
+			this.factory = factory;
+			this.parent = parent;
+		}
+
+		@Override
+		public TrackingDataBufferFactory factory() {
+			return this.factory;
+		}
+
+		@Override
+		public DataBuffer capacity(int capacity) {
+			dataBuffer().capacity(capacity);
+			return this;
+		}
+
+		@Override
+		public DataBuffer ensureCapacity(int capacity) {
+			dataBuffer().ensureCapacity(capacity);
+			return this;
+		}
+
+		@Override
+		public DataBuffer readPosition(int readPosition) {
+			dataBuffer().readPosition(readPosition);
+			return this;
+		}
+
+		@Override
+		public DataBuffer writePosition(int writePosition) {
+			dataBuffer().writePosition(writePosition);
+			return this;
+		}
+
+		@Override
+		public DataBuffer read(byte[] destination) {
+			dataBuffer().read(destination);
+			return this;
+		}
+
+		@Override
+		public DataBuffer read(byte[] destination, int offset, int length) {
+			dataBuffer().read(destination, offset, length);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(byte b) {
+			dataBuffer().write(b);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(byte[] source) {
+			dataBuffer().write(source);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(byte[] source, int offset, int length) {
+			dataBuffer().write(source, offset, length);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(DataBuffer... buffers) {
+			dataBuffer().write(buffers);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(ByteBuffer... buffers) {
+			dataBuffer().write(buffers);
+			return this;
+		}
+
+		@Override
+		public DataBuffer write(CharSequence charSequence, Charset charset) {
+			dataBuffer().write(charSequence, charset);
+			return this;
+		}
+
+		@Override
+		public DataBuffer slice(int index, int length) {
+			return new TrackedDataBuffer(dataBuffer().slice(index, length), this.factory, root());
+		}
+
+		@Override
+		public DataBuffer retainedSlice(int index, int length) {
+			DataBuffer slice = slice(index, length);
+			retain();
+			return slice;
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			InputStream inputStream = dataBuffer().asInputStream();
+			return (releaseOnClose ? new ReleasingInputStream(inputStream, this) : inputStream);
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return (root().refCount > 0);
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			TrackedDataBuffer root = root();
+			int refCount;
+			do {
+				refCount = root.refCount;
+				if (refCount <= 0) {
+					throw new IllegalStateException("DataBuffer has been released already");
+				}
+			}
+			while (!REF_COUNT_UPDATER.compareAndSet(root, refCount, refCount + 1));
+			DataBufferUtils.retain(root.dataBuffer());
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			boolean released = decrementRefCount();
+			DataBufferUtils.release(root().dataBuffer());
+			return released;
+		}
+
+		/**
+		 * Give up the reference to this buffer without releasing
+		 * the delegate buffer, which is returned instead.
+		 */
+		DataBuffer handOver() {
+			decrementRefCount();
+			return dataBuffer();
+		}
+
+		private boolean decrementRefCount() {
+			TrackedDataBuffer root = root();
+			int refCount;
+			do {
+				refCount = root.refCount;
+				if (refCount <= 0) {
+					throw new IllegalStateException("DataBuffer has been released already");
+				}
+			}
+			while (!REF_COUNT_UPDATER.compareAndSet(root, refCount, refCount - 1));
+			if (refCount == 1) {
+				Assert.state(root.tracker != null, "No Tracker");
+				this.factory.untrack(root.tracker);
+				return true;
+			}
+			return false;
+		}
+
+		private TrackedDataBuffer root() {
+			return (this.parent != null ? this.parent : this);
+		}
+
+		@Override
+		public String toString() {
+			return "TrackedDataBuffer (" + dataBuffer() + ")";
+		}
+	}
+
+
+	/**
+	 * InputStream releasing a tracked buffer when closed.
+	 */
+	private static final class ReleasingInputStream extends FilterInputStream {
+
+		private final DataBuffer dataBuffer;
+
+		private boolean closed;
+
+		ReleasingInputStream(InputStream inputStream, DataBuffer dataBuffer) {
+			super(inputStream);
+			this.dataBuffer = dataBuffer;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!this.closed) {
+				this.closed = true;
+				super.close();
+				DataBufferUtils.release(this.dataBuffer);
+			}
+		}
+	}
+
+}
@@ -38,7 +38,9 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  *
  * <p><b>NOTE: This implementation does not reuse threads!</b> Consider a
  * thread-pooling TaskExecutor implementation instead, in particular for
- * executing a large number of short-lived tasks.
+ * executing a large number of short-lived tasks. Alternatively, on JDK 21 or
+ * higher, switch this executor to {@link #setVirtualThreads virtual threads}
+ * which are cheap to create, e.g. for tasks mostly blocking on I/O.
  *
  * @author Juergen Hoeller
  * @since 2.0
@@ -103,6 +105,8 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	 * instead of relying on the local properties of this executor.
 	 * <p>You may specify an inner ThreadFactory bean or also a ThreadFactory reference
 	 * obtained from JNDI (on a Java EE 6 server) or some other lookup mechanism.
+	 * <p>Note that local properties such as {@link #setVirtualThreads} do not
+	 * apply to threads created by an external factory.
 	 * @see #setThreadNamePrefix
 	 * @see #setThreadPriority
 	 */
@@ -168,6 +172,17 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 		return this.concurrencyThrottle.isThrottleActive();
 	}
 
+	/**
+	 * Set whether tasks waiting for the concurrency limit should be started
+	 * in the order of their submission.
+	 * <p>Default is "false", favoring throughput under high contention.
+	 * @since 5.3
+	 * @see ConcurrencyThrottleSupport#setFairThrottle
+	 */
+	public void setFairThrottle(boolean fairThrottle) {
+		this.concurrencyThrottle.setFairThrottle(fairThrottle);
+	}
+
 
 	/**
 	 * Executes the given task, within a concurrency throttle
@@ -184,7 +199,10 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	 * if configured (through the superclass's settings).
 	 * <p>Executes urgent tasks (with 'immediate' timeout) directly,
 	 * bypassing the concurrency throttle (if active). All other
-	 * tasks are subject to throttling.
+	 * tasks are subject to throttling, waiting for the concurrency
+	 * count to drop below the limit within the given start timeout.
+	 * @throws TaskTimeoutException if the concurrency limit did not
+	 * allow for starting the task within the given start timeout
 	 * @see #TIMEOUT_IMMEDIATE
 	 * @see #doExecute(Runnable)
 	 */
@@ -193,8 +211,20 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 		Assert.notNull(task, "Runnable must not be null");
 		Runnable taskToUse = (this.taskDecorator != null ? this.taskDecorator.decorate(task) : task);
 		if (isThrottleActive() && startTimeout > TIMEOUT_IMMEDIATE) {
-			this.concurrencyThrottle.beforeAccess();
-			doExecute(new ConcurrencyThrottlingRunnable(taskToUse));
+			if (startTimeout == TIMEOUT_INDEFINITE) {
+				this.concurrencyThrottle.beforeAccess();
+			}
+			else if (!this.concurrencyThrottle.beforeAccess(startTimeout)) {
+				throw new TaskTimeoutException("Concurrency limit did not allow for starting task [" +
+						task + "] within " + startTimeout + " ms");
+			}
+			try {
+				doExecute(new ConcurrencyThrottlingRunnable(taskToUse));
+			}
+			catch (RuntimeException | Error ex) {
+				this.concurrencyThrottle.afterAccess();
+				throw ex;
+			}
 		}
 		else {
 			doExecute(taskToUse);
@@ -255,6 +285,11 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 			super.beforeAccess();
 		}
 
+		@Override
+		protected boolean beforeAccess(long timeout) {
+			return super.beforeAccess(timeout);
+		}
+
 		@Override
 		protected void afterAccess() {
 			super.afterAccess();
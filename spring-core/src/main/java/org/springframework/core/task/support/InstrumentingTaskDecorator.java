@@ -0,0 +1,84 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task.support;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TaskDecorator} reporting the queue wait and execution time of each
+ * task to a {@link TaskExecutionListener}, for any executor accepting a
+ * task decorator, such as {@link TaskExecutorAdapter} or
+ * {@link org.springframework.core.task.SimpleAsyncTaskExecutor}.
+ *
+ * <p>The queue wait is measured from the decoration of a task, which
+ * executors perform when a task gets submitted.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ */
+public class InstrumentingTaskDecorator implements TaskDecorator {
+
+	private final TaskExecutionListener listener;
+
+	@Nullable
+	private final TaskDecorator delegate;
+
+
+	/**
+	 * Create a new {@code InstrumentingTaskDecorator} for the given listener.
+	 * @param listener the listener to report to
+	 */
+	public InstrumentingTaskDecorator(TaskExecutionListener listener) {
+		this(listener, null);
+	}
+
+	/**
+	 * Create a new {@code InstrumentingTaskDecorator} for the given listener,
+	 * applying the given decorator to each task as well.
+	 * @param listener the listener to report to
+	 * @param delegate a decorator to apply within the instrumentation, if any
+	 */
+	public InstrumentingTaskDecorator(TaskExecutionListener listener, @Nullable TaskDecorator delegate) {
+		Assert.notNull(listener, "TaskExecutionListener must not be null");
+		this.listener = listener;
+		this.delegate = delegate;
+	}
+
+
+	@Override
+	public Runnable decorate(Runnable runnable) {
+		Runnable decorated = (this.delegate != null ? this.delegate.decorate(runnable) : runnable);
+		long submitTime = System.nanoTime();
+		return () -> {
+			long startTime = System.nanoTime();
+			Throwable failure = null;
+			try {
+				decorated.run();
+			}
+			catch (RuntimeException | Error ex) {
+				failure = ex;
+				throw ex;
+			}
+			finally {
+				this.listener.taskExecuted(startTime - submitTime, System.nanoTime() - startTime, failure);
+			}
+		};
+	}
+
+}
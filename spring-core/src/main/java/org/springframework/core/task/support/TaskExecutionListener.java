@@ -0,0 +1,64 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task.support;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Callback interface for instrumenting task executors and schedulers,
+ * e.g. to feed a metrics library.
+ *
+ * <p>Callbacks happen on the threads executing or submitting tasks,
+ * so implementations need to be thread-safe and should return quickly.
+ * All methods have empty default implementations.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see InstrumentingTaskDecorator
+ * @see TaskExecutionStatistics
+ */
+public interface TaskExecutionListener {
+
+	/**
+	 * Called after the execution of a submitted task.
+	 * @param queueWaitNanos the time between the submission of the task
+	 * and the start of its execution, in nanoseconds
+	 * @param executionNanos the time the task took to execute, in nanoseconds
+	 * @param failure the exception thrown by the task, if any
+	 */
+	default void taskExecuted(long queueWaitNanos, long executionNanos, @Nullable Throwable failure) {
+	}
+
+	/**
+	 * Called after an execution of a scheduled task, possibly a recurring one.
+	 * @param driftNanos the time between the intended and the actual start of
+	 * this execution, in nanoseconds (negative if the execution started early)
+	 * @param executionNanos the time the task took to execute, in nanoseconds
+	 * @param failure the exception thrown by the task, if any
+	 */
+	default void scheduledTaskExecuted(long driftNanos, long executionNanos, @Nullable Throwable failure) {
+	}
+
+	/**
+	 * Called when a task has been rejected by the executor,
+	 * before any rejection policy applies.
+	 * @param task the rejected task
+	 */
+	default void taskRejected(Runnable task) {
+	}
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task.support;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Thread-safe accumulator of the time tasks spent waiting for a thread
+ * and the time they took to execute, for monitoring and tuning executors.
+ *
+ * <p>Recording a task only updates striped counters, so that concurrent
+ * tasks do not contend with each other. Values read while tasks complete
+ * are not guaranteed to be consistent with each other.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ */
+public class TaskExecutionStatistics implements TaskExecutionListener {
+
+	// Execution times in buckets of powers of two microseconds, the last one open-ended
+	private static final int HISTOGRAM_BUCKETS = 32;
+
+
+	private final LongAdder taskCount = new LongAdder();
+
+	private final LongAdder failedTaskCount = new LongAdder();
+
+	private final LongAdder rejectedTaskCount = new LongAdder();
+
+	private final LongAdder queuedTaskCount = new LongAdder();
+
+	private final LongAdder totalQueueWaitNanos = new LongAdder();
+
+	private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Long::max, 0);
+
+	private final LongAdder scheduledTaskCount = new LongAdder();
+
+	private final LongAdder totalDriftNanos = new LongAdder();
+
+	private final LongAccumulator maxDriftNanos = new LongAccumulator(Long::max, 0);
+
+	private final LongAdder totalExecutionNanos = new LongAdder();
+
+	private final LongAccumulator maxExecutionNanos = new LongAccumulator(Long::max, 0);
+
+	private final LongAdder[] executionTimeHistogram = new LongAdder[HISTOGRAM_BUCKETS];
+
+
+	public TaskExecutionStatistics() {
+		for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+			this.executionTimeHistogram[i] = new LongAdder();
+		}
+	}
+
+
+	@Override
+	public void taskExecuted(long queueWaitNanos, long executionNanos, @Nullable Throwable failure) {
+		this.queuedTaskCount.increment();
+		this.totalQueueWaitNanos.add(queueWaitNanos);
+		this.maxQueueWaitNanos.accumulate(queueWaitNanos);
+		recordExecution(executionNanos, failure);
+	}
+
+	@Override
+	public void scheduledTaskExecuted(long driftNanos, long executionNanos, @Nullable Throwable failure) {
+		this.scheduledTaskCount.increment();
+		this.totalDriftNanos.add(driftNanos);
+		this.maxDriftNanos.accumulate(driftNanos);
+		recordExecution(executionNanos, failure);
+	}
+
+	private void recordExecution(long executionNanos, @Nullable Throwable failure) {
+		this.taskCount.increment();
+		if (failure != null) {
+			this.failedTaskCount.increment();
+		}
+		this.totalExecutionNanos.add(executionNanos);
+		this.maxExecutionNanos.accumulate(executionNanos);
+		long micros = TimeUnit.NANOSECONDS.toMicros(executionNanos);
+		int bucket = Math.min(64 - Long.numberOfLeadingZeros(Math.max(micros, 0)), HISTOGRAM_BUCKETS - 1);
+		this.executionTimeHistogram[bucket].increment();
+	}
+
+	@Override
+	public void taskRejected(Runnable task) {
+		this.rejectedTaskCount.increment();
+	}
+
+
+	/**
+	 * Return the number of executed tasks, including scheduled tasks.
+	 */
+	public long getTaskCount() {
+		return this.taskCount.sum();
+	}
+
+	/**
+	 * Return the number of executed tasks which threw an exception.
+	 */
+	public long getFailedTaskCount() {
+		return this.failedTaskCount.sum();
+	}
+
+	/**
+	 * Return the number of tasks rejected by the executor.
+	 */
+	public long getRejectedTaskCount() {
+		return this.rejectedTaskCount.sum();
+	}
+
+	/**
+	 * Return the average time a submitted task waited for a thread.
+	 */
+	public Duration getAverageQueueWaitTime() {
+		return average(this.totalQueueWaitNanos.sum(), this.queuedTaskCount.sum());
+	}
+
+	/**
+	 * Return the longest time a submitted task waited for a thread.
+	 */
+	public Duration getMaxQueueWaitTime() {
+		return Duration.ofNanos(this.maxQueueWaitNanos.get());
+	}
+
+	/**
+	 * Return the average delay of scheduled task executions
+	 * relative to their intended start.
+	 */
+	public Duration getAverageDrift() {
+		return average(this.totalDriftNanos.sum(), this.scheduledTaskCount.sum());
+	}
+
+	/**
+	 * Return the longest delay of a scheduled task execution
+	 * relative to its intended start.
+	 */
+	public Duration getMaxDrift() {
+		return Duration.ofNanos(this.maxDriftNanos.get());
+	}
+
+	/**
+	 * Return the average time a task took to execute.
+	 */
+	public Duration getAverageExecutionTime() {
+		return average(this.totalExecutionNanos.sum(), this.taskCount.sum());
+	}
+
+	/**
+	 * Return the longest time a task took to execute.
+	 */
+	public Duration getMaxExecutionTime() {
+		return Duration.ofNanos(this.maxExecutionNanos.get());
+	}
+
+	/**
+	 * Return a histogram of the execution times, as the number of executions
+	 * shorter than each bucket's (exclusive) upper bound but not shorter than
+	 * the previous one's, in ascending order, with buckets doubling in size.
+	 * Empty buckets beyond the longest execution are omitted; the last
+	 * bucket includes all longer executions.
+	 */
+	public Map<Duration, Long> getExecutionTimeHistogram() {
+		int lastBucket = HISTOGRAM_BUCKETS - 1;
+		while (lastBucket > 0 && this.executionTimeHistogram[lastBucket].sum() == 0) {
+			lastBucket--;
+		}
+		Map<Duration, Long> histogram = new LinkedHashMap<>();
+		for (int i = 0; i <= lastBucket; i++) {
+			histogram.put(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(1L << i)), this.executionTimeHistogram[i].sum());
+		}
+		return histogram;
+	}
+
+	private static Duration average(long totalNanos, long count) {
+		return (count > 0 ? Duration.ofNanos(totalNanos / count) : Duration.ZERO);
+	}
+
+	/**
+	 * Reset all statistics, e.g. after a change of the executor configuration.
+	 */
+	public void reset() {
+		this.taskCount.reset();
+		this.failedTaskCount.reset();
+		this.rejectedTaskCount.reset();
+		this.queuedTaskCount.reset();
+		this.totalQueueWaitNanos.reset();
+		this.maxQueueWaitNanos.reset();
+		this.scheduledTaskCount.reset();
+		this.totalDriftNanos.reset();
+		this.maxDriftNanos.reset();
+		this.totalExecutionNanos.reset();
+		this.maxExecutionNanos.reset();
+		for (LongAdder bucket : this.executionTimeHistogram) {
+			bucket.reset();
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return "TaskExecutionStatistics: taskCount=" + getTaskCount() +
+				", failedTaskCount=" + getFailedTaskCount() +
+				", rejectedTaskCount=" + getRejectedTaskCount() +
+				", averageQueueWaitTime=" + getAverageQueueWaitTime() +
+				", maxQueueWaitTime=" + getMaxQueueWaitTime() +
+				", averageDrift=" + getAverageDrift() +
+				", maxDrift=" + getMaxDrift() +
+				", averageExecutionTime=" + getAverageExecutionTime() +
+				", maxExecutionTime=" + getMaxExecutionTime();
+	}
+
+}
@@ -19,6 +19,8 @@ package org.springframework.util;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -35,6 +37,13 @@ import org.apache.commons.logging.LogFactory;
  * ("unbounded concurrency"). Subclasses may override this default;
  * check the javadoc of the concrete class that you're using.
  *
+ * <p>The concurrency count is maintained through compare-and-set operations,
+ * only queueing threads which find the limit reached. Queued threads are
+ * released in arrival order if the throttle is {@link #setFairThrottle fair};
+ * by default, arriving threads may enter ahead of queued ones, for higher
+ * throughput. Waiting can be bounded through a {@link #setThrottleTimeout
+ * throttle timeout}.
+ *
  * @author Juergen Hoeller
  * @since 1.2.5
  * @see #setConcurrencyLimit
@@ -60,11 +69,13 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 	/** Transient to optimize serialization. */
 	protected transient Log logger = LogFactory.getLog(getClass());
 
-	private transient Object monitor = new Object();
+	private volatile int concurrencyLimit = UNBOUNDED_CONCURRENCY;
+
+	private boolean fairThrottle = false;
 
-	private int concurrencyLimit = UNBOUNDED_CONCURRENCY;
+	private long throttleTimeout = -1;
 
-	private int concurrencyCount = 0;
+	private transient ThrottleSync sync = new ThrottleSync(false);
 
 
 	/**
@@ -72,12 +83,15 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 	 * -1 indicates unbounded concurrency.
 	 * <p>In principle, this limit can be changed at runtime,
 	 * although it is generally designed as a config time setting.
+	 * Raising the limit lets waiting threads enter right away.
 	 * <p>NOTE: Do not switch between -1 and any concrete limit at runtime,
 	 * as this will lead to inconsistent concurrency counts: A limit
 	 * of -1 effectively turns off concurrency counting completely.
 	 */
 	public void setConcurrencyLimit(int concurrencyLimit) {
 		this.concurrencyLimit = concurrencyLimit;
+		// Let queued threads re-check the limit
+		this.sync.releaseShared(0);
 	}
 
 	/**
@@ -96,45 +110,120 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 		return (this.concurrencyLimit >= 0);
 	}
 
+	/**
+	 * Set whether threads waiting for the concurrency limit should enter
+	 * in the order of their arrival.
+	 * <p>Default is "false", allowing an arriving thread to take a free slot
+	 * ahead of waiting threads, which avoids the hand-off to a waiting thread
+	 * under high contention. Specify "true" for guaranteed progress of each
+	 * waiting thread. This is a config time setting.
+	 * @since 5.3
+	 */
+	public void setFairThrottle(boolean fairThrottle) {
+		this.fairThrottle = fairThrottle;
+		this.sync = new ThrottleSync(fairThrottle);
+	}
+
+	/**
+	 * Return whether threads waiting for the concurrency limit enter
+	 * in the order of their arrival.
+	 * @since 5.3
+	 */
+	public boolean isFairThrottle() {
+		return this.fairThrottle;
+	}
+
+	/**
+	 * Set the maximum time to wait in {@link #beforeAccess()} for the
+	 * concurrency count to drop below the limit, in milliseconds.
+	 * <p>Default is -1, waiting indefinitely. If the timeout elapses, access is
+	 * rejected with an {@link IllegalStateException}. A timeout of 0 rejects
+	 * access right away whenever the limit has been reached.
+	 * @since 5.3
+	 * @see #beforeAccess(long)
+	 */
+	public void setThrottleTimeout(long throttleTimeout) {
+		this.throttleTimeout = throttleTimeout;
+	}
+
+	/**
+	 * Return the maximum time to wait for the concurrency count
+	 * to drop below the limit, in milliseconds.
+	 * @since 5.3
+	 */
+	public long getThrottleTimeout() {
+		return this.throttleTimeout;
+	}
+
+	/**
+	 * Return the current number of concurrent accesses, as far as counted.
+	 * @since 5.3
+	 */
+	public int getConcurrencyCount() {
+		return this.sync.getCount();
+	}
+
 
 	/**
 	 * To be invoked before the main execution logic of concrete subclasses.
-	 * <p>This implementation applies the concurrency throttle.
+	 * <p>This implementation applies the concurrency throttle, waiting
+	 * for the configured {@link #setThrottleTimeout throttle timeout}.
 	 * @see #afterAccess()
 	 */
 	protected void beforeAccess() {
-		if (this.concurrencyLimit == NO_CONCURRENCY) {
+		long timeout = this.throttleTimeout;
+		if (!beforeAccess(timeout)) {
+			throw new IllegalStateException("Concurrency limit " + this.concurrencyLimit +
+					" still reached after waiting for " + timeout + " ms");
+		}
+	}
+
+	/**
+	 * To be invoked before the main execution logic of concrete subclasses,
+	 * waiting for the given time at most.
+	 * <p>This implementation applies the concurrency throttle.
+	 * @param timeout the maximum time to wait in milliseconds, or a negative
+	 * value for waiting indefinitely
+	 * @return {@code true} if access has been granted, or {@code false} if the
+	 * concurrency limit has still been reached after the given time (in which
+	 * case {@link #afterAccess()} must not be called)
+	 * @since 5.3
+	 * @see #afterAccess()
+	 */
+	protected boolean beforeAccess(long timeout) {
+		int concurrencyLimit = this.concurrencyLimit;
+		if (concurrencyLimit == NO_CONCURRENCY) {
 			throw new IllegalStateException(
 					"Currently no invocations allowed - concurrency limit set to NO_CONCURRENCY");
 		}
-		if (this.concurrencyLimit > 0) {
+		if (concurrencyLimit > 0) {
 			boolean debug = logger.isDebugEnabled();
-			synchronized (this.monitor) {
-				boolean interrupted = false;
-				while (this.concurrencyCount >= this.concurrencyLimit) {
-					if (interrupted) {
-						throw new IllegalStateException("Thread was interrupted while waiting for invocation access, " +
-								"but concurrency limit still does not allow for entering");
-					}
-					if (debug) {
-						logger.debug("Concurrency count " + this.concurrencyCount +
-								" has reached limit " + this.concurrencyLimit + " - blocking");
-					}
-					try {
-						this.monitor.wait();
+			ThrottleSync sync = this.sync;
+			if (!sync.tryEnter()) {
+				if (debug) {
+					logger.debug("Concurrency count " + sync.getCount() +
+							" has reached limit " + concurrencyLimit + " - blocking");
+				}
+				try {
+					if (timeout < 0) {
+						sync.acquireSharedInterruptibly(1);
 					}
-					catch (InterruptedException ex) {
-						// Re-interrupt current thread, to allow other threads to react.
-						Thread.currentThread().interrupt();
-						interrupted = true;
+					else if (!sync.tryAcquireSharedNanos(1, TimeUnit.MILLISECONDS.toNanos(timeout))) {
+						return false;
 					}
 				}
-				if (debug) {
-					logger.debug("Entering throttle at concurrency count " + this.concurrencyCount);
+				catch (InterruptedException ex) {
+					// Re-interrupt current thread, to allow other threads to react.
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Thread was interrupted while waiting for invocation access, " +
+							"but concurrency limit still does not allow for entering");
 				}
-				this.concurrencyCount++;
+			}
+			if (debug) {
+				logger.debug("Entering throttle at concurrency count " + (sync.getCount() - 1));
 			}
 		}
+		return true;
 	}
 
 	/**
@@ -143,12 +232,9 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 	 */
 	protected void afterAccess() {
 		if (this.concurrencyLimit >= 0) {
-			synchronized (this.monitor) {
-				this.concurrencyCount--;
-				if (logger.isDebugEnabled()) {
-					logger.debug("Returning from throttle at concurrency count " + this.concurrencyCount);
-				}
-				this.monitor.notify();
+			this.sync.releaseShared(1);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Returning from throttle at concurrency count " + this.sync.getCount());
 			}
 		}
 	}
@@ -164,7 +250,58 @@ public abstract class ConcurrencyThrottleSupport implements Serializable {
 
 		// Initialize transient fields.
 		this.logger = LogFactory.getLog(getClass());
-		this.monitor = new Object();
+		this.sync = new ThrottleSync(this.fairThrottle);
+	}
+
+
+	/**
+	 * Synchronizer keeping the concurrency count as its state, checked against
+	 * the current limit on each acquisition - in contrast to a
+	 * {@link java.util.concurrent.Semaphore} with a fixed number of permits.
+	 */
+	private class ThrottleSync extends AbstractQueuedSynchronizer {
+
+		private final boolean fair;
+
+		ThrottleSync(boolean fair) {
+			this.fair = fair;
+		}
+
+		int getCount() {
+			return getState();
+		}
+
+		boolean tryEnter() {
+			return (tryAcquireShared(1) >= 0);
+		}
+
+		@Override
+		protected int tryAcquireShared(int acquires) {
+			if (this.fair && hasQueuedPredecessors()) {
+				return -1;
+			}
+			while (true) {
+				int count = getState();
+				int limit = concurrencyLimit;
+				if (count >= limit) {
+					return -1;
+				}
+				if (compareAndSetState(count, count + acquires)) {
+					// A positive result lets the next queued thread try as well
+					return (count + acquires < limit ? 1 : 0);
+				}
+			}
+		}
+
+		@Override
+		protected boolean tryReleaseShared(int releases) {
+			while (true) {
+				int count = getState();
+				if (compareAndSetState(count, count - releases)) {
+					return true;
+				}
+			}
+		}
 	}
 
 }
@@ -44,6 +44,8 @@ public class CustomizableThreadCreator implements Serializable {
 	@Nullable
 	private ThreadGroup threadGroup;
 
+	private boolean virtualThreads = false;
+
 	private final AtomicInteger threadCount = new AtomicInteger(0);
 
 
@@ -141,6 +143,29 @@ public class CustomizableThreadCreator implements Serializable {
 		return this.threadGroup;
 	}
 
+	/**
+	 * Specify whether to create virtual threads instead of platform threads,
+	 * for executing blocking tasks without being limited by the number of
+	 * platform threads.
+	 * <p>Default is "false". Virtual threads require JDK 21 or higher: on
+	 * earlier JVMs, platform threads will be created regardless. Note that
+	 * virtual threads are always daemon threads with normal priority, not
+	 * taking the corresponding settings and the thread group into account.
+	 * @since 5.3
+	 * @see #isVirtualThreadSupported()
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
+	/**
+	 * Return whether this factory is supposed to create virtual threads.
+	 * @since 5.3
+	 */
+	public boolean isVirtualThreads() {
+		return this.virtualThreads;
+	}
+
 
 	/**
 	 * Template method for the creation of a new {@link Thread}.
@@ -148,8 +173,12 @@ public class CustomizableThreadCreator implements Serializable {
 	 * {@link Runnable}, applying an appropriate thread name.
 	 * @param runnable the Runnable to execute
 	 * @see #nextThreadName()
+	 * @see #setVirtualThreads
 	 */
 	public Thread createThread(Runnable runnable) {
+		if (this.virtualThreads && VirtualThreadDelegate.isSupported()) {
+			return VirtualThreadDelegate.newVirtualThread(nextThreadName(), runnable);
+		}
 		Thread thread = new Thread(getThreadGroup(), runnable, nextThreadName());
 		thread.setPriority(getThreadPriority());
 		thread.setDaemon(isDaemon());
@@ -174,4 +203,14 @@ public class CustomizableThreadCreator implements Serializable {
 		return ClassUtils.getShortName(getClass()) + "-";
 	}
 
+
+	/**
+	 * Determine whether the current JVM supports virtual threads,
+	 * i.e. whether {@link #setVirtualThreads} takes effect.
+	 * @since 5.3
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return VirtualThreadDelegate.isSupported();
+	}
+
 }
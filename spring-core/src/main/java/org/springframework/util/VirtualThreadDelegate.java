@@ -0,0 +1,91 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.lang.reflect.Method;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Internal delegate for creating virtual threads through reflection,
+ * since the {@code Thread.ofVirtual()} builder API is only available
+ * on JDK 21 or higher (or as a preview feature on JDK 19 and 20).
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see CustomizableThreadCreator#setVirtualThreads
+ */
+final class VirtualThreadDelegate {
+
+	@Nullable
+	private static final Method ofVirtualMethod;
+
+	@Nullable
+	private static final Method nameMethod;
+
+	@Nullable
+	private static final Method unstartedMethod;
+
+	static {
+		Method ofVirtual = null;
+		Method name = null;
+		Method unstarted = null;
+		try {
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			Class<?> builderClass = ofVirtual.getReturnType();
+			name = builderClass.getMethod("name", String.class);
+			unstarted = builderClass.getMethod("unstarted", Runnable.class);
+			// Fails on a JDK with virtual threads as a disabled preview feature
+			ofVirtual.invoke(null);
+		}
+		catch (Throwable ex) {
+			ofVirtual = null;
+		}
+		ofVirtualMethod = ofVirtual;
+		nameMethod = name;
+		unstartedMethod = unstarted;
+	}
+
+
+	private VirtualThreadDelegate() {
+	}
+
+
+	/**
+	 * Determine whether the current JVM supports virtual threads.
+	 */
+	static boolean isSupported() {
+		return (ofVirtualMethod != null);
+	}
+
+	/**
+	 * Create a new unstarted virtual thread.
+	 * @param name the name of the thread
+	 * @param runnable the Runnable to execute
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	static Thread newVirtualThread(String name, Runnable runnable) {
+		Assert.state(ofVirtualMethod != null && nameMethod != null && unstartedMethod != null,
+				"Virtual threads not supported on this JVM");
+		Object builder = ReflectionUtils.invokeMethod(ofVirtualMethod, null);
+		builder = ReflectionUtils.invokeMethod(nameMethod, builder, name);
+		Thread thread = (Thread) ReflectionUtils.invokeMethod(unstartedMethod, builder, runnable);
+		Assert.state(thread != null, "No virtual thread created");
+		return thread;
+	}
+
+}
@@ -28,8 +28,11 @@ import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.CompositeDataBuffer;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.testfixture.codec.AbstractDecoderTests;
 import org.springframework.util.MimeType;
 import org.springframework.util.MimeTypeUtils;
@@ -257,6 +260,25 @@ class StringDecoderTests extends AbstractDecoderTests<StringDecoder> {
 				.verify());
 	}
 
+	@Test
+	void decodeCompositeWithCharactersSplitAcrossComponents() {
+		DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+		byte[] bytes = "\u00fc\u20ac-\ud83d\ude00".getBytes(UTF_8);
+		bytes = Arrays.copyOf(bytes, bytes.length + 1);
+		bytes[bytes.length - 1] = (byte) 0xc3;
+		String expected = new String(bytes, UTF_8);
+		for (int i = 1; i < bytes.length; i++) {
+			for (int j = i; j < bytes.length; j++) {
+				DataBuffer composite = DataBufferUtils.compose(Arrays.asList(
+						bufferFactory.wrap(Arrays.copyOfRange(bytes, 0, i)),
+						bufferFactory.wrap(Arrays.copyOfRange(bytes, i, j)),
+						bufferFactory.wrap(Arrays.copyOfRange(bytes, j, bytes.length))));
+				assertThat(composite).isInstanceOf(CompositeDataBuffer.class);
+				assertThat(this.decoder.decode(composite, TYPE, null, null)).isEqualTo(expected);
+			}
+		}
+	}
+
 	private DataBuffer stringBuffer(String value) {
 		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
 		DataBuffer buffer = this.bufferFactory.allocateBuffer(bytes.length);
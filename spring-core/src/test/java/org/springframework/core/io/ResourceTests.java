@@ -25,6 +25,8 @@ import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -313,6 +315,56 @@ class ResourceTests {
 		}
 	}
 
+	@Test
+	void mapFileSystemResource() throws IOException {
+		MappableResource resource = new FileSystemResource(getClass().getResource("Resource.class").getFile());
+		assertThat(resource.isMappable()).isTrue();
+		doTestMappedContent(resource);
+	}
+
+	@Test
+	void mapPathResource() throws Exception {
+		MappableResource resource = new PathResource(Paths.get(getClass().getResource("Resource.class").toURI()));
+		assertThat(resource.isMappable()).isTrue();
+		doTestMappedContent(resource);
+	}
+
+	@Test
+	void mapClassPathResource() throws IOException {
+		MappableResource resource = new ClassPathResource("Resource.class", getClass());
+		assertThat(resource.isMappable()).isTrue();
+		doTestMappedContent(resource);
+	}
+
+	private void doTestMappedContent(MappableResource resource) throws IOException {
+		byte[] content = FileCopyUtils.copyToByteArray(resource.getInputStream());
+		MappedByteBuffer buffer = resource.map();
+		assertThat(buffer.isReadOnly()).isTrue();
+		assertThat(buffer.remaining()).isEqualTo(content.length);
+		assertThat(buffer).isEqualTo(ByteBuffer.wrap(content));
+		buffer = resource.map(4, 8);
+		assertThat(buffer.remaining()).isEqualTo(8);
+		assertThat(buffer).isEqualTo(ByteBuffer.wrap(content, 4, 8));
+		try (FileChannel channel = resource.readableFileChannel()) {
+			assertThat(channel.size()).isEqualTo(content.length);
+		}
+	}
+
+	@Test
+	void readableFileChannelNotFoundOnFileSystemResource() throws IOException {
+		MappableResource resource = (MappableResource)
+				new FileSystemResource(getClass().getResource("Resource.class").getFile()).createRelative("X");
+		assertThatExceptionOfType(FileNotFoundException.class).isThrownBy(resource::readableFileChannel);
+	}
+
+	@Test
+	void readableFileChannelNotFoundOnClassPathResource() throws IOException {
+		MappableResource resource = (MappableResource)
+				new ClassPathResource("Resource.class", getClass()).createRelative("X");
+		assertThat(resource.isMappable()).isFalse();
+		assertThatExceptionOfType(FileNotFoundException.class).isThrownBy(resource::readableFileChannel);
+	}
+
 	@Test
 	void inputStreamNotFoundOnFileSystemResource() throws IOException {
 		assertThatExceptionOfType(FileNotFoundException.class).isThrownBy(() ->
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.util.FileCopyUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link CompositeDataBuffer}.
+ */
+class CompositeDataBufferTests {
+
+	private final PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory();
+
+
+	@AfterEach
+	void allBuffersReleased() {
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+
+	@Test
+	void composeDefaultDataBuffers() {
+		DataBuffer composite = compose("foo", "", "bar", "baz");
+		assertThat(composite).isInstanceOf(CompositeDataBuffer.class);
+		assertThat(((CompositeDataBuffer) composite).componentCount()).isEqualTo(4);
+		assertThat(composite.readableByteCount()).isEqualTo(9);
+		assertThat(composite.capacity()).isEqualTo(9);
+		assertThat(composite.writableByteCount()).isEqualTo(0);
+		assertThat(composite.toString(UTF_8)).isEqualTo("foobarbaz");
+		assertThat(DataBufferUtils.release(composite)).isTrue();
+	}
+
+	@Test
+	void composeSingleBuffer() {
+		DataBuffer buffer = stringBuffer("foo");
+		assertThat(DataBufferUtils.compose(Arrays.asList(buffer))).isSameAs(buffer);
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test
+	void composeFromReadPosition() {
+		DataBuffer foo = stringBuffer("xfoo");
+		foo.readPosition(1);
+		DataBuffer composite = DataBufferUtils.compose(Arrays.asList(foo, stringBuffer("bar")));
+		assertThat(composite.toString(UTF_8)).isEqualTo("foobar");
+		assertThat(composite.getByte(0)).isEqualTo((byte) 'f');
+		assertThat(composite.getByte(3)).isEqualTo((byte) 'b');
+		DataBufferUtils.release(composite);
+	}
+
+	@Test
+	void read() {
+		DataBuffer composite = compose("foo", "bar", "baz");
+		assertThat(composite.read()).isEqualTo((byte) 'f');
+		byte[] bytes = new byte[7];
+		composite.read(bytes);
+		assertThat(new String(bytes, UTF_8)).isEqualTo("oobarba");
+		assertThat(composite.readableByteCount()).isEqualTo(1);
+		assertThat(composite.read()).isEqualTo((byte) 'z');
+		assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(composite::read);
+		DataBufferUtils.release(composite);
+	}
+
+	@Test
+	void indexOf() {
+		DataBuffer composite = compose("foo", "", "bar", "baz");
+		assertThat(composite.indexOf(b -> b == 'o', 0)).isEqualTo(1);
+		assertThat(composite.indexOf(b -> b == 'o', 2)).isEqualTo(2);
+		assertThat(composite.indexOf(b -> b == 'a', 0)).isEqualTo(4);
+		assertThat(composite.indexOf(b -> b == 'a', 5)).isEqualTo(7);
+		assertThat(composite.indexOf(b -> b == 'x', 0)).isEqualTo(-1);
+		composite.writePosition(6);
+		assertThat(composite.indexOf(b -> b == 'z', 0)).isEqualTo(-1);
+		assertThat(composite.indexOf(b -> b == 'r', 0)).isEqualTo(5);
+		DataBufferUtils.release(composite);
+	}
+
+	@Test
+	void lastIndexOf() {
+		DataBuffer composite = compose("foo", "", "bar", "baz");
+		assertThat(composite.lastIndexOf(b -> b == 'a', 8)).isEqualTo(7);
+		assertThat(composite.lastIndexOf(b -> b == 'a', 6)).isEqualTo(4);
+		assertThat(composite.lastIndexOf(b -> b == 'o', 8)).isEqualTo(2);
+		assertThat(composite.lastIndexOf(b -> b == 'f', 8)).isEqualTo(0);
+		assertThat(composite.lastIndexOf(b -> b == 'x', 8)).isEqualTo(-1);
+		composite.writePosition(5);
+		assertThat(composite.lastIndexOf(b -> b == 'a', 8)).isEqualTo(4);
+		DataBufferUtils.release(composite);
+	}
+
+	@Test
+	void asByteBufferWithinComponentSharesMemory() {
+		DataBuffer bar = stringBuffer("bar");
+		DataBuffer composite = DataBufferUtils.compose(Arrays.asList(stringBuffer("foo"), bar));
+		ByteBuffer byteBuffer = composite.asByteBuffer(4, 2);
+		assertThat(byteBuffer.array()).isSameAs(bar.asByteBuffer().array());
+		assertThat(UTF_8.decode(byteBuffer).toString()).isEqualTo("ar");
+
+		byteBuffer = composite.asByteBuffer(2, 3);
+		assertThat(UTF_8.decode(byteBuffer).toString()).isEqualTo("oba");
+		DataBufferUtils.release(composite);
+	}
+
+	@Test
+	void asByteBuffersSharesMemory() {
+		DataBuffer bar = stringBuffer("bar");
+		DataBuffer composite = DataBufferUtils.compose(
+				Arrays.asList(stringBuffer("foo"), stringBuffer(""), bar, stringBuffer("baz")));
+		composite.readPosition(1).writePosition(5);
+		ByteBuffer[] byteBuffers = ((CompositeDataBuffer) composite).asByteBuffers();
+		assertThat(byteBuffers).hasSize(2);
+		assertThat(UTF_8.decode(byteBuffers[0]).toString()).isEqualTo("oo");
+		assertThat(byteBuffers[1].array()).isSameAs(bar.asByteBuffer().array());
+		assertThat(UTF_8.decode(byteBuffers[1]).toString()).isEqualTo("ba");
+		assertThat(composite.readPosition()).isEqualTo(1);
+		DataBufferUtils.release(composite);
+	}
+
+	@Test
+	void sliceSharesReferenceCount() {
+		DataBuffer composite = compose("foo", "bar", "baz");
+		DataBuffer slice = composite.retainedSlice(2, 5);
+		assertThat(slice.toString(UTF_8)).isEqualTo("obarb");
+		DataBuffer nested = slice.slice(1, 3);
+		assertThat(nested.toString(UTF_8)).isEqualTo("bar");
+		assertThat(slice.slice(0, 0).readableByteCount()).isEqualTo(0);
+
+		assertThat(DataBufferUtils.release(composite)).isFalse();
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(3);
+		assertThat(DataBufferUtils.release(nested)).isTrue();
+		assertThat(((PooledDataBuffer) composite).isAllocated()).isFalse();
+		assertThatIllegalStateException().isThrownBy(((PooledDataBuffer) slice)::retain);
+	}
+
+	@Test
+	void stripSuffixThroughWritePosition() {
+		DataBuffer composite = compose("foo", "bar\r", "\n");
+		composite.writePosition(composite.writePosition() - 2);
+		assertThat(composite.toString(UTF_8)).isEqualTo("foobar");
+		assertThat(UTF_8.decode(composite.asByteBuffer()).toString()).isEqualTo("foobar");
+		DataBufferUtils.release(composite);
+	}
+
+	@Test
+	void inputStream() throws Exception {
+		DataBuffer composite = compose("foo", "bar", "baz");
+		try (InputStream inputStream = composite.asInputStream(true)) {
+			assertThat(inputStream.read()).isEqualTo('f');
+			assertThat(new String(FileCopyUtils.copyToByteArray(inputStream), UTF_8)).isEqualTo("oobarbaz");
+		}
+		assertThat(((PooledDataBuffer) composite).isAllocated()).isFalse();
+	}
+
+	@Test
+	void writeNotSupported() {
+		DataBuffer composite = compose("foo", "bar");
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> composite.write((byte) 'a'));
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> composite.capacity(10));
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(composite::asOutputStream);
+		DataBufferUtils.release(composite);
+	}
+
+	@Test
+	void composeNettyDataBuffersJoinsThem() {
+		NettyDataBufferFactory nettyFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+		DataBuffer joined = DataBufferUtils.compose(Arrays.asList(
+				nettyFactory.wrap("foo".getBytes(UTF_8)), nettyFactory.wrap("bar".getBytes(UTF_8))));
+		assertThat(joined).isInstanceOf(NettyDataBuffer.class);
+		assertThat(joined.toString(UTF_8)).isEqualTo("foobar");
+		DataBufferUtils.release(joined);
+	}
+
+
+	private DataBuffer compose(String... values) {
+		return DataBufferUtils.compose(Arrays.stream(values).map(this::stringBuffer).collect(Collectors.toList()));
+	}
+
+	private DataBuffer stringBuffer(String value) {
+		byte[] bytes = value.getBytes(UTF_8);
+		return this.bufferFactory.allocateBuffer(bytes.length).write(bytes);
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.testfixture.EnabledForTestGroups;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.core.testfixture.TestGroup.PERFORMANCE;
+
+/**
+ * Throughput benchmark for {@link DataBufferUtils#matcher(byte[]...)} with the
+ * default delimiters of {@link StringDecoder}, for various chunk sizes and
+ * buffer types, compared to matching one byte at a time through
+ * {@link DataBuffer#getByte(int)}.
+ */
+@EnabledForTestGroups(PERFORMANCE)
+class DataBufferMatcherPerformanceTests {
+
+	private static final boolean DEBUG = false;
+
+	private static final int[] CHUNK_SIZES = {64, 1024, 16 * 1024};
+
+	private static final int CONTENT_SIZE = 8 * 1024 * 1024;
+
+	private static final int ITERATIONS = 10;
+
+	private static final byte[][] DELIMITERS = {
+			"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8)};
+
+
+	private final byte[] content = createContent();
+
+	private final int lineCount = countLines(this.content);
+
+
+	@Test
+	void heapBuffers() {
+		measure("heap", new DefaultDataBufferFactory(false));
+	}
+
+	@Test
+	void directBuffers() {
+		measure("direct", new DefaultDataBufferFactory(true));
+	}
+
+	@Test
+	void nettyDirectBuffers() {
+		measure("netty direct", new NettyDataBufferFactory(new PooledByteBufAllocator(true)));
+	}
+
+	@Test
+	void stringDecoder() {
+		StringDecoder decoder = StringDecoder.allMimeTypes();
+		DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+		for (int chunkSize : CHUNK_SIZES) {
+			long nanos = Long.MAX_VALUE;
+			for (int i = 0; i < ITERATIONS; i++) {
+				List<DataBuffer> chunks = chunks(bufferFactory, chunkSize);
+				long start = System.nanoTime();
+				Long count = decoder.decode(Flux.fromIterable(chunks), ResolvableType.forClass(String.class), null, null)
+						.count().block();
+				nanos = Math.min(nanos, System.nanoTime() - start);
+				assertThat(count).isEqualTo(this.lineCount);
+			}
+			report("StringDecoder", chunkSize, nanos);
+		}
+	}
+
+	private void measure(String name, DataBufferFactory bufferFactory) {
+		for (int chunkSize : CHUNK_SIZES) {
+			List<DataBuffer> chunks = chunks(bufferFactory, chunkSize);
+			long matcherNanos = run(chunks, () -> DataBufferUtils.matcher(DELIMITERS));
+			long bytewiseNanos = run(chunks, BytewiseMatcher::new);
+			report(name + " matcher", chunkSize, matcherNanos);
+			report(name + " byte-at-a-time", chunkSize, bytewiseNanos);
+			chunks.forEach(DataBufferUtils::release);
+		}
+	}
+
+	private long run(List<DataBuffer> chunks, Supplier<DataBufferUtils.Matcher> matcherSupplier) {
+		long nanos = Long.MAX_VALUE;
+		for (int i = 0; i < ITERATIONS; i++) {
+			DataBufferUtils.Matcher matcher = matcherSupplier.get();
+			int count = 0;
+			long start = System.nanoTime();
+			for (DataBuffer chunk : chunks) {
+				int readPosition = chunk.readPosition();
+				int endIndex;
+				while ((endIndex = matcher.match(chunk)) != -1) {
+					count++;
+					chunk.readPosition(endIndex + 1);
+				}
+				chunk.readPosition(readPosition);
+			}
+			nanos = Math.min(nanos, System.nanoTime() - start);
+			assertThat(count).isEqualTo(this.lineCount);
+		}
+		return nanos;
+	}
+
+	private void report(String name, int chunkSize, long nanos) {
+		if (DEBUG) {
+			long megabytesPerSecond = (long) CONTENT_SIZE * 1000 / nanos;
+			System.out.println(name + " with " + chunkSize + " byte chunks: " + megabytesPerSecond + " MB/s");
+		}
+	}
+
+	private List<DataBuffer> chunks(DataBufferFactory bufferFactory, int chunkSize) {
+		List<DataBuffer> chunks = new ArrayList<>();
+		for (int offset = 0; offset < this.content.length; offset += chunkSize) {
+			int length = Math.min(chunkSize, this.content.length - offset);
+			chunks.add(bufferFactory.allocateBuffer(length).write(this.content, offset, length));
+		}
+		return chunks;
+	}
+
+	private static byte[] createContent() {
+		Random random = new Random(42);
+		byte[] content = new byte[CONTENT_SIZE];
+		int lineLength = 0;
+		for (int i = 0; i < content.length; i++) {
+			if (i == content.length - 1 || (lineLength > 20 && random.nextInt(100) == 0)) {
+				content[i] = '\n';
+				if (random.nextBoolean()) {
+					content[i - 1] = '\r';
+				}
+				lineLength = 0;
+			}
+			else {
+				content[i] = (byte) ('a' + random.nextInt(26));
+				lineLength++;
+			}
+		}
+		return content;
+	}
+
+	private static int countLines(byte[] content) {
+		int count = 0;
+		for (byte b : content) {
+			if (b == '\n') {
+				count++;
+			}
+		}
+		return count;
+	}
+
+
+	/**
+	 * Matcher for the default delimiters, advancing one byte at a
+	 * time like the nested matchers used up until 5.2.
+	 */
+	private static class BytewiseMatcher implements DataBufferUtils.Matcher {
+
+		private byte[] delimiter = DELIMITERS[1];
+
+		private boolean carriageReturn;
+
+		@Override
+		public int match(DataBuffer dataBuffer) {
+			for (int pos = dataBuffer.readPosition(); pos < dataBuffer.writePosition(); pos++) {
+				byte b = dataBuffer.getByte(pos);
+				if (b == '\n') {
+					this.delimiter = (this.carriageReturn ? DELIMITERS[0] : DELIMITERS[1]);
+					this.carriageReturn = false;
+					return pos;
+				}
+				this.carriageReturn = (b == '\r');
+			}
+			return -1;
+		}
+
+		@Override
+		public byte[] delimiter() {
+			return this.delimiter;
+		}
+
+		@Override
+		public void reset() {
+			this.carriageReturn = false;
+		}
+	}
+
+}
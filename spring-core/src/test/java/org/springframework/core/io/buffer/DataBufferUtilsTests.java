@@ -31,11 +31,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import org.junit.jupiter.api.Test;
 import org.mockito.stubbing.Answer;
 import org.reactivestreams.Subscription;
@@ -295,6 +298,42 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 				.verify(Duration.ofSeconds(5));
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void readMappedResource(String displayName, DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(this.resource, 0, super.bufferFactory, 3);
+
+		verifyReadData(flux);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void readMappedResourcePosition(String displayName, DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(this.resource, 9, super.bufferFactory, 1024);
+
+		StepVerifier.create(flux)
+				.consumeNextWith(stringConsumer("qux"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void readMappedByteArrayResource(String displayName, DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Resource resource = new ByteArrayResource("foobarbazqux" .getBytes());
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(resource, 3, super.bufferFactory, 3);
+
+		StepVerifier.create(flux)
+				.consumeNextWith(stringConsumer("bar"))
+				.consumeNextWith(stringConsumer("baz"))
+				.consumeNextWith(stringConsumer("qux"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
 	@ParameterizedDataBufferAllocatingTest
 	void writeOutputStream(String displayName, DataBufferFactory bufferFactory) throws Exception {
 		super.bufferFactory = bufferFactory;
@@ -882,6 +921,42 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 				.verify();
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void compose(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		DataBuffer baz = stringBuffer("baz");
+		Flux<DataBuffer> flux = Flux.just(foo, bar, baz);
+		Mono<DataBuffer> result = DataBufferUtils.compose(flux, -1);
+
+		StepVerifier.create(result)
+				.consumeNextWith(buf -> {
+					if (bufferFactory instanceof DefaultDataBufferFactory) {
+						assertThat(buf).isInstanceOf(CompositeDataBuffer.class);
+					}
+					assertThat(buf.indexOf(b -> b == 'z', 0)).isEqualTo(8);
+					assertThat(buf.toString(StandardCharsets.UTF_8)).isEqualTo("foobarbaz");
+					release(buf);
+				})
+				.verifyComplete();
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void composeWithLimit(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		DataBuffer baz = stringBuffer("baz");
+		Flux<DataBuffer> flux = Flux.just(foo, bar, baz);
+		Mono<DataBuffer> result = DataBufferUtils.compose(flux, 8);
+
+		StepVerifier.create(result)
+				.verifyError(DataBufferLimitException.class);
+	}
+
 	@ParameterizedDataBufferAllocatingTest
 	void matcher(String displayName, DataBufferFactory bufferFactory) {
 		super.bufferFactory = bufferFactory;
@@ -940,6 +1015,103 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 		release(foo);
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void matcherSkipsPartialMatch(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("acb-ab");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher("ab".getBytes(StandardCharsets.UTF_8));
+		assertThat(matcher.match(foo)).isEqualTo(5);
+
+		release(foo);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void matcherWithDelimiterSpanningBuffers(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("foo\r");
+		DataBuffer empty = stringBuffer("");
+		DataBuffer bar = stringBuffer("\nbar\n");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(
+				"\n".getBytes(StandardCharsets.UTF_8), "\r\n".getBytes(StandardCharsets.UTF_8));
+		assertThat(matcher.match(foo)).isEqualTo(-1);
+		assertThat(matcher.match(empty)).isEqualTo(-1);
+		assertThat(matcher.match(bar)).isEqualTo(0);
+		assertThat(matcher.delimiter()).isEqualTo("\r\n".getBytes(StandardCharsets.UTF_8));
+		bar.readPosition(1);
+		assertThat(matcher.match(bar)).isEqualTo(4);
+		assertThat(matcher.delimiter()).isEqualTo("\n".getBytes(StandardCharsets.UTF_8));
+
+		DataBuffer[] buffers = {stringBuffer("-"), stringBuffer("-"), stringBuffer("b"), stringBuffer("-")};
+		matcher = DataBufferUtils.matcher("--b-".getBytes(StandardCharsets.UTF_8));
+		assertThat(matcher.match(buffers[0])).isEqualTo(-1);
+		assertThat(matcher.match(buffers[1])).isEqualTo(-1);
+		assertThat(matcher.match(buffers[2])).isEqualTo(-1);
+		assertThat(matcher.match(buffers[3])).isEqualTo(0);
+
+		release(foo, empty, bar);
+		release(buffers);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void matcherAtEachIndex(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		String[][] delimiters = {{"\n", "\r\n"}, {"a", "b", "c", "d", "e", "f"}};
+		for (String[] delimiterStrings : delimiters) {
+			byte[][] delimiterBytes = Arrays.stream(delimiterStrings)
+					.map(delimiter -> delimiter.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+			for (int length = 1; length < 24; length++) {
+				for (int index = 0; index < length; index++) {
+					char[] chars = new char[length];
+					Arrays.fill(chars, '-');
+					String delimiter = delimiterStrings[index % delimiterStrings.length];
+					chars[index] = delimiter.charAt(delimiter.length() - 1);
+					DataBuffer buffer = stringBuffer(new String(chars));
+					buffer.readPosition(Math.min(index, 1));
+					assertThat(DataBufferUtils.matcher(delimiterBytes).match(buffer))
+							.as("'%s' in %s", chars[index], new String(chars)).isEqualTo(index);
+					release(buffer);
+				}
+			}
+		}
+	}
+
+	@Test
+	void matcherAtWordBoundariesInHeapBuffers() {
+		DefaultDataBufferFactory defaultFactory = new DefaultDataBufferFactory();
+		NettyDataBufferFactory nettyFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+
+		String[][] delimiters = {{"\n"}, {"\n", "\r\n"}, {"a", "b", "c", "d", "e", "f"}};
+		int[] indexes = {0, 1, 7, 8, 9, 15, 16, 23, 24, 31};
+		for (String[] delimiterStrings : delimiters) {
+			byte[][] delimiterBytes = Arrays.stream(delimiterStrings)
+					.map(delimiter -> delimiter.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+			byte[] delimiter = delimiterBytes[delimiterBytes.length - 1];
+			byte lastByte = delimiter[delimiter.length - 1];
+			for (int offset = 0; offset < Long.BYTES; offset++) {
+				for (int index : indexes) {
+					byte[] bytes = new byte[offset + 32];
+					Arrays.fill(bytes, (byte) '-');
+					bytes[offset + index] = lastByte;
+					DataBuffer[] buffers = {
+							defaultFactory.wrap(ByteBuffer.wrap(bytes, offset, 32).slice()),
+							nettyFactory.wrap(Unpooled.wrappedBuffer(bytes, offset, 32))};
+					for (DataBuffer buffer : buffers) {
+						assertThat(DataBufferUtils.matcher(delimiterBytes).match(buffer))
+								.as("%s at %d with array offset %d", buffer, index, offset).isEqualTo(index);
+						buffer.readPosition(index + 1);
+						assertThat(DataBufferUtils.matcher(delimiterBytes).match(buffer))
+								.as("%s after %d with array offset %d", buffer, index, offset).isEqualTo(-1);
+					}
+				}
+			}
+		}
+	}
+
 
 	private static class ZeroDemandSubscriber extends BaseSubscriber<DataBuffer> {
 
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link PooledDataBufferFactory}.
+ */
+class PooledDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(256, 64 * 1024, 1);
+
+
+	@Test
+	void allocateReusesReleasedMemory() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(300);
+		assertThat(buffer).isInstanceOf(PooledDataBuffer.class);
+		assertThat(buffer.capacity()).isEqualTo(300);
+		byte[] array = buffer.asByteBuffer(0, 0).array();
+		assertThat(array).hasSize(512);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(1);
+
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(400);
+		assertThat(other.asByteBuffer(0, 0).array()).isSameAs(array);
+		assertThat(other.capacity()).isEqualTo(400);
+		assertThat(other.readableByteCount()).isEqualTo(0);
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	void releasedMemoryReusedByOtherThread() throws Exception {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(32 * 1024);
+		byte[] array = buffer.asByteBuffer(0, 0).array();
+		DataBufferUtils.release(buffer);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<byte[]> future = executor.submit(() -> {
+				DataBuffer other = this.bufferFactory.allocateBuffer(32 * 1024);
+				byte[] otherArray = other.asByteBuffer(0, 0).array();
+				DataBufferUtils.release(other);
+				return otherArray;
+			});
+			assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(array);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void capacityIncreaseReturnsMemoryToPool() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(256);
+		byte[] array = buffer.asByteBuffer(0, 0).array();
+		buffer.write("foo", UTF_8);
+		buffer.ensureCapacity(1024);
+		assertThat(buffer.capacity()).isGreaterThanOrEqualTo(1024);
+		assertThat(buffer.toString(UTF_8)).isEqualTo("foo");
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(256);
+		assertThat(other.asByteBuffer(0, 0).array()).isSameAs(array);
+		DataBufferUtils.release(buffer);
+		DataBufferUtils.release(other);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void largeBufferNotPooled() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(128 * 1024);
+		byte[] array = buffer.asByteBuffer(0, 0).array();
+		assertThat(array).hasSize(128 * 1024);
+		DataBufferUtils.release(buffer);
+
+		DataBuffer other = this.bufferFactory.allocateBuffer(128 * 1024);
+		assertThat(other.asByteBuffer(0, 0).array()).isNotSameAs(array);
+		DataBufferUtils.release(other);
+	}
+
+	@Test
+	void sliceSharesReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		buffer.write("foobar", UTF_8);
+		DataBuffer slice = buffer.retainedSlice(3, 3);
+		assertThat(slice).isInstanceOf(PooledDataBuffer.class);
+		assertThat(slice.toString(UTF_8)).isEqualTo("bar");
+
+		assertThat(DataBufferUtils.release(buffer)).isFalse();
+		assertThat(((PooledDataBuffer) slice).isAllocated()).isTrue();
+		assertThat(DataBufferUtils.release(slice.slice(1, 1))).isTrue();
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+		assertThat(((PooledDataBuffer) slice).isAllocated()).isFalse();
+		assertThatIllegalStateException().isThrownBy(((PooledDataBuffer) slice)::retain);
+	}
+
+	@Test
+	void inputStreamReleasesOnClose() throws Exception {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		buffer.write("foo", UTF_8);
+		try (InputStream inputStream = buffer.asInputStream(true)) {
+			assertThat(inputStream.read()).isEqualTo('f');
+		}
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void wrappedBufferNotPooled() {
+		DataBuffer buffer = this.bufferFactory.wrap("foo".getBytes(UTF_8));
+		assertThat(buffer).isNotInstanceOf(PooledDataBuffer.class);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void concurrentAllocations() throws Exception {
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch latch = new CountDownLatch(threads);
+		try {
+			for (int i = 0; i < threads; i++) {
+				executor.execute(() -> {
+					for (int j = 0; j < 10_000; j++) {
+						DataBuffer buffer = this.bufferFactory.allocateBuffer(64 << (j % 12));
+						buffer.write((byte) j);
+						assertThat(buffer.read()).isEqualTo((byte) j);
+						DataBufferUtils.release(buffer);
+					}
+					latch.countDown();
+				});
+			}
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void releasedBufferNotAccessible() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16).write("foobar", UTF_8);
+		DataBuffer slice = buffer.slice(3, 3);
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+
+		// The memory may be in use by another buffer already
+		DataBuffer other = this.bufferFactory.allocateBuffer(16).write("bazqux", UTF_8);
+		assertThatIllegalStateException().isThrownBy(() -> buffer.getByte(0));
+		assertThatIllegalStateException().isThrownBy(buffer::read);
+		assertThatIllegalStateException().isThrownBy(() -> buffer.write((byte) 'a'));
+		assertThatIllegalStateException().isThrownBy(() -> buffer.toString(UTF_8));
+		assertThatIllegalStateException().isThrownBy(buffer::asByteBuffer);
+		assertThatIllegalStateException().isThrownBy(() -> buffer.indexOf(b -> b == 'o', 0));
+		assertThatIllegalStateException().isThrownBy(() -> buffer.slice(0, 1));
+		assertThatIllegalStateException().isThrownBy(() -> slice.getByte(0));
+		assertThatIllegalStateException().isThrownBy(() -> slice.toString(UTF_8));
+		assertThatIllegalStateException().isThrownBy(() -> DataBufferUtils.matcher("a".getBytes(UTF_8)).match(buffer));
+		assertThat(other.toString(UTF_8)).isEqualTo("bazqux");
+		DataBufferUtils.release(other);
+	}
+
+}
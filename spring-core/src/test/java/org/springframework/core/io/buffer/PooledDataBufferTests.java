@@ -66,6 +66,15 @@ class PooledDataBufferTests {
 		}
 	}
 
+	@Nested
+	class PooledDataBufferFactoryWithDefaultsTests implements PooledDataBufferTestingTrait {
+
+		@Override
+		public DataBufferFactory createDataBufferFactory() {
+			return new PooledDataBufferFactory();
+		}
+	}
+
 	interface PooledDataBufferTestingTrait {
 
 		DataBufferFactory createDataBufferFactory();
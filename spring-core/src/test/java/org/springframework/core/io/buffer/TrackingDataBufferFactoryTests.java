@@ -0,0 +1,188 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link TrackingDataBufferFactory}.
+ */
+class TrackingDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory pooledFactory = new PooledDataBufferFactory();
+
+	private final TrackingDataBufferFactory bufferFactory = new TrackingDataBufferFactory(this.pooledFactory);
+
+
+	@Test
+	void releaseUntracksBuffer() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(300);
+		assertThat(buffer).isInstanceOf(PooledDataBuffer.class);
+		assertThat(buffer.factory()).isSameAs(this.bufferFactory);
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(1);
+		assertThat(this.bufferFactory.getLiveByteCount()).isEqualTo(300);
+
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(0);
+		assertThat(this.bufferFactory.getLiveByteCount()).isEqualTo(0);
+		assertThat(this.pooledFactory.getActiveBufferCount()).isEqualTo(0);
+		assertThat(DataBufferUtils.release(buffer)).isFalse();
+	}
+
+	@Test
+	void retainAndRelease() {
+		DataBuffer buffer = DataBufferUtils.retain(this.bufferFactory.allocateBuffer(16));
+		assertThat(DataBufferUtils.release(buffer)).isFalse();
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(1);
+		assertThat(this.pooledFactory.getActiveBufferCount()).isEqualTo(1);
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(0);
+		assertThat(this.pooledFactory.getActiveBufferCount()).isEqualTo(0);
+		assertThatIllegalStateException().isThrownBy(((PooledDataBuffer) buffer)::retain);
+	}
+
+	@Test
+	void unpooledDelegate() {
+		TrackingDataBufferFactory bufferFactory = new TrackingDataBufferFactory(new DefaultDataBufferFactory());
+		DataBuffer buffer = bufferFactory.allocateBuffer(16);
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isTrue();
+		assertThat(bufferFactory.getLiveBufferCount()).isEqualTo(1);
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(bufferFactory.getLiveBufferCount()).isEqualTo(0);
+
+		assertThat(bufferFactory.wrap("foo".getBytes(UTF_8))).isNotInstanceOf(PooledDataBuffer.class);
+		assertThat(bufferFactory.getLiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void writeReturnsTrackedBuffer() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		assertThat(buffer.write("foo", UTF_8)).isSameAs(buffer);
+		assertThat(buffer.write((byte) 'b').write("ar".getBytes(UTF_8))).isSameAs(buffer);
+		assertThat(buffer.readPosition(1)).isSameAs(buffer);
+		assertThat(buffer.toString(UTF_8)).isEqualTo("oobar");
+		DataBufferUtils.release(buffer);
+	}
+
+	@Test
+	void retainedSliceSharesReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		buffer.write("foobar", UTF_8);
+		DataBuffer slice = buffer.retainedSlice(3, 3);
+		assertThat(slice.toString(UTF_8)).isEqualTo("bar");
+
+		assertThat(DataBufferUtils.release(buffer)).isFalse();
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(1);
+		assertThat(DataBufferUtils.release(slice.slice(1, 1))).isTrue();
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(0);
+		assertThat(this.pooledFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void inputStreamReleasesOnClose() throws Exception {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		buffer.write("foo", UTF_8);
+		try (InputStream inputStream = buffer.asInputStream(true)) {
+			assertThat(inputStream.read()).isEqualTo('f');
+		}
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(0);
+		assertThat(this.pooledFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void joinHandsOverBuffers() {
+		DataBuffer foo = this.bufferFactory.allocateBuffer(16).write("foo", UTF_8);
+		DataBuffer bar = this.bufferFactory.allocateBuffer(16).write("bar", UTF_8);
+		DataBuffer joined = DataBufferUtils.compose(Arrays.asList(foo, bar));
+		assertThat(joined.factory()).isSameAs(this.bufferFactory);
+		assertThat(joined.toString(UTF_8)).isEqualTo("foobar");
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(1);
+
+		DataBufferUtils.release(joined);
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(0);
+		assertThat(this.pooledFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void nettyDelegate() {
+		NettyDataBufferFactory nettyFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+		TrackingDataBufferFactory bufferFactory = new TrackingDataBufferFactory(nettyFactory);
+		DataBuffer foo = bufferFactory.allocateBuffer(16).write("foo", UTF_8);
+		DataBuffer bar = bufferFactory.wrap("bar".getBytes(UTF_8));
+		ByteBuf fooByteBuf = NettyDataBufferFactory.toByteBuf(((DataBufferWrapper) foo).dataBuffer());
+		assertThat(bufferFactory.getLiveBufferCount()).isEqualTo(2);
+
+		DataBuffer joined = bufferFactory.join(Arrays.asList(foo, bar));
+		assertThat(joined.toString(UTF_8)).isEqualTo("foobar");
+		assertThat(bufferFactory.getLiveBufferCount()).isEqualTo(1);
+		assertThat(DataBufferUtils.release(joined)).isTrue();
+		assertThat(fooByteBuf.refCnt()).isEqualTo(0);
+		assertThat(bufferFactory.getLiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void liveBytesByCallSite() {
+		this.bufferFactory.setSamplingInterval(1);
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(300);
+		DataBuffer other = this.bufferFactory.allocateBuffer(100);
+		this.bufferFactory.setSamplingInterval(0);
+		DataBuffer unsampled = this.bufferFactory.allocateBuffer(50);
+
+		Map<String, Long> liveBytes = this.bufferFactory.getLiveBytesByCallSite();
+		assertThat(liveBytes).hasSize(2);
+		assertThat(liveBytes.keySet()).allMatch(callSite ->
+				callSite.startsWith(getClass().getName() + ".liveBytesByCallSite("));
+		assertThat(liveBytes.values()).containsExactlyInAnyOrder(300L, 100L);
+		assertThat(this.bufferFactory.getLiveByteCount()).isEqualTo(450);
+
+		DataBufferUtils.release(buffer);
+		assertThat(this.bufferFactory.getLiveBytesByCallSite().values()).containsExactly(100L);
+		DataBufferUtils.release(other);
+		DataBufferUtils.release(unsampled);
+		assertThat(this.bufferFactory.getLiveBytesByCallSite()).isEmpty();
+	}
+
+	@Test
+	void leakDetection() throws Exception {
+		this.bufferFactory.setSamplingInterval(1);
+		this.bufferFactory.allocateBuffer(16).write((byte) 'a');
+		DataBufferUtils.release(this.bufferFactory.allocateBuffer(16));
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(1);
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (this.bufferFactory.getLeakedBufferCount() == 0 && System.nanoTime() < deadline) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		assertThat(this.bufferFactory.getLeakedBufferCount()).isEqualTo(1);
+		assertThat(this.bufferFactory.getLiveBufferCount()).isEqualTo(0);
+		assertThat(this.bufferFactory.getLiveBytesByCallSite()).isEmpty();
+	}
+
+}
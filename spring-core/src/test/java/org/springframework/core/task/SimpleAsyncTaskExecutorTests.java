@@ -16,13 +16,17 @@
 
 package org.springframework.core.task;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.util.ConcurrencyThrottleSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
@@ -42,6 +46,27 @@ class SimpleAsyncTaskExecutorTests {
 				executor.execute(new NoOpRunnable()));
 	}
 
+	@Test
+	void startTimeoutAppliesToConcurrencyLimit() throws Exception {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+		executor.setConcurrencyLimit(1);
+		executor.setFairThrottle(true);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<?> blocking = executor.submit(() -> {
+			release.await(5, TimeUnit.SECONDS);
+			return null;
+		});
+		try {
+			assertThatExceptionOfType(TaskTimeoutException.class).isThrownBy(() ->
+					executor.execute(new NoOpRunnable(), 50));
+		}
+		finally {
+			release.countDown();
+		}
+		blocking.get(1, TimeUnit.SECONDS);
+		executor.submit(new NoOpRunnable()).get(1, TimeUnit.SECONDS);
+	}
+
 	@Test
 	void throttleIsNotActiveByDefault() throws Exception {
 		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
@@ -72,6 +97,16 @@ class SimpleAsyncTaskExecutorTests {
 		assertThat(task.getThreadName()).isEqualTo("test");
 	}
 
+	@Test
+	void virtualThreadsWhereSupported() throws Exception {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("virtual#");
+		executor.setVirtualThreads(true);
+		Thread thread = executor.submit(Thread::currentThread).get(1, TimeUnit.SECONDS);
+		assertThat(thread.getName()).startsWith("virtual#");
+		// Virtual threads are daemon threads, unlike platform threads by default
+		assertThat(thread.isDaemon()).isEqualTo(SimpleAsyncTaskExecutor.isVirtualThreadSupported());
+	}
+
 	@Test
 	void throwsExceptionWhenSuppliedWithNullRunnable() throws Exception {
 		assertThatIllegalArgumentException().isThrownBy(() ->
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.testfixture.EnabledForTestGroups;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.core.testfixture.TestGroup.PERFORMANCE;
+
+/**
+ * Contention benchmark for {@link ConcurrencyThrottleSupport}, compared to
+ * a throttle guarding its count with a single monitor and wait/notify.
+ */
+@EnabledForTestGroups(PERFORMANCE)
+class ConcurrencyThrottlePerformanceTests {
+
+	private static final boolean DEBUG = false;
+
+	private static final int THREADS = 32;
+
+	private static final int CONCURRENCY_LIMIT = 4;
+
+	private static final int ACCESSES_PER_THREAD = 50_000;
+
+
+	@Test
+	void monitorThrottle() throws Exception {
+		measure("monitor", new MonitorThrottle());
+	}
+
+	@Test
+	void unfairThrottle() throws Exception {
+		measure("unfair", new TestThrottle(false));
+	}
+
+	@Test
+	void fairThrottle() throws Exception {
+		measure("fair", new TestThrottle(true));
+	}
+
+	private void measure(String name, Throttle throttle) throws Exception {
+		run(throttle);  // warmup
+		long start = System.nanoTime();
+		run(throttle);
+		long nanosPerAccess = (System.nanoTime() - start) / ((long) THREADS * ACCESSES_PER_THREAD);
+		if (DEBUG) {
+			System.out.println(name + " throttle: " + nanosPerAccess + "ns per access with " +
+					THREADS + " threads and a limit of " + CONCURRENCY_LIMIT);
+		}
+	}
+
+	private void run(Throttle throttle) throws Exception {
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		CyclicBarrier barrier = new CyclicBarrier(THREADS);
+		Thread[] threads = new Thread[THREADS];
+		for (int i = 0; i < THREADS; i++) {
+			threads[i] = new Thread(() -> {
+				try {
+					barrier.await();
+				}
+				catch (Exception ex) {
+					throw new IllegalStateException(ex);
+				}
+				for (int j = 0; j < ACCESSES_PER_THREAD; j++) {
+					throttle.enter();
+					try {
+						maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+						// Some work within the throttle
+						ThreadLocalRandom.current().nextInt();
+						active.decrementAndGet();
+					}
+					finally {
+						throttle.exit();
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(maxActive.get()).isLessThanOrEqualTo(CONCURRENCY_LIMIT);
+	}
+
+
+	private interface Throttle {
+
+		void enter();
+
+		void exit();
+	}
+
+
+	@SuppressWarnings("serial")
+	private static class TestThrottle extends ConcurrencyThrottleSupport implements Throttle {
+
+		TestThrottle(boolean fair) {
+			setConcurrencyLimit(CONCURRENCY_LIMIT);
+			setFairThrottle(fair);
+		}
+
+		@Override
+		public void enter() {
+			beforeAccess();
+		}
+
+		@Override
+		public void exit() {
+			afterAccess();
+		}
+	}
+
+
+	/**
+	 * Throttle guarding its count with a single monitor, as used by
+	 * {@code ConcurrencyThrottleSupport} up until 5.2.
+	 */
+	private static class MonitorThrottle implements Throttle {
+
+		private final Object monitor = new Object();
+
+		private int concurrencyCount;
+
+		@Override
+		public void enter() {
+			synchronized (this.monitor) {
+				while (this.concurrencyCount >= CONCURRENCY_LIMIT) {
+					try {
+						this.monitor.wait();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new IllegalStateException(ex);
+					}
+				}
+				this.concurrencyCount++;
+			}
+		}
+
+		@Override
+		public void exit() {
+			synchronized (this.monitor) {
+				this.concurrencyCount--;
+				this.monitor.notify();
+			}
+		}
+	}
+
+}
@@ -45,6 +45,7 @@ import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBufferFactory;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -139,6 +140,10 @@ public abstract class AbstractDataBufferAllocatingTests {
 				}
 			}
 		}
+		else if (this.bufferFactory instanceof PooledDataBufferFactory) {
+			long total = ((PooledDataBufferFactory) this.bufferFactory).getActiveBufferCount();
+			assertThat(total).as("DataBuffer Leak: " + total + " unreleased allocations").isEqualTo(0);
+		}
 	}
 
 	private static long getAllocations(List<PoolArenaMetric> metrics) {
@@ -168,7 +173,9 @@ public abstract class AbstractDataBufferAllocatingTests {
 			arguments("DefaultDataBufferFactory - preferDirect = true",
 					new DefaultDataBufferFactory(true)),
 			arguments("DefaultDataBufferFactory - preferDirect = false",
-					new DefaultDataBufferFactory(false))
+					new DefaultDataBufferFactory(false)),
+			arguments("PooledDataBufferFactory",
+					new PooledDataBufferFactory())
 		);
 	}
 
@@ -525,7 +525,37 @@ public class CodeFlow implements Opcodes {
 			return "Ljava/lang/Object";
 		}
 		else {
-			return toDescriptor(value.getClass());
+			// Constant descriptors for the common value types, avoiding the String
+			// concatenation in toDescriptor(Class) on every interpreted evaluation
+			Class<?> clazz = value.getClass();
+			if (clazz == String.class) {
+				return "Ljava/lang/String";
+			}
+			else if (clazz == Integer.class) {
+				return "Ljava/lang/Integer";
+			}
+			else if (clazz == Long.class) {
+				return "Ljava/lang/Long";
+			}
+			else if (clazz == Double.class) {
+				return "Ljava/lang/Double";
+			}
+			else if (clazz == Boolean.class) {
+				return "Ljava/lang/Boolean";
+			}
+			else if (clazz == Float.class) {
+				return "Ljava/lang/Float";
+			}
+			else if (clazz == Short.class) {
+				return "Ljava/lang/Short";
+			}
+			else if (clazz == Byte.class) {
+				return "Ljava/lang/Byte";
+			}
+			else if (clazz == Character.class) {
+				return "Ljava/lang/Character";
+			}
+			return toDescriptor(clazz);
 		}
 	}
 
@@ -54,6 +54,12 @@ import org.springframework.util.CollectionUtils;
  */
 public class ExpressionState {
 
+	/**
+	 * Shared default configuration, avoiding a new configuration instance per evaluation.
+	 */
+	private static final SpelParserConfiguration DEFAULT_CONFIGURATION = new SpelParserConfiguration(false, false);
+
+
 	private final EvaluationContext relatedContext;
 
 	private final TypedValue rootObject;
@@ -78,7 +84,7 @@ public class ExpressionState {
 
 
 	public ExpressionState(EvaluationContext context) {
-		this(context, context.getRootObject(), new SpelParserConfiguration(false, false));
+		this(context, context.getRootObject(), DEFAULT_CONFIGURATION);
 	}
 
 	public ExpressionState(EvaluationContext context, SpelParserConfiguration configuration) {
@@ -86,7 +92,7 @@ public class ExpressionState {
 	}
 
 	public ExpressionState(EvaluationContext context, TypedValue rootObject) {
-		this(context, rootObject, new SpelParserConfiguration(false, false));
+		this(context, rootObject, DEFAULT_CONFIGURATION);
 	}
 
 	public ExpressionState(EvaluationContext context, TypedValue rootObject, SpelParserConfiguration configuration) {
@@ -117,7 +123,7 @@ public class ExpressionState {
 
 	public void popActiveContextObject() {
 		if (this.contextObjects == null) {
-			this.contextObjects = new ArrayDeque<>();
+			throw new IllegalStateException("Cannot pop active context object: stack is empty");
 		}
 		try {
 			this.contextObjects.pop();
@@ -184,7 +190,7 @@ public class ExpressionState {
 	}
 
 	public void enterScope() {
-		initVariableScopes().push(new VariableScope(Collections.emptyMap()));
+		initVariableScopes().push(new VariableScope());
 		initScopeRootObjects().push(getActiveContextObject());
 	}
 
@@ -204,7 +210,11 @@ public class ExpressionState {
 
 	@Nullable
 	public Object lookupLocalVariable(String name) {
-		for (VariableScope scope : initVariableScopes()) {
+		if (this.variableScopes == null) {
+			// no scope entered and no local variable set yet
+			return null;
+		}
+		for (VariableScope scope : this.variableScopes) {
 			if (scope.definesVariable(name)) {
 				return scope.lookupVariable(name);
 			}
@@ -263,31 +273,40 @@ public class ExpressionState {
 	 */
 	private static class VariableScope {
 
-		private final Map<String, Object> vars = new HashMap<>();
+		// Lazily initialized: most scopes (e.g. for selection/projection) never hold a variable
+		@Nullable
+		private Map<String, Object> vars;
 
 		public VariableScope() {
 		}
 
 		public VariableScope(@Nullable Map<String, Object> arguments) {
-			if (arguments != null) {
-				this.vars.putAll(arguments);
+			if (!CollectionUtils.isEmpty(arguments)) {
+				this.vars = new HashMap<>(arguments);
 			}
 		}
 
 		public VariableScope(String name, Object value) {
-			this.vars.put(name,value);
+			this.vars = Collections.singletonMap(name, value);
 		}
 
+		@Nullable
 		public Object lookupVariable(String name) {
-			return this.vars.get(name);
+			return (this.vars != null ? this.vars.get(name) : null);
 		}
 
 		public void setVariable(String name, Object value) {
-			this.vars.put(name,value);
+			if (this.vars == null) {
+				this.vars = new HashMap<>(4);
+			}
+			else if (!(this.vars instanceof HashMap)) {
+				this.vars = new HashMap<>(this.vars);
+			}
+			this.vars.put(name, value);
 		}
 
 		public boolean definesVariable(String name) {
-			return this.vars.containsKey(name);
+			return (this.vars != null && this.vars.containsKey(name));
 		}
 	}
 
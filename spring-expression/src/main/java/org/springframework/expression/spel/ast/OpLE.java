@@ -54,7 +54,10 @@ public class OpLE extends Operator {
 			Number leftNumber = (Number) left;
 			Number rightNumber = (Number) right;
 
-			if (leftNumber instanceof BigDecimal || rightNumber instanceof BigDecimal) {
+			if (leftNumber instanceof Integer && rightNumber instanceof Integer) {
+				return BooleanTypedValue.forValue(leftNumber.intValue() <= rightNumber.intValue());
+			}
+			else if (leftNumber instanceof BigDecimal || rightNumber instanceof BigDecimal) {
 				BigDecimal leftBigDecimal = NumberUtils.convertNumberToTargetClass(leftNumber, BigDecimal.class);
 				BigDecimal rightBigDecimal = NumberUtils.convertNumberToTargetClass(rightNumber, BigDecimal.class);
 				return BooleanTypedValue.forValue(leftBigDecimal.compareTo(rightBigDecimal) <= 0);
@@ -102,7 +102,11 @@ public class OpMinus extends Operator {
 			Number leftNumber = (Number) left;
 			Number rightNumber = (Number) right;
 
-			if (leftNumber instanceof BigDecimal || rightNumber instanceof BigDecimal) {
+			if (leftNumber instanceof Integer && rightNumber instanceof Integer) {
+				this.exitTypeDescriptor = "I";
+				return new TypedValue(leftNumber.intValue() - rightNumber.intValue());
+			}
+			else if (leftNumber instanceof BigDecimal || rightNumber instanceof BigDecimal) {
 				BigDecimal leftBigDecimal = NumberUtils.convertNumberToTargetClass(leftNumber, BigDecimal.class);
 				BigDecimal rightBigDecimal = NumberUtils.convertNumberToTargetClass(rightNumber, BigDecimal.class);
 				return new TypedValue(leftBigDecimal.subtract(rightBigDecimal));
@@ -52,6 +52,9 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 
 	private boolean argumentConversionOccurred = false;
 
+	@Nullable
+	private volatile TypeDescriptor returnTypeDescriptor;
+
 
 	/**
 	 * Create a new executor for the given method.
@@ -127,11 +130,20 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 			}
 			ReflectionUtils.makeAccessible(this.methodToInvoke);
 			Object value = this.methodToInvoke.invoke(target, arguments);
-			return new TypedValue(value, new TypeDescriptor(new MethodParameter(this.originalMethod, -1)).narrow(value));
+			return new TypedValue(value, getReturnTypeDescriptor().narrow(value));
 		}
 		catch (Exception ex) {
 			throw new AccessException("Problem invoking method: " + this.methodToInvoke, ex);
 		}
 	}
 
+	private TypeDescriptor getReturnTypeDescriptor() {
+		TypeDescriptor typeDescriptor = this.returnTypeDescriptor;
+		if (typeDescriptor == null) {
+			typeDescriptor = new TypeDescriptor(new MethodParameter(this.originalMethod, -1));
+			this.returnTypeDescriptor = typeDescriptor;
+		}
+		return typeDescriptor;
+	}
+
 }
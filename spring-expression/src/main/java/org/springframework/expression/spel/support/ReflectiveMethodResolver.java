@@ -40,6 +40,7 @@ import org.springframework.expression.TypeConverter;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Reflection-based {@link MethodResolver} used by default in {@link StandardEvaluationContext}
@@ -53,6 +54,14 @@ import org.springframework.lang.Nullable;
  */
 public class ReflectiveMethodResolver implements MethodResolver {
 
+	/**
+	 * Cache for exact and close method matches, shared across all resolver instances
+	 * and therefore across evaluation contexts and parsed expressions. Matches requiring
+	 * type conversion are not cached since they depend on the context's TypeConverter.
+	 */
+	private static final Map<MethodCacheKey, Method> resolvedMethodCache = new ConcurrentReferenceHashMap<>(256);
+
+
 	// Using distance will ensure a more accurate match is discovered,
 	// more closely following the Java rules.
 	private final boolean useDistance;
@@ -60,6 +69,11 @@ public class ReflectiveMethodResolver implements MethodResolver {
 	@Nullable
 	private Map<Class<?>, MethodFilter> filters;
 
+	// Subclasses may customize candidate method introspection in a stateful manner:
+	// only our own stateless variants participate in the shared resolution cache.
+	private final boolean useResolvedMethodCache =
+			(getClass() == ReflectiveMethodResolver.class || getClass() == DataBindingMethodResolver.class);
+
 
 	public ReflectiveMethodResolver() {
 		this.useDistance = true;
@@ -115,10 +129,21 @@ public class ReflectiveMethodResolver implements MethodResolver {
 		try {
 			TypeConverter typeConverter = context.getTypeConverter();
 			Class<?> type = (targetObject instanceof Class ? (Class<?>) targetObject : targetObject.getClass());
+			MethodFilter filter = (this.filters != null ? this.filters.get(type) : null);
+
+			MethodCacheKey cacheKey = null;
+			if (filter == null && this.useResolvedMethodCache) {
+				cacheKey = new MethodCacheKey(getClass(), type, targetObject instanceof Class, name,
+						argumentTypes, this.useDistance);
+				Method cachedMethod = resolvedMethodCache.get(cacheKey);
+				if (cachedMethod != null) {
+					return new ReflectiveMethodExecutor(cachedMethod);
+				}
+			}
+
 			ArrayList<Method> methods = new ArrayList<>(getMethods(type, targetObject));
 
 			// If a filter is registered for this type, call it
-			MethodFilter filter = (this.filters != null ? this.filters.get(type) : null);
 			if (filter != null) {
 				List<Method> filtered = filter.filter(methods);
 				methods = (filtered instanceof ArrayList ? (ArrayList<Method>) filtered : new ArrayList<>(filtered));
@@ -176,6 +201,9 @@ public class ReflectiveMethodResolver implements MethodResolver {
 					}
 					if (matchInfo != null) {
 						if (matchInfo.isExactMatch()) {
+							if (cacheKey != null) {
+								resolvedMethodCache.put(cacheKey.forStorage(), method);
+							}
 							return new ReflectiveMethodExecutor(method);
 						}
 						else if (matchInfo.isCloseMatch()) {
@@ -204,6 +232,9 @@ public class ReflectiveMethodResolver implements MethodResolver {
 				}
 			}
 			if (closeMatch != null) {
+				if (cacheKey != null) {
+					resolvedMethodCache.put(cacheKey.forStorage(), closeMatch);
+				}
 				return new ReflectiveMethodExecutor(closeMatch);
 			}
 			else if (matchRequiringConversion != null) {
@@ -285,4 +316,69 @@ public class ReflectiveMethodResolver implements MethodResolver {
 		return true;
 	}
 
+
+	/**
+	 * Key for the shared method resolution cache.
+	 */
+	private static final class MethodCacheKey {
+
+		private final Class<?> resolverType;
+
+		private final Class<?> targetType;
+
+		private final boolean targetIsClass;
+
+		private final String name;
+
+		private final List<TypeDescriptor> argumentTypes;
+
+		private final boolean useDistance;
+
+		public MethodCacheKey(Class<?> resolverType, Class<?> targetType, boolean targetIsClass, String name,
+				List<TypeDescriptor> argumentTypes, boolean useDistance) {
+
+			this.resolverType = resolverType;
+			this.targetType = targetType;
+			this.targetIsClass = targetIsClass;
+			this.name = name;
+			this.argumentTypes = argumentTypes;
+			this.useDistance = useDistance;
+		}
+
+		/**
+		 * Return a key for storing in the cache, decoupled from the caller's
+		 * (potentially mutable) argument type list.
+		 */
+		public MethodCacheKey forStorage() {
+			return new MethodCacheKey(this.resolverType, this.targetType, this.targetIsClass, this.name,
+					new ArrayList<>(this.argumentTypes), this.useDistance);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof MethodCacheKey)) {
+				return false;
+			}
+			MethodCacheKey otherKey = (MethodCacheKey) other;
+			return (this.targetType == otherKey.targetType && this.name.equals(otherKey.name) &&
+					this.argumentTypes.equals(otherKey.argumentTypes) &&
+					this.targetIsClass == otherKey.targetIsClass && this.useDistance == otherKey.useDistance &&
+					this.resolverType == otherKey.resolverType);
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.targetType.hashCode() * 29 + this.name.hashCode()) * 29 + this.argumentTypes.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return "MethodCacheKey [targetType=" + this.targetType.getName() + ", name=" + this.name +
+					", argumentTypes=" + this.argumentTypes + ", targetIsClass=" + this.targetIsClass + "]";
+		}
+	}
+
 }
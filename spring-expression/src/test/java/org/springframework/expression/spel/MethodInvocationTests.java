@@ -35,6 +35,8 @@ import org.springframework.expression.MethodFilter;
 import org.springframework.expression.MethodResolver;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.ReflectiveMethodExecutor;
+import org.springframework.expression.spel.support.ReflectiveMethodResolver;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.expression.spel.testresources.PlaceOfBirth;
 
@@ -295,6 +297,32 @@ public class MethodInvocationTests extends AbstractExpressionTests {
 		assertThat(value).isEqualTo("java.lang.String");
 	}
 
+	@Test
+	public void testMethodResolutionAcrossContexts() throws Exception {
+		List<TypeDescriptor> argumentTypes = new ArrayList<>();
+		argumentTypes.add(TypeDescriptor.valueOf(Integer.class));
+
+		// Resolution is shared between resolver instances (and therefore evaluation contexts)
+		StandardEvaluationContext context1 = new StandardEvaluationContext();
+		StandardEvaluationContext context2 = new StandardEvaluationContext();
+		MethodExecutor executor1 = new ReflectiveMethodResolver().resolve(context1, "abc", "charAt", argumentTypes);
+		MethodExecutor executor2 = new ReflectiveMethodResolver().resolve(context2, "abc", "charAt", argumentTypes);
+		assertThat(executor1).isNotNull();
+		assertThat(executor2).isNotNull();
+		// Class.getMethods() hands out a fresh copy of each Method on every call:
+		// the very same instance means the second resolution came from the cache
+		assertThat(((ReflectiveMethodExecutor) executor2).getMethod())
+				.isSameAs(((ReflectiveMethodExecutor) executor1).getMethod());
+		assertThat(String.class.getMethod("charAt", int.class))
+				.isNotSameAs(((ReflectiveMethodExecutor) executor1).getMethod());
+
+		// Static resolution against a Class target must not see instance resolution results
+		Expression expression = parser.parseExpression("toString()");
+		assertThat(expression.getValue(new StandardEvaluationContext("abc"))).isEqualTo("abc");
+		assertThat(expression.getValue(new StandardEvaluationContext(String.class)))
+				.isEqualTo("class java.lang.String");
+	}
+
 	@Test
 	public void invokeMethodWithoutConversion() throws Exception {
 		final BytesService service = new BytesService();
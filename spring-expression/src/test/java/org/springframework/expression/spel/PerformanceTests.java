@@ -16,6 +16,9 @@
 
 package org.springframework.expression.spel;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.core.testfixture.EnabledForTestGroups;
@@ -131,4 +134,34 @@ public class PerformanceTests {
 		}
 	}
 
+	@Test
+	public void testAllocationsForInterpretedOperators() throws Exception {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+			return;
+		}
+		com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+		long threadId = Thread.currentThread().getId();
+
+		Expression expr = parser.parseExpression("(3 + 4) * 2 < 20 and 'abc' == 'abc' and #three > 2");
+		eContext.setVariable("three", 3);
+
+		// warmup
+		for (int i = 0; i < ITERATIONS; i++) {
+			assertThat(expr.getValue(eContext, Boolean.class)).isTrue();
+		}
+
+		long startBytes = allocationBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < ITERATIONS; i++) {
+			expr.getValue(eContext, Boolean.class);
+		}
+		long bytesPerEvaluation = (allocationBean.getThreadAllocatedBytes(threadId) - startBytes) / ITERATIONS;
+		if (DEBUG) {
+			System.out.println("Operators: Bytes allocated per interpreted evaluation: " + bytesPerEvaluation);
+		}
+
+		// Operator evaluation only needs the ExpressionState and the TypedValue results
+		assertThat(bytesPerEvaluation).isLessThan(512);
+	}
+
 }
@@ -39,6 +39,9 @@ public class DefaultJmsListenerContainerFactory
 	@Nullable
 	private Executor taskExecutor;
 
+	@Nullable
+	private Boolean virtualThreads;
+
 	@Nullable
 	private PlatformTransactionManager transactionManager;
 
@@ -71,6 +74,14 @@ public class DefaultJmsListenerContainerFactory
 		this.taskExecutor = taskExecutor;
 	}
 
+	/**
+	 * @since 5.3
+	 * @see DefaultMessageListenerContainer#setVirtualThreads
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
 	/**
 	 * @see DefaultMessageListenerContainer#setTransactionManager
 	 */
@@ -138,6 +149,9 @@ public class DefaultJmsListenerContainerFactory
 		if (this.taskExecutor != null) {
 			container.setTaskExecutor(this.taskExecutor);
 		}
+		if (this.virtualThreads != null) {
+			container.setVirtualThreads(this.virtualThreads);
+		}
 		if (this.transactionManager != null) {
 			container.setTransactionManager(this.transactionManager);
 		}
@@ -178,6 +178,8 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	@Nullable
 	private Executor taskExecutor;
 
+	private boolean virtualThreads = false;
+
 	private BackOff backOff = new FixedBackOff(DEFAULT_RECOVERY_INTERVAL, Long.MAX_VALUE);
 
 	private int cacheLevel = CACHE_AUTO;
@@ -228,6 +230,21 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 		this.taskExecutor = taskExecutor;
 	}
 
+	/**
+	 * Specify whether the default {@code TaskExecutor} should run the listener
+	 * threads as virtual threads, on JDK 21 or higher.
+	 * <p>Default is "false". Since each consumer blocks its thread while waiting
+	 * for messages, virtual threads allow for a high number of concurrent
+	 * consumers without tying up as many platform threads. This setting does
+	 * not apply to an explicitly specified {@link #setTaskExecutor TaskExecutor}.
+	 * @since 5.3
+	 * @see #createDefaultTaskExecutor()
+	 * @see org.springframework.core.task.SimpleAsyncTaskExecutor#setVirtualThreads
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
 	/**
 	 * Specify the {@link BackOff} instance to use to compute the interval
 	 * between recovery attempts. If the {@link BackOffExecution} implementation
@@ -694,13 +711,16 @@ public class DefaultMessageListenerContainer extends AbstractPollingMessageListe
 	/**
 	 * Create a default TaskExecutor. Called if no explicit TaskExecutor has been specified.
 	 * <p>The default implementation builds a {@link org.springframework.core.task.SimpleAsyncTaskExecutor}
-	 * with the specified bean name (or the class name, if no bean name specified) as thread name prefix.
+	 * with the specified bean name (or the class name, if no bean name specified) as thread name prefix,
+	 * creating virtual threads if so {@link #setVirtualThreads configured}.
 	 * @see org.springframework.core.task.SimpleAsyncTaskExecutor#SimpleAsyncTaskExecutor(String)
 	 */
 	protected TaskExecutor createDefaultTaskExecutor() {
 		String beanName = getBeanName();
 		String threadNamePrefix = (beanName != null ? beanName + "-" : DEFAULT_THREAD_NAME_PREFIX);
-		return new SimpleAsyncTaskExecutor(threadNamePrefix);
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+		executor.setVirtualThreads(this.virtualThreads);
+		return executor;
 	}
 
 	/**
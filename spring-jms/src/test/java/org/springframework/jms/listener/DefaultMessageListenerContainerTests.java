@@ -28,6 +28,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.util.backoff.BackOff;
 import org.springframework.util.backoff.BackOffExecution;
 
@@ -106,6 +108,18 @@ public class DefaultMessageListenerContainerTests {
 		runnable2.waitForCompletion();
 	}
 
+	@Test
+	public void virtualThreadsAppliedToDefaultTaskExecutor() {
+		DefaultMessageListenerContainer container = createContainer(createSuccessfulConnectionFactory());
+		container.setBeanName("listener");
+		container.setVirtualThreads(true);
+		TaskExecutor taskExecutor = container.createDefaultTaskExecutor();
+		assertThat(taskExecutor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+		SimpleAsyncTaskExecutor executor = (SimpleAsyncTaskExecutor) taskExecutor;
+		assertThat(executor.isVirtualThreads()).isTrue();
+		assertThat(executor.getThreadNamePrefix()).isEqualTo("listener-");
+	}
+
 
 	private DefaultMessageListenerContainer createRunningContainer() {
 		DefaultMessageListenerContainer container = createContainer(createSuccessfulConnectionFactory());
@@ -17,6 +17,7 @@
 package org.springframework.transaction.interceptor;
 
 import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentMap;
 
@@ -50,6 +51,7 @@ import org.springframework.transaction.support.CallbackPreferringPlatformTransac
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -108,6 +110,13 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	private static final boolean reactiveStreamsPresent =
 			ClassUtils.isPresent("org.reactivestreams.Publisher", TransactionAspectSupport.class.getClassLoader());
 
+	/**
+	 * Whether a given {@link TransactionAttributeSource} type caches its attributes
+	 * permanently, i.e. does not override {@code getTransactionAttribute} from
+	 * {@link AbstractFallbackTransactionAttributeSource}.
+	 */
+	private static final Map<Class<?>, Boolean> cachingAttributeSourceTypes = new ConcurrentReferenceHashMap<>();
+
 	/**
 	 * Holder to support the {@code currentTransactionStatus()} method,
 	 * and to support communication between different cooperating advices
@@ -179,6 +188,11 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	private final ConcurrentMap<Method, ReactiveTransactionSupport> transactionSupportCache =
 			new ConcurrentReferenceHashMap<>(1024);
 
+	private final ConcurrentMap<Method, TransactionMethodBinding> transactionMethodBindingCache =
+			new ConcurrentReferenceHashMap<>(1024);
+
+	private final boolean defaultTransactionManagerLookup;
+
 
 	protected TransactionAspectSupport() {
 		if (reactiveStreamsPresent) {
@@ -187,6 +201,11 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		else {
 			this.reactiveAdapterRegistry = null;
 		}
+		// A custom determineTransactionManager implementation may vary per invocation
+		Method lookupMethod = ReflectionUtils.findMethod(
+				getClass(), "determineTransactionManager", TransactionAttribute.class);
+		this.defaultTransactionManagerLookup =
+				(lookupMethod != null && lookupMethod.getDeclaringClass() == TransactionAspectSupport.class);
 	}
 
 
@@ -197,6 +216,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManagerBeanName(@Nullable String transactionManagerBeanName) {
 		this.transactionManagerBeanName = transactionManagerBeanName;
+		this.transactionMethodBindingCache.clear();
 	}
 
 	/**
@@ -218,6 +238,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManager(@Nullable TransactionManager transactionManager) {
 		this.transactionManager = transactionManager;
+		this.transactionMethodBindingCache.clear();
 	}
 
 	/**
@@ -246,6 +267,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		NameMatchTransactionAttributeSource tas = new NameMatchTransactionAttributeSource();
 		tas.setProperties(transactionAttributes);
 		this.transactionAttributeSource = tas;
+		this.transactionMethodBindingCache.clear();
 	}
 
 	/**
@@ -258,6 +280,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSources(TransactionAttributeSource... transactionAttributeSources) {
 		this.transactionAttributeSource = new CompositeTransactionAttributeSource(transactionAttributeSources);
+		this.transactionMethodBindingCache.clear();
 	}
 
 	/**
@@ -271,6 +294,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSource(@Nullable TransactionAttributeSource transactionAttributeSource) {
 		this.transactionAttributeSource = transactionAttributeSource;
+		this.transactionMethodBindingCache.clear();
 	}
 
 	/**
@@ -287,6 +311,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	@Override
 	public void setBeanFactory(@Nullable BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
+		this.transactionMethodBindingCache.clear();
 	}
 
 	/**
@@ -331,9 +356,9 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 			final InvocationCallback invocation) throws Throwable {
 
 		// If the transaction attribute is null, the method is non-transactional.
-		TransactionAttributeSource tas = getTransactionAttributeSource();
-		final TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
-		final TransactionManager tm = determineTransactionManager(txAttr);
+		TransactionMethodBinding binding = getTransactionMethodBinding(method, targetClass);
+		final TransactionAttribute txAttr = binding.transactionAttribute;
+		final TransactionManager tm = binding.transactionManager;
 
 		if (this.reactiveAdapterRegistry != null && tm instanceof ReactiveTransactionManager) {
 			ReactiveTransactionSupport txSupport = this.transactionSupportCache.computeIfAbsent(method, key -> {
@@ -354,7 +379,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		}
 
 		PlatformTransactionManager ptm = asPlatformTransactionManager(tm);
-		final String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		final String joinpointIdentification = binding.joinpointIdentification;
 
 		if (txAttr == null || !(ptm instanceof CallbackPreferringPlatformTransactionManager)) {
 			// Standard transaction demarcation with getTransaction and commit/rollback calls.
@@ -454,9 +479,60 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	protected void clearTransactionManagerCache() {
 		this.transactionManagerCache.clear();
+		this.transactionMethodBindingCache.clear();
 		this.beanFactory = null;
 	}
 
+	/**
+	 * Obtain the transaction attribute, transaction manager and joinpoint
+	 * identification for the given method, resolving them once per method
+	 * where possible so that subsequent invocations skip the attribute source
+	 * and transaction manager lookups.
+	 * <p>Resolution results are only retained if the transaction attribute source
+	 * caches its attributes permanently anyway, i.e. is an
+	 * {@link AbstractFallbackTransactionAttributeSource} which does not override
+	 * {@code getTransactionAttribute}, and {@link #determineTransactionManager}
+	 * has not been overridden. Overriding {@code findTransactionAttribute} or
+	 * {@code computeTransactionAttribute} does not make a difference here since
+	 * their results are cached by the attribute source itself; an attribute source
+	 * that needs to return different results over time has to override
+	 * {@code getTransactionAttribute} and is then asked on every invocation.
+	 * @param method the Method being invoked
+	 * @param targetClass the target class that we're invoking the method on
+	 */
+	private TransactionMethodBinding getTransactionMethodBinding(Method method, @Nullable Class<?> targetClass) {
+		TransactionMethodBinding binding = this.transactionMethodBindingCache.get(method);
+		if (binding != null && binding.targetClass == targetClass) {
+			return binding;
+		}
+
+		TransactionAttributeSource tas = getTransactionAttributeSource();
+		TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
+		TransactionManager tm = determineTransactionManager(txAttr);
+		String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		TransactionMethodBinding newBinding =
+				new TransactionMethodBinding(targetClass, txAttr, tm, joinpointIdentification);
+
+		// Only bind the first target class for a given method: an interface method
+		// invoked on several target classes keeps going through the regular lookups.
+		if (binding == null && this.defaultTransactionManagerLookup && isCachingAttributeSource(tas)) {
+			this.transactionMethodBindingCache.putIfAbsent(method, newBinding);
+		}
+		return newBinding;
+	}
+
+	private static boolean isCachingAttributeSource(@Nullable TransactionAttributeSource tas) {
+		if (!(tas instanceof AbstractFallbackTransactionAttributeSource)) {
+			return false;
+		}
+		return cachingAttributeSourceTypes.computeIfAbsent(tas.getClass(), type -> {
+			Method lookupMethod = ReflectionUtils.findMethod(
+					type, "getTransactionAttribute", Method.class, Class.class);
+			return (lookupMethod != null &&
+					lookupMethod.getDeclaringClass() == AbstractFallbackTransactionAttributeSource.class);
+		});
+	}
+
 	/**
 	 * Determine the specific transaction manager to use for the given transaction.
 	 */
@@ -786,6 +862,33 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	}
 
 
+	/**
+	 * Resolved transaction metadata for a particular method on a target class.
+	 */
+	private static class TransactionMethodBinding {
+
+		@Nullable
+		final Class<?> targetClass;
+
+		@Nullable
+		final TransactionAttribute transactionAttribute;
+
+		@Nullable
+		final TransactionManager transactionManager;
+
+		final String joinpointIdentification;
+
+		TransactionMethodBinding(@Nullable Class<?> targetClass, @Nullable TransactionAttribute transactionAttribute,
+				@Nullable TransactionManager transactionManager, String joinpointIdentification) {
+
+			this.targetClass = targetClass;
+			this.transactionAttribute = transactionAttribute;
+			this.transactionManager = transactionManager;
+			this.joinpointIdentification = joinpointIdentification;
+		}
+	}
+
+
 	/**
 	 * Internal holder class for a Throwable in a callback transaction model.
 	 */
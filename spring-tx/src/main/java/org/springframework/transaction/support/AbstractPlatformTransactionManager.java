@@ -19,6 +19,9 @@ package org.springframework.transaction.support;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.logging.Log;
@@ -127,6 +130,8 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 
 	private boolean rollbackOnCommitFailure = false;
 
+	private transient List<TransactionMetricsListener> transactionMetricsListeners = Collections.emptyList();
+
 
 	/**
 	 * Set the transaction synchronization by the name of the corresponding constant
@@ -324,6 +329,28 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		return this.rollbackOnCommitFailure;
 	}
 
+	/**
+	 * Specify listeners to be notified of the time spent in transaction lifecycle
+	 * operations (begin, suspend, resume, commit, rollback and synchronization
+	 * callbacks) as well as of the overall duration of each actual transaction.
+	 * <p>Timings are only taken if at least one listener has been registered.
+	 * Note that listeners are not serialized along with this transaction manager.
+	 * @since 5.3
+	 * @see SimpleTransactionMetrics
+	 * @see SlowTransactionLogger
+	 */
+	public final void setTransactionMetricsListeners(Collection<? extends TransactionMetricsListener> listeners) {
+		this.transactionMetricsListeners = new ArrayList<>(listeners);
+	}
+
+	/**
+	 * Return the registered transaction metrics listeners, if any.
+	 * @since 5.3
+	 */
+	public final List<TransactionMetricsListener> getTransactionMetricsListeners() {
+		return Collections.unmodifiableList(this.transactionMetricsListeners);
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of PlatformTransactionManager
@@ -397,7 +424,23 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		boolean newSynchronization = (getTransactionSynchronization() != SYNCHRONIZATION_NEVER);
 		DefaultTransactionStatus status = newTransactionStatus(
 				definition, transaction, true, newSynchronization, debugEnabled, suspendedResources);
-		doBegin(transaction, definition);
+		boolean metricsEnabled = !this.transactionMetricsListeners.isEmpty();
+		long startTime = 0;
+		if (metricsEnabled) {
+			startTime = System.nanoTime();
+			status.initMetrics(definition.getName(), startTime);
+		}
+		boolean successful = false;
+		try {
+			doBegin(transaction, definition);
+			successful = true;
+		}
+		finally {
+			if (metricsEnabled) {
+				notifyOperationCompleted(TransactionMetricsListener.Operation.BEGIN,
+						definition.getName(), startTime, successful);
+			}
+		}
 		prepareSynchronization(status, definition);
 		return status;
 	}
@@ -571,7 +614,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 			try {
 				Object suspendedResources = null;
 				if (transaction != null) {
-					suspendedResources = doSuspend(transaction);
+					suspendedResources = invokeSuspend(transaction);
 				}
 				String name = TransactionSynchronizationManager.getCurrentTransactionName();
 				TransactionSynchronizationManager.setCurrentTransactionName(null);
@@ -592,7 +635,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		}
 		else if (transaction != null) {
 			// Transaction active but no synchronization active.
-			Object suspendedResources = doSuspend(transaction);
+			Object suspendedResources = invokeSuspend(transaction);
 			return new SuspendedResourcesHolder(suspendedResources);
 		}
 		else {
@@ -617,7 +660,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		if (resourcesHolder != null) {
 			Object suspendedResources = resourcesHolder.suspendedResources;
 			if (suspendedResources != null) {
-				doResume(transaction, suspendedResources);
+				invokeResume(transaction, suspendedResources, resourcesHolder.name);
 			}
 			List<TransactionSynchronization> suspendedSynchronizations = resourcesHolder.suspendedSynchronizations;
 			if (suspendedSynchronizations != null) {
@@ -630,6 +673,47 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		}
 	}
 
+	/**
+	 * Invoke {@code doSuspend}, recording its timing if metrics listeners are registered.
+	 */
+	private Object invokeSuspend(Object transaction) throws TransactionException {
+		if (this.transactionMetricsListeners.isEmpty()) {
+			return doSuspend(transaction);
+		}
+		String name = TransactionSynchronizationManager.getCurrentTransactionName();
+		long startTime = System.nanoTime();
+		boolean successful = false;
+		try {
+			Object suspendedResources = doSuspend(transaction);
+			successful = true;
+			return suspendedResources;
+		}
+		finally {
+			notifyOperationCompleted(TransactionMetricsListener.Operation.SUSPEND, name, startTime, successful);
+		}
+	}
+
+	/**
+	 * Invoke {@code doResume}, recording its timing if metrics listeners are registered.
+	 */
+	private void invokeResume(@Nullable Object transaction, Object suspendedResources, @Nullable String name)
+			throws TransactionException {
+
+		if (this.transactionMetricsListeners.isEmpty()) {
+			doResume(transaction, suspendedResources);
+			return;
+		}
+		long startTime = System.nanoTime();
+		boolean successful = false;
+		try {
+			doResume(transaction, suspendedResources);
+			successful = true;
+		}
+		finally {
+			notifyOperationCompleted(TransactionMetricsListener.Operation.RESUME, name, startTime, successful);
+		}
+	}
+
 	/**
 	 * Resume outer transaction after inner transaction begin failed.
 	 */
@@ -740,7 +824,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 						logger.debug("Initiating transaction commit");
 					}
 					unexpectedRollback = status.isGlobalRollbackOnly();
-					doCommit(status);
+					invokeCommit(status);
 				}
 				else if (isFailEarlyOnGlobalRollbackOnly()) {
 					unexpectedRollback = status.isGlobalRollbackOnly();
@@ -755,6 +839,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 			}
 			catch (UnexpectedRollbackException ex) {
 				// can only be caused by doCommit
+				status.setCompletionStatus(TransactionSynchronization.STATUS_ROLLED_BACK);
 				triggerAfterCompletion(status, TransactionSynchronization.STATUS_ROLLED_BACK);
 				throw ex;
 			}
@@ -832,7 +917,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 					if (status.isDebug()) {
 						logger.debug("Initiating transaction rollback");
 					}
-					doRollback(status);
+					invokeRollback(status);
 				}
 				else {
 					// Participating in larger transaction
@@ -889,7 +974,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 				if (status.isDebug()) {
 					logger.debug("Initiating transaction rollback after commit exception", ex);
 				}
-				doRollback(status);
+				invokeRollback(status);
 			}
 			else if (status.hasTransaction() && isGlobalRollbackOnParticipationFailure()) {
 				if (status.isDebug()) {
@@ -906,6 +991,44 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		triggerAfterCompletion(status, TransactionSynchronization.STATUS_ROLLED_BACK);
 	}
 
+	/**
+	 * Invoke {@code doCommit}, recording its timing if metrics are enabled for the transaction.
+	 */
+	private void invokeCommit(DefaultTransactionStatus status) throws TransactionException {
+		long startTime = (status.isMetricsEnabled() ? System.nanoTime() : 0);
+		boolean successful = false;
+		try {
+			doCommit(status);
+			successful = true;
+			status.setCompletionStatus(TransactionSynchronization.STATUS_COMMITTED);
+		}
+		finally {
+			if (status.isMetricsEnabled()) {
+				notifyOperationCompleted(TransactionMetricsListener.Operation.COMMIT,
+						status.getTransactionName(), startTime, successful);
+			}
+		}
+	}
+
+	/**
+	 * Invoke {@code doRollback}, recording its timing if metrics are enabled for the transaction.
+	 */
+	private void invokeRollback(DefaultTransactionStatus status) throws TransactionException {
+		long startTime = (status.isMetricsEnabled() ? System.nanoTime() : 0);
+		boolean successful = false;
+		try {
+			doRollback(status);
+			successful = true;
+			status.setCompletionStatus(TransactionSynchronization.STATUS_ROLLED_BACK);
+		}
+		finally {
+			if (status.isMetricsEnabled()) {
+				notifyOperationCompleted(TransactionMetricsListener.Operation.ROLLBACK,
+						status.getTransactionName(), startTime, successful);
+			}
+		}
+	}
+
 
 	/**
 	 * Trigger {@code beforeCommit} callbacks.
@@ -916,7 +1039,18 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 			if (status.isDebug()) {
 				logger.trace("Triggering beforeCommit synchronization");
 			}
-			TransactionSynchronizationUtils.triggerBeforeCommit(status.isReadOnly());
+			long startTime = (status.isMetricsEnabled() ? System.nanoTime() : 0);
+			boolean successful = false;
+			try {
+				TransactionSynchronizationUtils.triggerBeforeCommit(status.isReadOnly());
+				successful = true;
+			}
+			finally {
+				if (status.isMetricsEnabled()) {
+					notifyOperationCompleted(TransactionMetricsListener.Operation.BEFORE_COMMIT,
+							status.getTransactionName(), startTime, successful);
+				}
+			}
 		}
 	}
 
@@ -929,7 +1063,18 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 			if (status.isDebug()) {
 				logger.trace("Triggering beforeCompletion synchronization");
 			}
-			TransactionSynchronizationUtils.triggerBeforeCompletion();
+			long startTime = (status.isMetricsEnabled() ? System.nanoTime() : 0);
+			boolean successful = false;
+			try {
+				TransactionSynchronizationUtils.triggerBeforeCompletion();
+				successful = true;
+			}
+			finally {
+				if (status.isMetricsEnabled()) {
+					notifyOperationCompleted(TransactionMetricsListener.Operation.BEFORE_COMPLETION,
+							status.getTransactionName(), startTime, successful);
+				}
+			}
 		}
 	}
 
@@ -942,7 +1087,18 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 			if (status.isDebug()) {
 				logger.trace("Triggering afterCommit synchronization");
 			}
-			TransactionSynchronizationUtils.triggerAfterCommit();
+			long startTime = (status.isMetricsEnabled() ? System.nanoTime() : 0);
+			boolean successful = false;
+			try {
+				TransactionSynchronizationUtils.triggerAfterCommit();
+				successful = true;
+			}
+			finally {
+				if (status.isMetricsEnabled()) {
+					notifyOperationCompleted(TransactionMetricsListener.Operation.AFTER_COMMIT,
+							status.getTransactionName(), startTime, successful);
+				}
+			}
 		}
 	}
 
@@ -961,7 +1117,12 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 				}
 				// No transaction or new transaction for the current scope ->
 				// invoke the afterCompletion callbacks immediately
+				long startTime = (status.isMetricsEnabled() ? System.nanoTime() : 0);
 				invokeAfterCompletion(synchronizations, completionStatus);
+				if (status.isMetricsEnabled()) {
+					notifyOperationCompleted(TransactionMetricsListener.Operation.AFTER_COMPLETION,
+							status.getTransactionName(), startTime, true);
+				}
 			}
 			else if (!synchronizations.isEmpty()) {
 				// Existing transaction that we participate in, controlled outside
@@ -1002,6 +1163,9 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 		}
 		if (status.isNewTransaction()) {
 			doCleanupAfterCompletion(status.getTransaction());
+			if (status.isMetricsEnabled()) {
+				notifyTransactionCompleted(status);
+			}
 		}
 		if (status.getSuspendedResources() != null) {
 			if (status.isDebug()) {
@@ -1013,6 +1177,44 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 	}
 
 
+	/**
+	 * Notify all registered metrics listeners of a completed operation.
+	 * @param operation the kind of operation
+	 * @param transactionName the name of the transaction, if any
+	 * @param startTime the start of the operation according to {@link System#nanoTime()}
+	 * @param successful whether the operation completed without exception
+	 */
+	private void notifyOperationCompleted(TransactionMetricsListener.Operation operation,
+			@Nullable String transactionName, long startTime, boolean successful) {
+
+		long duration = System.nanoTime() - startTime;
+		for (TransactionMetricsListener listener : this.transactionMetricsListeners) {
+			try {
+				listener.operationCompleted(operation, transactionName, duration, successful);
+			}
+			catch (Throwable ex) {
+				logger.warn("TransactionMetricsListener.operationCompleted threw exception", ex);
+			}
+		}
+	}
+
+	/**
+	 * Notify all registered metrics listeners of the completion of the given transaction.
+	 * @param status object representing the transaction
+	 */
+	private void notifyTransactionCompleted(DefaultTransactionStatus status) {
+		long duration = System.nanoTime() - status.getStartTime();
+		for (TransactionMetricsListener listener : this.transactionMetricsListeners) {
+			try {
+				listener.transactionCompleted(status.getTransactionName(), status.getCompletionStatus(), duration);
+			}
+			catch (Throwable ex) {
+				logger.warn("TransactionMetricsListener.transactionCompleted threw exception", ex);
+			}
+		}
+	}
+
+
 	//---------------------------------------------------------------------
 	// Template methods to be implemented in subclasses
 	//---------------------------------------------------------------------
@@ -1265,6 +1467,7 @@ public abstract class AbstractPlatformTransactionManager implements PlatformTran
 
 		// Initialize transient fields.
 		this.logger = LogFactory.getLog(getClass());
+		this.transactionMetricsListeners = Collections.emptyList();
 	}
 
 
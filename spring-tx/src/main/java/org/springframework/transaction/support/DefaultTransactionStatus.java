@@ -64,6 +64,17 @@ public class DefaultTransactionStatus extends AbstractTransactionStatus {
 	@Nullable
 	private final Object suspendedResources;
 
+	// Transaction metrics state, only initialized if metrics listeners are registered
+
+	private boolean metricsEnabled = false;
+
+	@Nullable
+	private String transactionName;
+
+	private long startTime;
+
+	private int completionStatus = TransactionSynchronization.STATUS_UNKNOWN;
+
 
 	/**
 	 * Create a new {@code DefaultTransactionStatus} instance.
@@ -129,6 +140,61 @@ public class DefaultTransactionStatus extends AbstractTransactionStatus {
 		return this.readOnly;
 	}
 
+	/**
+	 * Initialize the metrics state for this transaction.
+	 * @param transactionName the name of the transaction, if any
+	 * @param startTime the start of the transaction according to {@link System#nanoTime()}
+	 * @since 5.3
+	 */
+	void initMetrics(@Nullable String transactionName, long startTime) {
+		this.metricsEnabled = true;
+		this.transactionName = transactionName;
+		this.startTime = startTime;
+	}
+
+	/**
+	 * Return whether metrics are recorded for this transaction.
+	 * @since 5.3
+	 */
+	boolean isMetricsEnabled() {
+		return this.metricsEnabled;
+	}
+
+	/**
+	 * Return the name of this transaction, if metrics are recorded for it.
+	 * @since 5.3
+	 */
+	@Nullable
+	String getTransactionName() {
+		return this.transactionName;
+	}
+
+	/**
+	 * Return the start of this transaction according to {@link System#nanoTime()},
+	 * if metrics are recorded for it.
+	 * @since 5.3
+	 */
+	long getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * Record the outcome of the actual commit or rollback of this transaction.
+	 * @since 5.3
+	 */
+	void setCompletionStatus(int completionStatus) {
+		this.completionStatus = completionStatus;
+	}
+
+	/**
+	 * Return the outcome of this transaction, according to the
+	 * {@link TransactionSynchronization} status constants.
+	 * @since 5.3
+	 */
+	int getCompletionStatus() {
+		return this.completionStatus;
+	}
+
 	/**
 	 * Return whether the progress of this transaction is debugged. This is used by
 	 * {@link AbstractPlatformTransactionManager} as an optimization, to prevent repeated
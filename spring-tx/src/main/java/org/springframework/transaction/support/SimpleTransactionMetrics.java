@@ -0,0 +1,186 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Simple {@link TransactionMetricsListener} implementation that aggregates
+ * counts and timings in memory, for exposure through a monitoring endpoint
+ * or for assertions in integration tests.
+ *
+ * <p>Counters are based on {@link LongAdder}, keeping contention low when
+ * many threads complete transactions concurrently.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see AbstractPlatformTransactionManager#setTransactionMetricsListeners
+ */
+public class SimpleTransactionMetrics implements TransactionMetricsListener {
+
+	private final Map<Operation, OperationStats> operationStats = new EnumMap<>(Operation.class);
+
+	private final LongAdder committedCount = new LongAdder();
+
+	private final LongAdder rolledBackCount = new LongAdder();
+
+	private final LongAdder unknownCount = new LongAdder();
+
+	private final LongAdder totalTransactionTime = new LongAdder();
+
+	private final LongAccumulator maxTransactionTime = new LongAccumulator(Math::max, 0);
+
+
+	public SimpleTransactionMetrics() {
+		for (Operation operation : Operation.values()) {
+			this.operationStats.put(operation, new OperationStats());
+		}
+	}
+
+
+	@Override
+	public void operationCompleted(Operation operation, @Nullable String transactionName,
+			long durationNanos, boolean successful) {
+
+		OperationStats stats = this.operationStats.get(operation);
+		stats.count.increment();
+		stats.totalTime.add(durationNanos);
+		if (!successful) {
+			stats.failureCount.increment();
+		}
+	}
+
+	@Override
+	public void transactionCompleted(@Nullable String transactionName, int completionStatus, long durationNanos) {
+		switch (completionStatus) {
+			case TransactionSynchronization.STATUS_COMMITTED:
+				this.committedCount.increment();
+				break;
+			case TransactionSynchronization.STATUS_ROLLED_BACK:
+				this.rolledBackCount.increment();
+				break;
+			default:
+				this.unknownCount.increment();
+		}
+		this.totalTransactionTime.add(durationNanos);
+		this.maxTransactionTime.accumulate(durationNanos);
+	}
+
+
+	/**
+	 * Return the number of times the given operation has been performed.
+	 */
+	public long getOperationCount(Operation operation) {
+		return this.operationStats.get(operation).count.sum();
+	}
+
+	/**
+	 * Return the number of times the given operation has failed with an exception.
+	 */
+	public long getOperationFailureCount(Operation operation) {
+		return this.operationStats.get(operation).failureCount.sum();
+	}
+
+	/**
+	 * Return the accumulated time spent in the given operation, in nanoseconds.
+	 */
+	public long getOperationTime(Operation operation) {
+		return this.operationStats.get(operation).totalTime.sum();
+	}
+
+	/**
+	 * Return the number of committed transactions.
+	 */
+	public long getCommittedCount() {
+		return this.committedCount.sum();
+	}
+
+	/**
+	 * Return the number of rolled back transactions.
+	 */
+	public long getRolledBackCount() {
+		return this.rolledBackCount.sum();
+	}
+
+	/**
+	 * Return the number of transactions with an unknown outcome,
+	 * typically due to a failed commit or rollback attempt.
+	 */
+	public long getUnknownCount() {
+		return this.unknownCount.sum();
+	}
+
+	/**
+	 * Return the number of completed transactions, whatever their outcome.
+	 */
+	public long getTransactionCount() {
+		return getCommittedCount() + getRolledBackCount() + getUnknownCount();
+	}
+
+	/**
+	 * Return the accumulated duration of all completed transactions, in nanoseconds.
+	 */
+	public long getTotalTransactionTime() {
+		return this.totalTransactionTime.sum();
+	}
+
+	/**
+	 * Return the duration of the longest transaction so far, in nanoseconds.
+	 */
+	public long getMaxTransactionTime() {
+		return this.maxTransactionTime.get();
+	}
+
+	/**
+	 * Reset all counters and timings.
+	 */
+	public void reset() {
+		for (OperationStats stats : this.operationStats.values()) {
+			stats.count.reset();
+			stats.failureCount.reset();
+			stats.totalTime.reset();
+		}
+		this.committedCount.reset();
+		this.rolledBackCount.reset();
+		this.unknownCount.reset();
+		this.totalTransactionTime.reset();
+		this.maxTransactionTime.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "SimpleTransactionMetrics: committed=" + getCommittedCount() + ", rolledBack=" +
+				getRolledBackCount() + ", unknown=" + getUnknownCount() + ", maxTransactionTime=" +
+				getMaxTransactionTime() + "ns";
+	}
+
+
+	private static class OperationStats {
+
+		final LongAdder count = new LongAdder();
+
+		final LongAdder failureCount = new LongAdder();
+
+		final LongAdder totalTime = new LongAdder();
+	}
+
+}
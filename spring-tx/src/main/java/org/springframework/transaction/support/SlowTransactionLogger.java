@@ -0,0 +1,112 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import java.time.Duration;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TransactionMetricsListener} that logs a warning for every transaction
+ * (or individual commit/rollback step) that takes longer than a given threshold.
+ *
+ * <p>Useful for spotting transactions which hold on to database connections
+ * and locks for too long, without having to enable debug logging.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see AbstractPlatformTransactionManager#setTransactionMetricsListeners
+ */
+public class SlowTransactionLogger implements TransactionMetricsListener {
+
+	private static final Duration DEFAULT_THRESHOLD = Duration.ofSeconds(1);
+
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private long thresholdNanos = DEFAULT_THRESHOLD.toNanos();
+
+
+	/**
+	 * Create a new {@code SlowTransactionLogger} with the default threshold of one second.
+	 */
+	public SlowTransactionLogger() {
+	}
+
+	/**
+	 * Create a new {@code SlowTransactionLogger} with the given threshold.
+	 * @param threshold the duration above which a transaction is considered slow
+	 */
+	public SlowTransactionLogger(Duration threshold) {
+		setThreshold(threshold);
+	}
+
+
+	/**
+	 * Set the duration above which a transaction is considered slow.
+	 * <p>The default is one second.
+	 */
+	public void setThreshold(Duration threshold) {
+		Assert.notNull(threshold, "Threshold must not be null");
+		Assert.isTrue(!threshold.isNegative(), "Threshold must not be negative");
+		this.thresholdNanos = threshold.toNanos();
+	}
+
+	/**
+	 * Return the duration above which a transaction is considered slow.
+	 */
+	public Duration getThreshold() {
+		return Duration.ofNanos(this.thresholdNanos);
+	}
+
+
+	@Override
+	public void operationCompleted(Operation operation, @Nullable String transactionName,
+			long durationNanos, boolean successful) {
+
+		if ((operation == Operation.COMMIT || operation == Operation.ROLLBACK) &&
+				durationNanos > this.thresholdNanos && this.logger.isWarnEnabled()) {
+			this.logger.warn("Slow " + operation.name().toLowerCase() + " of transaction [" +
+					transactionName + "]: " + (durationNanos / 1_000_000) + " ms" +
+					(successful ? "" : " (failed)"));
+		}
+	}
+
+	@Override
+	public void transactionCompleted(@Nullable String transactionName, int completionStatus, long durationNanos) {
+		if (durationNanos > this.thresholdNanos && this.logger.isWarnEnabled()) {
+			this.logger.warn("Slow transaction [" + transactionName + "] " + describe(completionStatus) +
+					" after " + (durationNanos / 1_000_000) + " ms");
+		}
+	}
+
+	private static String describe(int completionStatus) {
+		switch (completionStatus) {
+			case TransactionSynchronization.STATUS_COMMITTED:
+				return "committed";
+			case TransactionSynchronization.STATUS_ROLLED_BACK:
+				return "rolled back";
+			default:
+				return "completed with unknown outcome";
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Callback interface for recording the timing of transaction lifecycle operations
+ * performed by an {@link AbstractPlatformTransactionManager}, e.g. for exposing
+ * them through a metrics system or for tracing slow transactions.
+ *
+ * <p>Callbacks are invoked on the transaction's thread, right after the operation
+ * in question, and should therefore return quickly. Exceptions thrown by a listener
+ * are logged but do not affect the outcome of the transaction.
+ *
+ * @author Juergen Hoeller
+ * @since 5.3
+ * @see AbstractPlatformTransactionManager#setTransactionMetricsListeners
+ * @see SimpleTransactionMetrics
+ * @see SlowTransactionLogger
+ */
+public interface TransactionMetricsListener {
+
+	/**
+	 * Called after a transaction manager operation or a round of synchronization
+	 * callbacks has been performed.
+	 * @param operation the kind of operation
+	 * @param transactionName the name of the transaction as specified by
+	 * {@link org.springframework.transaction.TransactionDefinition#getName()},
+	 * or {@code null} if none
+	 * @param durationNanos the time spent in the operation, in nanoseconds
+	 * @param successful whether the operation completed without throwing an exception
+	 */
+	default void operationCompleted(Operation operation, @Nullable String transactionName,
+			long durationNanos, boolean successful) {
+	}
+
+	/**
+	 * Called on completion of an actual transaction started by the transaction manager,
+	 * i.e. not for transactions participating in an existing transaction or for
+	 * nested transactions that are based on savepoints.
+	 * @param transactionName the name of the transaction as specified by
+	 * {@link org.springframework.transaction.TransactionDefinition#getName()},
+	 * or {@code null} if none
+	 * @param completionStatus completion status according to the
+	 * {@link TransactionSynchronization#STATUS_COMMITTED},
+	 * {@link TransactionSynchronization#STATUS_ROLLED_BACK} and
+	 * {@link TransactionSynchronization#STATUS_UNKNOWN} constants
+	 * @param durationNanos the time between the start of the transaction and its
+	 * completion (including synchronization callbacks), in nanoseconds
+	 */
+	default void transactionCompleted(@Nullable String transactionName, int completionStatus, long durationNanos) {
+	}
+
+
+	/**
+	 * Transaction lifecycle operations reported to a {@link TransactionMetricsListener}.
+	 */
+	enum Operation {
+
+		/** Beginning a new transaction: {@code doBegin}. */
+		BEGIN,
+
+		/** Suspending the current transaction: {@code doSuspend}. */
+		SUSPEND,
+
+		/** Resuming a suspended transaction: {@code doResume}. */
+		RESUME,
+
+		/** Committing a new transaction: {@code doCommit}. */
+		COMMIT,
+
+		/** Rolling back a new transaction: {@code doRollback}. */
+		ROLLBACK,
+
+		/** Invoking {@link TransactionSynchronization#beforeCommit} callbacks. */
+		BEFORE_COMMIT,
+
+		/** Invoking {@link TransactionSynchronization#beforeCompletion} callbacks. */
+		BEFORE_COMPLETION,
+
+		/** Invoking {@link TransactionSynchronization#afterCommit} callbacks. */
+		AFTER_COMMIT,
+
+		/** Invoking {@link TransactionSynchronization#afterCompletion} callbacks. */
+		AFTER_COMPLETION
+	}
+
+}
@@ -78,23 +78,8 @@ public abstract class TransactionSynchronizationManager {
 
 	private static final Log logger = LogFactory.getLog(TransactionSynchronizationManager.class);
 
-	private static final ThreadLocal<Map<Object, Object>> resources =
-			new NamedThreadLocal<>("Transactional resources");
-
-	private static final ThreadLocal<Set<TransactionSynchronization>> synchronizations =
-			new NamedThreadLocal<>("Transaction synchronizations");
-
-	private static final ThreadLocal<String> currentTransactionName =
-			new NamedThreadLocal<>("Current transaction name");
-
-	private static final ThreadLocal<Boolean> currentTransactionReadOnly =
-			new NamedThreadLocal<>("Current transaction read-only status");
-
-	private static final ThreadLocal<Integer> currentTransactionIsolationLevel =
-			new NamedThreadLocal<>("Current transaction isolation level");
-
-	private static final ThreadLocal<Boolean> actualTransactionActive =
-			new NamedThreadLocal<>("Actual transaction active");
+	private static final ThreadLocal<TransactionContext> transactionContext =
+			new NamedThreadLocal<>("Transaction context");
 
 
 	//-------------------------------------------------------------------------
@@ -111,7 +96,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #hasResource
 	 */
 	public static Map<Object, Object> getResourceMap() {
-		Map<Object, Object> map = resources.get();
+		TransactionContext context = transactionContext.get();
+		Map<Object, Object> map = (context != null ? context.resources : null);
 		return (map != null ? Collections.unmodifiableMap(map) : Collections.emptyMap());
 	}
 
@@ -122,8 +108,12 @@ public abstract class TransactionSynchronizationManager {
 	 * @see ResourceTransactionManager#getResourceFactory()
 	 */
 	public static boolean hasResource(Object key) {
+		TransactionContext context = transactionContext.get();
+		if (context == null || context.resources == null) {
+			return false;
+		}
 		Object actualKey = TransactionSynchronizationUtils.unwrapResourceIfNecessary(key);
-		Object value = doGetResource(actualKey);
+		Object value = doGetResource(context, actualKey);
 		return (value != null);
 	}
 
@@ -136,8 +126,13 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static Object getResource(Object key) {
+		TransactionContext context = transactionContext.get();
+		if (context == null || context.resources == null) {
+			// No resources bound: no need to unwrap the key
+			return null;
+		}
 		Object actualKey = TransactionSynchronizationUtils.unwrapResourceIfNecessary(key);
-		Object value = doGetResource(actualKey);
+		Object value = doGetResource(context, actualKey);
 		if (value != null && logger.isTraceEnabled()) {
 			logger.trace("Retrieved value [" + value + "] for key [" + actualKey + "] bound to thread [" +
 					Thread.currentThread().getName() + "]");
@@ -149,8 +144,8 @@ public abstract class TransactionSynchronizationManager {
 	 * Actually check the value of the resource that is bound for the given key.
 	 */
 	@Nullable
-	private static Object doGetResource(Object actualKey) {
-		Map<Object, Object> map = resources.get();
+	private static Object doGetResource(TransactionContext context, Object actualKey) {
+		Map<Object, Object> map = context.resources;
 		if (map == null) {
 			return null;
 		}
@@ -158,9 +153,10 @@ public abstract class TransactionSynchronizationManager {
 		// Transparently remove ResourceHolder that was marked as void...
 		if (value instanceof ResourceHolder && ((ResourceHolder) value).isVoid()) {
 			map.remove(actualKey);
-			// Remove entire ThreadLocal if empty...
+			// Remove entire Map if empty...
 			if (map.isEmpty()) {
-				resources.remove();
+				context.resources = null;
+				removeContextIfEmpty(context);
 			}
 			value = null;
 		}
@@ -177,11 +173,12 @@ public abstract class TransactionSynchronizationManager {
 	public static void bindResource(Object key, Object value) throws IllegalStateException {
 		Object actualKey = TransactionSynchronizationUtils.unwrapResourceIfNecessary(key);
 		Assert.notNull(value, "Value must not be null");
-		Map<Object, Object> map = resources.get();
-		// set ThreadLocal Map if none found
+		TransactionContext context = obtainContext();
+		Map<Object, Object> map = context.resources;
+		// create resource Map if none found
 		if (map == null) {
-			map = new HashMap<>();
-			resources.set(map);
+			map = new HashMap<>(4);
+			context.resources = map;
 		}
 		Object oldValue = map.put(actualKey, value);
 		// Transparently suppress a ResourceHolder that was marked as void...
@@ -231,14 +228,16 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private static Object doUnbindResource(Object actualKey) {
-		Map<Object, Object> map = resources.get();
+		TransactionContext context = transactionContext.get();
+		Map<Object, Object> map = (context != null ? context.resources : null);
 		if (map == null) {
 			return null;
 		}
 		Object value = map.remove(actualKey);
-		// Remove entire ThreadLocal if empty...
+		// Remove entire Map if empty...
 		if (map.isEmpty()) {
-			resources.remove();
+			context.resources = null;
+			removeContextIfEmpty(context);
 		}
 		// Transparently suppress a ResourceHolder that was marked as void...
 		if (value instanceof ResourceHolder && ((ResourceHolder) value).isVoid()) {
@@ -262,7 +261,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #registerSynchronization
 	 */
 	public static boolean isSynchronizationActive() {
-		return (synchronizations.get() != null);
+		TransactionContext context = transactionContext.get();
+		return (context != null && context.synchronizations != null);
 	}
 
 	/**
@@ -271,11 +271,13 @@ public abstract class TransactionSynchronizationManager {
 	 * @throws IllegalStateException if synchronization is already active
 	 */
 	public static void initSynchronization() throws IllegalStateException {
-		if (isSynchronizationActive()) {
+		TransactionContext context = obtainContext();
+		if (context.synchronizations != null) {
 			throw new IllegalStateException("Cannot activate transaction synchronization - already active");
 		}
 		logger.trace("Initializing transaction synchronization");
-		synchronizations.set(new LinkedHashSet<>());
+		context.synchronizations = new LinkedHashSet<>(8);
+		context.synchronizationSnapshot = Collections.emptyList();
 	}
 
 	/**
@@ -292,11 +294,14 @@ public abstract class TransactionSynchronizationManager {
 			throws IllegalStateException {
 
 		Assert.notNull(synchronization, "TransactionSynchronization must not be null");
-		Set<TransactionSynchronization> synchs = synchronizations.get();
+		TransactionContext context = transactionContext.get();
+		Set<TransactionSynchronization> synchs = (context != null ? context.synchronizations : null);
 		if (synchs == null) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
-		synchs.add(synchronization);
+		if (synchs.add(synchronization)) {
+			context.synchronizationSnapshot = null;
+		}
 	}
 
 	/**
@@ -307,22 +312,24 @@ public abstract class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization
 	 */
 	public static List<TransactionSynchronization> getSynchronizations() throws IllegalStateException {
-		Set<TransactionSynchronization> synchs = synchronizations.get();
+		TransactionContext context = transactionContext.get();
+		Set<TransactionSynchronization> synchs = (context != null ? context.synchronizations : null);
 		if (synchs == null) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
 		// Return unmodifiable snapshot, to avoid ConcurrentModificationExceptions
 		// while iterating and invoking synchronization callbacks that in turn
-		// might register further synchronizations.
-		if (synchs.isEmpty()) {
-			return Collections.emptyList();
-		}
-		else {
+		// might register further synchronizations. The snapshot is reused until
+		// the next registration.
+		List<TransactionSynchronization> snapshot = context.synchronizationSnapshot;
+		if (snapshot == null) {
 			// Sort lazily here, not in registerSynchronization.
 			List<TransactionSynchronization> sortedSynchs = new ArrayList<>(synchs);
 			AnnotationAwareOrderComparator.sort(sortedSynchs);
-			return Collections.unmodifiableList(sortedSynchs);
+			snapshot = Collections.unmodifiableList(sortedSynchs);
+			context.synchronizationSnapshot = snapshot;
 		}
+		return snapshot;
 	}
 
 	/**
@@ -331,11 +338,14 @@ public abstract class TransactionSynchronizationManager {
 	 * @throws IllegalStateException if synchronization is not active
 	 */
 	public static void clearSynchronization() throws IllegalStateException {
-		if (!isSynchronizationActive()) {
+		TransactionContext context = transactionContext.get();
+		if (context == null || context.synchronizations == null) {
 			throw new IllegalStateException("Cannot deactivate transaction synchronization - not active");
 		}
 		logger.trace("Clearing transaction synchronization");
-		synchronizations.remove();
+		context.synchronizations = null;
+		context.synchronizationSnapshot = null;
+		removeContextIfEmpty(context);
 	}
 
 
@@ -350,7 +360,16 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#getName()
 	 */
 	public static void setCurrentTransactionName(@Nullable String name) {
-		currentTransactionName.set(name);
+		if (name != null) {
+			obtainContext().name = name;
+		}
+		else {
+			TransactionContext context = transactionContext.get();
+			if (context != null) {
+				context.name = null;
+				removeContextIfEmpty(context);
+			}
+		}
 	}
 
 	/**
@@ -361,7 +380,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static String getCurrentTransactionName() {
-		return currentTransactionName.get();
+		TransactionContext context = transactionContext.get();
+		return (context != null ? context.name : null);
 	}
 
 	/**
@@ -372,7 +392,16 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#isReadOnly()
 	 */
 	public static void setCurrentTransactionReadOnly(boolean readOnly) {
-		currentTransactionReadOnly.set(readOnly ? Boolean.TRUE : null);
+		if (readOnly) {
+			obtainContext().readOnly = true;
+		}
+		else {
+			TransactionContext context = transactionContext.get();
+			if (context != null) {
+				context.readOnly = false;
+				removeContextIfEmpty(context);
+			}
+		}
 	}
 
 	/**
@@ -388,7 +417,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization#beforeCommit(boolean)
 	 */
 	public static boolean isCurrentTransactionReadOnly() {
-		return (currentTransactionReadOnly.get() != null);
+		TransactionContext context = transactionContext.get();
+		return (context != null && context.readOnly);
 	}
 
 	/**
@@ -408,7 +438,16 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#getIsolationLevel()
 	 */
 	public static void setCurrentTransactionIsolationLevel(@Nullable Integer isolationLevel) {
-		currentTransactionIsolationLevel.set(isolationLevel);
+		if (isolationLevel != null) {
+			obtainContext().isolationLevel = isolationLevel;
+		}
+		else {
+			TransactionContext context = transactionContext.get();
+			if (context != null) {
+				context.isolationLevel = null;
+				removeContextIfEmpty(context);
+			}
+		}
 	}
 
 	/**
@@ -430,7 +469,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static Integer getCurrentTransactionIsolationLevel() {
-		return currentTransactionIsolationLevel.get();
+		TransactionContext context = transactionContext.get();
+		return (context != null ? context.isolationLevel : null);
 	}
 
 	/**
@@ -440,7 +480,16 @@ public abstract class TransactionSynchronizationManager {
 	 * with an actual transaction; {@code false} to reset that marker
 	 */
 	public static void setActualTransactionActive(boolean active) {
-		actualTransactionActive.set(active ? Boolean.TRUE : null);
+		if (active) {
+			obtainContext().actualTransactionActive = true;
+		}
+		else {
+			TransactionContext context = transactionContext.get();
+			if (context != null) {
+				context.actualTransactionActive = false;
+				removeContextIfEmpty(context);
+			}
+		}
 	}
 
 	/**
@@ -455,7 +504,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #isSynchronizationActive()
 	 */
 	public static boolean isActualTransactionActive() {
-		return (actualTransactionActive.get() != null);
+		TransactionContext context = transactionContext.get();
+		return (context != null && context.actualTransactionActive);
 	}
 
 
@@ -469,11 +519,71 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #setActualTransactionActive
 	 */
 	public static void clear() {
-		synchronizations.remove();
-		currentTransactionName.remove();
-		currentTransactionReadOnly.remove();
-		currentTransactionIsolationLevel.remove();
-		actualTransactionActive.remove();
+		TransactionContext context = transactionContext.get();
+		if (context != null) {
+			context.synchronizations = null;
+			context.synchronizationSnapshot = null;
+			context.name = null;
+			context.readOnly = false;
+			context.isolationLevel = null;
+			context.actualTransactionActive = false;
+			removeContextIfEmpty(context);
+		}
+	}
+
+
+	/**
+	 * Return the transaction context for the current thread, creating it if necessary.
+	 */
+	private static TransactionContext obtainContext() {
+		TransactionContext context = transactionContext.get();
+		if (context == null) {
+			context = new TransactionContext();
+			transactionContext.set(context);
+		}
+		return context;
+	}
+
+	/**
+	 * Remove the given transaction context from the current thread if it does not
+	 * hold any state anymore, in order to not leak it into pooled threads.
+	 */
+	private static void removeContextIfEmpty(TransactionContext context) {
+		if (context.isEmpty()) {
+			transactionContext.remove();
+		}
+	}
+
+
+	/**
+	 * Holder for all transaction state bound to a thread, allowing for a single
+	 * ThreadLocal lookup per access rather than one per kind of state.
+	 */
+	private static final class TransactionContext {
+
+		@Nullable
+		Map<Object, Object> resources;
+
+		@Nullable
+		Set<TransactionSynchronization> synchronizations;
+
+		@Nullable
+		List<TransactionSynchronization> synchronizationSnapshot;
+
+		@Nullable
+		String name;
+
+		boolean readOnly;
+
+		@Nullable
+		Integer isolationLevel;
+
+		boolean actualTransactionActive;
+
+		boolean isEmpty() {
+			return (this.resources == null && this.synchronizations == null && this.name == null &&
+					!this.readOnly && this.isolationLevel == null && !this.actualTransactionActive);
+		}
 	}
 
 }
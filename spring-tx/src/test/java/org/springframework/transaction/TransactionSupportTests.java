@@ -16,18 +16,28 @@
 
 package org.springframework.transaction;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionMetrics;
 import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionMetricsListener;
+import org.springframework.transaction.support.TransactionMetricsListener.Operation;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 /**
  * @author Juergen Hoeller
@@ -282,6 +292,63 @@ public class TransactionSupportTests {
 		assertThat(template3).isEqualTo(template2);
 	}
 
+	@Test
+	public void transactionMetricsWithCommit() {
+		TestTransactionManager tm = new TestTransactionManager(false, true);
+		tm.setTransactionSynchronization(AbstractPlatformTransactionManager.SYNCHRONIZATION_ALWAYS);
+		SimpleTransactionMetrics metrics = new SimpleTransactionMetrics();
+		tm.setTransactionMetricsListeners(Collections.singletonList(metrics));
+		TransactionTemplate template = new TransactionTemplate(tm);
+		template.executeWithoutResult(status -> {});
+
+		assertThat(metrics.getOperationCount(Operation.BEGIN)).isEqualTo(1);
+		assertThat(metrics.getOperationCount(Operation.COMMIT)).isEqualTo(1);
+		assertThat(metrics.getOperationCount(Operation.ROLLBACK)).isEqualTo(0);
+		assertThat(metrics.getOperationCount(Operation.BEFORE_COMMIT)).isEqualTo(1);
+		assertThat(metrics.getOperationCount(Operation.AFTER_COMPLETION)).isEqualTo(1);
+		assertThat(metrics.getCommittedCount()).isEqualTo(1);
+		assertThat(metrics.getRolledBackCount()).isEqualTo(0);
+		assertThat(metrics.getMaxTransactionTime()).isGreaterThan(0);
+	}
+
+	@Test
+	public void transactionMetricsWithRollbackAndFailedBegin() {
+		TestTransactionManager tm = new TestTransactionManager(false, true);
+		SimpleTransactionMetrics metrics = new SimpleTransactionMetrics();
+		tm.setTransactionMetricsListeners(Collections.singletonList(metrics));
+		TransactionTemplate template = new TransactionTemplate(tm);
+		assertThatIllegalStateException().isThrownBy(() ->
+				template.executeWithoutResult(status -> {
+					throw new IllegalStateException();
+				}));
+		assertThat(metrics.getOperationCount(Operation.ROLLBACK)).isEqualTo(1);
+		assertThat(metrics.getRolledBackCount()).isEqualTo(1);
+
+		TestTransactionManager tm2 = new TestTransactionManager(false, false);
+		tm2.setTransactionMetricsListeners(Collections.singletonList(metrics));
+		assertThatExceptionOfType(CannotCreateTransactionException.class).isThrownBy(() ->
+				new TransactionTemplate(tm2).executeWithoutResult(status -> {}));
+		assertThat(metrics.getOperationCount(Operation.BEGIN)).isEqualTo(2);
+		assertThat(metrics.getOperationFailureCount(Operation.BEGIN)).isEqualTo(1);
+		assertThat(metrics.getTransactionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void transactionMetricsListenerExceptionIsIgnored() {
+		TestTransactionManager tm = new TestTransactionManager(false, true);
+		List<Integer> completionStatuses = new ArrayList<>();
+		tm.setTransactionMetricsListeners(Collections.singletonList(new TransactionMetricsListener() {
+			@Override
+			public void transactionCompleted(String transactionName, int completionStatus, long durationNanos) {
+				completionStatuses.add(completionStatus);
+				throw new IllegalStateException("listener failure");
+			}
+		}));
+		new TransactionTemplate(tm).executeWithoutResult(status -> {});
+		assertThat(tm.commit).as("triggered commit").isTrue();
+		assertThat(completionStatuses).containsExactly(TransactionSynchronization.STATUS_COMMITTED);
+	}
+
 
 	@AfterEach
 	public void clear() {
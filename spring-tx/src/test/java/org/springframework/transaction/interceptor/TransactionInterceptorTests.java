@@ -17,13 +17,17 @@
 package org.springframework.transaction.interceptor;
 
 import java.io.Serializable;
+import java.lang.reflect.Method;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.core.testfixture.io.SerializationTestUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -262,6 +266,88 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 		verify(beanFactory, times(1)).getBean(TransactionManager.class);
 	}
 
+	@Test
+	public void transactionAttributeResolvedOncePerMethod() {
+		TransactionAttribute txatt = new DefaultTransactionAttribute();
+		AtomicInteger lookupCount = new AtomicInteger();
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource() {
+			@Override
+			protected Object getCacheKey(Method method, @Nullable Class<?> targetClass) {
+				lookupCount.incrementAndGet();
+				return super.getCacheKey(method, targetClass);
+			}
+		};
+		tas.register(getNameMethod, txatt);
+
+		TransactionStatus status = mock(TransactionStatus.class);
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		given(ptm.getTransaction(txatt)).willReturn(status);
+
+		ITestBean itb = (ITestBean) advised(new TestBean(), ptm, tas);
+		itb.getName();
+		itb.getName();
+		itb.getName();
+
+		assertThat(lookupCount.get()).isEqualTo(1);
+		verify(ptm, times(3)).commit(status);
+	}
+
+	@Test
+	public void transactionAttributeResolvedPerInvocationWithCustomAttributeLookup() {
+		TransactionAttribute txatt = new DefaultTransactionAttribute();
+		AtomicInteger lookupCount = new AtomicInteger();
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource() {
+			@Override
+			public TransactionAttribute getTransactionAttribute(Method method, @Nullable Class<?> targetClass) {
+				// Only every other invocation is transactional
+				return (lookupCount.incrementAndGet() % 2 == 1 ? super.getTransactionAttribute(method, targetClass) : null);
+			}
+		};
+		tas.register(getNameMethod, txatt);
+
+		TransactionStatus status = mock(TransactionStatus.class);
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		given(ptm.getTransaction(txatt)).willReturn(status);
+
+		ITestBean itb = (ITestBean) advised(new TestBean(), ptm, tas);
+		itb.getName();
+		itb.getName();
+		itb.getName();
+
+		assertThat(lookupCount.get()).isEqualTo(3);
+		verify(ptm, times(2)).getTransaction(txatt);
+		verify(ptm, times(2)).commit(status);
+	}
+
+	@Test
+	public void transactionAttributeResolvedPerInvocationWithCustomTransactionManagerLookup() {
+		TransactionAttribute txatt = new DefaultTransactionAttribute();
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(getNameMethod, txatt);
+
+		TransactionStatus status = mock(TransactionStatus.class);
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		given(ptm.getTransaction(txatt)).willReturn(status);
+
+		AtomicInteger lookupCount = new AtomicInteger();
+		TransactionInterceptor ti = new TransactionInterceptor() {
+			@Override
+			protected TransactionManager determineTransactionManager(@Nullable TransactionAttribute txAttr) {
+				lookupCount.incrementAndGet();
+				return ptm;
+			}
+		};
+		ti.setTransactionAttributeSource(tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(0, ti);
+		ITestBean itb = (ITestBean) pf.getProxy();
+		itb.getName();
+		itb.getName();
+
+		assertThat(lookupCount.get()).isEqualTo(2);
+		verify(ptm, times(2)).commit(status);
+	}
+
 
 	private TransactionInterceptor createTransactionInterceptor(BeanFactory beanFactory,
 			String transactionManagerName, PlatformTransactionManager transactionManager) {
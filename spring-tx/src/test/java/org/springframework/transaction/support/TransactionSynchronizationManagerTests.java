@@ -0,0 +1,137 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.Ordered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link TransactionSynchronizationManager}.
+ */
+class TransactionSynchronizationManagerTests {
+
+	@AfterEach
+	void verifyCleanState() {
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+		assertThat(TransactionSynchronizationManager.isSynchronizationActive()).isFalse();
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionName()).isNull();
+		assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isFalse();
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionIsolationLevel()).isNull();
+		assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+	}
+
+
+	@Test
+	void synchronizationsSortedOnRegistration() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			TransactionSynchronization first = new OrderedSynchronization(1);
+			TransactionSynchronization secondA = new OrderedSynchronization(2);
+			TransactionSynchronization secondB = new OrderedSynchronization(2);
+			TransactionSynchronization unordered = new TransactionSynchronization() {};
+			TransactionSynchronizationManager.registerSynchronization(unordered);
+			TransactionSynchronizationManager.registerSynchronization(secondA);
+			TransactionSynchronizationManager.registerSynchronization(first);
+			TransactionSynchronizationManager.registerSynchronization(secondB);
+			TransactionSynchronizationManager.registerSynchronization(secondA);
+
+			assertThat(TransactionSynchronizationManager.getSynchronizations())
+					.containsExactly(first, secondA, secondB, unordered);
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void synchronizationSnapshotUnaffectedByLaterRegistration() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			TransactionSynchronization synch1 = new OrderedSynchronization(1);
+			TransactionSynchronization synch2 = new OrderedSynchronization(0);
+			TransactionSynchronizationManager.registerSynchronization(synch1);
+			List<TransactionSynchronization> snapshot = TransactionSynchronizationManager.getSynchronizations();
+			assertThat(TransactionSynchronizationManager.getSynchronizations()).isSameAs(snapshot);
+
+			TransactionSynchronizationManager.registerSynchronization(synch2);
+			assertThat(snapshot).containsExactly(synch1);
+			assertThat(TransactionSynchronizationManager.getSynchronizations()).containsExactly(synch2, synch1);
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void synchronizationNotActive() {
+		assertThat(TransactionSynchronizationManager.getResource("key")).isNull();
+		assertThat(TransactionSynchronizationManager.hasResource("key")).isFalse();
+		assertThatIllegalStateException().isThrownBy(TransactionSynchronizationManager::getSynchronizations);
+		assertThatIllegalStateException().isThrownBy(TransactionSynchronizationManager::clearSynchronization);
+		assertThatIllegalStateException().isThrownBy(() ->
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {}));
+	}
+
+	@Test
+	void resourcesAndCharacteristicsClearedIndependently() {
+		TransactionSynchronizationManager.bindResource("key", "value");
+		TransactionSynchronizationManager.setCurrentTransactionName("tx");
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		TransactionSynchronizationManager.setCurrentTransactionIsolationLevel(4);
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		TransactionSynchronizationManager.clear();
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionName()).isNull();
+		assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+		assertThat(TransactionSynchronizationManager.getResource("key")).isEqualTo("value");
+
+		assertThat(TransactionSynchronizationManager.unbindResource("key")).isEqualTo("value");
+		assertThat(TransactionSynchronizationManager.unbindResourceIfPossible("key")).isNull();
+	}
+
+	@Test
+	void voidResourceHolderRemovedOnLookup() {
+		ResourceHolderSupport holder = new ResourceHolderSupport() {};
+		TransactionSynchronizationManager.bindResource("key", holder);
+		holder.unbound();
+		assertThat(TransactionSynchronizationManager.getResource("key")).isNull();
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+	}
+
+
+	private static class OrderedSynchronization implements TransactionSynchronization, Ordered {
+
+		private final int order;
+
+		OrderedSynchronization(int order) {
+			this.order = order;
+		}
+
+		@Override
+		public int getOrder() {
+			return this.order;
+		}
+	}
+
+}